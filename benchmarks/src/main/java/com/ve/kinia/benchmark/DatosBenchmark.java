@@ -0,0 +1,104 @@
+package com.ve.kinia.benchmark;
+
+import com.ve.kinia.dto.EntradaScoring;
+import com.ve.kinia.model.Factura;
+import com.ve.kinia.model.PagoRecibido;
+import com.ve.kinia.model.enums.SectorEconomico;
+import com.ve.kinia.model.enums.TipoDeudor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Generación de datos de prueba con semillas fijas para que todas las
+ * corridas midan exactamente lo mismo.
+ */
+final class DatosBenchmark {
+
+    static final long SEMILLA = 20250214L;
+
+    private DatosBenchmark() {
+    }
+
+    static EntradaScoring[] entradas(int cantidad) {
+        Random r = new Random(SEMILLA);
+        SectorEconomico[] sectores = SectorEconomico.values();
+        EntradaScoring[] entradas = new EntradaScoring[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            int comoDeudor = r.nextInt(100);
+            int cobradas = comoDeudor == 0 ? 0 : r.nextInt(comoDeudor + 1);
+            int documentos = r.nextInt(10);
+            entradas[i] = EntradaScoring.builder()
+                    .empresaId(new UUID(r.nextLong(), r.nextLong()))
+                    .sector(sectores[r.nextInt(sectores.length)])
+                    .antiguedadAnios(r.nextInt(20))
+                    .kycAprobado(r.nextBoolean())
+                    .tieneDatosFinancieros(r.nextInt(10) != 0)
+                    .ratioLiquidez(r.nextInt(40_000))
+                    .ratioEndeudamiento(r.nextInt(12_000))
+                    .margenNeto(r.nextInt(3_000) - 500)
+                    .flujoCajaPositivo(r.nextBoolean())
+                    .cumplimientos(r.nextInt(5))
+                    .patrimonioCentavos(r.nextInt(1_000_000_000))
+                    .cuentasPorCobrarCentavos(r.nextInt(1_000_000_000))
+                    .tiposRequeridosPresentes(r.nextInt(6))
+                    .documentosTotales(documentos)
+                    .documentosVerificados(documentos == 0 ? 0 : r.nextInt(documentos + 1))
+                    .referenciasBancarias(r.nextInt(2))
+                    .referenciasComerciales(r.nextInt(2))
+                    .facturasComoDeudor(comoDeudor)
+                    .facturasCobradas(cobradas)
+                    .facturasPagadasATiempo(cobradas == 0 ? 0 : r.nextInt(cobradas + 1))
+                    .facturasVencidas(r.nextInt(3))
+                    .promedioDiasMora(r.nextInt(45))
+                    .build();
+        }
+        return entradas;
+    }
+
+    static Factura facturaConPagos(int pagos) {
+        Random r = new Random(SEMILLA);
+        Factura factura = Factura.builder()
+                .tipoDeudor(TipoDeudor.EXTERNO)
+                .numeroFactura("F-BENCH")
+                .fechaEmision(LocalDate.of(2025, 1, 1))
+                .fechaVencimiento(LocalDate.of(2025, 4, 1))
+                .subtotal(new BigDecimal("1000000.00"))
+                .total(new BigDecimal("1160000.00"))
+                .build();
+        List<PagoRecibido> lista = new ArrayList<>(pagos);
+        for (int i = 0; i < pagos; i++) {
+            PagoRecibido pago = PagoRecibido.builder()
+                    .fechaPago(LocalDateTime.of(2025, 2, 1, 10, 0).plusMinutes(i))
+                    .monto(BigDecimal.valueOf(1 + r.nextInt(10_000), 2))
+                    .build();
+            factura.registrarPago(pago);
+            lista.add(pago);
+        }
+        factura.setPagosRecibidos(lista);
+        return factura;
+    }
+
+    static BigDecimal[] montos(int cantidad) {
+        Random r = new Random(SEMILLA);
+        BigDecimal[] montos = new BigDecimal[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            montos[i] = BigDecimal.valueOf(10_000 + r.nextInt(100_000_000), 2);
+        }
+        return montos;
+    }
+
+    static int[] enteros(int cantidad, int maximo) {
+        Random r = new Random(SEMILLA);
+        int[] valores = new int[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            valores[i] = r.nextInt(maximo + 1);
+        }
+        return valores;
+    }
+}
@@ -0,0 +1,50 @@
+package com.ve.kinia.benchmark;
+
+import com.ve.kinia.model.Factura;
+import com.ve.kinia.model.PagoRecibido;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saldo de una factura con N pagos: registrarPago actualiza el acumulado
+ * guardado (costo fijo), sumarPagosRecibidos recorre la colección como
+ * hacían los getters anteriores y como hace antesDeGuardar con filas sin
+ * acumulado (costo proporcional a los pagos).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class FacturaBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int pagos;
+
+    private Factura factura;
+    private PagoRecibido pago;
+
+    @Setup(Level.Iteration)
+    public void preparar() {
+        factura = DatosBenchmark.facturaConPagos(pagos);
+        pago = PagoRecibido.builder()
+                .fechaPago(LocalDateTime.of(2025, 3, 1, 10, 0))
+                .monto(new BigDecimal("0.01"))
+                .build();
+    }
+
+    @Benchmark
+    public BigDecimal registrarPago() {
+        factura.registrarPago(pago);
+        return factura.getSaldoPendiente();
+    }
+
+    @Benchmark
+    public BigDecimal sumarPagosRecibidos() {
+        return factura.getTotal().subtract(factura.sumarPagosRecibidos());
+    }
+}
@@ -0,0 +1,31 @@
+package com.ve.kinia.benchmark;
+
+import com.ve.kinia.model.enums.NivelRiesgo;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class NivelRiesgoBenchmark {
+
+    private static final int VALORES = 1024;
+
+    private int[] scores;
+    private int indice;
+
+    @Setup
+    public void preparar() {
+        scores = DatosBenchmark.enteros(VALORES, 100);
+    }
+
+    @Benchmark
+    public NivelRiesgo fromScore() {
+        indice = (indice + 1) & (VALORES - 1);
+        return NivelRiesgo.fromScore(scores[indice]);
+    }
+}
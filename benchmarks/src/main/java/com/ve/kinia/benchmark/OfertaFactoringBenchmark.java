@@ -0,0 +1,49 @@
+package com.ve.kinia.benchmark;
+
+import com.ve.kinia.model.SolicitudFactoring;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cálculo de la oferta (anticipo, comisión, desembolso, retenido) de una
+ * solicitud de factoring.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class OfertaFactoringBenchmark {
+
+    private static final int VALORES = 1024;
+
+    private SolicitudFactoring[] solicitudes;
+    private int indice;
+
+    @Setup
+    public void preparar() {
+        BigDecimal[] montos = DatosBenchmark.montos(VALORES);
+        int[] tasas = DatosBenchmark.enteros(VALORES, 1_450);
+        int[] anticipos = DatosBenchmark.enteros(VALORES, 3_000);
+        solicitudes = new SolicitudFactoring[VALORES];
+        for (int i = 0; i < VALORES; i++) {
+            solicitudes[i] = SolicitudFactoring.builder()
+                    .montoFacturasTotal(montos[i])
+                    .tasaDescuento(BigDecimal.valueOf(350 + tasas[i], 2))
+                    .porcentajeAnticipo(BigDecimal.valueOf(6_000 + anticipos[i], 2))
+                    .comisionFija(new BigDecimal("25.00"))
+                    .build();
+        }
+    }
+
+    @Benchmark
+    public SolicitudFactoring calcularMontos() {
+        indice = (indice + 1) & (VALORES - 1);
+        SolicitudFactoring solicitud = solicitudes[indice];
+        solicitud.calcularMontos();
+        return solicitud;
+    }
+}
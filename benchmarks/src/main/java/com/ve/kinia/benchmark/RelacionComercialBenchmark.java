@@ -0,0 +1,46 @@
+package com.ve.kinia.benchmark;
+
+import com.ve.kinia.model.RelacionComercial;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Actualización de estadísticas de una relación proveedor → cliente
+ * (lo que hoy hacen los triggers por cada factura y pago).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class RelacionComercialBenchmark {
+
+    private static final int VALORES = 1024;
+    private static final LocalDateTime FECHA = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private BigDecimal[] montos;
+    private int[] dias;
+    private RelacionComercial relacion;
+    private int indice;
+
+    @Setup(Level.Iteration)
+    public void preparar() {
+        montos = DatosBenchmark.montos(VALORES);
+        dias = DatosBenchmark.enteros(VALORES, 90);
+        relacion = RelacionComercial.builder().build();
+    }
+
+    @Benchmark
+    public RelacionComercial registrarFacturaYPago() {
+        indice = (indice + 1) & (VALORES - 1);
+        BigDecimal monto = montos[indice];
+        LocalDateTime fecha = FECHA.plusMinutes(indice);
+        relacion.registrarFactura(monto, fecha);
+        relacion.registrarPago(monto, fecha, dias[indice], Math.max(0, dias[indice] - 60), true);
+        return relacion;
+    }
+}
@@ -0,0 +1,71 @@
+package com.ve.kinia.benchmark;
+
+import com.ve.kinia.dto.EntradaScoring;
+import com.ve.kinia.model.ConfiguracionScoring;
+import com.ve.kinia.model.Score;
+import com.ve.kinia.util.ScoringCalculator;
+import com.ve.kinia.util.ScoringKernel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cálculo de score por empresa: camino BigDecimal (ScoringCalculator)
+ * contra el kernel compilado.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class ScoringBenchmark {
+
+    private static final int ENTRADAS = 4096;
+
+    private EntradaScoring[] entradas;
+    private ConfiguracionScoring config;
+    private ScoringKernel kernel;
+    private int indice;
+
+    @Setup
+    public void preparar() {
+        entradas = DatosBenchmark.entradas(ENTRADAS);
+        config = ConfiguracionScoring.builder()
+                .id(new UUID(0L, 1L))
+                .nombre("Benchmark")
+                .build();
+        kernel = ScoringKernel.compilar(config);
+    }
+
+    private EntradaScoring siguiente() {
+        indice = (indice + 1) & (ENTRADAS - 1);
+        return entradas[indice];
+    }
+
+    @Benchmark
+    public Score calculadorBigDecimal() {
+        return ScoringCalculator.calcular(siguiente(), config);
+    }
+
+    @Benchmark
+    public Score kernelScoreCompleto() {
+        return kernel.calcular(siguiente());
+    }
+
+    @Benchmark
+    public void kernelPuntajes(Blackhole bh) {
+        EntradaScoring entrada = siguiente();
+        int puntaje = kernel.puntaje(entrada);
+        bh.consume(puntaje);
+        bh.consume(kernel.puntajeComoDeudor(entrada));
+        bh.consume(kernel.tasaDescuentoBp(kernel.nivel(puntaje)));
+    }
+
+    @Benchmark
+    public int componenteFinanciero() {
+        return ScoringCalculator.puntajeFinanciero(siguiente());
+    }
+}
@@ -0,0 +1,12 @@
+package com.ve.kinia.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita los procesos programados (re-scoring nocturno, etc.).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,41 @@
+package com.ve.kinia.controller;
+
+import com.ve.kinia.dto.ResumenTramoAntiguedad;
+import com.ve.kinia.model.AntiguedadFactura;
+import com.ve.kinia.service.AntiguedadSaldosService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * Cobranza de la empresa autenticada: facturas por cobrar vencidas y
+ * resumen por tramo de antigüedad (ver AntiguedadSaldosService).
+ */
+@RestController
+@RequestMapping("/api/cobranza")
+@RequiredArgsConstructor
+public class CobranzaController {
+
+    private static final int TAMANO_MAXIMO = 500;
+
+    private final AntiguedadSaldosService antiguedadService;
+    private final EmpresaAutenticada empresaAutenticada;
+
+    @GetMapping("/lista-trabajo")
+    public List<AntiguedadFactura> listaTrabajo(@RequestParam(defaultValue = "0") int pagina,
+                                                @RequestParam(defaultValue = "50") int tamano,
+                                                Principal principal) {
+        return antiguedadService.listaTrabajo(empresaAutenticada.obtener(principal).getId(),
+                pagina, Math.min(tamano, TAMANO_MAXIMO));
+    }
+
+    @GetMapping("/antiguedad")
+    public List<ResumenTramoAntiguedad> resumen(Principal principal) {
+        return antiguedadService.resumen(empresaAutenticada.obtener(principal).getId());
+    }
+}
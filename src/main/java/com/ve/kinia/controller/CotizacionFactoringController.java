@@ -0,0 +1,31 @@
+package com.ve.kinia.controller;
+
+import com.ve.kinia.dto.CotizacionFactoring;
+import com.ve.kinia.service.CotizacionFactoringService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Simulación de oferta de factoring para las facturas seleccionadas por la
+ * empresa autenticada (ver CotizacionFactoringService).
+ */
+@RestController
+@RequestMapping("/api/factoring")
+@RequiredArgsConstructor
+public class CotizacionFactoringController {
+
+    private final CotizacionFactoringService cotizacionService;
+    private final EmpresaAutenticada empresaAutenticada;
+
+    @PostMapping("/cotizacion")
+    public CotizacionFactoring cotizar(@RequestBody List<UUID> facturaIds, Principal principal) {
+        return cotizacionService.cotizar(empresaAutenticada.obtener(principal).getId(), facturaIds);
+    }
+}
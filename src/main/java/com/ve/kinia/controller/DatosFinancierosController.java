@@ -0,0 +1,94 @@
+package com.ve.kinia.controller;
+
+import com.ve.kinia.dto.RegistroDatosFinancieros;
+import com.ve.kinia.dto.ResultadoIngestaFinanciera;
+import com.ve.kinia.dto.SerieMetrica;
+import com.ve.kinia.model.Empresa;
+import com.ve.kinia.model.enums.MetricaFinanciera;
+import com.ve.kinia.service.IngestaFinancieraService;
+import com.ve.kinia.service.SerieFinancieraService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.security.Principal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.ve.kinia.model.enums.MetricaFinanciera.SIN_DATO;
+
+/**
+ * Estados financieros de la empresa autenticada: un período o carga
+ * masiva en CSV (ver IngestaFinancieraService), y la serie mensual de una
+ * métrica con su tendencia (ver SerieFinancieraService).
+ */
+@RestController
+@RequestMapping("/api/financieros")
+@RequiredArgsConstructor
+public class DatosFinancierosController {
+
+    private static final int MAX_MESES_SERIE = 240;
+
+    private final IngestaFinancieraService ingestaService;
+    private final SerieFinancieraService serieService;
+    private final EmpresaAutenticada empresaAutenticada;
+
+    /**
+     * @return id del período registrado (o reemplazado)
+     */
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public UUID registrar(@RequestBody RegistroDatosFinancieros datos, Principal principal) {
+        return ingestaService.registrar(empresaAutenticada.obtener(principal).getId(), datos.aDatosFinancieros()).getId();
+    }
+
+    @PostMapping(value = "/importacion", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResultadoIngestaFinanciera importar(@RequestParam("archivo") MultipartFile archivo,
+                                               Principal principal) throws IOException {
+        Empresa empresa = empresaAutenticada.obtener(principal);
+        try (InputStream entrada = archivo.getInputStream()) {
+            return ingestaService.importar(empresa.getId(), entrada);
+        }
+    }
+
+    /**
+     * @param desde primer mes (yyyy-MM)
+     * @param hasta último mes, inclusive (yyyy-MM)
+     */
+    @GetMapping("/serie")
+    public SerieMetrica serie(@RequestParam MetricaFinanciera metrica, @RequestParam YearMonth desde,
+                              @RequestParam YearMonth hasta, Principal principal) {
+        if (hasta.isBefore(desde) || desde.plusMonths(MAX_MESES_SERIE).isBefore(hasta)) {
+            throw new IllegalArgumentException("Rango de meses inválido (máximo " + MAX_MESES_SERIE + ")");
+        }
+        long[] valores = serieService.serie(empresaAutenticada.obtener(principal).getId(), metrica, desde, hasta);
+        List<BigDecimal> montos = new ArrayList<>(valores.length);
+        for (long v : valores) {
+            montos.add(v != SIN_DATO ? BigDecimal.valueOf(v, metrica.getEscala()) : null);
+        }
+        Double pendiente = SerieFinancieraService.pendiente(valores, metrica);
+        return SerieMetrica.builder()
+                .metrica(metrica)
+                .desde(desde)
+                .hasta(hasta)
+                .valores(montos)
+                .tendenciaMensual(pendiente != null
+                        ? BigDecimal.valueOf(pendiente).setScale(metrica.getEscala() + 2, RoundingMode.HALF_UP)
+                        : null)
+                .build();
+    }
+}
@@ -0,0 +1,186 @@
+package com.ve.kinia.controller;
+
+import com.ve.kinia.dto.ArchivoDocumento;
+import com.ve.kinia.dto.DocumentoSubido;
+import com.ve.kinia.model.Empresa;
+import com.ve.kinia.model.enums.TipoDocumentoArchivo;
+import com.ve.kinia.service.AlmacenDocumentosService;
+import com.ve.kinia.service.DescargaDocumentosService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.*;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.Principal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Documentos de la empresa autenticada (KYC, estados financieros, facturas).
+ *
+ * Descarga sin copiar el archivo al heap:
+ *   - Con Tomcat NIO se delega en sendfile (el kernel copia del archivo
+ *     al socket); si no, FileChannel.transferTo hacia la respuesta.
+ *   - ETag = hash SHA-256 (If-None-Match → 304).
+ *   - Range de un solo intervalo → 206; varios intervalos se ignoran y se
+ *     envía el archivo completo. If-Range distinto del ETag también.
+ *   - El ZIP de todos los documentos se escribe en streaming, en un hilo
+ *     aparte y con su propio tiempo máximo ({@code kinia.documentos.zip.timeout-ms}).
+ */
+@RestController
+@RequestMapping("/api/documentos")
+@RequiredArgsConstructor
+public class DocumentoController {
+
+    private static final String SENDFILE_SOPORTE = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_ARCHIVO = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_INICIO = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_FIN = "org.apache.tomcat.sendfile.end";
+
+    private final AlmacenDocumentosService almacenService;
+    private final DescargaDocumentosService descargaService;
+    private final EmpresaAutenticada empresaAutenticada;
+
+    @Value("${kinia.documentos.zip.timeout-ms:1800000}")
+    private long tiempoMaximoZipMs;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public DocumentoSubido subir(@RequestParam("archivo") MultipartFile archivo,
+                                 @RequestParam("tipo") TipoDocumentoArchivo tipo,
+                                 Principal principal) throws IOException {
+        Empresa empresa = empresaAutenticada.obtener(principal);
+        try (InputStream entrada = archivo.getInputStream()) {
+            return almacenService.guardar(empresa.getId(), tipo, archivo.getOriginalFilename(),
+                    archivo.getContentType(), entrada);
+        }
+    }
+
+    @GetMapping("/{id}/contenido")
+    public void descargar(@PathVariable UUID id, Principal principal,
+                          HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ArchivoDocumento archivo = descargaService.buscar(id, empresaAutenticada.obtener(principal).getId());
+        Path ruta = archivo.getRuta();
+        if (!Files.isReadable(ruta)) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        long tamano = Files.size(ruta);
+
+        String etag = archivo.getHashSha256() != null ? "\"" + archivo.getHashSha256() + "\"" : null;
+        if (etag != null) {
+            response.setHeader(HttpHeaders.ETAG, etag);
+            if (coincideEtag(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+                response.setStatus(HttpStatus.NOT_MODIFIED.value());
+                return;
+            }
+        }
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(archivo.getMimeType() != null ? archivo.getMimeType() : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(archivo.getNombreOriginal(), StandardCharsets.UTF_8).build().toString());
+
+        long inicio = 0;
+        long fin = tamano - 1;
+        String rango = request.getHeader(HttpHeaders.RANGE);
+        String siRango = request.getHeader(HttpHeaders.IF_RANGE);
+        if (rango != null && tamano > 0 && (siRango == null || siRango.equals(etag))) {
+            List<HttpRange> rangos = parsearRangos(rango);
+            if (rangos.size() == 1) {
+                try {
+                    inicio = rangos.get(0).getRangeStart(tamano);
+                    fin = rangos.get(0).getRangeEnd(tamano);
+                } catch (IllegalArgumentException e) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + tamano);
+                    response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    return;
+                }
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + inicio + "-" + fin + "/" + tamano);
+            }
+        }
+        long longitud = fin - inicio + 1;
+        response.setContentLengthLong(longitud);
+        enviar(ruta, inicio, longitud, request, response);
+    }
+
+    /**
+     * El ZIP se escribe directo en la respuesta dentro de la tarea
+     * asíncrona; {@code @ResponseStatus} da la petición por atendida cuando
+     * la tarea termina sin valor.
+     */
+    @GetMapping(value = "/zip", produces = "application/zip")
+    @ResponseStatus(HttpStatus.OK)
+    public WebAsyncTask<Void> descargarTodos(Principal principal, HttpServletResponse response) {
+        UUID empresaId = empresaAutenticada.obtener(principal).getId();
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("documentos.zip").build().toString());
+        return new WebAsyncTask<>(tiempoMaximoZipMs, () -> {
+            descargaService.escribirZip(empresaId, response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // AUXILIARES
+    // ══════════════════════════════════════════════════════════════
+
+    private static void enviar(Path ruta, long inicio, long longitud,
+                               HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (longitud == 0) {
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SOPORTE))) {
+            request.setAttribute(SENDFILE_ARCHIVO, ruta.toRealPath().toString());
+            request.setAttribute(SENDFILE_INICIO, inicio);
+            request.setAttribute(SENDFILE_FIN, inicio + longitud);
+            return;
+        }
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            WritableByteChannel salida = Channels.newChannel(response.getOutputStream());
+            long enviados = 0;
+            while (enviados < longitud) {
+                long n = canal.transferTo(inicio + enviados, longitud - enviados, salida);
+                if (n <= 0) {
+                    break;
+                }
+                enviados += n;
+            }
+        }
+    }
+
+    private static List<HttpRange> parsearRangos(String rango) {
+        try {
+            return HttpRange.parseRanges(rango);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+
+    private static boolean coincideEtag(String siNoCoincide, String etag) {
+        if (siNoCoincide == null) {
+            return false;
+        }
+        for (String valor : siNoCoincide.split(",")) {
+            String v = valor.trim();
+            if (v.equals("*") || v.equals(etag) || v.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,51 @@
+package com.ve.kinia.controller;
+
+import com.ve.kinia.dto.DocumentoSubido;
+import com.ve.kinia.model.Empresa;
+import com.ve.kinia.model.enums.TipoDocumentoArchivo;
+import com.ve.kinia.repository.FacturaRepository;
+import com.ve.kinia.service.AlmacenDocumentosService;
+import com.ve.kinia.service.FacturaService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.Principal;
+import java.util.UUID;
+
+/**
+ * Documento (PDF o XML) de una factura de la empresa autenticada.
+ * Responde 202: la extracción de datos corre en segundo plano y su
+ * resultado queda en Factura.datosExtraidos.
+ */
+@RestController
+@RequestMapping("/api/facturas")
+@RequiredArgsConstructor
+public class DocumentoFacturaController {
+
+    private final AlmacenDocumentosService almacenService;
+    private final FacturaService facturaService;
+    private final FacturaRepository facturaRepository;
+    private final EmpresaAutenticada empresaAutenticada;
+
+    @PostMapping(value = "/{facturaId}/documento", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<DocumentoSubido> adjuntar(@PathVariable UUID facturaId,
+                                                    @RequestParam("archivo") MultipartFile archivo,
+                                                    Principal principal) throws IOException {
+        Empresa empresa = empresaAutenticada.obtener(principal);
+        if (!facturaRepository.existsByIdAndEmpresaId(facturaId, empresa.getId())) {
+            throw new IllegalArgumentException("Factura no encontrada: " + facturaId);
+        }
+        DocumentoSubido documento;
+        try (InputStream entrada = archivo.getInputStream()) {
+            documento = almacenService.guardar(empresa.getId(), TipoDocumentoArchivo.FACTURA,
+                    archivo.getOriginalFilename(), archivo.getContentType(), entrada);
+        }
+        facturaService.adjuntarDocumento(facturaId, documento.getId());
+        return ResponseEntity.accepted().body(documento);
+    }
+}
@@ -0,0 +1,27 @@
+package com.ve.kinia.controller;
+
+import com.ve.kinia.model.Empresa;
+import com.ve.kinia.repository.EmpresaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+
+/**
+ * Empresa del usuario autenticado, para los controladores que atienden
+ * solo datos propios. El usuario es el email de la empresa.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmpresaAutenticada {
+
+    private final EmpresaRepository empresaRepository;
+
+    /**
+     * @throws IllegalStateException si el usuario no tiene empresa asociada
+     */
+    public Empresa obtener(Principal principal) {
+        return empresaRepository.findByEmail(principal.getName())
+                .orElseThrow(() -> new IllegalStateException("Usuario sin empresa asociada"));
+    }
+}
@@ -0,0 +1,52 @@
+package com.ve.kinia.controller;
+
+import com.ve.kinia.dto.ResultadoImportacion;
+import com.ve.kinia.model.Empresa;
+import com.ve.kinia.service.ImportacionFacturasService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.Principal;
+import java.util.Locale;
+
+/**
+ * Carga masiva de facturas de la empresa autenticada (CSV o XML).
+ * Devuelve el reporte con los errores por fila.
+ */
+@RestController
+@RequestMapping("/api/facturas")
+@RequiredArgsConstructor
+public class ImportacionFacturasController {
+
+    private final ImportacionFacturasService importacionService;
+    private final EmpresaAutenticada empresaAutenticada;
+
+    @PostMapping(value = "/importacion", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResultadoImportacion importar(@RequestParam("archivo") MultipartFile archivo,
+                                         Principal principal) throws IOException {
+        Empresa empresa = empresaAutenticada.obtener(principal);
+        try (InputStream entrada = archivo.getInputStream()) {
+            return importacionService.importar(empresa.getId(), entrada, formato(archivo));
+        }
+    }
+
+    private static ImportacionFacturasService.Formato formato(MultipartFile archivo) {
+        String nombre = archivo.getOriginalFilename() != null
+                ? archivo.getOriginalFilename().toLowerCase(Locale.ROOT) : "";
+        String tipo = archivo.getContentType() != null ? archivo.getContentType() : "";
+        if (nombre.endsWith(".xml") || tipo.contains("xml")) {
+            return ImportacionFacturasService.Formato.XML;
+        }
+        if (nombre.endsWith(".csv") || nombre.endsWith(".txt") || tipo.startsWith("text/")) {
+            return ImportacionFacturasService.Formato.CSV;
+        }
+        throw new IllegalArgumentException("Formato no soportado: use CSV o XML");
+    }
+}
@@ -0,0 +1,28 @@
+package com.ve.kinia.controller;
+
+import com.ve.kinia.model.TableroEmpresa;
+import com.ve.kinia.service.TableroEmpresaService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.Principal;
+
+/**
+ * Tablero de la empresa autenticada, leído de la proyección
+ * tablero_empresas (ver TableroEmpresaService).
+ */
+@RestController
+@RequestMapping("/api/tablero")
+@RequiredArgsConstructor
+public class TableroController {
+
+    private final TableroEmpresaService tableroService;
+    private final EmpresaAutenticada empresaAutenticada;
+
+    @GetMapping
+    public TableroEmpresa tablero(Principal principal) {
+        return tableroService.obtener(empresaAutenticada.obtener(principal).getId());
+    }
+}
@@ -0,0 +1,42 @@
+package com.ve.kinia.controller;
+
+import com.ve.kinia.service.TasasCambioService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Consulta de tasas BCV y conversión de montos (ver TasasCambioService).
+ * Sin fecha se usa la de hoy.
+ */
+@RestController
+@RequestMapping("/api/tasas")
+@RequiredArgsConstructor
+public class TasasCambioController {
+
+    private final TasasCambioService tasasCambioService;
+
+    @GetMapping("/{moneda}")
+    public ResponseEntity<BigDecimal> tasa(@PathVariable String moneda,
+                                           @RequestParam(required = false)
+                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fecha) {
+        return ResponseEntity.of(tasasCambioService.tasa(moneda, fecha != null ? fecha : LocalDate.now()));
+    }
+
+    @GetMapping("/conversion")
+    public BigDecimal convertir(@RequestParam BigDecimal monto,
+                                @RequestParam String desde,
+                                @RequestParam String hacia,
+                                @RequestParam(required = false)
+                                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fecha) {
+        return tasasCambioService.convertir(monto, desde, hacia, fecha != null ? fecha : LocalDate.now());
+    }
+}
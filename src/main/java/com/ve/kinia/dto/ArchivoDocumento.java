@@ -0,0 +1,32 @@
+package com.ve.kinia.dto;
+
+import com.ve.kinia.model.enums.TipoDocumentoArchivo;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * Proyección: lo necesario para servir el archivo de un Documento.
+ */
+public interface ArchivoDocumento {
+
+    UUID getId();
+
+    TipoDocumentoArchivo getTipo();
+
+    String getNombreOriginal();
+
+    String getRutaAlmacenamiento();
+
+    String getNombreAlmacenado();
+
+    String getMimeType();
+
+    Long getTamanoBytes();
+
+    String getHashSha256();
+
+    default Path getRuta() {
+        return Path.of(getRutaAlmacenamiento(), getNombreAlmacenado());
+    }
+}
@@ -0,0 +1,24 @@
+package com.ve.kinia.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Evento: cambió la cartera de {@code empresaIds} (factura registrada,
+ * pago recibido, solicitud de factoring ofertada o con nuevo estado). Se
+ * aplica a TableroEmpresaService después del commit.
+ */
+@Getter
+@AllArgsConstructor
+public class CambioCartera {
+
+    private final Collection<UUID> empresaIds;
+
+    public static CambioCartera empresa(UUID empresaId) {
+        return new CambioCartera(List.of(empresaId));
+    }
+}
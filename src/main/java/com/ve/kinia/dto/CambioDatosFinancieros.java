@@ -0,0 +1,23 @@
+package com.ve.kinia.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Evento: se guardó un período de datos_financieros. Lleva los valores
+ * crudos (MetricaFinanciera.leer) para aplicarlos a SerieFinancieraService
+ * después del commit sin volver a tocar la entidad.
+ */
+@Getter
+@AllArgsConstructor
+public class CambioDatosFinancieros {
+
+    private final UUID empresaId;
+    private final int periodoAno;
+    private final Integer periodoMes;
+    private final boolean proyeccion;
+    private final BigDecimal[] crudos;
+}
@@ -0,0 +1,27 @@
+package com.ve.kinia.dto;
+
+import com.ve.kinia.model.enums.TipoDeudor;
+import com.ve.kinia.model.enums.TipoRif;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Evento: se registró, modificó o eliminó una Empresa (INTERNO) o un
+ * DeudorExterno (EXTERNO). Se aplica a IndiceRifService después del commit.
+ * tipoRifAnterior/numeroRifAnterior: RIF que tenía antes de una
+ * modificación (null si es nuevo), para quitar su clave del índice.
+ */
+@Getter
+@AllArgsConstructor
+public class CambioRif {
+
+    private final TipoDeudor tipoDeudor;
+    private final UUID id;
+    private final TipoRif tipoRif;
+    private final String numeroRif;
+    private final TipoRif tipoRifAnterior;
+    private final String numeroRifAnterior;
+    private final boolean eliminado;
+}
@@ -0,0 +1,29 @@
+package com.ve.kinia.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Evento: cambiaron los scores vigentes de {@code empresaIds}, o se activó
+ * otra configuración de scoring ({@code configuracion}, afecta a todas).
+ * Se aplica a CotizacionFactoringService después del commit.
+ */
+@Getter
+@AllArgsConstructor
+public class CambioScoring {
+
+    private final Collection<UUID> empresaIds;
+    private final boolean configuracion;
+
+    public static CambioScoring empresas(Collection<UUID> empresaIds) {
+        return new CambioScoring(empresaIds, false);
+    }
+
+    public static CambioScoring configuracionActivada() {
+        return new CambioScoring(List.of(), true);
+    }
+}
@@ -0,0 +1,30 @@
+package com.ve.kinia.dto;
+
+import com.ve.kinia.model.enums.NivelRiesgo;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * Oferta simulada para un subconjunto de facturas, con las mismas fórmulas
+ * que SolicitudFactoring.calcularMontos (sin comisión fija).
+ * tasaDescuento es el promedio de las tasas por factura ponderado por saldo.
+ */
+@Getter
+@Builder
+public class CotizacionFactoring {
+
+    private final String moneda;
+    private final int cantidadFacturas;
+    private final Integer puntajeProveedor;
+    private final NivelRiesgo nivelProveedor;
+
+    private final BigDecimal montoFacturasTotal;
+    private final BigDecimal porcentajeAnticipo;
+    private final BigDecimal tasaDescuento;
+    private final BigDecimal montoAnticipo;
+    private final BigDecimal montoComisionTotal;
+    private final BigDecimal montoADesembolsar;
+    private final BigDecimal montoRetenido;
+}
@@ -0,0 +1,18 @@
+package com.ve.kinia.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Proyección: factura cuyos acumulados no cuadran con la suma de sus pagos.
+ */
+public interface DiscrepanciaSaldoFactura {
+
+    UUID getFacturaId();
+
+    BigDecimal getTotalPagado();
+
+    BigDecimal getSaldoPendiente();
+
+    BigDecimal getSumaPagos();
+}
@@ -0,0 +1,27 @@
+package com.ve.kinia.dto;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * Proyección: documento adjunto de una factura y RIF del emisor, para
+ * ExtraccionFacturasService.
+ */
+public interface DocumentoFacturaExtraccion {
+
+    UUID getFacturaId();
+
+    String getRutaAlmacenamiento();
+
+    String getNombreAlmacenado();
+
+    String getExtension();
+
+    String getMimeType();
+
+    String getRifEmisor();
+
+    default Path getRuta() {
+        return Path.of(getRutaAlmacenamiento(), getNombreAlmacenado());
+    }
+}
@@ -0,0 +1,23 @@
+package com.ve.kinia.dto;
+
+import com.ve.kinia.model.enums.TipoDocumentoArchivo;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Respuesta de la subida de un documento. {@code duplicado} indica que el
+ * contenido ya estaba almacenado y no se escribió de nuevo.
+ */
+@Getter
+@AllArgsConstructor
+public class DocumentoSubido {
+
+    private final UUID id;
+    private final TipoDocumentoArchivo tipo;
+    private final String nombreOriginal;
+    private final long tamanoBytes;
+    private final String hashSha256;
+    private final boolean duplicado;
+}
@@ -0,0 +1,125 @@
+package com.ve.kinia.dto;
+
+import com.ve.kinia.model.enums.SectorEconomico;
+import lombok.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Datos de entrada del motor de scoring para UNA empresa, ya agregados.
+ *
+ * Se arma en lote (ver CargadorEntradasScoring) para no recorrer las
+ * colecciones lazy de Empresa. Los montos y ratios se guardan como
+ * enteros escalados para que el cálculo no dependa de BigDecimal:
+ *   - Ratios:  × 10.000 (escala 4 de datos_financieros)
+ *   - Montos:  céntimos (escala 2)
+ * Un valor ausente se representa con SIN_DATO.
+ */
+@Getter
+@Builder
+public class EntradaScoring {
+
+    public static final long SIN_DATO = Long.MIN_VALUE;
+
+    private final UUID empresaId;
+
+    // ══════════════════════════════════════════════════════════════
+    // EMPRESA
+    // ══════════════════════════════════════════════════════════════
+
+    private final SectorEconomico sector;
+
+    /** Años desde la constitución, -1 si no se conoce. */
+    @Builder.Default
+    private final int antiguedadAnios = -1;
+
+    /** KYC aprobado: aplica el bonus de deudor interno. */
+    private final boolean kycAprobado;
+
+    // ══════════════════════════════════════════════════════════════
+    // FINANCIERO (último período no proyectado)
+    // ══════════════════════════════════════════════════════════════
+
+    private final boolean tieneDatosFinancieros;
+
+    @Builder.Default
+    private final long ratioLiquidez = SIN_DATO;
+
+    @Builder.Default
+    private final long ratioEndeudamiento = SIN_DATO;
+
+    @Builder.Default
+    private final long margenNeto = SIN_DATO;
+
+    private final boolean flujoCajaPositivo;
+
+    /** Cantidad de organismos al día (SENIAT, IVSS, FAOV, INCES). */
+    private final int cumplimientos;
+
+    @Builder.Default
+    private final long patrimonioCentavos = SIN_DATO;
+
+    @Builder.Default
+    private final long cuentasPorCobrarCentavos = SIN_DATO;
+
+    // ══════════════════════════════════════════════════════════════
+    // DOCUMENTACIÓN
+    // ══════════════════════════════════════════════════════════════
+
+    private final int tiposRequeridosPresentes;
+    private final int documentosTotales;
+    private final int documentosVerificados;
+    private final int documentosVencidos;
+    private final int referenciasBancarias;
+    private final int referenciasComerciales;
+
+    // ══════════════════════════════════════════════════════════════
+    // HISTORIAL COMO DEUDOR EN KINIA
+    // ══════════════════════════════════════════════════════════════
+
+    private final int facturasComoDeudor;
+    private final int facturasCobradas;
+    private final int facturasPagadasATiempo;
+    private final int facturasVencidas;
+    private final int promedioDiasMora;
+
+    // ══════════════════════════════════════════════════════════════
+    // MÉTODOS DE UTILIDAD
+    // ══════════════════════════════════════════════════════════════
+
+    /**
+     * Representación que se guarda en Score.datosEntrada.
+     */
+    public Map<String, Object> toMapa() {
+        Map<String, Object> mapa = new LinkedHashMap<>();
+        mapa.put("sector", sector != null ? sector.name() : null);
+        mapa.put("antiguedadAnios", antiguedadAnios);
+        mapa.put("kycAprobado", kycAprobado);
+        mapa.put("tieneDatosFinancieros", tieneDatosFinancieros);
+        mapa.put("ratioLiquidez", valorOpcional(ratioLiquidez));
+        mapa.put("ratioEndeudamiento", valorOpcional(ratioEndeudamiento));
+        mapa.put("margenNeto", valorOpcional(margenNeto));
+        mapa.put("flujoCajaPositivo", flujoCajaPositivo);
+        mapa.put("cumplimientos", cumplimientos);
+        mapa.put("patrimonioCentavos", valorOpcional(patrimonioCentavos));
+        mapa.put("cuentasPorCobrarCentavos", valorOpcional(cuentasPorCobrarCentavos));
+        mapa.put("tiposRequeridosPresentes", tiposRequeridosPresentes);
+        mapa.put("documentosTotales", documentosTotales);
+        mapa.put("documentosVerificados", documentosVerificados);
+        mapa.put("documentosVencidos", documentosVencidos);
+        mapa.put("referenciasBancarias", referenciasBancarias);
+        mapa.put("referenciasComerciales", referenciasComerciales);
+        mapa.put("facturasComoDeudor", facturasComoDeudor);
+        mapa.put("facturasCobradas", facturasCobradas);
+        mapa.put("facturasPagadasATiempo", facturasPagadasATiempo);
+        mapa.put("facturasVencidas", facturasVencidas);
+        mapa.put("promedioDiasMora", promedioDiasMora);
+        return mapa;
+    }
+
+    private static Long valorOpcional(long valor) {
+        return valor == SIN_DATO ? null : valor;
+    }
+}
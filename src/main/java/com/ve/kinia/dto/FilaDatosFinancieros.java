@@ -0,0 +1,33 @@
+package com.ve.kinia.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Una fila de un archivo de carga masiva de estados financieros, tal como
+ * se leyó. Los valores van por nombre de columna normalizado (minúsculas,
+ * sin '_'), así "ingresosNetos" e "ingresos_netos" son la misma columna.
+ * La conversión la hace IngestaFinancieraService.
+ */
+@Getter
+@AllArgsConstructor
+public class FilaDatosFinancieros {
+
+    /** Línea del archivo, para el reporte de errores. */
+    private final long linea;
+
+    private final Map<String, String> valores;
+
+    public String valor(String columna) {
+        return valores.get(columna);
+    }
+
+    /** Período tal como vino ("2024-05", "2024"), para el reporte de errores. */
+    public String getPeriodo() {
+        String ano = valores.get("periodoano");
+        String mes = valores.get("periodomes");
+        return ano == null ? null : mes == null ? ano : ano + "-" + mes;
+    }
+}
@@ -0,0 +1,28 @@
+package com.ve.kinia.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Una fila de un archivo de importación masiva de facturas, tal como se
+ * leyó (texto sin convertir). La validación la hace ImportacionFacturasService.
+ */
+@Getter
+@Builder
+public class FilaImportacionFactura {
+
+    /** Línea del archivo, para el reporte de errores. */
+    private final long linea;
+
+    private final String numeroFactura;
+    private final String numeroControl;
+    private final String fechaEmision;
+    private final String fechaVencimiento;
+    private final String rifDeudor;
+    private final String razonSocialDeudor;
+    private final String subtotal;
+    private final String iva;
+    private final String total;
+    private final String moneda;
+    private final String concepto;
+}
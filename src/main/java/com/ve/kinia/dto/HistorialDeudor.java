@@ -0,0 +1,22 @@
+package com.ve.kinia.dto;
+
+import java.util.UUID;
+
+/**
+ * Proyección: comportamiento de pago de una empresa como DEUDORA
+ * en facturas de otras empresas del ecosistema.
+ */
+public interface HistorialDeudor {
+
+    UUID getEmpresaId();
+
+    Long getTotal();
+
+    Long getCobradas();
+
+    Long getPagadasATiempo();
+
+    Long getVencidas();
+
+    Integer getPromedioDiasMora();
+}
@@ -0,0 +1,13 @@
+package com.ve.kinia.dto;
+
+import java.util.UUID;
+
+/**
+ * Proyección: huella de entrada del score vigente de una empresa.
+ */
+public interface HuellaScoreVigente {
+
+    UUID getEmpresaId();
+
+    String getHuellaEntrada();
+}
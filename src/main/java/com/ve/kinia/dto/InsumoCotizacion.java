@@ -0,0 +1,36 @@
+package com.ve.kinia.dto;
+
+import com.ve.kinia.model.enums.NivelRiesgo;
+import com.ve.kinia.model.enums.TipoDeudor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Proyección: datos de una factura que intervienen en su precio de
+ * factoring (saldo, score del proveedor y score del deudor).
+ * El score del deudor es el vigente como deudor (interno) o el estimado
+ * (externo); null si no tiene.
+ */
+public interface InsumoCotizacion {
+
+    UUID getFacturaId();
+
+    UUID getEmpresaId();
+
+    TipoDeudor getTipoDeudor();
+
+    UUID getDeudorId();
+
+    String getMoneda();
+
+    BigDecimal getSaldoPendiente();
+
+    Integer getPuntajeProveedor();
+
+    NivelRiesgo getNivelProveedor();
+
+    Integer getPuntajeDeudor();
+
+    NivelRiesgo getNivelDeudor();
+}
@@ -0,0 +1,23 @@
+package com.ve.kinia.dto;
+
+import com.ve.kinia.model.enums.SectorEconomico;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Proyección: monto aprobado en factoring agrupado por proveedor, deudor
+ * (Empresa o DeudorExterno), sector del deudor y moneda.
+ */
+public interface LineaExposicion {
+
+    UUID getProveedorId();
+
+    UUID getDeudorId();
+
+    SectorEconomico getSector();
+
+    String getMoneda();
+
+    BigDecimal getMonto();
+}
@@ -0,0 +1,71 @@
+package com.ve.kinia.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Evento: factura o pago entre dos empresas de Kinia que debe reflejarse
+ * en su RelacionComercial. Se publica al guardar la factura/pago y se
+ * aplica en lote después del commit (ver AgregadorRelacionesService).
+ * El monto va en la moneda del documento; el agregador lo convierte a
+ * bolívares con la tasa BCV de la fecha.
+ *
+ * origenId es el id de la factura o del pago: el agregador lo marca como
+ * aplicado (columna en_relacion) en la misma transacción en que suma el
+ * movimiento, y descarta los que la reconstrucción ya contó.
+ */
+@Getter
+@Builder
+public class MovimientoRelacionComercial {
+
+    public enum Tipo { FACTURA, PAGO }
+
+    private final Tipo tipo;
+    private final UUID origenId;
+    private final UUID proveedorId;
+    private final UUID clienteId;
+    private final BigDecimal monto;
+    private final String moneda;
+    private final LocalDateTime fecha;
+
+    // Solo PAGO
+    private final int diasPago;
+    private final int diasMora;
+
+    /** El pago completó la factura (cuenta para puntualidad y mora). */
+    private final boolean facturaSaldada;
+
+    public static MovimientoRelacionComercial factura(UUID facturaId, UUID proveedorId, UUID clienteId,
+                                                      BigDecimal monto, String moneda, LocalDateTime fecha) {
+        return MovimientoRelacionComercial.builder()
+                .tipo(Tipo.FACTURA)
+                .origenId(facturaId)
+                .proveedorId(proveedorId)
+                .clienteId(clienteId)
+                .monto(monto)
+                .moneda(moneda)
+                .fecha(fecha)
+                .build();
+    }
+
+    public static MovimientoRelacionComercial pago(UUID pagoId, UUID proveedorId, UUID clienteId,
+                                                   BigDecimal monto, String moneda, LocalDateTime fecha,
+                                                   int diasPago, int diasMora, boolean facturaSaldada) {
+        return MovimientoRelacionComercial.builder()
+                .tipo(Tipo.PAGO)
+                .origenId(pagoId)
+                .proveedorId(proveedorId)
+                .clienteId(clienteId)
+                .monto(monto)
+                .moneda(moneda)
+                .fecha(fecha)
+                .diasPago(diasPago)
+                .diasMora(diasMora)
+                .facturaSaldada(facturaSaldada)
+                .build();
+    }
+}
@@ -0,0 +1,15 @@
+package com.ve.kinia.dto;
+
+import java.util.UUID;
+
+/**
+ * Proyección: período ya registrado de datos_financieros de una empresa.
+ */
+public interface PeriodoFinanciero {
+
+    UUID getId();
+
+    Integer getPeriodoAno();
+
+    Integer getPeriodoMes();
+}
@@ -0,0 +1,84 @@
+package com.ve.kinia.dto;
+
+import com.ve.kinia.model.DatosFinancieros;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * Cuerpo de POST /api/financieros: solo los datos del estado financiero tal
+ * como los reporta la empresa. Los ratios, los ingresos en USD y la
+ * verificación los calcula o asigna Kinia (RatiosCalculator), nunca el
+ * cliente.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class RegistroDatosFinancieros {
+
+    private Integer periodoAno;
+    private Integer periodoMes;
+    private Boolean esProyeccion;
+
+    private BigDecimal ingresosBrutos;
+    private BigDecimal ingresosNetos;
+    private BigDecimal costosOperativos;
+    private BigDecimal gastosAdministrativos;
+    private BigDecimal utilidadBruta;
+    private BigDecimal utilidadNeta;
+    private BigDecimal tasaCambioUsada;
+
+    private BigDecimal activosTotales;
+    private BigDecimal activosCorrientes;
+    private BigDecimal pasivosTotales;
+    private BigDecimal pasivosCorrientes;
+    private BigDecimal patrimonio;
+    private BigDecimal cuentasPorCobrar;
+    private BigDecimal cuentasPorPagar;
+    private BigDecimal inventarios;
+    private BigDecimal flujoCajaOperativo;
+    private BigDecimal efectivoDisponible;
+    private BigDecimal deudaBancariaCortoPlazo;
+    private BigDecimal deudaBancariaLargoPlazo;
+
+    private Boolean alDiaSeniat;
+    private Boolean alDiaIvss;
+    private Boolean alDiaFaov;
+    private Boolean alDiaInces;
+
+    private String fuenteDatos;
+
+    public DatosFinancieros aDatosFinancieros() {
+        return DatosFinancieros.builder()
+                .periodoAno(periodoAno)
+                .periodoMes(periodoMes)
+                .esProyeccion(Boolean.TRUE.equals(esProyeccion))
+                .ingresosBrutos(ingresosBrutos)
+                .ingresosNetos(ingresosNetos)
+                .costosOperativos(costosOperativos)
+                .gastosAdministrativos(gastosAdministrativos)
+                .utilidadBruta(utilidadBruta)
+                .utilidadNeta(utilidadNeta)
+                .tasaCambioUsada(tasaCambioUsada)
+                .activosTotales(activosTotales)
+                .activosCorrientes(activosCorrientes)
+                .pasivosTotales(pasivosTotales)
+                .pasivosCorrientes(pasivosCorrientes)
+                .patrimonio(patrimonio)
+                .cuentasPorCobrar(cuentasPorCobrar)
+                .cuentasPorPagar(cuentasPorPagar)
+                .inventarios(inventarios)
+                .flujoCajaOperativo(flujoCajaOperativo)
+                .efectivoDisponible(efectivoDisponible)
+                .deudaBancariaCortoPlazo(deudaBancariaCortoPlazo)
+                .deudaBancariaLargoPlazo(deudaBancariaLargoPlazo)
+                .alDiaSeniat(alDiaSeniat)
+                .alDiaIvss(alDiaIvss)
+                .alDiaFaov(alDiaFaov)
+                .alDiaInces(alDiaInces)
+                .fuenteDatos(fuenteDatos)
+                .build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.ve.kinia.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de una importación masiva: totales y error por fila rechazada.
+ */
+@Getter
+public class ResultadoImportacion {
+
+    private long filasLeidas;
+    private long importadas;
+    private final List<ErrorFila> errores = new ArrayList<>();
+
+    @Getter
+    @AllArgsConstructor
+    public static class ErrorFila {
+        private final long linea;
+        private final String numeroFactura;
+        private final String mensaje;
+    }
+
+    public void sumarLeidas(int filas) {
+        filasLeidas += filas;
+    }
+
+    public void sumarImportadas(int filas) {
+        importadas += filas;
+    }
+
+    public void agregarError(FilaImportacionFactura fila, String mensaje) {
+        errores.add(new ErrorFila(fila.getLinea(), fila.getNumeroFactura(), mensaje));
+    }
+}
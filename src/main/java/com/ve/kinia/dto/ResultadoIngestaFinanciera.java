@@ -0,0 +1,39 @@
+package com.ve.kinia.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de una carga masiva de estados financieros: totales y error
+ * por fila rechazada.
+ */
+@Getter
+public class ResultadoIngestaFinanciera {
+
+    private long filasLeidas;
+    private long registrados;
+    private final List<ErrorFila> errores = new ArrayList<>();
+
+    @Getter
+    @AllArgsConstructor
+    public static class ErrorFila {
+        private final long linea;
+        private final String periodo;
+        private final String mensaje;
+    }
+
+    public void sumarLeidas(int filas) {
+        filasLeidas += filas;
+    }
+
+    public void sumarRegistrados(int filas) {
+        registrados += filas;
+    }
+
+    public void agregarError(FilaDatosFinancieros fila, String mensaje) {
+        errores.add(new ErrorFila(fila.getLinea(), fila.getPeriodo(), mensaje));
+    }
+}
@@ -0,0 +1,21 @@
+package com.ve.kinia.dto;
+
+import com.ve.kinia.model.enums.TipoDocumentoArchivo;
+
+import java.util.UUID;
+
+/**
+ * Proyección: conteo de documentos de una empresa agrupados por tipo.
+ */
+public interface ResumenDocumentosEmpresa {
+
+    UUID getEmpresaId();
+
+    TipoDocumentoArchivo getTipo();
+
+    Long getTotal();
+
+    Long getVerificados();
+
+    Long getVencidos();
+}
@@ -0,0 +1,17 @@
+package com.ve.kinia.dto;
+
+import com.ve.kinia.model.enums.TramoAntiguedad;
+
+import java.math.BigDecimal;
+
+/**
+ * Proyección: cantidad de facturas y saldo por tramo de antigüedad.
+ */
+public interface ResumenTramoAntiguedad {
+
+    TramoAntiguedad getTramo();
+
+    Long getFacturas();
+
+    BigDecimal getSaldo();
+}
@@ -0,0 +1,17 @@
+package com.ve.kinia.dto;
+
+import com.ve.kinia.model.enums.TipoRif;
+
+import java.util.UUID;
+
+/**
+ * Proyección: RIF de una Empresa o de un DeudorExterno (carga de IndiceRifService).
+ */
+public interface RifRegistrado {
+
+    UUID getId();
+
+    TipoRif getTipoRif();
+
+    String getNumeroRif();
+}
@@ -0,0 +1,19 @@
+package com.ve.kinia.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Proyección: saldo abierto compensable que una empresa interna (deudor)
+ * debe a otra (acreedor) en una moneda.
+ */
+public interface SaldoEntreEmpresas {
+
+    UUID getAcreedorId();
+
+    UUID getDeudorId();
+
+    String getMoneda();
+
+    BigDecimal getSaldo();
+}
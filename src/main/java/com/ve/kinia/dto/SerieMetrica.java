@@ -0,0 +1,26 @@
+package com.ve.kinia.dto;
+
+import com.ve.kinia.model.enums.MetricaFinanciera;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Serie mensual de una métrica financiera de la empresa (ver
+ * SerieFinancieraService). valores tiene un elemento por mes entre desde y
+ * hasta, null donde no hay período; tendenciaMensual es la pendiente de la
+ * serie por mes (null con menos de dos meses con dato).
+ */
+@Getter
+@Builder
+public class SerieMetrica {
+
+    private final MetricaFinanciera metrica;
+    private final YearMonth desde;
+    private final YearMonth hasta;
+    private final List<BigDecimal> valores;
+    private final BigDecimal tendenciaMensual;
+}
@@ -0,0 +1,20 @@
+package com.ve.kinia.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Tasa BCV leída de un archivo: bolívares por una unidad de la moneda en
+ * la fecha (ver LectorTasasCambioCsv).
+ */
+@Getter
+@AllArgsConstructor
+public class TasaDiaria {
+
+    private final String moneda;
+    private final LocalDate fecha;
+    private final BigDecimal tasa;
+}
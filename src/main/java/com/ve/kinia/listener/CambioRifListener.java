@@ -0,0 +1,63 @@
+package com.ve.kinia.listener;
+
+import com.ve.kinia.dto.CambioRif;
+import com.ve.kinia.model.DeudorExterno;
+import com.ve.kinia.model.Empresa;
+import com.ve.kinia.model.enums.TipoDeudor;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Entity listener de Empresa y DeudorExterno: publica un CambioRif para
+ * mantener IndiceRifService sin importar por dónde se registró la entidad.
+ * Recuerda en la entidad el RIF leído o guardado, así una modificación del
+ * RIF lleva también el anterior.
+ */
+@Component
+@RequiredArgsConstructor
+public class CambioRifListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostLoad
+    public void cargado(Object entidad) {
+        recordar(entidad);
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void registrado(Object entidad) {
+        publicar(entidad, false);
+        recordar(entidad);
+    }
+
+    @PostRemove
+    public void eliminado(Object entidad) {
+        publicar(entidad, true);
+    }
+
+    private void publicar(Object entidad, boolean eliminado) {
+        if (entidad instanceof Empresa e) {
+            eventPublisher.publishEvent(new CambioRif(TipoDeudor.INTERNO, e.getId(),
+                    e.getTipoRif(), e.getNumeroRif(), e.getTipoRifGuardado(), e.getNumeroRifGuardado(), eliminado));
+        } else if (entidad instanceof DeudorExterno d && d.getTipoRif() != null) {
+            eventPublisher.publishEvent(new CambioRif(TipoDeudor.EXTERNO, d.getId(),
+                    d.getTipoRif(), d.getNumeroRif(), d.getTipoRifGuardado(), d.getNumeroRifGuardado(), eliminado));
+        }
+    }
+
+    private static void recordar(Object entidad) {
+        if (entidad instanceof Empresa e) {
+            e.setTipoRifGuardado(e.getTipoRif());
+            e.setNumeroRifGuardado(e.getNumeroRif());
+        } else if (entidad instanceof DeudorExterno d) {
+            d.setTipoRifGuardado(d.getTipoRif());
+            d.setNumeroRifGuardado(d.getNumeroRif());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.ve.kinia.listener;
+
+import com.ve.kinia.dto.CambioDatosFinancieros;
+import com.ve.kinia.model.DatosFinancieros;
+import com.ve.kinia.model.enums.MetricaFinanciera;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Entity listener de DatosFinancieros: publica un CambioDatosFinancieros
+ * para mantener SerieFinancieraService sin importar quién guardó el período.
+ */
+@Component
+@RequiredArgsConstructor
+public class DatosFinancierosListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void guardado(DatosFinancieros d) {
+        eventPublisher.publishEvent(new CambioDatosFinancieros(d.getEmpresa().getId(), d.getPeriodoAno(),
+                d.getPeriodoMes(), Boolean.TRUE.equals(d.getEsProyeccion()), MetricaFinanciera.leer(d)));
+    }
+}
@@ -0,0 +1,88 @@
+package com.ve.kinia.model;
+
+import com.ve.kinia.model.enums.TipoDeudor;
+import com.ve.kinia.model.enums.TramoAntiguedad;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Antigüedad de saldo precalculada de una factura abierta (saldo > 0, no
+ * cobrada ni incobrable; una rechazada para factoring se sigue debiendo),
+ * para la lista de trabajo de cobranza.
+ *
+ * Solo lectura desde JPA: AntiguedadSaldosService la materializa a diario y
+ * por factura al registrarla, al registrar un pago o una gestión de
+ * cobranza. Sin asociaciones (ids planos) para que la lista se lea sin joins.
+ *
+ * diasVencida y tramo valen al día de calculadoEn; para ordenar se usa
+ * fechaVencimiento, que no envejece entre corridas.
+ */
+@Entity
+@Table(name = "antiguedad_facturas", indexes = {
+    @Index(name = "idx_antiguedad_empresa_lista", columnList = "empresa_id, fecha_vencimiento, saldo_pendiente DESC"),
+    @Index(name = "idx_antiguedad_tramo_lista", columnList = "tramo, fecha_vencimiento, saldo_pendiente DESC"),
+    @Index(name = "idx_antiguedad_deudor", columnList = "deudor_empresa_id")
+})
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class AntiguedadFactura {
+
+    @Id
+    @Column(name = "factura_id")
+    private UUID facturaId;
+
+    @Column(name = "empresa_id", nullable = false)
+    private UUID empresaId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo_deudor", nullable = false)
+    private TipoDeudor tipoDeudor;
+
+    @Column(name = "deudor_empresa_id")
+    private UUID deudorEmpresaId;
+
+    @Column(name = "deudor_externo_id")
+    private UUID deudorExternoId;
+
+    @Column(name = "deudor_rif", length = 12)
+    private String deudorRif;
+
+    @Column(name = "deudor_razon_social", length = 200)
+    private String deudorRazonSocial;
+
+    @Column(name = "numero_factura", nullable = false, length = 50)
+    private String numeroFactura;
+
+    @Column(name = "fecha_vencimiento", nullable = false)
+    private LocalDate fechaVencimiento;
+
+    /** Días desde el vencimiento (negativo si aún no vence). */
+    @Column(name = "dias_vencida", nullable = false)
+    private Integer diasVencida;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tramo", nullable = false, length = 20)
+    private TramoAntiguedad tramo;
+
+    @Column(name = "total", nullable = false, precision = 18, scale = 2)
+    private BigDecimal total;
+
+    @Column(name = "saldo_pendiente", nullable = false, precision = 18, scale = 2)
+    private BigDecimal saldoPendiente;
+
+    @Column(name = "ultima_cobranza")
+    private LocalDateTime ultimaCobranza;
+
+    /** Próximo compromiso de pago aún no vencido (Cobranza.fechaCompromisoPago). */
+    @Column(name = "proximo_compromiso")
+    private LocalDateTime proximoCompromiso;
+
+    @Column(name = "calculado_en", nullable = false)
+    private LocalDateTime calculadoEn;
+}
@@ -13,12 +13,24 @@ import java.util.UUID;
 
 /**
  * Log de auditoría para acciones importantes del sistema.
+ *
+ * Se escribe de forma asíncrona con AuditoriaService (no con save()).
+ * La tabla está particionada por mes de created_at
+ * (ver db/auditoria_acciones_particionada.sql).
+ *
+ * Para cambios de entidades (AuditoriaService.registrarCambio) solo se
+ * guardan los campos modificados: datosAntes con los valores anteriores y
+ * datosDespues con los nuevos. Cada cierto número de cambios se escribe un
+ * checkpoint (esCheckpoint=true) con la instantánea completa en
+ * datosDespues, desde el que AuditoriaService.reconstruir() rehace el
+ * estado de la entidad en cualquier momento.
  */
 @Entity
 @Table(name = "auditoria_acciones", indexes = {
     @Index(name = "idx_auditoria_empresa", columnList = "empresa_id"),
     @Index(name = "idx_auditoria_fecha", columnList = "created_at"),
-    @Index(name = "idx_auditoria_accion", columnList = "accion")
+    @Index(name = "idx_auditoria_accion", columnList = "accion"),
+    @Index(name = "idx_auditoria_entidad", columnList = "entidad, entidad_id, created_at")
 })
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
@@ -55,6 +67,10 @@ public class AuditoriaAccion {
     @Column(name = "datos_despues", columnDefinition = "jsonb")
     private Map<String, Object> datosDespues;
 
+    @Column(name = "es_checkpoint", nullable = false)
+    @Builder.Default
+    private Boolean esCheckpoint = false;
+
     @Size(max = 45)
     @Column(name = "ip_address", length = 45)
     private String ipAddress;
@@ -0,0 +1,52 @@
+package com.ve.kinia.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Contenido de un archivo subido, guardado UNA vez por hash SHA-256
+ * (ver AlmacenDocumentosService).
+ *
+ * Varios Documento pueden apuntar al mismo blob (el mismo RIF o estado de
+ * cuenta subido por distintas empresas o representantes). referencias
+ * cuenta cuántos; cuando llega a 0 se marca liberadoEn y, pasado el período
+ * de gracia, el recolector borra el archivo y la fila.
+ *
+ * Se modifica solo con las consultas de BlobDocumentoRepository (upsert y
+ * decremento atómicos), nunca con save().
+ */
+@Entity
+@Table(name = "documento_blobs", indexes = {
+    @Index(name = "idx_documento_blobs_liberado", columnList = "liberado_en")
+})
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class BlobDocumento {
+
+    @Id
+    @Size(min = 64, max = 64)
+    @Column(name = "hash_sha256", length = 64)
+    private String hashSha256;
+
+    @Min(0)
+    @Column(name = "tamano_bytes", nullable = false)
+    private Long tamanoBytes;
+
+    @Min(0)
+    @Column(name = "referencias", nullable = false)
+    @Builder.Default
+    private Integer referencias = 0;
+
+    /** Momento en que referencias llegó a 0; null mientras esté en uso. */
+    @Column(name = "liberado_en")
+    private LocalDateTime liberadoEn;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,39 @@
+package com.ve.kinia.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Programación de la cobranza automática de un deudor INTERNO.
+ *
+ * Cada nodo reclama filas con proximaGestion vencida mediante
+ * SELECT ... FOR UPDATE SKIP LOCKED (ver CobranzaAutomaticaService), así
+ * un deudor lo gestiona un solo nodo a la vez y no más de una vez por
+ * intervalo. Se modifica con las consultas de CobranzaDeudorRepository.
+ */
+@Entity
+@Table(name = "cobranza_deudores", indexes = {
+    @Index(name = "idx_cobranza_deudores_proxima", columnList = "proxima_gestion")
+})
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class CobranzaDeudor {
+
+    @Id
+    @Column(name = "deudor_empresa_id")
+    private UUID deudorEmpresaId;
+
+    @Column(name = "proxima_gestion", nullable = false)
+    private LocalDateTime proximaGestion;
+
+    @Column(name = "ultima_gestion")
+    private LocalDateTime ultimaGestion;
+
+    @Column(name = "gestiones", nullable = false)
+    @Builder.Default
+    private Integer gestiones = 0;
+}
@@ -1,5 +1,6 @@
 package com.ve.kinia.model;
 
+import com.ve.kinia.listener.DatosFinancierosListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
@@ -23,7 +24,8 @@ import java.util.UUID;
  */
 @Entity
 @Table(name = "datos_financieros", indexes = {
-    @Index(name = "idx_financieros_empresa", columnList = "empresa_id")
+    @Index(name = "idx_financieros_empresa", columnList = "empresa_id"),
+    @Index(name = "idx_financieros_updated", columnList = "updated_at")
 }, uniqueConstraints = {
     @UniqueConstraint(name = "uk_financieros_periodo", 
         columnNames = {"empresa_id", "periodo_ano", "periodo_mes"})
@@ -31,6 +33,7 @@ import java.util.UUID;
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
 @Builder
+@EntityListeners(DatosFinancierosListener.class)
 public class DatosFinancieros {
 
     @Id
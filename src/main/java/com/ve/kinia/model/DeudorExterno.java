@@ -1,5 +1,6 @@
 package com.ve.kinia.model;
 
+import com.ve.kinia.listener.CambioRifListener;
 import com.ve.kinia.model.enums.*;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
@@ -36,6 +37,7 @@ import java.util.UUID;
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
 @Builder
+@EntityListeners(CambioRifListener.class)
 public class DeudorExterno {
 
     @Id
@@ -64,6 +66,13 @@ public class DeudorExterno {
     @Column(name = "digito_verificador", length = 1)
     private String digitoVerificador;
 
+    /** RIF leído de la base o guardado por última vez (CambioRifListener). */
+    @Transient
+    private TipoRif tipoRifGuardado;
+
+    @Transient
+    private String numeroRifGuardado;
+
     @Column(name = "rif_completo", length = 12)
     private String rifCompleto;
 
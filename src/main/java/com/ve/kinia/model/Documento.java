@@ -20,11 +20,18 @@ import java.util.UUID;
  *   - Los archivos se almacenan FUERA del webroot
  *   - Se calcula hash SHA-256 para verificar integridad
  *   - Acceso solo vía servicio autenticado
+ *
+ * Almacenamiento por contenido (AlmacenDocumentosService): el archivo vive
+ * en el BlobDocumento de su hash, compartido entre documentos iguales;
+ * rutaAlmacenamiento/nombreAlmacenado apuntan a ese blob.
  */
 @Entity
 @Table(name = "documentos", indexes = {
     @Index(name = "idx_documentos_empresa", columnList = "empresa_id"),
-    @Index(name = "idx_documentos_tipo", columnList = "tipo")
+    @Index(name = "idx_documentos_tipo", columnList = "tipo"),
+    @Index(name = "idx_documentos_updated", columnList = "updated_at"),
+    @Index(name = "idx_documentos_vencimiento", columnList = "fecha_vencimiento"),
+    @Index(name = "idx_documentos_hash", columnList = "hash_sha256")
 })
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
@@ -91,6 +98,11 @@ public class Documento {
     @Column(name = "hash_sha256", length = 64)
     private String hashSha256;
 
+    /** Blob con el contenido; solo lectura, se asigna con hashSha256. */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "hash_sha256", referencedColumnName = "hash_sha256", insertable = false, updatable = false)
+    private BlobDocumento blob;
+
     // ══════════════════════════════════════════════════════════════
     // VERIFICACIÓN
     // ══════════════════════════════════════════════════════════════
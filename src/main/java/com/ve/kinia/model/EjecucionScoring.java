@@ -0,0 +1,116 @@
+package com.ve.kinia.model;
+
+import com.ve.kinia.model.enums.EstadoEjecucion;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Registro de una corrida del re-scoring masivo de empresas.
+ *
+ * Funciona como CHECKPOINT: cada chunk terminado actualiza
+ * ultimoEmpresaId en la misma transacción que escribe sus scores.
+ * Si el proceso se cae, la siguiente corrida retoma desde ese id
+ * (paginación keyset por empresas.id).
+ *
+ * Con varias instancias, la corrida pertenece a {@code instancia}
+ * mientras su latido no venza (ver ScoringBatchService).
+ */
+@Entity
+@Table(name = "ejecuciones_scoring", indexes = {
+    @Index(name = "idx_ejecuciones_scoring_estado", columnList = "estado")
+})
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class EjecucionScoring {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "estado", nullable = false)
+    @Builder.Default
+    private EstadoEjecucion estado = EstadoEjecucion.EN_CURSO;
+
+    @Column(name = "configuracion_id")
+    private UUID configuracionId;
+
+    /** updatedAt de la configuración usada; solo se retoma con la misma versión. */
+    @Column(name = "configuracion_actualizada")
+    private LocalDateTime configuracionActualizada;
+
+    // ══════════════════════════════════════════════════════════════
+    // CHECKPOINT
+    // ══════════════════════════════════════════════════════════════
+
+    @Column(name = "ultimo_empresa_id")
+    private UUID ultimoEmpresaId;
+
+    @Column(name = "chunks_completados")
+    @Builder.Default
+    private Integer chunksCompletados = 0;
+
+    @Column(name = "empresas_procesadas")
+    @Builder.Default
+    private Long empresasProcesadas = 0L;
+
+    // ══════════════════════════════════════════════════════════════
+    // RECLAMO (VARIAS INSTANCIAS)
+    // ══════════════════════════════════════════════════════════════
+
+    /** Instancia que ejecuta la corrida; solo ella escribe chunks. */
+    @Column(name = "instancia", length = 100)
+    private String instancia;
+
+    /** Último chunk escrito (o inicio); vencido, otra instancia puede retomarla. */
+    @Column(name = "latido_en")
+    private LocalDateTime latidoEn;
+
+    // ══════════════════════════════════════════════════════════════
+    // RENDIMIENTO
+    // ══════════════════════════════════════════════════════════════
+
+    @Column(name = "fecha_inicio", nullable = false)
+    @Builder.Default
+    private LocalDateTime fechaInicio = LocalDateTime.now();
+
+    @Column(name = "fecha_fin")
+    private LocalDateTime fechaFin;
+
+    @Column(name = "empresas_por_segundo", precision = 12, scale = 2)
+    private BigDecimal empresasPorSegundo;
+
+    @Column(name = "mensaje_error", columnDefinition = "TEXT")
+    private String mensajeError;
+
+    // ══════════════════════════════════════════════════════════════
+    // AUDITORÍA
+    // ══════════════════════════════════════════════════════════════
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // ══════════════════════════════════════════════════════════════
+    // MÉTODOS DE UTILIDAD
+    // ══════════════════════════════════════════════════════════════
+
+    public void registrarChunk(UUID ultimoId, int empresas) {
+        this.ultimoEmpresaId = ultimoId;
+        this.chunksCompletados = chunksCompletados + 1;
+        this.empresasProcesadas = empresasProcesadas + empresas;
+    }
+}
@@ -1,5 +1,6 @@
 package com.ve.kinia.model;
 
+import com.ve.kinia.listener.CambioRifListener;
 import com.ve.kinia.model.enums.*;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
@@ -32,13 +33,17 @@ import java.util.UUID;
     @Index(name = "idx_empresas_email", columnList = "email"),
     @Index(name = "idx_empresas_rif", columnList = "rif_completo"),
     @Index(name = "idx_empresas_estado", columnList = "estado"),
-    @Index(name = "idx_empresas_kyc", columnList = "estado_kyc")
+    @Index(name = "idx_empresas_kyc", columnList = "estado_kyc"),
+    @Index(name = "idx_empresas_updated", columnList = "updated_at"),
+    @Index(name = "idx_empresas_scoring_pendiente", columnList = "scoring_pendiente_desde"),
+    @Index(name = "idx_empresas_score_vigente", columnList = "score_vigente_id")
 }, uniqueConstraints = {
     @UniqueConstraint(name = "uk_rif", columnNames = {"tipo_rif", "numero_rif"})
 })
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
 @Builder
+@EntityListeners(CambioRifListener.class)
 public class Empresa {
 
     @Id
@@ -64,6 +69,13 @@ public class Empresa {
     @Column(name = "digito_verificador", nullable = false, length = 1)
     private String digitoVerificador;
 
+    /** RIF leído de la base o guardado por última vez (CambioRifListener). */
+    @Transient
+    private TipoRif tipoRifGuardado;
+
+    @Transient
+    private String numeroRifGuardado;
+
     @Column(name = "rif_completo", length = 12)
     private String rifCompleto;
 
@@ -225,6 +237,26 @@ public class Empresa {
     @Column(name = "cuenta_bloqueada_hasta")
     private LocalDateTime cuentaBloqueadaHasta;
 
+    // ══════════════════════════════════════════════════════════════
+    // SCORING INCREMENTAL
+    // ══════════════════════════════════════════════════════════════
+
+    /**
+     * Momento en que se detectó un cambio en algún input del scoring
+     * (null = score al día). Lo mantiene ScoringIncrementalService.
+     */
+    @Column(name = "scoring_pendiente_desde")
+    private LocalDateTime scoringPendienteDesde;
+
+    /**
+     * Score vigente (esVigente = true). Se actualiza en la misma transacción
+     * que inserta cada score nuevo (ScoringService.guardarScores), así no hace
+     * falta recorrer el historial de scores.
+     */
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "score_vigente_id")
+    private Score scoreVigente;
+
     // ══════════════════════════════════════════════════════════════
     // AUDITORÍA
     // ══════════════════════════════════════════════════════════════
@@ -285,14 +317,6 @@ public class Empresa {
         }
     }
 
-    @Transient
-    public Score getScoreVigente() {
-        return scores.stream()
-                .filter(Score::getEsVigente)
-                .findFirst()
-                .orElse(null);
-    }
-
     @Transient
     public boolean isCuentaBloqueada() {
         return cuentaBloqueadaHasta != null && 
@@ -27,6 +27,11 @@ import java.util.UUID;
  * 
  * Ciclo de vida:
  *   PENDIENTE → EN_EVALUACION → APROBADA → ANTICIPADA → EN_COBRANZA → COBRADA
+ *
+ * totalPagado y saldoPendiente se mantienen al registrar cada pago
+ * (registrarPago) en lugar de sumar pagosRecibidos; la versión evita
+ * que dos pagos concurrentes pisen el acumulado. ReconciliacionSaldosService
+ * los verifica periódicamente contra la suma real de pagos.
  */
 @Entity
 @Table(name = "facturas", indexes = {
@@ -34,7 +39,8 @@ import java.util.UUID;
     @Index(name = "idx_facturas_deudor_empresa", columnList = "deudor_empresa_id"),
     @Index(name = "idx_facturas_deudor_externo", columnList = "deudor_externo_id"),
     @Index(name = "idx_facturas_estado", columnList = "estado"),
-    @Index(name = "idx_facturas_vencimiento", columnList = "fecha_vencimiento")
+    @Index(name = "idx_facturas_vencimiento", columnList = "fecha_vencimiento"),
+    @Index(name = "idx_facturas_updated", columnList = "updated_at")
 }, uniqueConstraints = {
     @UniqueConstraint(name = "uk_factura_empresa", 
         columnNames = {"empresa_id", "numero_factura"})
@@ -120,6 +126,15 @@ public class Factura {
     @Column(name = "tasa_cambio_emision", precision = 18, scale = 4)
     private BigDecimal tasaCambioEmision;
 
+    /** Suma de pagosRecibidos, actualizada en cada pago. */
+    @Column(name = "total_pagado", nullable = false, precision = 18, scale = 2)
+    @Builder.Default
+    private BigDecimal totalPagado = BigDecimal.ZERO;
+
+    /** total - totalPagado. */
+    @Column(name = "saldo_pendiente", nullable = false, precision = 18, scale = 2)
+    private BigDecimal saldoPendiente;
+
     // ══════════════════════════════════════════════════════════════
     // DATOS DEL DEUDOR (snapshot)
     // ══════════════════════════════════════════════════════════════
@@ -200,6 +215,10 @@ public class Factura {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // ══════════════════════════════════════════════════════════════
     // MÉTODOS DE UTILIDAD
     // ══════════════════════════════════════════════════════════════
@@ -219,20 +238,50 @@ public class Factura {
         return (int) java.time.temporal.ChronoUnit.DAYS.between(LocalDate.now(), fechaVencimiento);
     }
 
-    @Transient
-    public BigDecimal getTotalPagado() {
-        return pagosRecibidos.stream()
-                .map(PagoRecibido::getMonto)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    /**
+     * Asocia el pago a la factura y actualiza los acumulados sin inicializar
+     * la colección pagosRecibidos. El pago debe guardarse aparte
+     * (PagoRecibidoRepository) en la misma transacción.
+     */
+    public void registrarPago(PagoRecibido pago) {
+        pago.setFactura(this);
+        BigDecimal pagado = totalPagado != null ? totalPagado : sumarPagosRecibidos();
+        totalPagado = pagado.add(pago.getMonto());
+        saldoPendiente = total.subtract(totalPagado);
     }
 
-    @Transient
-    public BigDecimal getSaldoPendiente() {
-        return total.subtract(getTotalPagado());
+    /**
+     * Suma de montos de pagosRecibidos (inicializa la colección). Solo para
+     * filas sin acumulado; el resto usa totalPagado.
+     */
+    public BigDecimal sumarPagosRecibidos() {
+        BigDecimal suma = BigDecimal.ZERO;
+        for (PagoRecibido pago : pagosRecibidos) {
+            suma = suma.add(pago.getMonto());
+        }
+        return suma;
+    }
+
+    /**
+     * Corrige los acumulados con la suma real de pagos (reconciliación).
+     */
+    public void recalcularSaldos(BigDecimal sumaPagos) {
+        totalPagado = sumaPagos;
+        saldoPendiente = total.subtract(sumaPagos);
     }
 
     @PrePersist
     @PreUpdate
+    public void antesDeGuardar() {
+        if (totalPagado == null) {
+            totalPagado = sumarPagosRecibidos();
+        }
+        if (total != null) {
+            saldoPendiente = total.subtract(totalPagado);
+        }
+        validarDeudor();
+    }
+
     public void validarDeudor() {
         if (tipoDeudor == TipoDeudor.INTERNO && deudorEmpresa == null) {
             throw new IllegalStateException("Deudor interno requiere deudorEmpresa");
@@ -0,0 +1,36 @@
+package com.ve.kinia.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marca de agua (watermark) de un proceso incremental.
+ *
+ * Guarda hasta qué momento un proceso ya revisó los cambios, para que
+ * la siguiente corrida solo mire lo modificado después.
+ */
+@Entity
+@Table(name = "marcas_procesos")
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class MarcaProceso {
+
+    @Id
+    @NotBlank
+    @Size(max = 100)
+    @Column(name = "nombre", length = 100)
+    private String nombre;
+
+    @NotNull
+    @Column(name = "ultima_marca", nullable = false)
+    private LocalDateTime ultimaMarca;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,65 @@
+package com.ve.kinia.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Notificación pendiente de envío a una empresa (bandeja de salida).
+ * La generan los procesos automáticos (p. ej. cobranza); el canal de
+ * envío la marca como enviada.
+ */
+@Entity
+@Table(name = "notificaciones", indexes = {
+    @Index(name = "idx_notificaciones_empresa", columnList = "empresa_id"),
+    @Index(name = "idx_notificaciones_pendientes", columnList = "enviada, created_at")
+})
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class Notificacion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    /** Empresa destinataria. */
+    @NotNull
+    @Column(name = "empresa_id", nullable = false)
+    private UUID empresaId;
+
+    @NotBlank
+    @Size(max = 50)
+    @Column(name = "tipo", nullable = false, length = 50)
+    private String tipo;
+
+    @NotBlank
+    @Size(max = 200)
+    @Column(name = "asunto", nullable = false, length = 200)
+    private String asunto;
+
+    @Column(name = "mensaje", columnDefinition = "TEXT")
+    private String mensaje;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "datos", columnDefinition = "jsonb")
+    private Map<String, Object> datos;
+
+    @Column(name = "enviada", nullable = false)
+    @Builder.Default
+    private Boolean enviada = false;
+
+    @Column(name = "fecha_envio")
+    private LocalDateTime fechaEnvio;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -15,7 +15,8 @@ import java.util.UUID;
 @Entity
 @Table(name = "pagos_recibidos", indexes = {
     @Index(name = "idx_pagos_factura", columnList = "factura_id"),
-    @Index(name = "idx_pagos_fecha", columnList = "fecha_pago")
+    @Index(name = "idx_pagos_fecha", columnList = "fecha_pago"),
+    @Index(name = "idx_pagos_created", columnList = "created_at")
 })
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
@@ -15,17 +15,22 @@ import java.util.UUID;
  * 
  * Esta entidad es CLAVE para el concepto de "ecosistema cerrado":
  *   - Permite calcular el score como DEUDOR basado en datos REALES
- *   - Se actualiza automáticamente con cada factura y pago
+ *   - Se actualiza con cada factura y pago (AgregadorRelacionesService)
  *   - Proporciona métricas de comportamiento comercial
  * 
  * La relación es DIRECCIONAL:
  *   - empresaProveedora → quien emite facturas (vende)
  *   - empresaCliente → quien debe/paga (compra)
+ *
+ * Los montos están en bolívares: cada factura y pago se convierte con la
+ * tasa BCV de su fecha (TasasCambioService); sin tasa publicada se suma
+ * el monto sin convertir.
  */
 @Entity
 @Table(name = "relaciones_comerciales", indexes = {
     @Index(name = "idx_relaciones_proveedor", columnList = "empresa_proveedora_id"),
-    @Index(name = "idx_relaciones_cliente", columnList = "empresa_cliente_id")
+    @Index(name = "idx_relaciones_cliente", columnList = "empresa_cliente_id"),
+    @Index(name = "idx_relaciones_updated", columnList = "updated_at")
 }, uniqueConstraints = {
     @UniqueConstraint(name = "uk_relacion_comercial", 
         columnNames = {"empresa_proveedora_id", "empresa_cliente_id"})
@@ -130,4 +135,48 @@ public class RelacionComercial {
         if (total == 0) return 0.0;
         return (facturasPagadasATiempo.doubleValue() / total) * 100;
     }
+
+    /**
+     * Nueva factura del proveedor al cliente (antes trigger_actualizar_relacion).
+     */
+    public void registrarFactura(BigDecimal monto, LocalDateTime fecha) {
+        totalFacturas = totalFacturas + 1;
+        totalFacturado = totalFacturado.add(monto);
+        saldoPendiente = saldoPendiente.add(monto);
+        registrarFecha(fecha);
+    }
+
+    /**
+     * Pago del cliente al proveedor (antes trigger_actualizar_relacion_pago).
+     *
+     * @param facturaSaldada el pago completó la factura: cuenta para
+     *                       puntualidad, días de pago y peor mora
+     */
+    public void registrarPago(BigDecimal monto, LocalDateTime fecha, int diasPago, int diasMora,
+                              boolean facturaSaldada) {
+        totalPagado = totalPagado.add(monto);
+        saldoPendiente = saldoPendiente.subtract(monto);
+        registrarFecha(fecha);
+        if (!facturaSaldada) {
+            return;
+        }
+        if (diasMora > 0) {
+            facturasPagadasConMora = facturasPagadasConMora + 1;
+        } else {
+            facturasPagadasATiempo = facturasPagadasATiempo + 1;
+        }
+        peorMoraDias = Math.max(peorMoraDias, diasMora);
+        int saldadas = facturasPagadasATiempo + facturasPagadasConMora;
+        int promedioAnterior = promedioDiasPago != null ? promedioDiasPago : 0;
+        promedioDiasPago = Math.round(((float) promedioAnterior * (saldadas - 1) + diasPago) / saldadas);
+    }
+
+    private void registrarFecha(LocalDateTime fecha) {
+        if (primeraTransaccion == null || fecha.isBefore(primeraTransaccion)) {
+            primeraTransaccion = fecha;
+        }
+        if (ultimaTransaccion == null || fecha.isAfter(ultimaTransaccion)) {
+            ultimaTransaccion = fecha;
+        }
+    }
 }
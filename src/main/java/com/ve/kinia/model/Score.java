@@ -23,7 +23,8 @@ import java.util.UUID;
  *   2. SCORE COMO DEUDOR (puntajeComoDeudor): Cuando le facturan
  * 
  * Solo UN score puede estar vigente (esVigente=true) por empresa.
- * Al crear uno nuevo, se invalida el anterior automáticamente.
+ * Al crear uno nuevo, se invalida el anterior automáticamente y
+ * Empresa.scoreVigente pasa a apuntar al nuevo.
  */
 @Entity
 @Table(name = "scores", indexes = {
@@ -176,6 +177,11 @@ public class Score {
     @Column(name = "datos_entrada", columnDefinition = "jsonb")
     private Map<String, Object> datosEntrada;
 
+    /** SHA-256 de datosEntrada + configuración usada; iguales = mismo resultado. */
+    @Size(max = 64)
+    @Column(name = "huella_entrada", length = 64)
+    private String huellaEntrada;
+
     // ══════════════════════════════════════════════════════════════
     // VIGENCIA
     // ══════════════════════════════════════════════════════════════
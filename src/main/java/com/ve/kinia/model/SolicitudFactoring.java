@@ -8,6 +8,7 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -211,6 +212,22 @@ public class SolicitudFactoring {
         return facturasFactoring.size();
     }
 
+    /**
+     * Calcula la oferta a partir de montoFacturasTotal, porcentajeAnticipo,
+     * tasaDescuento y comisionFija (ver fórmulas en la cabecera).
+     */
+    public void calcularMontos() {
+        BigDecimal cien = BigDecimal.valueOf(100);
+        BigDecimal fija = comisionFija != null ? comisionFija : BigDecimal.ZERO;
+        this.montoAnticipo = montoFacturasTotal.multiply(porcentajeAnticipo)
+                .divide(cien, 2, RoundingMode.HALF_UP);
+        this.montoComisionTotal = montoFacturasTotal.multiply(tasaDescuento)
+                .divide(cien, 2, RoundingMode.HALF_UP)
+                .add(fija);
+        this.montoADesembolsar = montoAnticipo.subtract(montoComisionTotal);
+        this.montoRetenido = montoFacturasTotal.subtract(montoAnticipo);
+    }
+
     public void addFactura(FacturaFactoring facturaFactoring) {
         facturasFactoring.add(facturaFactoring);
         facturaFactoring.setSolicitud(this);
@@ -0,0 +1,96 @@
+package com.ve.kinia.model;
+
+import com.ve.kinia.model.enums.NivelRiesgo;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Tablero de una empresa ya armado: score vigente, facturas por cobrar,
+ * solicitudes de factoring y principales deudores, para mostrarlo con una
+ * lectura por clave primaria en vez de recorrer getFacturas / getScores.
+ *
+ * Solo lectura desde JPA: TableroEmpresaService la recalcula con
+ * TableroEmpresaRepository.recalcular al recibir eventos de la empresa y
+ * en la reconstrucción nocturna (los días de vencimiento envejecen).
+ *
+ * Los montos de facturas están en bolívares a la tasa BCV del día del
+ * cálculo (sin tasa publicada, el monto sin convertir).
+ */
+@Entity
+@Table(name = "tablero_empresas")
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class TableroEmpresa {
+
+    @Id
+    @Column(name = "empresa_id")
+    private UUID empresaId;
+
+    // ══════════════════════════════════════════════════════════════
+    // SCORE VIGENTE
+    // ══════════════════════════════════════════════════════════════
+
+    @Column(name = "puntaje")
+    private Integer puntaje;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "nivel_riesgo")
+    private NivelRiesgo nivelRiesgo;
+
+    @Column(name = "score_calculado_en")
+    private LocalDateTime scoreCalculadoEn;
+
+    @Column(name = "limite_factoring_sugerido", precision = 18, scale = 2)
+    private BigDecimal limiteFactoringSugerido;
+
+    // ══════════════════════════════════════════════════════════════
+    // FACTURAS POR COBRAR
+    // ══════════════════════════════════════════════════════════════
+
+    @Column(name = "facturas_abiertas", nullable = false)
+    private Integer facturasAbiertas;
+
+    @Column(name = "saldo_por_cobrar", nullable = false, precision = 18, scale = 2)
+    private BigDecimal saldoPorCobrar;
+
+    @Column(name = "facturas_vencidas", nullable = false)
+    private Integer facturasVencidas;
+
+    @Column(name = "saldo_vencido", nullable = false, precision = 18, scale = 2)
+    private BigDecimal saldoVencido;
+
+    /**
+     * Hasta {@code kinia.tablero.max-deudores} deudores con mayor saldo:
+     * deudorId, tipoDeudor, rif, razonSocial, facturas, saldo.
+     */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "principales_deudores", columnDefinition = "jsonb", nullable = false)
+    private List<Map<String, Object>> principalesDeudores;
+
+    // ══════════════════════════════════════════════════════════════
+    // FACTORING
+    // ══════════════════════════════════════════════════════════════
+
+    /** Enviadas, en revisión, aprobadas, desembolsadas o en cobranza. */
+    @Column(name = "solicitudes_activas", nullable = false)
+    private Integer solicitudesActivas;
+
+    @Column(name = "monto_en_solicitudes", nullable = false, precision = 18, scale = 2)
+    private BigDecimal montoEnSolicitudes;
+
+    /** montoRetenido de las solicitudes desembolsadas o en cobranza. */
+    @Column(name = "monto_retenido", nullable = false, precision = 18, scale = 2)
+    private BigDecimal montoRetenido;
+
+    @Column(name = "calculado_en", nullable = false)
+    private LocalDateTime calculadoEn;
+}
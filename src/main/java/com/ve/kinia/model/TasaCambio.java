@@ -0,0 +1,55 @@
+package com.ve.kinia.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Tasa oficial del BCV de una moneda en un día: bolívares por una unidad
+ * de la moneda. Solo hay filas para los días publicados; la consulta por
+ * fecha toma la última tasa anterior (ver TablaTasas).
+ *
+ * Se escribe con TasaCambioRepository.registrar (upsert por moneda y
+ * fecha), nunca con save().
+ */
+@Entity
+@Table(name = "tasas_cambio", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_tasas_cambio_moneda_fecha", columnNames = {"moneda", "fecha"})
+})
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class TasaCambio {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @NotBlank
+    @Size(min = 3, max = 3)
+    @Column(name = "moneda", length = 3, nullable = false)
+    private String moneda;
+
+    @NotNull
+    @Column(name = "fecha", nullable = false)
+    private LocalDate fecha;
+
+    @NotNull
+    @Positive
+    @Column(name = "tasa", precision = 18, scale = 4, nullable = false)
+    private BigDecimal tasa;
+
+    @Size(max = 100)
+    @Column(name = "fuente", length = 100)
+    private String fuente;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
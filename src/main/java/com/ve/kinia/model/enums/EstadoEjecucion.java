@@ -0,0 +1,23 @@
+package com.ve.kinia.model.enums;
+
+/**
+ * Estado de una ejecución de un proceso batch (ej. re-scoring nocturno).
+ *
+ * Una ejecución EN_CURSO que no terminó (caída del nodo) se retoma
+ * desde su último checkpoint en la siguiente corrida.
+ */
+public enum EstadoEjecucion {
+    EN_CURSO("En ejecución"),
+    COMPLETADA("Completada"),
+    FALLIDA("Terminó con error");
+
+    private final String descripcion;
+
+    EstadoEjecucion(String descripcion) {
+        this.descripcion = descripcion;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+}
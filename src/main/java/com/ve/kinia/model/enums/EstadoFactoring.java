@@ -26,4 +26,19 @@ public enum EstadoFactoring {
     public String getDescripcion() {
         return descripcion;
     }
+
+    /**
+     * Transiciones válidas del flujo (RECHAZADA, LIQUIDADA y CANCELADA son finales).
+     */
+    public boolean puedeCambiarA(EstadoFactoring destino) {
+        return switch (this) {
+            case BORRADOR -> destino == ENVIADA || destino == CANCELADA;
+            case ENVIADA -> destino == EN_REVISION || destino == CANCELADA;
+            case EN_REVISION -> destino == APROBADA || destino == RECHAZADA;
+            case APROBADA -> destino == DESEMBOLSADA || destino == CANCELADA;
+            case DESEMBOLSADA -> destino == EN_COBRANZA || destino == LIQUIDADA;
+            case EN_COBRANZA -> destino == LIQUIDADA;
+            case RECHAZADA, LIQUIDADA, CANCELADA -> false;
+        };
+    }
 }
@@ -0,0 +1,133 @@
+package com.ve.kinia.model.enums;
+
+import com.ve.kinia.model.DatosFinancieros;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Columnas numéricas de datos_financieros que guarda la serie columnar
+ * (ver SerieFinancieraService), cada una como long escalado:
+ *   - Montos: céntimos (escala 2)
+ *   - Ratios y tasa de cambio: × 10.000 (escala 4)
+ *   - Rotación: días (escala 0)
+ *
+ * Los ratios de liquidez, endeudamiento y margen neto se derivan de los
+ * montos del período cuando la fila no los trae (igual que el scoring).
+ */
+public enum MetricaFinanciera {
+    INGRESOS_BRUTOS("ingresos_brutos", 2, DatosFinancieros::getIngresosBrutos,
+            DatosFinancieros::setIngresosBrutos),
+    INGRESOS_NETOS("ingresos_netos", 2, DatosFinancieros::getIngresosNetos, DatosFinancieros::setIngresosNetos),
+    COSTOS_OPERATIVOS("costos_operativos", 2, DatosFinancieros::getCostosOperativos,
+            DatosFinancieros::setCostosOperativos),
+    GASTOS_ADMINISTRATIVOS("gastos_administrativos", 2, DatosFinancieros::getGastosAdministrativos,
+            DatosFinancieros::setGastosAdministrativos),
+    UTILIDAD_BRUTA("utilidad_bruta", 2, DatosFinancieros::getUtilidadBruta, DatosFinancieros::setUtilidadBruta),
+    UTILIDAD_NETA("utilidad_neta", 2, DatosFinancieros::getUtilidadNeta, DatosFinancieros::setUtilidadNeta),
+    INGRESOS_NETOS_USD("ingresos_netos_usd", 2, DatosFinancieros::getIngresosNetosUsd,
+            DatosFinancieros::setIngresosNetosUsd),
+    TASA_CAMBIO_USADA("tasa_cambio_usada", 4, DatosFinancieros::getTasaCambioUsada,
+            DatosFinancieros::setTasaCambioUsada),
+    ACTIVOS_TOTALES("activos_totales", 2, DatosFinancieros::getActivosTotales,
+            DatosFinancieros::setActivosTotales),
+    ACTIVOS_CORRIENTES("activos_corrientes", 2, DatosFinancieros::getActivosCorrientes,
+            DatosFinancieros::setActivosCorrientes),
+    PASIVOS_TOTALES("pasivos_totales", 2, DatosFinancieros::getPasivosTotales,
+            DatosFinancieros::setPasivosTotales),
+    PASIVOS_CORRIENTES("pasivos_corrientes", 2, DatosFinancieros::getPasivosCorrientes,
+            DatosFinancieros::setPasivosCorrientes),
+    PATRIMONIO("patrimonio", 2, DatosFinancieros::getPatrimonio, DatosFinancieros::setPatrimonio),
+    CUENTAS_POR_COBRAR("cuentas_por_cobrar", 2, DatosFinancieros::getCuentasPorCobrar,
+            DatosFinancieros::setCuentasPorCobrar),
+    CUENTAS_POR_PAGAR("cuentas_por_pagar", 2, DatosFinancieros::getCuentasPorPagar,
+            DatosFinancieros::setCuentasPorPagar),
+    INVENTARIOS("inventarios", 2, DatosFinancieros::getInventarios, DatosFinancieros::setInventarios),
+    FLUJO_CAJA_OPERATIVO("flujo_caja_operativo", 2, DatosFinancieros::getFlujoCajaOperativo,
+            DatosFinancieros::setFlujoCajaOperativo),
+    EFECTIVO_DISPONIBLE("efectivo_disponible", 2, DatosFinancieros::getEfectivoDisponible,
+            DatosFinancieros::setEfectivoDisponible),
+    DEUDA_BANCARIA_CORTO_PLAZO("deuda_bancaria_corto_plazo", 2, DatosFinancieros::getDeudaBancariaCortoPlazo,
+            DatosFinancieros::setDeudaBancariaCortoPlazo),
+    DEUDA_BANCARIA_LARGO_PLAZO("deuda_bancaria_largo_plazo", 2, DatosFinancieros::getDeudaBancariaLargoPlazo,
+            DatosFinancieros::setDeudaBancariaLargoPlazo),
+    RATIO_LIQUIDEZ("ratio_liquidez", 4, DatosFinancieros::getRatioLiquidez, DatosFinancieros::setRatioLiquidez),
+    RATIO_ENDEUDAMIENTO("ratio_endeudamiento", 4, DatosFinancieros::getRatioEndeudamiento,
+            DatosFinancieros::setRatioEndeudamiento),
+    RATIO_COBERTURA_DEUDA("ratio_cobertura_deuda", 4, DatosFinancieros::getRatioCoberturaDeuda,
+            DatosFinancieros::setRatioCoberturaDeuda),
+    MARGEN_NETO("margen_neto", 4, DatosFinancieros::getMargenNeto, DatosFinancieros::setMargenNeto),
+    ROTACION_CUENTAS_COBRAR("rotacion_cuentas_cobrar", 0,
+            d -> d.getRotacionCuentasCobrar() != null ? BigDecimal.valueOf(d.getRotacionCuentasCobrar()) : null,
+            (d, v) -> d.setRotacionCuentasCobrar(v != null ? v.intValueExact() : null));
+
+    /** Valor ausente en la serie (mismo criterio que EntradaScoring.SIN_DATO). */
+    public static final long SIN_DATO = Long.MIN_VALUE;
+
+    private static final MetricaFinanciera[] TODAS = values();
+
+    private final String columna;
+    private final int escala;
+    private final Function<DatosFinancieros, BigDecimal> lector;
+    private final BiConsumer<DatosFinancieros, BigDecimal> escritor;
+
+    MetricaFinanciera(String columna, int escala, Function<DatosFinancieros, BigDecimal> lector,
+                      BiConsumer<DatosFinancieros, BigDecimal> escritor) {
+        this.columna = columna;
+        this.escala = escala;
+        this.lector = lector;
+        this.escritor = escritor;
+    }
+
+    public String getColumna() {
+        return columna;
+    }
+
+    public int getEscala() {
+        return escala;
+    }
+
+    public BigDecimal valor(DatosFinancieros d) {
+        return lector.apply(d);
+    }
+
+    public void asignar(DatosFinancieros d, BigDecimal valor) {
+        escritor.accept(d, valor);
+    }
+
+    /** Valores crudos de la fila, indexados por ordinal(). */
+    public static BigDecimal[] leer(DatosFinancieros d) {
+        BigDecimal[] crudos = new BigDecimal[TODAS.length];
+        for (MetricaFinanciera m : TODAS) {
+            crudos[m.ordinal()] = m.lector.apply(d);
+        }
+        return crudos;
+    }
+
+    /**
+     * Convierte los valores crudos (indexados por ordinal()) a enteros
+     * escalados en {@code destino}, derivando los ratios faltantes.
+     */
+    public static void escalar(BigDecimal[] crudos, long[] destino) {
+        derivar(crudos, RATIO_LIQUIDEZ, ACTIVOS_CORRIENTES, PASIVOS_CORRIENTES);
+        derivar(crudos, RATIO_ENDEUDAMIENTO, PASIVOS_TOTALES, ACTIVOS_TOTALES);
+        derivar(crudos, MARGEN_NETO, UTILIDAD_NETA, INGRESOS_NETOS);
+        for (MetricaFinanciera m : TODAS) {
+            BigDecimal valor = crudos[m.ordinal()];
+            destino[m.ordinal()] = valor != null
+                    ? valor.setScale(m.escala, RoundingMode.HALF_UP).unscaledValue().longValue()
+                    : SIN_DATO;
+        }
+    }
+
+    private static void derivar(BigDecimal[] crudos, MetricaFinanciera ratio,
+                                MetricaFinanciera numerador, MetricaFinanciera denominador) {
+        BigDecimal n = crudos[numerador.ordinal()];
+        BigDecimal d = crudos[denominador.ordinal()];
+        if (crudos[ratio.ordinal()] == null && n != null && d != null && d.signum() != 0) {
+            crudos[ratio.ordinal()] = n.divide(d, 4, RoundingMode.HALF_UP);
+        }
+    }
+}
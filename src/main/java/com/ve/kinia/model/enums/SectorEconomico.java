@@ -3,29 +3,40 @@ package com.ve.kinia.model.enums;
 /**
  * Clasificación del sector económico de la empresa.
  * Influye en el cálculo del score.
+ *
+ * Puntaje de sector (componente "sector" del score):
+ *   Riesgo bajo:  80-90 puntos
+ *   Riesgo medio: 60-75 puntos
+ *   Riesgo alto:  50-55 puntos
  */
 public enum SectorEconomico {
-    COMERCIO_RETAIL("Comercio y Retail"),
-    MANUFACTURA("Manufactura"),
-    SERVICIOS("Servicios"),
-    CONSTRUCCION("Construcción"),
-    TECNOLOGIA("Tecnología"),
-    ALIMENTOS("Alimentos y Bebidas"),
-    SALUD("Salud"),
-    TRANSPORTE("Transporte y Logística"),
-    AGRICULTURA("Agricultura"),
-    TURISMO("Turismo y Hotelería"),
-    EDUCACION("Educación"),
-    FINANCIERO("Servicios Financieros"),
-    OTRO("Otro");
+    COMERCIO_RETAIL("Comercio y Retail", 70),
+    MANUFACTURA("Manufactura", 70),
+    SERVICIOS("Servicios", 75),
+    CONSTRUCCION("Construcción", 50),
+    TECNOLOGIA("Tecnología", 90),
+    ALIMENTOS("Alimentos y Bebidas", 90),
+    SALUD("Salud", 85),
+    TRANSPORTE("Transporte y Logística", 65),
+    AGRICULTURA("Agricultura", 55),
+    TURISMO("Turismo y Hotelería", 55),
+    EDUCACION("Educación", 80),
+    FINANCIERO("Servicios Financieros", 75),
+    OTRO("Otro", 60);
 
     private final String descripcion;
+    private final int puntajeScoring;
 
-    SectorEconomico(String descripcion) {
+    SectorEconomico(String descripcion, int puntajeScoring) {
         this.descripcion = descripcion;
+        this.puntajeScoring = puntajeScoring;
     }
 
     public String getDescripcion() {
         return descripcion;
     }
+
+    public int getPuntajeScoring() {
+        return puntajeScoring;
+    }
 }
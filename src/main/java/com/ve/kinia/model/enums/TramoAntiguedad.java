@@ -0,0 +1,50 @@
+package com.ve.kinia.model.enums;
+
+/**
+ * Tramo de antigüedad de saldo de una factura, según los días transcurridos
+ * desde su fecha de vencimiento.
+ *
+ *   POR_VENCER:  aún no vence (días < 0)
+ *   DIAS_0_30:   0-30 días vencida
+ *   DIAS_31_60:  31-60 días
+ *   DIAS_61_90:  61-90 días
+ *   MAS_DE_90:   más de 90 días
+ */
+public enum TramoAntiguedad {
+    POR_VENCER("Por vencer", Integer.MIN_VALUE, -1),
+    DIAS_0_30("0 a 30 días", 0, 30),
+    DIAS_31_60("31 a 60 días", 31, 60),
+    DIAS_61_90("61 a 90 días", 61, 90),
+    MAS_DE_90("Más de 90 días", 91, Integer.MAX_VALUE);
+
+    private final String descripcion;
+    private final int diasMinimo;
+    private final int diasMaximo;
+
+    TramoAntiguedad(String descripcion, int diasMinimo, int diasMaximo) {
+        this.descripcion = descripcion;
+        this.diasMinimo = diasMinimo;
+        this.diasMaximo = diasMaximo;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+
+    public int getDiasMinimo() {
+        return diasMinimo;
+    }
+
+    public int getDiasMaximo() {
+        return diasMaximo;
+    }
+
+    public static TramoAntiguedad fromDiasVencida(int dias) {
+        for (TramoAntiguedad tramo : values()) {
+            if (dias >= tramo.diasMinimo && dias <= tramo.diasMaximo) {
+                return tramo;
+            }
+        }
+        return MAS_DE_90;
+    }
+}
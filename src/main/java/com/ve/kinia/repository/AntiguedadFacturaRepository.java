@@ -0,0 +1,97 @@
+package com.ve.kinia.repository;
+
+import com.ve.kinia.dto.ResumenTramoAntiguedad;
+import com.ve.kinia.model.AntiguedadFactura;
+import com.ve.kinia.model.enums.TipoDeudor;
+import com.ve.kinia.model.enums.TramoAntiguedad;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface AntiguedadFacturaRepository extends JpaRepository<AntiguedadFactura, UUID> {
+
+    String SELECCION = """
+            INSERT INTO antiguedad_facturas (factura_id, empresa_id, tipo_deudor, deudor_empresa_id,
+                deudor_externo_id, deudor_rif, deudor_razon_social, numero_factura, fecha_vencimiento,
+                dias_vencida, tramo, total, saldo_pendiente, ultima_cobranza, proximo_compromiso, calculado_en)
+            SELECT f.id, f.empresa_id, f.tipo_deudor, f.deudor_empresa_id,
+                   f.deudor_externo_id, f.deudor_rif, f.deudor_razon_social, f.numero_factura, f.fecha_vencimiento,
+                   CAST(:ahora AS date) - f.fecha_vencimiento,
+                   CASE WHEN CAST(:ahora AS date) - f.fecha_vencimiento < 0 THEN 'POR_VENCER'
+                        WHEN CAST(:ahora AS date) - f.fecha_vencimiento <= 30 THEN 'DIAS_0_30'
+                        WHEN CAST(:ahora AS date) - f.fecha_vencimiento <= 60 THEN 'DIAS_31_60'
+                        WHEN CAST(:ahora AS date) - f.fecha_vencimiento <= 90 THEN 'DIAS_61_90'
+                        ELSE 'MAS_DE_90' END,
+                   f.total, f.saldo_pendiente, c.ultima, c.compromiso, :ahora
+            FROM facturas f
+            LEFT JOIN LATERAL (
+                SELECT MAX(fecha_gestion) AS ultima,
+                       MIN(fecha_compromiso_pago) FILTER (WHERE fecha_compromiso_pago >= :ahora) AS compromiso
+                FROM cobranzas WHERE factura_id = f.id
+            ) c ON true
+            WHERE f.saldo_pendiente > 0
+              AND f.estado NOT IN ('COBRADA', 'INCOBRABLE')
+              AND f.id IN (:ids)
+            ON CONFLICT (factura_id) DO UPDATE SET
+                saldo_pendiente = EXCLUDED.saldo_pendiente, total = EXCLUDED.total,
+                fecha_vencimiento = EXCLUDED.fecha_vencimiento, dias_vencida = EXCLUDED.dias_vencida,
+                tramo = EXCLUDED.tramo, ultima_cobranza = EXCLUDED.ultima_cobranza,
+                proximo_compromiso = EXCLUDED.proximo_compromiso, calculado_en = EXCLUDED.calculado_en,
+                deudor_razon_social = EXCLUDED.deudor_razon_social
+            """;
+
+    /**
+     * Inserta o actualiza la antigüedad de las facturas abiertas de {@code ids}.
+     */
+    @Modifying
+    @Query(value = SELECCION, nativeQuery = true)
+    int materializar(@Param("ids") Collection<UUID> ids, @Param("ahora") LocalDateTime ahora);
+
+    /** Quita las facturas de {@code ids} que ya no están abiertas. */
+    @Modifying
+    @Query(value = """
+            DELETE FROM antiguedad_facturas a USING facturas f
+            WHERE a.factura_id = f.id AND a.factura_id IN (:ids)
+              AND (f.saldo_pendiente <= 0 OR f.estado IN ('COBRADA', 'INCOBRABLE'))
+            """, nativeQuery = true)
+    int quitarCerradas(@Param("ids") Collection<UUID> ids);
+
+    /** Tras una corrida completa: lo que no se recalculó ya no está abierto (o se borró). */
+    @Modifying
+    @Query(value = "DELETE FROM antiguedad_facturas WHERE calculado_en < :inicio", nativeQuery = true)
+    int quitarNoRecalculadas(@Param("inicio") LocalDateTime inicio);
+
+    // ══════════════════════════════════════════════════════════════
+    // LISTA DE TRABAJO
+    // ══════════════════════════════════════════════════════════════
+
+    /**
+     * Facturas vencidas al {@code hoy} de la empresa acreedora: más días de
+     * atraso primero y, a igual vencimiento, mayor saldo.
+     */
+    @Query("SELECT a FROM AntiguedadFactura a WHERE a.empresaId = :empresaId AND a.fechaVencimiento <= :hoy " +
+           "ORDER BY a.fechaVencimiento, a.saldoPendiente DESC")
+    List<AntiguedadFactura> findListaTrabajo(@Param("empresaId") UUID empresaId, @Param("hoy") LocalDate hoy,
+                                             Pageable pagina);
+
+    List<AntiguedadFactura> findByTramoInOrderByFechaVencimientoAscSaldoPendienteDesc(
+            Collection<TramoAntiguedad> tramos, Pageable pagina);
+
+    /** Facturas a cobrar de los deudores indicados que vencen hasta {@code limite}. */
+    @Query("SELECT a FROM AntiguedadFactura a WHERE a.tipoDeudor = :tipo AND a.deudorEmpresaId IN :deudores " +
+           "AND a.fechaVencimiento <= :limite ORDER BY a.deudorEmpresaId, a.fechaVencimiento")
+    List<AntiguedadFactura> findPorDeudores(@Param("tipo") TipoDeudor tipo, @Param("deudores") Collection<UUID> deudores,
+                                            @Param("limite") LocalDate limite);
+
+    @Query("SELECT a.tramo AS tramo, COUNT(a) AS facturas, SUM(a.saldoPendiente) AS saldo " +
+           "FROM AntiguedadFactura a WHERE a.empresaId = :empresaId GROUP BY a.tramo")
+    List<ResumenTramoAntiguedad> resumirPorTramo(@Param("empresaId") UUID empresaId);
+}
@@ -0,0 +1,21 @@
+package com.ve.kinia.repository;
+
+import com.ve.kinia.model.AuditoriaAccion;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Lectura de auditoria_acciones. La escritura va por AuditoriaJdbcRepository.
+ */
+public interface AuditoriaAccionRepository extends JpaRepository<AuditoriaAccion, UUID> {
+
+    Optional<AuditoriaAccion> findFirstByEntidadAndEntidadIdAndEsCheckpointTrueAndCreatedAtLessThanEqualOrderByCreatedAtDesc(
+            String entidad, UUID entidadId, LocalDateTime momento);
+
+    List<AuditoriaAccion> findByEntidadAndEntidadIdAndCreatedAtGreaterThanAndCreatedAtLessThanEqualOrderByCreatedAtAsc(
+            String entidad, UUID entidadId, LocalDateTime desde, LocalDateTime hasta);
+}
@@ -0,0 +1,88 @@
+package com.ve.kinia.repository;
+
+import com.ve.kinia.model.AuditoriaAccion;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Escritura directa (JDBC) de auditoria_acciones para AuditoriaService:
+ * INSERT multi-fila sin pasar por el contexto de persistencia, y
+ * mantenimiento de las particiones mensuales de la tabla.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuditoriaJdbcRepository {
+
+    /** Filas por sentencia: 13 parámetros × 1000 queda bajo el límite de 32767 de PostgreSQL. */
+    private static final int FILAS_POR_INSERT = 1000;
+    private static final String COLUMNAS = "(id, empresa_id, usuario_id, accion, entidad, entidad_id, "
+            + "datos_antes, datos_despues, es_checkpoint, ip_address, user_agent, notas, created_at)";
+    private static final String VALORES = "(?, ?, ?, ?, ?, ?, CAST(? AS jsonb), CAST(? AS jsonb), ?, ?, ?, ?, ?)";
+    private static final DateTimeFormatter SUFIJO_PARTICION = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JsonMapper jsonMapper;
+
+    /**
+     * Inserta las acciones; las que ya existen (reintento tras una caída
+     * a mitad de lote) se ignoran.
+     */
+    public void insertar(List<AuditoriaAccion> acciones) {
+        for (int desde = 0; desde < acciones.size(); desde += FILAS_POR_INSERT) {
+            List<AuditoriaAccion> bloque = acciones.subList(desde, Math.min(acciones.size(), desde + FILAS_POR_INSERT));
+            StringBuilder sql = new StringBuilder(64 + bloque.size() * VALORES.length())
+                    .append("INSERT INTO auditoria_acciones ").append(COLUMNAS).append(" VALUES ");
+            List<Object> parametros = new ArrayList<>(bloque.size() * 13);
+            for (int i = 0; i < bloque.size(); i++) {
+                if (i > 0) {
+                    sql.append(',');
+                }
+                sql.append(VALORES);
+                AuditoriaAccion a = bloque.get(i);
+                parametros.add(a.getId());
+                parametros.add(a.getEmpresaId());
+                parametros.add(a.getUsuarioId());
+                parametros.add(a.getAccion());
+                parametros.add(a.getEntidad());
+                parametros.add(a.getEntidadId());
+                parametros.add(json(a.getDatosAntes()));
+                parametros.add(json(a.getDatosDespues()));
+                parametros.add(Boolean.TRUE.equals(a.getEsCheckpoint()));
+                parametros.add(a.getIpAddress());
+                parametros.add(a.getUserAgent());
+                parametros.add(a.getNotas());
+                parametros.add(Timestamp.valueOf(a.getCreatedAt()));
+            }
+            sql.append(" ON CONFLICT DO NOTHING");
+            jdbcTemplate.update(sql.toString(), parametros.toArray());
+        }
+    }
+
+    /**
+     * Crea (si no existen) las particiones mensuales desde {@code desde}
+     * hasta {@code meses} meses después.
+     */
+    public void crearParticiones(YearMonth desde, int meses) {
+        for (int i = 0; i <= meses; i++) {
+            YearMonth mes = desde.plusMonths(i);
+            LocalDate inicio = mes.atDay(1);
+            LocalDate fin = mes.plusMonths(1).atDay(1);
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS auditoria_acciones_" + mes.format(SUFIJO_PARTICION)
+                    + " PARTITION OF auditoria_acciones FOR VALUES FROM ('" + inicio + "') TO ('" + fin + "')");
+        }
+    }
+
+    private String json(Map<String, Object> datos) {
+        return datos != null ? jsonMapper.writeValueAsString(datos) : null;
+    }
+}
@@ -0,0 +1,76 @@
+package com.ve.kinia.repository;
+
+import com.ve.kinia.model.BlobDocumento;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BlobDocumentoRepository extends JpaRepository<BlobDocumento, String> {
+
+    /**
+     * Crea el blob con una referencia o suma una al existente. Deja la fila
+     * bloqueada hasta el fin de la transacción, así el recolector no puede
+     * borrar el archivo mientras se agrega el Documento.
+     *
+     * @return referencias después de sumar (1 si nadie más usa el blob)
+     */
+    @Query(value = """
+            INSERT INTO documento_blobs (hash_sha256, tamano_bytes, referencias, created_at)
+            VALUES (:hash, :tamano, 1, now())
+            ON CONFLICT (hash_sha256) DO UPDATE
+            SET referencias = documento_blobs.referencias + 1, liberado_en = NULL
+            RETURNING referencias
+            """, nativeQuery = true)
+    int referenciar(@Param("hash") String hash, @Param("tamano") long tamano);
+
+    @Modifying
+    @Query(value = """
+            UPDATE documento_blobs
+            SET referencias = referencias - 1,
+                liberado_en = CASE WHEN referencias = 1 THEN now() ELSE liberado_en END
+            WHERE hash_sha256 = :hash AND referencias > 0
+            """, nativeQuery = true)
+    int liberar(@Param("hash") String hash);
+
+    /**
+     * Blobs sin referencias desde antes de {@code antes}, bloqueados para
+     * borrarlos; los que otra transacción está referenciando se saltan.
+     */
+    @Query(value = """
+            SELECT hash_sha256 FROM documento_blobs
+            WHERE referencias = 0 AND liberado_en < :antes
+            ORDER BY liberado_en
+            LIMIT :limite
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<String> bloquearHuerfanos(@Param("antes") LocalDateTime antes, @Param("limite") int limite);
+
+    // ══════════════════════════════════════════════════════════════
+    // ARCHIVOS CON RUTA PROPIA (ANTERIORES A LOS BLOBS)
+    // ══════════════════════════════════════════════════════════════
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO documento_archivos_liberados (ruta, liberado_en)
+            VALUES (:ruta, now())
+            ON CONFLICT (ruta) DO NOTHING
+            """, nativeQuery = true)
+    int liberarArchivo(@Param("ruta") String ruta);
+
+    @Query(value = """
+            SELECT ruta FROM documento_archivos_liberados
+            WHERE liberado_en < :antes
+            ORDER BY liberado_en
+            LIMIT :limite
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<String> bloquearArchivosLiberados(@Param("antes") LocalDateTime antes, @Param("limite") int limite);
+
+    @Modifying
+    @Query(value = "DELETE FROM documento_archivos_liberados WHERE ruta IN (:rutas)", nativeQuery = true)
+    int borrarArchivosLiberados(@Param("rutas") List<String> rutas);
+}
@@ -0,0 +1,49 @@
+package com.ve.kinia.repository;
+
+import com.ve.kinia.model.CobranzaDeudor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface CobranzaDeudorRepository extends JpaRepository<CobranzaDeudor, UUID> {
+
+    /**
+     * Da de alta (para gestionar ya) a los deudores internos con facturas
+     * abiertas que vencen hasta {@code limite}. Idempotente entre nodos.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO cobranza_deudores (deudor_empresa_id, proxima_gestion, gestiones)
+            SELECT DISTINCT a.deudor_empresa_id, :ahora, 0
+            FROM antiguedad_facturas a
+            WHERE a.tipo_deudor = 'INTERNO' AND a.fecha_vencimiento <= :limite
+            ON CONFLICT (deudor_empresa_id) DO NOTHING
+            """, nativeQuery = true)
+    int registrarPendientes(@Param("limite") LocalDate limite, @Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Reclama deudores por gestionar. Las filas quedan bloqueadas hasta el
+     * fin de la transacción; las que otro nodo ya tomó se saltan.
+     */
+    @Query(value = """
+            SELECT deudor_empresa_id FROM cobranza_deudores
+            WHERE proxima_gestion <= :ahora
+            ORDER BY proxima_gestion
+            LIMIT :limite
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<UUID> reclamarPendientes(@Param("ahora") LocalDateTime ahora, @Param("limite") int limite);
+
+    @Modifying
+    @Query("UPDATE CobranzaDeudor c SET c.ultimaGestion = :ahora, c.proximaGestion = :proxima, " +
+           "c.gestiones = c.gestiones + 1 WHERE c.deudorEmpresaId IN :ids")
+    int reprogramar(@Param("ids") Collection<UUID> ids, @Param("ahora") LocalDateTime ahora,
+                    @Param("proxima") LocalDateTime proxima);
+}
@@ -0,0 +1,9 @@
+package com.ve.kinia.repository;
+
+import com.ve.kinia.model.Cobranza;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface CobranzaRepository extends JpaRepository<Cobranza, UUID> {
+}
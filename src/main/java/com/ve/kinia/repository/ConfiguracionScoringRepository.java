@@ -0,0 +1,19 @@
+package com.ve.kinia.repository;
+
+import com.ve.kinia.model.ConfiguracionScoring;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ConfiguracionScoringRepository extends JpaRepository<ConfiguracionScoring, UUID> {
+
+    Optional<ConfiguracionScoring> findFirstByActivoTrue();
+
+    @Modifying
+    @Query("UPDATE ConfiguracionScoring c SET c.activo = false WHERE c.activo = true AND c.id <> :id")
+    int desactivarOtras(@Param("id") UUID id);
+}
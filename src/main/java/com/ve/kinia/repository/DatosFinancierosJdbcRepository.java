@@ -0,0 +1,90 @@
+package com.ve.kinia.repository;
+
+import com.ve.kinia.model.enums.MetricaFinanciera;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Lectura secuencial (JDBC, sin entidades) de datos_financieros para
+ * construir la serie columnar de SerieFinancieraService.
+ * Solo períodos reales (es_proyeccion = false).
+ */
+@Repository
+@RequiredArgsConstructor
+public class DatosFinancierosJdbcRepository {
+
+    private static final int FILAS_POR_FETCH = 5000;
+
+    /** Período absoluto; los datos anuales (sin mes) se ubican en diciembre. */
+    private static final String PERIODO = "periodo_ano * 12 + COALESCE(periodo_mes, 12) - 1";
+
+    private static final String COLUMNAS = Arrays.stream(MetricaFinanciera.values())
+            .map(MetricaFinanciera::getColumna)
+            .collect(Collectors.joining(", "));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @FunctionalInterface
+    public interface ConsumidorFila {
+
+        /**
+         * @param crudos valores indexados por MetricaFinanciera.ordinal();
+         *               el arreglo se reutiliza entre filas
+         */
+        void aceptar(UUID empresaId, int periodo, boolean anual, BigDecimal[] crudos);
+    }
+
+    public List<UUID> findEmpresas() {
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT empresa_id FROM datos_financieros WHERE es_proyeccion = false ORDER BY empresa_id",
+                UUID.class);
+    }
+
+    /**
+     * @return {primer período, último período}, o null si no hay datos
+     */
+    public int[] findRangoPeriodos() {
+        return jdbcTemplate.queryForObject(
+                "SELECT MIN(" + PERIODO + "), MAX(" + PERIODO + ") FROM datos_financieros WHERE es_proyeccion = false",
+                (rs, n) -> rs.getObject(1) == null ? null : new int[] {rs.getInt(1), rs.getInt(2)});
+    }
+
+    public LocalDateTime findUltimaActualizacion() {
+        Timestamp ultima = jdbcTemplate.queryForObject("SELECT MAX(updated_at) FROM datos_financieros", Timestamp.class);
+        return ultima != null ? ultima.toLocalDateTime() : null;
+    }
+
+    /**
+     * Recorre todas las filas por empresa y período; para un mismo período
+     * los datos mensuales llegan antes que los anuales.
+     */
+    @Transactional(readOnly = true)
+    public void recorrer(ConsumidorFila consumidor) {
+        BigDecimal[] crudos = new BigDecimal[MetricaFinanciera.values().length];
+        String sql = "SELECT empresa_id, " + PERIODO + ", periodo_mes IS NULL, " + COLUMNAS
+                + " FROM datos_financieros WHERE es_proyeccion = false"
+                + " ORDER BY empresa_id, " + PERIODO + ", periodo_mes NULLS LAST";
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setFetchSize(FILAS_POR_FETCH);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            for (int i = 0; i < crudos.length; i++) {
+                crudos[i] = rs.getBigDecimal(4 + i);
+            }
+            consumidor.aceptar(rs.getObject(1, UUID.class), rs.getInt(2), rs.getBoolean(3), crudos);
+        });
+    }
+}
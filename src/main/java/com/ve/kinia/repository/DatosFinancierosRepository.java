@@ -0,0 +1,29 @@
+package com.ve.kinia.repository;
+
+import com.ve.kinia.dto.PeriodoFinanciero;
+import com.ve.kinia.model.DatosFinancieros;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface DatosFinancierosRepository extends JpaRepository<DatosFinancieros, UUID> {
+
+    /**
+     * Último período real (no proyectado) de cada empresa.
+     */
+    @Query(value = """
+            SELECT DISTINCT ON (empresa_id) *
+            FROM datos_financieros
+            WHERE empresa_id IN (:empresaIds) AND es_proyeccion = false
+            ORDER BY empresa_id, periodo_ano DESC, periodo_mes DESC NULLS LAST
+            """, nativeQuery = true)
+    List<DatosFinancieros> findUltimosPorEmpresas(@Param("empresaIds") Collection<UUID> empresaIds);
+
+    @Query("SELECT d.id AS id, d.periodoAno AS periodoAno, d.periodoMes AS periodoMes FROM DatosFinancieros d " +
+           "WHERE d.empresa.id = :empresaId AND d.periodoAno IN :anos")
+    List<PeriodoFinanciero> findPeriodos(@Param("empresaId") UUID empresaId, @Param("anos") Collection<Integer> anos);
+}
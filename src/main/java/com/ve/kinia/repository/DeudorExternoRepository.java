@@ -0,0 +1,26 @@
+package com.ve.kinia.repository;
+
+import com.ve.kinia.dto.RifRegistrado;
+import com.ve.kinia.model.DeudorExterno;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface DeudorExternoRepository extends JpaRepository<DeudorExterno, UUID> {
+
+    // ══════════════════════════════════════════════════════════════
+    // ÍNDICE DE RIF
+    // ══════════════════════════════════════════════════════════════
+
+    @Query("SELECT d.id AS id, d.tipoRif AS tipoRif, d.numeroRif AS numeroRif FROM DeudorExterno d " +
+           "WHERE d.tipoRif IS NOT NULL AND d.numeroRif IS NOT NULL")
+    List<RifRegistrado> findRifsRegistrados();
+
+    @Query("SELECT d.id AS id, d.tipoRif AS tipoRif, d.numeroRif AS numeroRif FROM DeudorExterno d " +
+           "WHERE d.rifCompleto IN :rifs")
+    List<RifRegistrado> findRifsRegistradosIn(@Param("rifs") Collection<String> rifs);
+}
@@ -0,0 +1,45 @@
+package com.ve.kinia.repository;
+
+import com.ve.kinia.dto.ArchivoDocumento;
+import com.ve.kinia.dto.ResumenDocumentosEmpresa;
+import com.ve.kinia.model.Documento;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface DocumentoRepository extends JpaRepository<Documento, UUID> {
+
+    @Query("""
+            SELECT d.empresa.id AS empresaId, d.tipo AS tipo, COUNT(d) AS total,
+                   SUM(CASE WHEN d.verificado = true THEN 1 ELSE 0 END) AS verificados,
+                   SUM(CASE WHEN d.fechaVencimiento < CURRENT_DATE THEN 1 ELSE 0 END) AS vencidos
+            FROM Documento d
+            WHERE d.empresa.id IN :empresaIds
+            GROUP BY d.empresa.id, d.tipo
+            """)
+    List<ResumenDocumentosEmpresa> resumirPorEmpresas(@Param("empresaIds") Collection<UUID> empresaIds);
+
+    @Query("""
+            SELECT d.id AS id, d.tipo AS tipo, d.nombreOriginal AS nombreOriginal,
+                   d.rutaAlmacenamiento AS rutaAlmacenamiento, d.nombreAlmacenado AS nombreAlmacenado,
+                   d.mimeType AS mimeType, d.tamanoBytes AS tamanoBytes, d.hashSha256 AS hashSha256
+            FROM Documento d
+            WHERE d.id = :id AND d.empresa.id = :empresaId
+            """)
+    Optional<ArchivoDocumento> findArchivo(@Param("id") UUID id, @Param("empresaId") UUID empresaId);
+
+    @Query("""
+            SELECT d.id AS id, d.tipo AS tipo, d.nombreOriginal AS nombreOriginal,
+                   d.rutaAlmacenamiento AS rutaAlmacenamiento, d.nombreAlmacenado AS nombreAlmacenado,
+                   d.mimeType AS mimeType, d.tamanoBytes AS tamanoBytes, d.hashSha256 AS hashSha256
+            FROM Documento d
+            WHERE d.empresa.id = :empresaId
+            ORDER BY d.tipo, d.createdAt
+            """)
+    List<ArchivoDocumento> findArchivosPorEmpresa(@Param("empresaId") UUID empresaId);
+}
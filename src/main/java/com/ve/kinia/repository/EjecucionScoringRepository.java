@@ -0,0 +1,31 @@
+package com.ve.kinia.repository;
+
+import com.ve.kinia.model.EjecucionScoring;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface EjecucionScoringRepository extends JpaRepository<EjecucionScoring, UUID> {
+
+    /** Última corrida, bloqueada: espera al chunk que la dueña esté escribiendo. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<EjecucionScoring> findFirstByOrderByFechaInicioDesc();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM EjecucionScoring e WHERE e.id = :id")
+    Optional<EjecucionScoring> findParaActualizar(@Param("id") UUID id);
+
+    /**
+     * Serializa entre instancias la decisión de iniciar o retomar una
+     * corrida (hasta el fin de la transacción).
+     *
+     * @return false si otra instancia está decidiendo en este momento
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext('ejecuciones_scoring'))", nativeQuery = true)
+    boolean bloquearReclamo();
+}
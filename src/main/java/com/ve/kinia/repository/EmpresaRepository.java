@@ -0,0 +1,131 @@
+package com.ve.kinia.repository;
+
+import com.ve.kinia.dto.RifRegistrado;
+import com.ve.kinia.model.Empresa;
+import com.ve.kinia.model.enums.EstadoEmpresa;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface EmpresaRepository extends JpaRepository<Empresa, UUID> {
+
+    /**
+     * Paginación keyset: ids de empresas posteriores a {@code ultimoId}.
+     * Usar {@code new UUID(0, 0)} para empezar desde el principio.
+     */
+    @Query("SELECT e.id FROM Empresa e WHERE e.id > :ultimoId ORDER BY e.id")
+    List<UUID> findIdsDespuesDe(@Param("ultimoId") UUID ultimoId, Pageable pageable);
+
+    List<Empresa> findByIdIn(Collection<UUID> ids);
+
+    Optional<Empresa> findByEmail(String email);
+
+    // ══════════════════════════════════════════════════════════════
+    // ÍNDICE DE RIF
+    // ══════════════════════════════════════════════════════════════
+
+    @Query("SELECT e.id AS id, e.tipoRif AS tipoRif, e.numeroRif AS numeroRif FROM Empresa e")
+    List<RifRegistrado> findRifsRegistrados();
+
+    @Query("SELECT e.id AS id, e.tipoRif AS tipoRif, e.numeroRif AS numeroRif FROM Empresa e " +
+           "WHERE e.rifCompleto IN :rifs")
+    List<RifRegistrado> findRifsRegistradosIn(@Param("rifs") Collection<String> rifs);
+
+    // ══════════════════════════════════════════════════════════════
+    // SCORE VIGENTE
+    // ══════════════════════════════════════════════════════════════
+
+    /**
+     * Listado de empresas con su score vigente en una sola consulta.
+     */
+    @Query(value = "SELECT e FROM Empresa e LEFT JOIN FETCH e.scoreVigente WHERE e.estado = :estado",
+           countQuery = "SELECT COUNT(e) FROM Empresa e WHERE e.estado = :estado")
+    Page<Empresa> findConScoreVigente(@Param("estado") EstadoEmpresa estado, Pageable pageable);
+
+    @Query("SELECT e FROM Empresa e LEFT JOIN FETCH e.scoreVigente WHERE e.id IN :ids")
+    List<Empresa> findConScoreVigenteByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Bloquea las filas de las empresas, en orden de id, hasta el fin de la
+     * transacción: dos corridas de scoring (masiva e incremental) que
+     * guardan la misma empresa se ejecutan una después de la otra. NO KEY
+     * UPDATE no frena los inserts que solo referencian a la empresa.
+     */
+    @Query(value = "SELECT id FROM empresas WHERE id IN (:empresaIds) ORDER BY id FOR NO KEY UPDATE",
+           nativeQuery = true)
+    List<UUID> bloquearParaScoring(@Param("empresaIds") Collection<UUID> empresaIds);
+
+    /**
+     * Apunta score_vigente_id al score vigente de cada empresa. No toca
+     * updated_at para no disparar el scoring incremental.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE empresas e SET score_vigente_id = s.id
+            FROM scores s
+            WHERE s.empresa_id = e.id AND s.es_vigente = true
+              AND e.id IN (:empresaIds)
+            """, nativeQuery = true)
+    int actualizarScoreVigente(@Param("empresaIds") Collection<UUID> empresaIds);
+
+    // ══════════════════════════════════════════════════════════════
+    // SCORING INCREMENTAL
+    // ══════════════════════════════════════════════════════════════
+
+    @Query("SELECT e.id FROM Empresa e " +
+           "WHERE e.scoringPendienteDesde IS NOT NULL AND e.id > :ultimoId ORDER BY e.id")
+    List<UUID> findIdsPendientesDeScoring(@Param("ultimoId") UUID ultimoId, Pageable pageable);
+
+    /**
+     * Marca como pendientes de scoring las empresas con algún input modificado
+     * en (desde, hasta]: la empresa, sus datos financieros y documentos, y sus
+     * facturas, pagos y relaciones como deudora. También las que tienen
+     * documentos o facturas que vencieron en el intervalo.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE empresas SET scoring_pendiente_desde = :hasta
+            WHERE id IN (
+                SELECT id FROM empresas
+                WHERE updated_at > :desde AND updated_at <= :hasta
+                UNION
+                SELECT empresa_id FROM datos_financieros
+                WHERE updated_at > :desde AND updated_at <= :hasta
+                UNION
+                SELECT empresa_id FROM documentos
+                WHERE (updated_at > :desde AND updated_at <= :hasta)
+                   OR fecha_vencimiento BETWEEN CAST(:desde AS date) AND CAST(:hasta AS date)
+                UNION
+                SELECT empresa_cliente_id FROM relaciones_comerciales
+                WHERE updated_at > :desde AND updated_at <= :hasta
+                UNION
+                SELECT deudor_empresa_id FROM facturas
+                WHERE deudor_empresa_id IS NOT NULL
+                  AND ((updated_at > :desde AND updated_at <= :hasta)
+                    OR fecha_vencimiento BETWEEN CAST(:desde AS date) AND CAST(:hasta AS date))
+                UNION
+                SELECT f.deudor_empresa_id FROM pagos_recibidos p
+                JOIN facturas f ON f.id = p.factura_id
+                WHERE f.deudor_empresa_id IS NOT NULL
+                  AND p.created_at > :desde AND p.created_at <= :hasta
+            )
+            """, nativeQuery = true)
+    int marcarScoringPendiente(@Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta);
+
+    /**
+     * Limpia la marca solo si no hubo un cambio nuevo después de {@code hasta}.
+     */
+    @Modifying
+    @Query("UPDATE Empresa e SET e.scoringPendienteDesde = null " +
+           "WHERE e.id IN :ids AND e.scoringPendienteDesde <= :hasta")
+    int limpiarScoringPendiente(@Param("ids") Collection<UUID> ids, @Param("hasta") LocalDateTime hasta);
+}
@@ -0,0 +1,49 @@
+package com.ve.kinia.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Saldos de exposicion_cartera (JDBC, sin entidades), en céntimos por
+ * dimensión, clave y moneda. Cada cambio incrementa la versión de la fila.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ExposicionCarteraJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Saldo de una fila; clave es el UUID del deudor o proveedor, o el nombre del sector. */
+    public record Saldo(String dimension, String clave, String moneda, long monto, long version) {
+    }
+
+    /**
+     * Suma {@code delta} a la fila (la crea si falta) y la deja bloqueada
+     * hasta el fin de la transacción: otra transacción, en esta u otra
+     * instancia, que mueva la misma fila espera el commit o rollback.
+     *
+     * @return saldo resultante, incluidos los movimientos ya confirmados
+     */
+    public Saldo sumar(String dimension, String clave, String moneda, long delta) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO exposicion_cartera (dimension, clave, moneda, monto, version, updated_at)
+                VALUES (?, ?, ?, ?, 1, now())
+                ON CONFLICT (dimension, clave, moneda) DO UPDATE SET
+                    monto = exposicion_cartera.monto + EXCLUDED.monto,
+                    version = exposicion_cartera.version + 1,
+                    updated_at = EXCLUDED.updated_at
+                RETURNING dimension, clave, moneda, monto, version
+                """, (rs, n) -> new Saldo(rs.getString(1), rs.getString(2), rs.getString(3),
+                        rs.getLong(4), rs.getLong(5)),
+                dimension, clave, moneda, delta);
+    }
+
+    public List<Saldo> findTodos() {
+        return jdbcTemplate.query("SELECT dimension, clave, moneda, monto, version FROM exposicion_cartera",
+                (rs, n) -> new Saldo(rs.getString(1), rs.getString(2), rs.getString(3),
+                        rs.getLong(4), rs.getLong(5)));
+    }
+}
@@ -0,0 +1,25 @@
+package com.ve.kinia.repository;
+
+import com.ve.kinia.dto.LineaExposicion;
+import com.ve.kinia.model.FacturaFactoring;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface FacturaFactoringRepository extends JpaRepository<FacturaFactoring, UUID> {
+
+    String LINEA_EXPOSICION = "SELECT s.empresa.id AS proveedorId, COALESCE(de.id, dx.id) AS deudorId, " +
+            "COALESCE(de.sector, dx.sector) AS sector, COALESCE(f.moneda, 'VES') AS moneda, " +
+            "SUM(ff.montoAprobado) AS monto " +
+            "FROM FacturaFactoring ff JOIN ff.solicitud s JOIN ff.factura f " +
+            "LEFT JOIN f.deudorEmpresa de LEFT JOIN f.deudorExterno dx ";
+
+    String AGRUPAR_EXPOSICION = " GROUP BY s.empresa.id, COALESCE(de.id, dx.id), " +
+            "COALESCE(de.sector, dx.sector), COALESCE(f.moneda, 'VES')";
+
+    @Query(LINEA_EXPOSICION + "WHERE s.id = :solicitudId" + AGRUPAR_EXPOSICION)
+    List<LineaExposicion> findExposicionDeSolicitud(@Param("solicitudId") UUID solicitudId);
+}
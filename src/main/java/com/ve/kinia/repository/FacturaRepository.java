@@ -0,0 +1,159 @@
+package com.ve.kinia.repository;
+
+import com.ve.kinia.dto.DiscrepanciaSaldoFactura;
+import com.ve.kinia.dto.DocumentoFacturaExtraccion;
+import com.ve.kinia.dto.HistorialDeudor;
+import com.ve.kinia.dto.InsumoCotizacion;
+import com.ve.kinia.dto.SaldoEntreEmpresas;
+import com.ve.kinia.model.Factura;
+import com.ve.kinia.model.enums.EstadoFactoring;
+import com.ve.kinia.model.enums.EstadoFactura;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface FacturaRepository extends JpaRepository<Factura, UUID> {
+
+    @Query("SELECT f.numeroFactura FROM Factura f " +
+           "WHERE f.empresa.id = :empresaId AND f.numeroFactura IN :numeros")
+    List<String> findNumerosExistentes(@Param("empresaId") UUID empresaId,
+                                       @Param("numeros") Collection<String> numeros);
+
+    /**
+     * Historial de pago de cada empresa como deudora interna.
+     * Una factura COBRADA está "a tiempo" si su último pago no superó
+     * la fecha de vencimiento (días de mora = 0).
+     */
+    @Query(value = """
+            SELECT f.deudor_empresa_id AS "empresaId",
+                   COUNT(*) AS "total",
+                   COUNT(*) FILTER (WHERE f.estado = 'COBRADA') AS "cobradas",
+                   COUNT(*) FILTER (WHERE f.estado = 'COBRADA'
+                       AND COALESCE(p.ultimo_pago::date, f.fecha_vencimiento) <= f.fecha_vencimiento) AS "pagadasATiempo",
+                   COUNT(*) FILTER (WHERE f.estado NOT IN ('COBRADA', 'RECHAZADA', 'INCOBRABLE')
+                       AND f.fecha_vencimiento < CURRENT_DATE) AS "vencidas",
+                   COALESCE(ROUND(AVG(GREATEST(p.ultimo_pago::date - f.fecha_vencimiento, 0))
+                       FILTER (WHERE f.estado = 'COBRADA')), 0)::int AS "promedioDiasMora"
+            FROM facturas f
+            LEFT JOIN LATERAL (
+                SELECT MAX(pr.fecha_pago) AS ultimo_pago
+                FROM pagos_recibidos pr
+                WHERE pr.factura_id = f.id
+            ) p ON true
+            WHERE f.deudor_empresa_id IN (:empresaIds)
+            GROUP BY f.deudor_empresa_id
+            """, nativeQuery = true)
+    List<HistorialDeudor> findHistorialComoDeudor(@Param("empresaIds") Collection<UUID> empresaIds);
+
+    // ══════════════════════════════════════════════════════════════
+    // RECONCILIACIÓN DE SALDOS
+    // ══════════════════════════════════════════════════════════════
+
+    /**
+     * Paginación keyset: ids de facturas posteriores a {@code ultimoId}.
+     */
+    @Query("SELECT f.id FROM Factura f WHERE f.id > :ultimoId ORDER BY f.id")
+    List<UUID> findIdsDespuesDe(@Param("ultimoId") UUID ultimoId, Pageable pageable);
+
+    /**
+     * Facturas cuyo total_pagado o saldo_pendiente no coincide con la suma
+     * de sus pagos_recibidos.
+     */
+    @Query(value = """
+            SELECT f.id AS "facturaId",
+                   f.total_pagado AS "totalPagado",
+                   f.saldo_pendiente AS "saldoPendiente",
+                   COALESCE(p.suma, 0) AS "sumaPagos"
+            FROM facturas f
+            LEFT JOIN (
+                SELECT pr.factura_id, SUM(pr.monto) AS suma
+                FROM pagos_recibidos pr
+                WHERE pr.factura_id IN (:facturaIds)
+                GROUP BY pr.factura_id
+            ) p ON p.factura_id = f.id
+            WHERE f.id IN (:facturaIds)
+              AND (f.total_pagado IS DISTINCT FROM COALESCE(p.suma, 0)
+                   OR f.saldo_pendiente IS DISTINCT FROM f.total - COALESCE(p.suma, 0))
+            """, nativeQuery = true)
+    List<DiscrepanciaSaldoFactura> findDiscrepanciasSaldo(@Param("facturaIds") Collection<UUID> facturaIds);
+
+    boolean existsByIdAndEmpresaId(UUID id, UUID empresaId);
+
+    @Query("SELECT f.id AS facturaId, d.rutaAlmacenamiento AS rutaAlmacenamiento, " +
+           "d.nombreAlmacenado AS nombreAlmacenado, d.extension AS extension, d.mimeType AS mimeType, " +
+           "f.empresa.rifCompleto AS rifEmisor " +
+           "FROM Factura f JOIN f.documento d WHERE f.id = :id")
+    Optional<DocumentoFacturaExtraccion> findDocumentoParaExtraccion(@Param("id") UUID id);
+
+    /**
+     * Facturas con documento adjunto aún sin extraer (las que no cupieron
+     * en la cola o quedaron pendientes al reiniciar).
+     */
+    @Query("SELECT f.id FROM Factura f " +
+           "WHERE f.documento IS NOT NULL AND f.datosExtraidos IS NULL ORDER BY f.createdAt")
+    List<UUID> findIdsPendientesExtraccion(Pageable pagina);
+
+    /**
+     * Guarda el resultado de la extracción sin cargar la entidad ni tocar
+     * version (no compite con el registro de pagos).
+     */
+    @Modifying
+    @Query(value = "UPDATE facturas SET datos_extraidos = CAST(:datos AS jsonb), " +
+                   "extraccion_automatica = :automatica WHERE id = :id", nativeQuery = true)
+    int guardarExtraccion(@Param("id") UUID id, @Param("datos") String datosJson,
+                          @Param("automatica") boolean automatica);
+
+    // ══════════════════════════════════════════════════════════════
+    // COMPENSACIÓN ENTRE EMPRESAS INTERNAS
+    // ══════════════════════════════════════════════════════════════
+
+    /**
+     * Filtro de facturas compensables: deudor interno, saldo abierto, en uno
+     * de {@code estados} y no cedida en una solicitud de factoring vigente
+     * (estado fuera de {@code solicitudesLibres}).
+     */
+    String COMPENSABLE = "f.tipoDeudor = com.ve.kinia.model.enums.TipoDeudor.INTERNO " +
+            "AND f.saldoPendiente > 0 AND f.estado IN :estados " +
+            "AND NOT EXISTS (SELECT 1 FROM FacturaFactoring ff WHERE ff.factura = f " +
+            "AND ff.solicitud.estado NOT IN :solicitudesLibres)";
+
+    @Query("SELECT f.empresa.id AS acreedorId, f.deudorEmpresa.id AS deudorId, " +
+           "COALESCE(f.moneda, 'VES') AS moneda, SUM(f.saldoPendiente) AS saldo " +
+           "FROM Factura f WHERE " + COMPENSABLE + " " +
+           "GROUP BY f.empresa.id, f.deudorEmpresa.id, COALESCE(f.moneda, 'VES')")
+    List<SaldoEntreEmpresas> findSaldosCompensables(@Param("estados") Collection<EstadoFactura> estados,
+                                                     @Param("solicitudesLibres") Collection<EstadoFactoring> solicitudesLibres);
+
+    /**
+     * Facturas compensables de un par acreedor/deudor, bloqueadas, en orden
+     * de vencimiento (las más antiguas se compensan primero).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM Factura f WHERE f.empresa.id = :acreedorId AND f.deudorEmpresa.id = :deudorId " +
+           "AND COALESCE(f.moneda, 'VES') = :moneda AND " + COMPENSABLE + " " +
+           "ORDER BY f.fechaVencimiento, f.id")
+    List<Factura> findCompensablesParaActualizar(@Param("acreedorId") UUID acreedorId,
+                                                 @Param("deudorId") UUID deudorId,
+                                                 @Param("moneda") String moneda,
+                                                 @Param("estados") Collection<EstadoFactura> estados,
+                                                 @Param("solicitudesLibres") Collection<EstadoFactoring> solicitudesLibres);
+
+    @Query("SELECT f.id AS facturaId, f.empresa.id AS empresaId, f.tipoDeudor AS tipoDeudor, " +
+           "COALESCE(de.id, dx.id) AS deudorId, COALESCE(f.moneda, 'VES') AS moneda, " +
+           "f.saldoPendiente AS saldoPendiente, sp.puntaje AS puntajeProveedor, sp.nivelRiesgo AS nivelProveedor, " +
+           "COALESCE(sd.puntajeComoDeudor, dx.scoreEstimado) AS puntajeDeudor, " +
+           "COALESCE(sd.nivelRiesgoComoDeudor, dx.nivelRiesgoEstimado) AS nivelDeudor " +
+           "FROM Factura f JOIN f.empresa e LEFT JOIN e.scoreVigente sp " +
+           "LEFT JOIN f.deudorEmpresa de LEFT JOIN de.scoreVigente sd LEFT JOIN f.deudorExterno dx " +
+           "WHERE f.id IN :ids")
+    List<InsumoCotizacion> findInsumosCotizacion(@Param("ids") Collection<UUID> ids);
+}
@@ -0,0 +1,7 @@
+package com.ve.kinia.repository;
+
+import com.ve.kinia.model.MarcaProceso;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface MarcaProcesoRepository extends JpaRepository<MarcaProceso, String> {
+}
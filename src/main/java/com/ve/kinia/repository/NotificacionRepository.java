@@ -0,0 +1,9 @@
+package com.ve.kinia.repository;
+
+import com.ve.kinia.model.Notificacion;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface NotificacionRepository extends JpaRepository<Notificacion, UUID> {
+}
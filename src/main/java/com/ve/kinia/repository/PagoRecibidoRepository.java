@@ -0,0 +1,15 @@
+package com.ve.kinia.repository;
+
+import com.ve.kinia.model.PagoRecibido;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public interface PagoRecibidoRepository extends JpaRepository<PagoRecibido, UUID> {
+
+    @Query("SELECT COALESCE(SUM(p.monto), 0) FROM PagoRecibido p WHERE p.factura.id = :facturaId")
+    BigDecimal sumarMontosPorFactura(@Param("facturaId") UUID facturaId);
+}
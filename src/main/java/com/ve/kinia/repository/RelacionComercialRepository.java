@@ -0,0 +1,150 @@
+package com.ve.kinia.repository;
+
+import com.ve.kinia.model.RelacionComercial;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface RelacionComercialRepository extends JpaRepository<RelacionComercial, UUID> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM RelacionComercial r " +
+           "WHERE r.empresaProveedora.id = :proveedorId AND r.empresaCliente.id = :clienteId")
+    Optional<RelacionComercial> findParaActualizar(@Param("proveedorId") UUID proveedorId,
+                                                   @Param("clienteId") UUID clienteId);
+
+    // ══════════════════════════════════════════════════════════════
+    // COORDINACIÓN AGREGADOR / RECONSTRUCCIÓN
+    // ══════════════════════════════════════════════════════════════
+
+    /**
+     * Bloqueo de un lote del agregador. ROW EXCLUSIVE no choca entre lotes
+     * de distintas instancias, pero sí con el de la reconstrucción: mientras
+     * ella corre ningún lote confirma, y ella espera a los que están en curso.
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE relaciones_comerciales IN ROW EXCLUSIVE MODE", nativeQuery = true)
+    void bloquearParaAgregar();
+
+    @Modifying
+    @Query(value = "LOCK TABLE relaciones_comerciales IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void bloquearParaReconstruir();
+
+    /**
+     * Marca como aplicadas las facturas que aún no lo estaban.
+     *
+     * @return ids recién marcados: solo esos movimientos deben sumarse
+     */
+    @Query(value = "UPDATE facturas SET en_relacion = true " +
+                   "WHERE id IN (:ids) AND NOT en_relacion RETURNING id", nativeQuery = true)
+    List<UUID> marcarFacturasEnRelacion(@Param("ids") Collection<UUID> ids);
+
+    @Query(value = "UPDATE pagos_recibidos SET en_relacion = true " +
+                   "WHERE id IN (:ids) AND NOT en_relacion RETURNING id", nativeQuery = true)
+    List<UUID> marcarPagosEnRelacion(@Param("ids") Collection<UUID> ids);
+
+    /** Marca todas las facturas entre empresas de Kinia confirmadas hasta ahora. */
+    @Modifying
+    @Query(value = "UPDATE facturas SET en_relacion = true " +
+                   "WHERE deudor_empresa_id IS NOT NULL AND NOT en_relacion", nativeQuery = true)
+    int marcarFacturasPendientesEnRelacion();
+
+    @Modifying
+    @Query(value = """
+            UPDATE pagos_recibidos pr SET en_relacion = true
+            FROM facturas f
+            WHERE f.id = pr.factura_id AND f.deudor_empresa_id IS NOT NULL AND NOT pr.en_relacion
+            """, nativeQuery = true)
+    int marcarPagosPendientesEnRelacion();
+
+    /**
+     * Recalcula todas las relaciones desde las facturas y pagos marcados
+     * en_relacion (crea las que falten). Corre con bloquearParaReconstruir()
+     * tomado y después de marcar los pendientes, así que el resultado es
+     * exactamente la suma de los movimientos marcados; los que sigan en
+     * alguna cola el agregador los descarta porque ya no puede marcarlos.
+     * Solo cambia updated_at si algún valor difiere.
+     *
+     * Los totales se convierten a bolívares con la última tasa BCV igual o
+     * anterior a la fecha de cada factura/pago (1 si no hay), como hace el
+     * agregador; "pagada" se decide comparando en la moneda de la factura.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO relaciones_comerciales (id, empresa_proveedora_id, empresa_cliente_id,
+                total_facturas, total_facturado, total_pagado, saldo_pendiente,
+                promedio_dias_pago, facturas_pagadas_a_tiempo, facturas_pagadas_con_mora, peor_mora_dias,
+                primera_transaccion, ultima_transaccion, created_at, updated_at)
+            SELECT gen_random_uuid(), a.proveedor, a.cliente,
+                   a.total_facturas, a.total_facturado, a.total_pagado, a.total_facturado - a.total_pagado,
+                   a.promedio_dias_pago, a.a_tiempo, a.con_mora, a.peor_mora,
+                   a.primera, a.ultima, :inicio, :inicio
+            FROM (
+                SELECT f.empresa_id AS proveedor,
+                       f.deudor_empresa_id AS cliente,
+                       COUNT(*) AS total_facturas,
+                       SUM(ROUND(f.total * COALESCE((
+                           SELECT t.tasa FROM tasas_cambio t
+                           WHERE t.moneda = f.moneda AND t.fecha <= f.fecha_emision
+                           ORDER BY t.fecha DESC LIMIT 1), 1), 2)) AS total_facturado,
+                       COALESCE(SUM(p.pagado_ves), 0) AS total_pagado,
+                       ROUND(AVG(p.ultimo_pago::date - f.fecha_emision)
+                           FILTER (WHERE p.pagado >= f.total))::int AS promedio_dias_pago,
+                       COUNT(*) FILTER (WHERE p.pagado >= f.total
+                           AND p.ultimo_pago::date <= f.fecha_vencimiento) AS a_tiempo,
+                       COUNT(*) FILTER (WHERE p.pagado >= f.total
+                           AND p.ultimo_pago::date > f.fecha_vencimiento) AS con_mora,
+                       COALESCE(MAX(p.ultimo_pago::date - f.fecha_vencimiento)
+                           FILTER (WHERE p.pagado >= f.total AND p.ultimo_pago::date > f.fecha_vencimiento), 0) AS peor_mora,
+                       LEAST(MIN(f.fecha_emision::timestamp), MIN(p.primer_pago)) AS primera,
+                       GREATEST(MAX(f.fecha_emision::timestamp), MAX(p.ultimo_pago)) AS ultima
+                FROM facturas f
+                LEFT JOIN LATERAL (
+                    SELECT SUM(pr.monto) AS pagado,
+                           SUM(ROUND(pr.monto * COALESCE((
+                               SELECT t.tasa FROM tasas_cambio t
+                               WHERE t.moneda = pr.moneda AND t.fecha <= pr.fecha_pago::date
+                               ORDER BY t.fecha DESC LIMIT 1), 1), 2)) AS pagado_ves,
+                           MIN(pr.fecha_pago) AS primer_pago,
+                           MAX(pr.fecha_pago) AS ultimo_pago
+                    FROM pagos_recibidos pr
+                    WHERE pr.factura_id = f.id AND pr.en_relacion
+                ) p ON true
+                WHERE f.deudor_empresa_id IS NOT NULL AND f.en_relacion
+                GROUP BY f.empresa_id, f.deudor_empresa_id
+            ) a
+            ON CONFLICT (empresa_proveedora_id, empresa_cliente_id) DO UPDATE SET
+                total_facturas = EXCLUDED.total_facturas,
+                total_facturado = EXCLUDED.total_facturado,
+                total_pagado = EXCLUDED.total_pagado,
+                saldo_pendiente = EXCLUDED.saldo_pendiente,
+                promedio_dias_pago = EXCLUDED.promedio_dias_pago,
+                facturas_pagadas_a_tiempo = EXCLUDED.facturas_pagadas_a_tiempo,
+                facturas_pagadas_con_mora = EXCLUDED.facturas_pagadas_con_mora,
+                peor_mora_dias = EXCLUDED.peor_mora_dias,
+                primera_transaccion = EXCLUDED.primera_transaccion,
+                ultima_transaccion = EXCLUDED.ultima_transaccion,
+                updated_at = EXCLUDED.updated_at
+            WHERE (relaciones_comerciales.total_facturas, relaciones_comerciales.total_facturado,
+                   relaciones_comerciales.total_pagado, relaciones_comerciales.promedio_dias_pago,
+                   relaciones_comerciales.facturas_pagadas_a_tiempo,
+                   relaciones_comerciales.facturas_pagadas_con_mora, relaciones_comerciales.peor_mora_dias,
+                   relaciones_comerciales.primera_transaccion, relaciones_comerciales.ultima_transaccion)
+                  IS DISTINCT FROM
+                  (EXCLUDED.total_facturas, EXCLUDED.total_facturado,
+                   EXCLUDED.total_pagado, EXCLUDED.promedio_dias_pago,
+                   EXCLUDED.facturas_pagadas_a_tiempo,
+                   EXCLUDED.facturas_pagadas_con_mora, EXCLUDED.peor_mora_dias,
+                   EXCLUDED.primera_transaccion, EXCLUDED.ultima_transaccion)
+            """, nativeQuery = true)
+    int reconstruirDesdeFacturas(@Param("inicio") LocalDateTime inicio);
+}
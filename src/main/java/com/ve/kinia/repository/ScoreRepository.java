@@ -0,0 +1,28 @@
+package com.ve.kinia.repository;
+
+import com.ve.kinia.dto.HuellaScoreVigente;
+import com.ve.kinia.model.Score;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface ScoreRepository extends JpaRepository<Score, UUID> {
+
+    /**
+     * Invalida (es_vigente = false) los scores vigentes de las empresas indicadas.
+     * Debe ejecutarse en la misma transacción que inserta los scores nuevos.
+     */
+    @Modifying
+    @Query("UPDATE Score s SET s.esVigente = false " +
+           "WHERE s.empresa.id IN :empresaIds AND s.esVigente = true")
+    int invalidarVigentes(@Param("empresaIds") Collection<UUID> empresaIds);
+
+    @Query("SELECT s.empresa.id AS empresaId, s.huellaEntrada AS huellaEntrada FROM Score s " +
+           "WHERE s.empresa.id IN :empresaIds AND s.esVigente = true")
+    List<HuellaScoreVigente> findHuellasVigentes(@Param("empresaIds") Collection<UUID> empresaIds);
+}
@@ -0,0 +1,9 @@
+package com.ve.kinia.repository;
+
+import com.ve.kinia.model.SolicitudFactoring;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface SolicitudFactoringRepository extends JpaRepository<SolicitudFactoring, UUID> {
+}
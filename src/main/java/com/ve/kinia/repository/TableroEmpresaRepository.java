@@ -0,0 +1,107 @@
+package com.ve.kinia.repository;
+
+import com.ve.kinia.model.TableroEmpresa;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+public interface TableroEmpresaRepository extends JpaRepository<TableroEmpresa, UUID> {
+
+    /**
+     * Recalcula el tablero de las empresas indicadas (crea las filas que
+     * falten) en una sola sentencia. Facturas abiertas: saldo > 0 y no
+     * cobradas, rechazadas ni incobrables, convertidas a bolívares con la
+     * última tasa BCV al día de {@code ahora}. No pisa una fila calculada
+     * después de {@code ahora} por otra instancia.
+     *
+     * @return filas escritas
+     */
+    @Modifying
+    @Query(value = """
+            WITH tasas AS (
+                SELECT DISTINCT ON (t.moneda) t.moneda, t.tasa
+                FROM tasas_cambio t
+                WHERE t.fecha <= CAST(:ahora AS date)
+                ORDER BY t.moneda, t.fecha DESC
+            ), abiertas AS (
+                SELECT f.empresa_id, f.tipo_deudor,
+                       COALESCE(f.deudor_empresa_id, f.deudor_externo_id) AS deudor_id,
+                       f.deudor_rif, f.deudor_razon_social, f.fecha_vencimiento,
+                       ROUND(f.saldo_pendiente * COALESCE(t.tasa, 1), 2) AS saldo
+                FROM facturas f
+                LEFT JOIN tasas t ON t.moneda = f.moneda
+                WHERE f.empresa_id IN (:ids)
+                  AND f.saldo_pendiente > 0
+                  AND f.estado NOT IN ('COBRADA', 'RECHAZADA', 'INCOBRABLE')
+            ), por_deudor AS (
+                SELECT a.empresa_id, a.tipo_deudor, a.deudor_id,
+                       MAX(a.deudor_rif) AS rif, MAX(a.deudor_razon_social) AS razon_social,
+                       COUNT(*) AS facturas, SUM(a.saldo) AS saldo,
+                       ROW_NUMBER() OVER (PARTITION BY a.empresa_id ORDER BY SUM(a.saldo) DESC) AS puesto
+                FROM abiertas a
+                GROUP BY a.empresa_id, a.tipo_deudor, a.deudor_id
+            )
+            INSERT INTO tablero_empresas (empresa_id, puntaje, nivel_riesgo, score_calculado_en,
+                limite_factoring_sugerido, facturas_abiertas, saldo_por_cobrar, facturas_vencidas, saldo_vencido,
+                solicitudes_activas, monto_en_solicitudes, monto_retenido, principales_deudores, calculado_en)
+            SELECT e.id, s.puntaje, s.nivel_riesgo, s.created_at, s.limite_factoring_sugerido,
+                   COALESCE(fa.abiertas, 0), COALESCE(fa.saldo, 0),
+                   COALESCE(fa.vencidas, 0), COALESCE(fa.saldo_vencido, 0),
+                   COALESCE(so.activas, 0), COALESCE(so.monto, 0), COALESCE(so.retenido, 0),
+                   COALESCE(pd.deudores, '[]'::jsonb), :ahora
+            FROM empresas e
+            LEFT JOIN scores s ON s.id = e.score_vigente_id
+            LEFT JOIN (
+                SELECT a.empresa_id,
+                       COUNT(*) AS abiertas,
+                       SUM(a.saldo) AS saldo,
+                       COUNT(*) FILTER (WHERE a.fecha_vencimiento < CAST(:ahora AS date)) AS vencidas,
+                       SUM(a.saldo) FILTER (WHERE a.fecha_vencimiento < CAST(:ahora AS date)) AS saldo_vencido
+                FROM abiertas a
+                GROUP BY a.empresa_id
+            ) fa ON fa.empresa_id = e.id
+            LEFT JOIN (
+                SELECT sf.empresa_id,
+                       COUNT(*) AS activas,
+                       SUM(sf.monto_facturas_total) AS monto,
+                       SUM(sf.monto_retenido) FILTER (WHERE sf.estado IN ('DESEMBOLSADA', 'EN_COBRANZA')) AS retenido
+                FROM solicitudes_factoring sf
+                WHERE sf.empresa_id IN (:ids)
+                  AND sf.estado IN ('ENVIADA', 'EN_REVISION', 'APROBADA', 'DESEMBOLSADA', 'EN_COBRANZA')
+                GROUP BY sf.empresa_id
+            ) so ON so.empresa_id = e.id
+            LEFT JOIN (
+                SELECT d.empresa_id,
+                       jsonb_agg(jsonb_build_object(
+                           'deudorId', d.deudor_id, 'tipoDeudor', d.tipo_deudor, 'rif', d.rif,
+                           'razonSocial', d.razon_social, 'facturas', d.facturas, 'saldo', d.saldo)
+                           ORDER BY d.puesto) AS deudores
+                FROM por_deudor d
+                WHERE d.puesto <= :maxDeudores
+                GROUP BY d.empresa_id
+            ) pd ON pd.empresa_id = e.id
+            WHERE e.id IN (:ids)
+            ON CONFLICT (empresa_id) DO UPDATE SET
+                puntaje = EXCLUDED.puntaje,
+                nivel_riesgo = EXCLUDED.nivel_riesgo,
+                score_calculado_en = EXCLUDED.score_calculado_en,
+                limite_factoring_sugerido = EXCLUDED.limite_factoring_sugerido,
+                facturas_abiertas = EXCLUDED.facturas_abiertas,
+                saldo_por_cobrar = EXCLUDED.saldo_por_cobrar,
+                facturas_vencidas = EXCLUDED.facturas_vencidas,
+                saldo_vencido = EXCLUDED.saldo_vencido,
+                solicitudes_activas = EXCLUDED.solicitudes_activas,
+                monto_en_solicitudes = EXCLUDED.monto_en_solicitudes,
+                monto_retenido = EXCLUDED.monto_retenido,
+                principales_deudores = EXCLUDED.principales_deudores,
+                calculado_en = EXCLUDED.calculado_en
+            WHERE tablero_empresas.calculado_en <= EXCLUDED.calculado_en
+            """, nativeQuery = true)
+    int recalcular(@Param("ids") Collection<UUID> ids, @Param("ahora") LocalDateTime ahora,
+                   @Param("maxDeudores") int maxDeudores);
+}
@@ -0,0 +1,31 @@
+package com.ve.kinia.repository;
+
+import com.ve.kinia.model.TasaCambio;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface TasaCambioRepository extends JpaRepository<TasaCambio, UUID> {
+
+    /** Todas las tasas, ordenadas para armar TablaTasas sin reordenar. */
+    @Query("SELECT t FROM TasaCambio t ORDER BY t.moneda, t.fecha")
+    List<TasaCambio> findTodasOrdenadas();
+
+    /** Crea la tasa del día o reemplaza la existente (republicación del BCV). */
+    @Modifying
+    @Query(value = """
+            INSERT INTO tasas_cambio (id, moneda, fecha, tasa, fuente, created_at)
+            VALUES (gen_random_uuid(), :moneda, :fecha, :tasa, :fuente, now())
+            ON CONFLICT (moneda, fecha) DO UPDATE
+            SET tasa = EXCLUDED.tasa, fuente = EXCLUDED.fuente
+            WHERE tasas_cambio.tasa IS DISTINCT FROM EXCLUDED.tasa
+            """, nativeQuery = true)
+    int registrar(@Param("moneda") String moneda, @Param("fecha") LocalDate fecha,
+                  @Param("tasa") BigDecimal tasa, @Param("fuente") String fuente);
+}
@@ -0,0 +1,202 @@
+package com.ve.kinia.service;
+
+import com.ve.kinia.dto.MovimientoRelacionComercial;
+import com.ve.kinia.model.Empresa;
+import com.ve.kinia.model.RelacionComercial;
+import com.ve.kinia.repository.RelacionComercialRepository;
+import com.ve.kinia.util.TablaTasas;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mantiene RelacionComercial a partir de facturas y pagos, en reemplazo de
+ * trigger_actualizar_relacion / trigger_actualizar_relacion_pago.
+ *
+ * Los movimientos se encolan después del commit de la factura/pago y un
+ * proceso periódico los agrupa por (proveedor, cliente): cada relación se
+ * bloquea y escribe UNA vez por lote, sin importar cuántas facturas de ese
+ * par llegaron. Así una carga masiva contra un mismo cliente no serializa
+ * los inserts de facturas sobre la misma fila.
+ *
+ * Los montos se suman en bolívares, convertidos con la tasa BCV de la
+ * fecha de cada movimiento (TasasCambioService); sin tasa publicada se
+ * suma el monto sin convertir, igual que en la reconstrucción.
+ *
+ * Cada factura/pago se cuenta una sola vez: el lote marca en_relacion en
+ * la misma transacción en que suma, y solo suma los que logró marcar; la
+ * reconstrucción nocturna marca todos los pendientes y recalcula desde los
+ * marcados, con la tabla bloqueada contra los lotes. Un movimiento que la
+ * reconstrucción ya contó se descarta al aplicarse, y uno que se perdió de
+ * la cola (reinicio, cola llena) queda sin marcar y lo cuenta la próxima
+ * reconstrucción.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AgregadorRelacionesService {
+
+    private final RelacionComercialRepository relacionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final MetricasKinia metricas;
+    private final TasasCambioService tasasCambioService;
+
+    private final BlockingQueue<MovimientoRelacionComercial> cola = new LinkedBlockingQueue<>(100_000);
+
+    @Value("${kinia.relaciones.tamano-lote:5000}")
+    private int tamanoLote;
+
+    @PostConstruct
+    public void registrarMetricas() {
+        metricas.registrarColaRelaciones(cola);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void encolar(MovimientoRelacionComercial movimiento) {
+        try {
+            if (!cola.offer(movimiento, 1, TimeUnit.SECONDS)) {
+                log.warn("Cola de relaciones comerciales llena; el movimiento {} {} → {} se aplicará en la reconstrucción",
+                        movimiento.getTipo(), movimiento.getProveedorId(), movimiento.getClienteId());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${kinia.relaciones.intervalo-ms:1000}")
+    public void ejecucionProgramada() {
+        while (aplicarPendientes() >= tamanoLote) {
+            // La cola tenía más de un lote: seguir sin esperar al próximo intervalo
+        }
+    }
+
+    @Scheduled(cron = "${kinia.relaciones.reconstruccion.cron:0 0 4 * * *}")
+    public synchronized void reconstruir() {
+        LocalDateTime inicio = LocalDateTime.now();
+        Integer actualizadas = transactionTemplate.execute(status -> {
+            relacionRepository.bloquearParaReconstruir();
+            relacionRepository.marcarFacturasPendientesEnRelacion();
+            relacionRepository.marcarPagosPendientesEnRelacion();
+            return relacionRepository.reconstruirDesdeFacturas(inicio);
+        });
+        log.info("Reconstrucción de relaciones comerciales: {} filas corregidas", actualizadas);
+    }
+
+    @PreDestroy
+    public void vaciarAlCerrar() {
+        while (!cola.isEmpty()) {
+            aplicarPendientes();
+        }
+    }
+
+    /**
+     * Aplica hasta un lote de movimientos encolados.
+     *
+     * @return cantidad de movimientos aplicados
+     */
+    public synchronized int aplicarPendientes() {
+        List<MovimientoRelacionComercial> movimientos = new ArrayList<>(Math.min(cola.size(), tamanoLote));
+        cola.drainTo(movimientos, tamanoLote);
+        if (movimientos.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            try {
+                transactionTemplate.executeWithoutResult(status -> aplicarLote(movimientos));
+            } catch (DataIntegrityViolationException e) {
+                // Otra instancia creó la misma relación; al reintentar ya existe y se bloquea
+                transactionTemplate.executeWithoutResult(status -> aplicarLote(movimientos));
+            }
+        } catch (RuntimeException e) {
+            // Nada quedó marcado: devolver el lote a la cola para el próximo intento
+            int devueltos = 0;
+            for (MovimientoRelacionComercial m : movimientos) {
+                if (cola.offer(m)) {
+                    devueltos++;
+                }
+            }
+            log.warn("Error aplicando {} movimientos de relaciones comerciales ({} devueltos a la cola, "
+                    + "el resto se aplicará en la reconstrucción)", movimientos.size(), devueltos, e);
+            return 0;
+        }
+        return movimientos.size();
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // AUXILIARES
+    // ══════════════════════════════════════════════════════════════
+
+    private void aplicarLote(List<MovimientoRelacionComercial> movimientos) {
+        relacionRepository.bloquearParaAgregar();
+
+        List<UUID> facturaIds = new ArrayList<>();
+        List<UUID> pagoIds = new ArrayList<>();
+        for (MovimientoRelacionComercial m : movimientos) {
+            (m.getTipo() == MovimientoRelacionComercial.Tipo.FACTURA ? facturaIds : pagoIds).add(m.getOrigenId());
+        }
+        Set<UUID> marcados = new HashSet<>();
+        if (!facturaIds.isEmpty()) {
+            marcados.addAll(relacionRepository.marcarFacturasEnRelacion(facturaIds));
+        }
+        if (!pagoIds.isEmpty()) {
+            marcados.addAll(relacionRepository.marcarPagosEnRelacion(pagoIds));
+        }
+
+        // Orden estable por par: evita deadlocks entre instancias que escriben los mismos pares
+        Map<Par, List<MovimientoRelacionComercial>> porPar = new TreeMap<>();
+        for (MovimientoRelacionComercial m : movimientos) {
+            if (marcados.contains(m.getOrigenId())) {
+                porPar.computeIfAbsent(new Par(m.getProveedorId(), m.getClienteId()), p -> new ArrayList<>()).add(m);
+            }
+        }
+        porPar.forEach(this::aplicar);
+        log.debug("Relaciones comerciales: {} de {} movimientos aplicados en {} relaciones",
+                marcados.size(), movimientos.size(), porPar.size());
+    }
+
+    private void aplicar(Par par, List<MovimientoRelacionComercial> movimientos) {
+        RelacionComercial relacion = relacionRepository.findParaActualizar(par.proveedorId(), par.clienteId())
+                .orElseGet(() -> RelacionComercial.builder()
+                        .empresaProveedora(entityManager.getReference(Empresa.class, par.proveedorId()))
+                        .empresaCliente(entityManager.getReference(Empresa.class, par.clienteId()))
+                        .build());
+        TablaTasas tasas = tasasCambioService.tabla();
+        for (MovimientoRelacionComercial m : movimientos) {
+            BigDecimal montoVes = tasas.equivalenteVes(m.getMonto(), m.getMoneda(), m.getFecha().toLocalDate());
+            if (m.getTipo() == MovimientoRelacionComercial.Tipo.FACTURA) {
+                relacion.registrarFactura(montoVes, m.getFecha());
+            } else {
+                relacion.registrarPago(montoVes, m.getFecha(), m.getDiasPago(), m.getDiasMora(),
+                        m.isFacturaSaldada());
+            }
+        }
+        relacionRepository.saveAndFlush(relacion);
+    }
+
+    private record Par(UUID proveedorId, UUID clienteId) implements Comparable<Par> {
+
+        @Override
+        public int compareTo(Par otro) {
+            int c = proveedorId.compareTo(otro.proveedorId);
+            return c != 0 ? c : clienteId.compareTo(otro.clienteId);
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.ve.kinia.service;
+
+import com.ve.kinia.dto.DocumentoSubido;
+import com.ve.kinia.model.Documento;
+import com.ve.kinia.model.enums.TipoDocumentoArchivo;
+import com.ve.kinia.repository.BlobDocumentoRepository;
+import com.ve.kinia.repository.DocumentoRepository;
+import com.ve.kinia.repository.EmpresaRepository;
+import com.ve.kinia.util.CanalHash;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Almacenamiento de documentos por contenido (content-addressed).
+ *
+ * Cada archivo se guarda UNA vez, con su SHA-256 como nombre, en
+ * {@code <directorio>/blobs/ab/cd/abcd…}; los Documento con el mismo
+ * contenido comparten el blob (BlobDocumento.referencias).
+ *
+ * Subida:
+ *   1. El contenido se copia a un temporal a través de CanalHash (hash y
+ *      tamaño en una sola pasada, con un buffer fijo de 64 KB).
+ *   2. En una transacción: upsert del blob (+1 referencia, fila bloqueada),
+ *      se mueve el temporal a su ruta si no existe y se inserta el Documento.
+ *      Si la transacción se revierte después de escribir el archivo, se
+ *      vuelve a tomar la fila del blob en una transacción nueva y se borra
+ *      el archivo salvo que otra subida ya lo esté usando.
+ *
+ * Recolección: los blobs sin referencias por más de {@code gracia-horas}
+ * se borran (archivo y fila) con la fila bloqueada, así una subida
+ * concurrente del mismo contenido espera y vuelve a escribir el archivo.
+ * Los documentos anteriores a los blobs conservan su ruta propia; al
+ * borrarlos esa ruta queda en documento_archivos_liberados y se recolecta
+ * con la misma gracia.
+ */
+@Slf4j
+@Service
+public class AlmacenDocumentosService {
+
+    private static final int TAMANO_BUFFER = 64 * 1024;
+
+    private final Path blobs;
+    private final Path temporales;
+    private final DocumentoRepository documentoRepository;
+    private final BlobDocumentoRepository blobRepository;
+    private final EmpresaRepository empresaRepository;
+    private final TransactionTemplate transactionTemplate;
+    /** Para deshacer un blob después de un rollback, fuera de la transacción terminada. */
+    private final TransactionTemplate transaccionNueva;
+
+    @Value("${kinia.documentos.recoleccion.gracia-horas:24}")
+    private long graciaHoras;
+
+    @Value("${kinia.documentos.recoleccion.tamano-lote:500}")
+    private int tamanoLoteRecoleccion;
+
+    public AlmacenDocumentosService(@Value("${kinia.documentos.directorio:data/documentos}") String directorio,
+                                    DocumentoRepository documentoRepository,
+                                    BlobDocumentoRepository blobRepository,
+                                    EmpresaRepository empresaRepository,
+                                    TransactionTemplate transactionTemplate) {
+        Path base = Path.of(directorio).toAbsolutePath();
+        this.blobs = base.resolve("blobs");
+        this.temporales = base.resolve("tmp");
+        this.documentoRepository = documentoRepository;
+        this.blobRepository = blobRepository;
+        this.empresaRepository = empresaRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.transaccionNueva = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.transaccionNueva.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public DocumentoSubido guardar(UUID empresaId, TipoDocumentoArchivo tipo, String nombreOriginal,
+                                   String mimeType, InputStream contenido) {
+        Path temporal = null;
+        try {
+            Files.createDirectories(temporales);
+            temporal = Files.createTempFile(temporales, "subida-", ".tmp");
+            String hash;
+            long tamano;
+            try (ReadableByteChannel entrada = Channels.newChannel(contenido);
+                 FileChannel salida = FileChannel.open(temporal, StandardOpenOption.WRITE)) {
+                CanalHash canal = new CanalHash(salida);
+                ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANO_BUFFER);
+                while (entrada.read(buffer) >= 0) {
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        canal.write(buffer);
+                    }
+                    buffer.clear();
+                }
+                salida.force(false);
+                hash = canal.hashHex();
+                tamano = canal.getBytes();
+            }
+            Path origen = temporal;
+            return transactionTemplate.execute(status -> {
+                blobRepository.referenciar(hash, tamano);
+                Path ruta = rutaBlob(hash);
+                boolean duplicado = !colocar(origen, ruta);
+                if (!duplicado) {
+                    descartarSiSeRevierte(hash, tamano, ruta);
+                }
+                Documento documento = documentoRepository.save(Documento.builder()
+                        .empresa(empresaRepository.getReferenceById(empresaId))
+                        .tipo(tipo)
+                        .nombreOriginal(nombreOriginal)
+                        .nombreAlmacenado(ruta.getFileName().toString())
+                        .rutaAlmacenamiento(ruta.getParent().toString())
+                        .extension(extension(nombreOriginal))
+                        .mimeType(mimeType)
+                        .tamanoBytes(tamano)
+                        .hashSha256(hash)
+                        .build());
+                return new DocumentoSubido(documento.getId(), tipo, nombreOriginal, tamano, hash, duplicado);
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo guardar el documento " + nombreOriginal, e);
+        } finally {
+            borrarTemporal(temporal);
+        }
+    }
+
+    /**
+     * Borra el Documento y libera su referencia al blob; el archivo se
+     * borra en la próxima recolección si nadie más lo usa. Un documento
+     * anterior a los blobs deja su ruta propia para el recolector.
+     */
+    public void eliminar(UUID documentoId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Documento documento = documentoRepository.findById(documentoId)
+                    .orElseThrow(() -> new IllegalArgumentException("Documento no encontrado: " + documentoId));
+            documentoRepository.delete(documento);
+            String hash = documento.getHashSha256();
+            if (hash != null) {
+                blobRepository.liberar(hash);
+            }
+            Path archivo = Path.of(documento.getRutaAlmacenamiento(), documento.getNombreAlmacenado());
+            if (hash == null || !archivo.toAbsolutePath().equals(rutaBlob(hash))) {
+                blobRepository.liberarArchivo(archivo.toString());
+            }
+        });
+    }
+
+    public Path rutaBlob(String hash) {
+        return blobs.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // RECOLECCIÓN DE BLOBS HUÉRFANOS
+    // ══════════════════════════════════════════════════════════════
+
+    @Scheduled(cron = "${kinia.documentos.recoleccion.cron:0 0 5 * * *}")
+    public void recolectarHuerfanos() {
+        LocalDateTime limite = LocalDateTime.now().minusHours(graciaHoras);
+        int blobs = porLotes(() -> transactionTemplate.execute(status -> {
+            List<String> hashes = blobRepository.bloquearHuerfanos(limite, tamanoLoteRecoleccion);
+            for (String hash : hashes) {
+                borrarArchivo(rutaBlob(hash));
+            }
+            blobRepository.deleteAllByIdInBatch(hashes);
+            return hashes.size();
+        }));
+        int archivos = porLotes(() -> transactionTemplate.execute(status -> {
+            List<String> rutas = blobRepository.bloquearArchivosLiberados(limite, tamanoLoteRecoleccion);
+            for (String ruta : rutas) {
+                borrarArchivo(Path.of(ruta));
+            }
+            if (!rutas.isEmpty()) {
+                blobRepository.borrarArchivosLiberados(rutas);
+            }
+            return rutas.size();
+        }));
+        if (blobs > 0 || archivos > 0) {
+            log.info("Documentos: {} blobs sin referencias y {} archivos con ruta propia borrados", blobs, archivos);
+        }
+    }
+
+    private int porLotes(Supplier<Integer> lote) {
+        int borrados = 0;
+        while (true) {
+            int n = lote.get();
+            borrados += n;
+            if (n < tamanoLoteRecoleccion) {
+                return borrados;
+            }
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // ROLLBACK DE UNA SUBIDA
+    // ══════════════════════════════════════════════════════════════
+
+    private void descartarSiSeRevierte(String hash, long tamano, Path ruta) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    descartar(hash, tamano, ruta);
+                }
+            }
+        });
+    }
+
+    /**
+     * Toma la fila del blob igual que una subida (espera a otra subida del
+     * mismo contenido en curso): si la única referencia es la nuestra nadie
+     * usa el archivo y se borra con la fila; si no, solo se devuelve.
+     */
+    private void descartar(String hash, long tamano, Path ruta) {
+        try {
+            transaccionNueva.executeWithoutResult(status -> {
+                if (blobRepository.referenciar(hash, tamano) == 1) {
+                    borrarArchivo(ruta);
+                    blobRepository.deleteAllByIdInBatch(List.of(hash));
+                } else {
+                    blobRepository.liberar(hash);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Documentos: no se pudo descartar el blob {} tras el rollback: {}", hash, e.getMessage());
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // AUXILIARES
+    // ══════════════════════════════════════════════════════════════
+
+    /**
+     * Mueve el temporal a la ruta del blob si el contenido aún no está.
+     * @return true si se escribió el archivo, false si ya existía
+     */
+    private static boolean colocar(Path temporal, Path destino) {
+        if (Files.exists(destino)) {
+            return false;
+        }
+        try {
+            Files.createDirectories(destino.getParent());
+            Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo almacenar el blob " + destino.getFileName(), e);
+        }
+    }
+
+    private static void borrarArchivo(Path archivo) {
+        try {
+            Files.deleteIfExists(archivo);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo borrar el archivo " + archivo.getFileName(), e);
+        }
+    }
+
+    private static String extension(String nombre) {
+        int punto = nombre != null ? nombre.lastIndexOf('.') : -1;
+        if (punto < 0 || punto == nombre.length() - 1) {
+            return "bin";
+        }
+        String extension = nombre.substring(punto + 1).toLowerCase(Locale.ROOT);
+        return extension.length() > 10 ? extension.substring(0, 10) : extension;
+    }
+
+    private static void borrarTemporal(Path temporal) {
+        if (temporal == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temporal);
+        } catch (IOException e) {
+            log.warn("No se pudo borrar el temporal {}: {}", temporal, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.ve.kinia.service;
+
+import com.ve.kinia.dto.ResumenTramoAntiguedad;
+import com.ve.kinia.model.AntiguedadFactura;
+import com.ve.kinia.model.enums.TramoAntiguedad;
+import com.ve.kinia.repository.AntiguedadFacturaRepository;
+import com.ve.kinia.repository.FacturaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Antigüedad de saldos precalculada (antiguedad_facturas) para la lista de
+ * trabajo de cobranza, en lugar de evaluar Factura.isVencida() en Java por
+ * cada factura en cada consulta.
+ *
+ *   - A diario (después de medianoche): recálculo completo en chunks keyset
+ *     de facturas; al final se quitan las filas que no se recalcularon
+ *     (facturas cerradas o borradas).
+ *   - Incremental: actualizar() dentro de la transacción que registra un
+ *     pago o una gestión de cobranza; las facturas nuevas se juntan con
+ *     actualizarAntesDelCommit() y se recalculan una vez por transacción
+ *     (una importación masiva no corta el batch JDBC de sus inserts).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AntiguedadSaldosService {
+
+    private static final UUID UUID_INICIAL = new UUID(0L, 0L);
+    /** Clave del recurso de transacción con las facturas a recalcular antes del commit. */
+    private static final Object PENDIENTES = new Object();
+
+    private final AntiguedadFacturaRepository antiguedadRepository;
+    private final FacturaRepository facturaRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${kinia.cobranza.antiguedad.tamano-chunk:5000}")
+    private int tamanoChunk;
+
+    @Scheduled(cron = "${kinia.cobranza.antiguedad.cron:0 5 0 * * *}")
+    public void ejecucionProgramada() {
+        materializarTodas();
+    }
+
+    /**
+     * @return facturas abiertas materializadas
+     */
+    public int materializarTodas() {
+        // Precisión de timestamp de PostgreSQL: sin truncar, calculado_en < inicio borraría lo recién escrito
+        LocalDateTime inicio = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        UUID cursor = UUID_INICIAL;
+        int abiertas = 0;
+        while (true) {
+            List<UUID> ids = facturaRepository.findIdsDespuesDe(cursor, PageRequest.of(0, tamanoChunk));
+            if (ids.isEmpty()) {
+                break;
+            }
+            cursor = ids.get(ids.size() - 1);
+            abiertas += transactionTemplate.execute(status -> antiguedadRepository.materializar(ids, inicio));
+        }
+        int quitadas = transactionTemplate.execute(status -> antiguedadRepository.quitarNoRecalculadas(inicio));
+        log.info("Antigüedad de saldos: {} facturas abiertas, {} cerradas quitadas", abiertas, quitadas);
+        return abiertas;
+    }
+
+    /**
+     * Recalcula las facturas indicadas. Se une a la transacción del llamador:
+     * los cambios de la factura deben estar ya en la base (flush).
+     */
+    @Transactional
+    public void actualizar(Collection<UUID> facturaIds) {
+        if (facturaIds.isEmpty()) {
+            return;
+        }
+        antiguedadRepository.materializar(facturaIds, LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS));
+        antiguedadRepository.quitarCerradas(facturaIds);
+    }
+
+    /**
+     * Recalcula la factura justo antes de confirmar la transacción actual,
+     * junto con las demás registradas en ella (o de inmediato si no hay
+     * transacción).
+     */
+    @SuppressWarnings("unchecked")
+    public void actualizarAntesDelCommit(UUID facturaId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionTemplate.executeWithoutResult(status -> actualizar(List.of(facturaId)));
+            return;
+        }
+        Set<UUID> pendientes = (Set<UUID>) TransactionSynchronizationManager.getResource(PENDIENTES);
+        if (pendientes == null) {
+            Set<UUID> nuevas = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(PENDIENTES, nuevas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    facturaRepository.flush();
+                    actualizar(nuevas);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PENDIENTES);
+                }
+            });
+            pendientes = nuevas;
+        }
+        pendientes.add(facturaId);
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // CONSULTAS
+    // ══════════════════════════════════════════════════════════════
+
+    public List<AntiguedadFactura> listaTrabajo(UUID empresaId, int pagina, int tamano) {
+        return antiguedadRepository.findListaTrabajo(empresaId, LocalDate.now(), PageRequest.of(pagina, tamano));
+    }
+
+    public List<AntiguedadFactura> listaTrabajo(Collection<TramoAntiguedad> tramos, int pagina, int tamano) {
+        return antiguedadRepository.findByTramoInOrderByFechaVencimientoAscSaldoPendienteDesc(
+                tramos, PageRequest.of(pagina, tamano));
+    }
+
+    public List<ResumenTramoAntiguedad> resumen(UUID empresaId) {
+        return antiguedadRepository.resumirPorTramo(empresaId);
+    }
+}
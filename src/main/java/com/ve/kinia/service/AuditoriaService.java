@@ -0,0 +1,254 @@
+package com.ve.kinia.service;
+
+import com.ve.kinia.model.AuditoriaAccion;
+import com.ve.kinia.repository.AuditoriaAccionRepository;
+import com.ve.kinia.repository.AuditoriaJdbcRepository;
+import com.ve.kinia.util.DiffAuditoria;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Auditoría asíncrona: registrar() no escribe en la base dentro de la
+ * transacción de negocio.
+ *
+ *   1. La acción entra en un buffer circular acotado (después del commit
+ *      si hay transacción; una acción revertida no se audita).
+ *   2. Un proceso periódico vacía el buffer con INSERT multi-fila.
+ *   3. Si el buffer está lleno (más de {@code espera-max-ms}) o el insert
+ *      falla, las acciones se escriben en el respaldo local
+ *      (DerrameAuditoria) y se reinsertan cuando la base responde. Si
+ *      tampoco se puede escribir el respaldo, el lote queda en memoria y
+ *      no se vacía más el buffer hasta que el insert o el respaldo funcionen.
+ *
+ * auditoria_acciones está particionada por mes de created_at; las
+ * particiones del mes actual y los siguientes se crean al iniciar y a diario.
+ *
+ * registrarCambio() guarda solo los campos que cambiaron (DiffAuditoria) y,
+ * en el primer cambio de cada entidad desde que arrancó el proceso y luego
+ * cada {@code checkpoint-cada} cambios, un checkpoint con la instantánea
+ * completa. reconstruir() parte del último checkpoint y aplica las
+ * diferencias posteriores.
+ */
+@Slf4j
+@Service
+public class AuditoriaService {
+
+    private final AuditoriaJdbcRepository auditoriaRepository;
+    private final DerrameAuditoria derrame;
+    private final AuditoriaAccionRepository auditoriaAccionRepository;
+    private final BlockingQueue<AuditoriaAccion> buffer;
+    private final Map<String, Integer> cambiosDesdeCheckpoint;
+    /** Lote ya sacado del buffer que no llegó ni a la base ni al respaldo local. */
+    private List<AuditoriaAccion> retenido = List.of();
+
+    @Value("${kinia.auditoria.tamano-lote:1000}")
+    private int tamanoLote;
+
+    @Value("${kinia.auditoria.espera-max-ms:50}")
+    private long esperaMaxMs;
+
+    @Value("${kinia.auditoria.meses-adelante:2}")
+    private int mesesAdelante;
+
+    @Value("${kinia.auditoria.checkpoint-cada:50}")
+    private int checkpointCada;
+
+    public AuditoriaService(AuditoriaJdbcRepository auditoriaRepository, DerrameAuditoria derrame,
+                            AuditoriaAccionRepository auditoriaAccionRepository, MetricasKinia metricas,
+                            @Value("${kinia.auditoria.capacidad:50000}") int capacidad,
+                            @Value("${kinia.auditoria.checkpoint-entidades-max:10000}") int entidadesMax) {
+        this.auditoriaRepository = auditoriaRepository;
+        this.derrame = derrame;
+        this.auditoriaAccionRepository = auditoriaAccionRepository;
+        this.buffer = new ArrayBlockingQueue<>(capacidad);
+        this.cambiosDesdeCheckpoint = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Integer> mayor) {
+                return size() > entidadesMax;
+            }
+        });
+        metricas.registrarColaAuditoria(buffer);
+    }
+
+    public void registrar(AuditoriaAccion accion) {
+        registrar(accion, () -> { });
+    }
+
+    /** {@code alConfirmar} corre justo antes de encolar, es decir, solo si la transacción confirma. */
+    private void registrar(AuditoriaAccion accion, Runnable alConfirmar) {
+        if (accion.getId() == null) {
+            accion.setId(UUID.randomUUID());
+        }
+        if (accion.getCreatedAt() == null) {
+            accion.setCreatedAt(LocalDateTime.now());
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    alConfirmar.run();
+                    encolar(accion);
+                }
+            });
+        } else {
+            alConfirmar.run();
+            encolar(accion);
+        }
+    }
+
+    /**
+     * Audita el cambio de una entidad JPA. {@code antes} es la instantánea
+     * tomada con DiffAuditoria.instantanea() antes de modificarla (null si
+     * la entidad es nueva); la instantánea posterior se toma en esta llamada.
+     * Si no cambió ningún campo auditable no se registra nada.
+     */
+    public void registrarCambio(String accion, UUID empresaId, Object entidad, Map<String, Object> antes) {
+        Map<String, Object> despues = DiffAuditoria.instantanea(entidad);
+        String tipo = Hibernate.getClass(entidad).getSimpleName();
+        UUID entidadId = (UUID) DiffAuditoria.id(entidad);
+        DiffAuditoria.Diferencia diferencia = DiffAuditoria.diferencias(antes != null ? antes : Map.of(), despues);
+        if (antes != null && diferencia.isVacia()) {
+            return;
+        }
+        String clave = tipo + ":" + entidadId;
+        boolean checkpoint = requiereCheckpoint(clave, antes == null);
+        registrar(AuditoriaAccion.builder()
+                .empresaId(empresaId)
+                .accion(accion)
+                .entidad(tipo)
+                .entidadId(entidadId)
+                .datosAntes(antes != null ? diferencia.antes() : null)
+                .datosDespues(checkpoint ? despues : diferencia.despues())
+                .esCheckpoint(checkpoint)
+                .build(), () -> contarCambio(clave, checkpoint));
+    }
+
+    /**
+     * Estado de la entidad en {@code momento}: último checkpoint anterior más
+     * las diferencias registradas hasta ese momento. Vacío si no hay
+     * checkpoint. Las acciones que aún están en el buffer o en el respaldo
+     * local no se ven.
+     */
+    public Optional<Map<String, Object>> reconstruir(String entidad, UUID entidadId, LocalDateTime momento) {
+        return auditoriaAccionRepository
+                .findFirstByEntidadAndEntidadIdAndEsCheckpointTrueAndCreatedAtLessThanEqualOrderByCreatedAtDesc(
+                        entidad, entidadId, momento)
+                .map(checkpoint -> {
+                    Map<String, Object> estado = new LinkedHashMap<>(checkpoint.getDatosDespues());
+                    auditoriaAccionRepository
+                            .findByEntidadAndEntidadIdAndCreatedAtGreaterThanAndCreatedAtLessThanEqualOrderByCreatedAtAsc(
+                                    entidad, entidadId, checkpoint.getCreatedAt(), momento)
+                            .forEach(a -> DiffAuditoria.aplicar(estado, a.getDatosDespues()));
+                    return estado;
+                });
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // ESCRITURA
+    // ══════════════════════════════════════════════════════════════
+
+    @Scheduled(fixedDelayString = "${kinia.auditoria.intervalo-ms:200}")
+    public synchronized void vaciar() {
+        while (true) {
+            List<AuditoriaAccion> lote = retenido;
+            retenido = List.of();
+            if (lote.isEmpty()) {
+                lote = new ArrayList<>(tamanoLote);
+                buffer.drainTo(lote, tamanoLote);
+            }
+            if (lote.isEmpty()) {
+                break;
+            }
+            try {
+                auditoriaRepository.insertar(lote);
+            } catch (RuntimeException e) {
+                log.warn("Auditoría: no se pudo insertar un lote de {} acciones, se guarda en el respaldo local: {}",
+                        lote.size(), e.getMessage());
+                respaldar(lote);
+                return;
+            }
+        }
+        if (derrame.hayPendientes()) {
+            try {
+                derrame.reprocesar(auditoriaRepository::insertar, tamanoLote);
+            } catch (RuntimeException e) {
+                log.warn("Auditoría: el respaldo local sigue pendiente: {}", e.getMessage());
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${kinia.auditoria.particiones.cron:0 15 0 * * *}")
+    public void crearParticiones() {
+        auditoriaRepository.crearParticiones(YearMonth.now(), mesesAdelante);
+    }
+
+    @PreDestroy
+    public synchronized void vaciarAlCerrar() {
+        List<AuditoriaAccion> pendientes = new ArrayList<>(retenido);
+        retenido = List.of();
+        buffer.drainTo(pendientes);
+        if (pendientes.isEmpty()) {
+            return;
+        }
+        try {
+            auditoriaRepository.insertar(pendientes);
+        } catch (RuntimeException e) {
+            derrame.escribir(pendientes);
+        }
+    }
+
+    /** Escribe el lote en el respaldo local o, si falla, lo retiene para el próximo vaciado. */
+    private void respaldar(List<AuditoriaAccion> lote) {
+        try {
+            derrame.escribir(lote);
+        } catch (RuntimeException e) {
+            log.error("Auditoría: no se pudo escribir el respaldo local, {} acciones quedan en memoria: {}",
+                    lote.size(), e.getMessage());
+            retenido = lote;
+        }
+    }
+
+    /**
+     * Checkpoint en el primer cambio visto por este proceso y luego cada
+     * {@code checkpointCada}. Solo consulta: el contador avanza con
+     * contarCambio() cuando la acción se confirma, así un rollback no deja
+     * diferencias sin checkpoint previo.
+     */
+    private boolean requiereCheckpoint(String clave, boolean nueva) {
+        Integer actual = cambiosDesdeCheckpoint.get(clave);
+        return nueva || actual == null || actual + 1 >= checkpointCada;
+    }
+
+    private void contarCambio(String clave, boolean checkpoint) {
+        // Sin entrada (descartada por tamaño): el próximo cambio vuelve a ser checkpoint
+        cambiosDesdeCheckpoint.compute(clave, (k, actual) -> checkpoint ? 0 : actual == null ? null : actual + 1);
+    }
+
+    private void encolar(AuditoriaAccion accion) {
+        try {
+            if (buffer.offer(accion, esperaMaxMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+            log.debug("Auditoría: buffer lleno, acción {} al respaldo local", accion.getAccion());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        derrame.escribir(List.of(accion));
+    }
+}
@@ -0,0 +1,158 @@
+package com.ve.kinia.service;
+
+import com.ve.kinia.dto.EntradaScoring;
+import com.ve.kinia.dto.HistorialDeudor;
+import com.ve.kinia.dto.ResumenDocumentosEmpresa;
+import com.ve.kinia.model.DatosFinancieros;
+import com.ve.kinia.model.Empresa;
+import com.ve.kinia.model.enums.EstadoKyc;
+import com.ve.kinia.model.enums.TipoDocumentoArchivo;
+import com.ve.kinia.repository.DatosFinancierosRepository;
+import com.ve.kinia.repository.DocumentoRepository;
+import com.ve.kinia.repository.EmpresaRepository;
+import com.ve.kinia.repository.FacturaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.ve.kinia.dto.EntradaScoring.SIN_DATO;
+
+/**
+ * Arma las EntradaScoring de un lote de empresas con un número fijo de
+ * consultas (empresas, último período financiero, documentos agrupados,
+ * historial como deudor), sin tocar las colecciones lazy de Empresa.
+ */
+@Service
+@RequiredArgsConstructor
+public class CargadorEntradasScoring {
+
+    private static final Set<TipoDocumentoArchivo> TIPOS_REQUERIDOS = EnumSet.of(
+            TipoDocumentoArchivo.RIF_EMPRESA,
+            TipoDocumentoArchivo.REGISTRO_MERCANTIL,
+            TipoDocumentoArchivo.ACTA_CONSTITUTIVA,
+            TipoDocumentoArchivo.ESTADOS_FINANCIEROS,
+            TipoDocumentoArchivo.CEDULA_REPRESENTANTE);
+
+    private final EmpresaRepository empresaRepository;
+    private final DatosFinancierosRepository datosFinancierosRepository;
+    private final DocumentoRepository documentoRepository;
+    private final FacturaRepository facturaRepository;
+
+    /**
+     * @return entradas en el mismo orden que {@code empresaIds}
+     */
+    @Transactional(readOnly = true)
+    public List<EntradaScoring> cargar(List<UUID> empresaIds) {
+        if (empresaIds.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, Empresa> empresas = empresaRepository.findByIdIn(empresaIds).stream()
+                .collect(Collectors.toMap(Empresa::getId, Function.identity()));
+        Map<UUID, DatosFinancieros> financieros = datosFinancierosRepository.findUltimosPorEmpresas(empresaIds).stream()
+                .collect(Collectors.toMap(d -> d.getEmpresa().getId(), Function.identity()));
+        Map<UUID, List<ResumenDocumentosEmpresa>> documentos = documentoRepository.resumirPorEmpresas(empresaIds).stream()
+                .collect(Collectors.groupingBy(ResumenDocumentosEmpresa::getEmpresaId));
+        Map<UUID, HistorialDeudor> historiales = facturaRepository.findHistorialComoDeudor(empresaIds).stream()
+                .collect(Collectors.toMap(HistorialDeudor::getEmpresaId, Function.identity()));
+
+        List<EntradaScoring> entradas = new ArrayList<>(empresaIds.size());
+        for (UUID id : empresaIds) {
+            Empresa empresa = empresas.get(id);
+            if (empresa == null) {
+                continue;
+            }
+            EntradaScoring.EntradaScoringBuilder builder = EntradaScoring.builder()
+                    .empresaId(id)
+                    .sector(empresa.getSector())
+                    .kycAprobado(empresa.getEstadoKyc() == EstadoKyc.APROBADO);
+            Integer antiguedad = empresa.getAntiguedadAnios();
+            if (antiguedad != null) {
+                builder.antiguedadAnios(antiguedad);
+            }
+            aplicarFinancieros(builder, financieros.get(id));
+            aplicarDocumentos(builder, documentos.getOrDefault(id, List.of()));
+            aplicarHistorial(builder, historiales.get(id));
+            entradas.add(builder.build());
+        }
+        return entradas;
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // AUXILIARES
+    // ══════════════════════════════════════════════════════════════
+
+    private void aplicarFinancieros(EntradaScoring.EntradaScoringBuilder builder, DatosFinancieros d) {
+        if (d == null) {
+            return;
+        }
+        BigDecimal liquidez = d.getRatioLiquidez() != null ? d.getRatioLiquidez() : d.calcularRatioLiquidez();
+        BigDecimal endeudamiento = d.getRatioEndeudamiento() != null ? d.getRatioEndeudamiento() : d.calcularRatioEndeudamiento();
+        BigDecimal margen = d.getMargenNeto();
+        if (margen == null && d.getUtilidadNeta() != null && d.getIngresosNetos() != null
+                && d.getIngresosNetos().signum() != 0) {
+            margen = d.getUtilidadNeta().divide(d.getIngresosNetos(), 4, RoundingMode.HALF_UP);
+        }
+        int cumplimientos = 0;
+        if (Boolean.TRUE.equals(d.getAlDiaSeniat())) cumplimientos++;
+        if (Boolean.TRUE.equals(d.getAlDiaIvss())) cumplimientos++;
+        if (Boolean.TRUE.equals(d.getAlDiaFaov())) cumplimientos++;
+        if (Boolean.TRUE.equals(d.getAlDiaInces())) cumplimientos++;
+
+        builder.tieneDatosFinancieros(true)
+                .ratioLiquidez(escalar(liquidez, 4))
+                .ratioEndeudamiento(escalar(endeudamiento, 4))
+                .margenNeto(escalar(margen, 4))
+                .flujoCajaPositivo(d.getFlujoCajaOperativo() != null && d.getFlujoCajaOperativo().signum() > 0)
+                .cumplimientos(cumplimientos)
+                .patrimonioCentavos(escalar(d.getPatrimonio(), 2))
+                .cuentasPorCobrarCentavos(escalar(d.getCuentasPorCobrar(), 2));
+    }
+
+    private void aplicarDocumentos(EntradaScoring.EntradaScoringBuilder builder,
+                                   List<ResumenDocumentosEmpresa> resumenes) {
+        int tiposRequeridos = 0, total = 0, verificados = 0, vencidos = 0, bancarias = 0, comerciales = 0;
+        for (ResumenDocumentosEmpresa r : resumenes) {
+            int cantidad = r.getTotal().intValue();
+            if (TIPOS_REQUERIDOS.contains(r.getTipo())) tiposRequeridos++;
+            if (r.getTipo() == TipoDocumentoArchivo.REFERENCIA_BANCARIA) bancarias += cantidad;
+            if (r.getTipo() == TipoDocumentoArchivo.REFERENCIA_COMERCIAL) comerciales += cantidad;
+            total += cantidad;
+            verificados += valor(r.getVerificados());
+            vencidos += valor(r.getVencidos());
+        }
+        builder.tiposRequeridosPresentes(tiposRequeridos)
+                .documentosTotales(total)
+                .documentosVerificados(verificados)
+                .documentosVencidos(vencidos)
+                .referenciasBancarias(bancarias)
+                .referenciasComerciales(comerciales);
+    }
+
+    private void aplicarHistorial(EntradaScoring.EntradaScoringBuilder builder, HistorialDeudor h) {
+        if (h == null) {
+            return;
+        }
+        builder.facturasComoDeudor(valor(h.getTotal()))
+                .facturasCobradas(valor(h.getCobradas()))
+                .facturasPagadasATiempo(valor(h.getPagadasATiempo()))
+                .facturasVencidas(valor(h.getVencidas()))
+                .promedioDiasMora(h.getPromedioDiasMora() != null ? h.getPromedioDiasMora() : 0);
+    }
+
+    private static long escalar(BigDecimal valor, int escala) {
+        if (valor == null) {
+            return SIN_DATO;
+        }
+        return valor.setScale(escala, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    private static int valor(Long valor) {
+        return valor != null ? valor.intValue() : 0;
+    }
+}
@@ -0,0 +1,157 @@
+package com.ve.kinia.service;
+
+import com.ve.kinia.model.AntiguedadFactura;
+import com.ve.kinia.model.Cobranza;
+import com.ve.kinia.model.Notificacion;
+import com.ve.kinia.model.enums.TipoDeudor;
+import com.ve.kinia.repository.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Cobranza automática (Cobranza.gestionAutomatica) para deudores INTERNOS.
+ *
+ * Cada corrida:
+ *   1. Da de alta en cobranza_deudores a los deudores con facturas abiertas
+ *      vencidas o que vencen en los próximos {@code dias-aviso} días
+ *      (desde antiguedad_facturas).
+ *   2. Por lotes, reclama deudores con SELECT ... FOR UPDATE SKIP LOCKED y,
+ *      en la misma transacción, crea una Cobranza por factura, UNA
+ *      Notificacion por deudor y lo reprograma {@code intervalo-horas} después.
+ *
+ * Varios nodos pueden correrla a la vez: cada deudor lo toma un solo nodo
+ * (fila bloqueada) y no vuelve a gestionarse antes del intervalo.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CobranzaAutomaticaService {
+
+    public static final String GESTION_AVISO = "AVISO_VENCIMIENTO";
+    public static final String GESTION_COBRO = "COBRO_AUTOMATICO";
+    public static final String NOTIFICACION_COBRANZA = "COBRANZA";
+
+    private final CobranzaDeudorRepository cobranzaDeudorRepository;
+    private final AntiguedadFacturaRepository antiguedadRepository;
+    private final CobranzaRepository cobranzaRepository;
+    private final NotificacionRepository notificacionRepository;
+    private final FacturaRepository facturaRepository;
+    private final AntiguedadSaldosService antiguedadService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${kinia.cobranza.automatica.dias-aviso:3}")
+    private int diasAviso;
+
+    @Value("${kinia.cobranza.automatica.intervalo-horas:72}")
+    private long intervaloHoras;
+
+    @Value("${kinia.cobranza.automatica.deudores-por-lote:100}")
+    private int deudoresPorLote;
+
+    @Scheduled(fixedDelayString = "${kinia.cobranza.automatica.frecuencia-ms:300000}")
+    public void ejecucionProgramada() {
+        ejecutar();
+    }
+
+    /**
+     * @return deudores gestionados por este nodo
+     */
+    public int ejecutar() {
+        LocalDate limite = LocalDate.now().plusDays(diasAviso);
+        transactionTemplate.execute(status -> cobranzaDeudorRepository.registrarPendientes(limite, LocalDateTime.now()));
+        int gestionados = 0;
+        while (true) {
+            Integer lote = transactionTemplate.execute(status -> procesarLote(limite));
+            if (lote == 0) {
+                break;
+            }
+            gestionados += lote;
+        }
+        if (gestionados > 0) {
+            log.info("Cobranza automática: {} deudores gestionados", gestionados);
+        }
+        return gestionados;
+    }
+
+    /**
+     * Un lote en una transacción: los deudores reclamados se reprograman (o
+     * se dan de baja si ya no deben nada), así no se vuelven a reclamar.
+     */
+    private int procesarLote(LocalDate limite) {
+        LocalDateTime ahora = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        List<UUID> deudores = cobranzaDeudorRepository.reclamarPendientes(ahora, deudoresPorLote);
+        if (deudores.isEmpty()) {
+            return 0;
+        }
+        Map<UUID, List<AntiguedadFactura>> porDeudor = antiguedadRepository
+                .findPorDeudores(TipoDeudor.INTERNO, deudores, limite).stream()
+                .collect(Collectors.groupingBy(AntiguedadFactura::getDeudorEmpresaId, LinkedHashMap::new, Collectors.toList()));
+
+        LocalDate hoy = ahora.toLocalDate();
+        List<Cobranza> cobranzas = new ArrayList<>();
+        List<Notificacion> notificaciones = new ArrayList<>(porDeudor.size());
+        List<UUID> facturaIds = new ArrayList<>();
+        for (Map.Entry<UUID, List<AntiguedadFactura>> entrada : porDeudor.entrySet()) {
+            for (AntiguedadFactura f : entrada.getValue()) {
+                boolean vencida = !f.getFechaVencimiento().isAfter(hoy);
+                cobranzas.add(Cobranza.builder()
+                        .factura(facturaRepository.getReferenceById(f.getFacturaId()))
+                        .fechaGestion(ahora)
+                        .tipoGestion(vencida ? GESTION_COBRO : GESTION_AVISO)
+                        .resultado("NOTIFICADO")
+                        .gestionAutomatica(true)
+                        .build());
+                facturaIds.add(f.getFacturaId());
+            }
+            notificaciones.add(notificacion(entrada.getKey(), entrada.getValue(), hoy));
+        }
+        cobranzaRepository.saveAll(cobranzas);
+        notificacionRepository.saveAll(notificaciones);
+        cobranzaRepository.flush();
+        antiguedadService.actualizar(facturaIds);
+
+        if (!porDeudor.isEmpty()) {
+            cobranzaDeudorRepository.reprogramar(porDeudor.keySet(), ahora, ahora.plusHours(intervaloHoras));
+        }
+        List<UUID> sinFacturas = deudores.stream().filter(d -> !porDeudor.containsKey(d)).toList();
+        if (!sinFacturas.isEmpty()) {
+            cobranzaDeudorRepository.deleteAllByIdInBatch(sinFacturas);
+        }
+        return deudores.size();
+    }
+
+    private static Notificacion notificacion(UUID deudorId, List<AntiguedadFactura> facturas, LocalDate hoy) {
+        long vencidas = facturas.stream().filter(f -> !f.getFechaVencimiento().isAfter(hoy)).count();
+        List<Map<String, Object>> detalle = new ArrayList<>(facturas.size());
+        for (AntiguedadFactura f : facturas) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("facturaId", f.getFacturaId().toString());
+            item.put("numeroFactura", f.getNumeroFactura());
+            item.put("acreedorId", f.getEmpresaId().toString());
+            item.put("fechaVencimiento", f.getFechaVencimiento().toString());
+            item.put("saldoPendiente", f.getSaldoPendiente().toPlainString());
+            detalle.add(item);
+        }
+        String asunto = vencidas > 0
+                ? "Tiene " + vencidas + " factura(s) vencida(s) por pagar"
+                : "Tiene " + facturas.size() + " factura(s) próxima(s) a vencer";
+        return Notificacion.builder()
+                .empresaId(deudorId)
+                .tipo(NOTIFICACION_COBRANZA)
+                .asunto(asunto)
+                .mensaje("Facturas pendientes con proveedores de Kinia: " + facturas.size()
+                        + " (" + vencidas + " vencidas).")
+                .datos(Map.of("facturas", detalle))
+                .build();
+    }
+}
@@ -0,0 +1,170 @@
+package com.ve.kinia.service;
+
+import com.ve.kinia.dto.CambioCartera;
+import com.ve.kinia.dto.SaldoEntreEmpresas;
+import com.ve.kinia.model.Factura;
+import com.ve.kinia.model.PagoRecibido;
+import com.ve.kinia.model.enums.EstadoFactoring;
+import com.ve.kinia.model.enums.EstadoFactura;
+import com.ve.kinia.repository.FacturaRepository;
+import com.ve.kinia.repository.PagoRecibidoRepository;
+import com.ve.kinia.util.GrafoCompensacion;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Compensación automática de deudas cruzadas entre empresas internas.
+ *
+ * En UNA transacción:
+ *   1. Suma los saldos compensables por (acreedor, deudor, moneda): deudor
+ *      interno, factura abierta y no cedida en un factoring vigente.
+ *   2. Por moneda, GrafoCompensacion cancela los ciclos bilaterales y
+ *      multilaterales y da el monto a compensar de cada par.
+ *   3. Reparte cada monto entre las facturas del par (bloqueadas, por
+ *      vencimiento) con PagoRecibido esPagoInterno + compensacionAutomatica,
+ *      con la tasa BCV del día como cualquier otro pago (TasasCambioService).
+ *
+ * La posición neta de cada empresa no cambia. Si un pago concurrente bajó
+ * algún saldo entre el paso 1 y el 3, se revierte todo y se reintenta.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CompensacionService {
+
+    public static final String METODO_COMPENSACION = "COMPENSACION";
+
+    static final Set<EstadoFactura> ESTADOS_COMPENSABLES = EnumSet.of(
+            EstadoFactura.PENDIENTE, EstadoFactura.EN_EVALUACION, EstadoFactura.APROBADA,
+            EstadoFactura.RECHAZADA, EstadoFactura.EN_COBRANZA, EstadoFactura.VENCIDA);
+
+    /** Solicitudes de factoring que no retienen la factura. */
+    static final Set<EstadoFactoring> SOLICITUDES_LIBRES = EnumSet.of(
+            EstadoFactoring.BORRADOR, EstadoFactoring.RECHAZADA, EstadoFactoring.CANCELADA);
+
+    private static final int MAX_INTENTOS = 3;
+    private static final DateTimeFormatter REFERENCIA = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private final FacturaRepository facturaRepository;
+    private final PagoRecibidoRepository pagoRepository;
+    private final AntiguedadSaldosService antiguedadService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TasasCambioService tasasCambioService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(cron = "${kinia.compensacion.cron:0 0 1 * * *}")
+    public void ejecucionProgramada() {
+        compensar();
+    }
+
+    /**
+     * @return pagos de compensación generados
+     */
+    public int compensar() {
+        for (int intento = 1; ; intento++) {
+            try {
+                int pagos = transactionTemplate.execute(status -> compensarEnTransaccion());
+                log.info("Compensación: {} pagos de compensación generados", pagos);
+                return pagos;
+            } catch (SaldoModificado | OptimisticLockingFailureException e) {
+                if (intento >= MAX_INTENTOS) {
+                    throw e;
+                }
+                log.debug("Compensación: saldos modificados durante la corrida, reintento {}", intento);
+            }
+        }
+    }
+
+    private int compensarEnTransaccion() {
+        LocalDateTime ahora = LocalDateTime.now();
+        String referencia = "COMP-" + ahora.format(REFERENCIA);
+        Map<String, List<SaldoEntreEmpresas>> porMoneda = facturaRepository
+                .findSaldosCompensables(ESTADOS_COMPENSABLES, SOLICITUDES_LIBRES).stream()
+                .collect(Collectors.groupingBy(SaldoEntreEmpresas::getMoneda));
+
+        List<PagoRecibido> pagos = new ArrayList<>();
+        Set<UUID> facturas = new HashSet<>();
+        for (Map.Entry<String, List<SaldoEntreEmpresas>> entrada : porMoneda.entrySet()) {
+            List<SaldoEntreEmpresas> saldos = entrada.getValue();
+            BigDecimal tasa = tasasCambioService.tasaParaRegistro(entrada.getKey(), ahora.toLocalDate());
+            Map<UUID, Integer> nodos = new HashMap<>();
+            int[] deudores = new int[saldos.size()];
+            int[] acreedores = new int[saldos.size()];
+            long[] montos = new long[saldos.size()];
+            for (int i = 0; i < saldos.size(); i++) {
+                SaldoEntreEmpresas s = saldos.get(i);
+                deudores[i] = nodos.computeIfAbsent(s.getDeudorId(), id -> nodos.size());
+                acreedores[i] = nodos.computeIfAbsent(s.getAcreedorId(), id -> nodos.size());
+                montos[i] = centavos(s.getSaldo());
+            }
+            long[] compensado = new GrafoCompensacion(nodos.size(), deudores, acreedores, montos).compensar();
+            for (int i = 0; i < saldos.size(); i++) {
+                if (compensado[i] > 0) {
+                    aplicar(saldos.get(i), compensado[i], tasa, referencia, ahora, pagos, facturas);
+                }
+            }
+        }
+        facturaRepository.flush();
+        antiguedadService.actualizar(facturas);
+        return pagos.size();
+    }
+
+    private void aplicar(SaldoEntreEmpresas par, long centavos, BigDecimal tasa, String referencia,
+                         LocalDateTime ahora, List<PagoRecibido> pagos, Set<UUID> facturasTocadas) {
+        List<Factura> facturas = facturaRepository.findCompensablesParaActualizar(par.getAcreedorId(),
+                par.getDeudorId(), par.getMoneda(), ESTADOS_COMPENSABLES, SOLICITUDES_LIBRES);
+        long restante = centavos;
+        for (Factura factura : facturas) {
+            if (restante == 0) {
+                break;
+            }
+            long monto = Math.min(centavos(factura.getSaldoPendiente()), restante);
+            BigDecimal saldoAnterior = factura.getSaldoPendiente();
+            PagoRecibido pago = PagoRecibido.builder()
+                    .fechaPago(ahora)
+                    .monto(BigDecimal.valueOf(monto, 2))
+                    .moneda(par.getMoneda())
+                    .tasaCambio(tasa)
+                    .metodoPago(METODO_COMPENSACION)
+                    .referencia(referencia)
+                    .esPagoInterno(true)
+                    .compensacionAutomatica(true)
+                    .notas("Compensación automática de deudas cruzadas entre empresas")
+                    .build();
+            factura.registrarPago(pago);
+            // save asigna el id que lleva el movimiento; el insert se agrupa en el flush
+            pagos.add(pagoRepository.save(pago));
+            facturasTocadas.add(factura.getId());
+            eventPublisher.publishEvent(PagoService.movimiento(factura, pago, saldoAnterior));
+            eventPublisher.publishEvent(CambioCartera.empresa(par.getAcreedorId()));
+            restante -= monto;
+        }
+        if (restante > 0) {
+            throw new SaldoModificado("Saldo de " + par.getDeudorId() + " con " + par.getAcreedorId()
+                    + " cambió durante la compensación");
+        }
+    }
+
+    private static long centavos(BigDecimal monto) {
+        return monto.movePointRight(2).setScale(0, RoundingMode.DOWN).longValueExact();
+    }
+
+    /** Un saldo bajó entre la suma y el bloqueo de las facturas: se reintenta la corrida. */
+    private static final class SaldoModificado extends IllegalStateException {
+        SaldoModificado(String mensaje) {
+            super(mensaje);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.ve.kinia.service;
+
+import com.ve.kinia.dto.CambioScoring;
+import com.ve.kinia.dto.CotizacionFactoring;
+import com.ve.kinia.dto.InsumoCotizacion;
+import com.ve.kinia.model.enums.NivelRiesgo;
+import com.ve.kinia.model.enums.TipoDeudor;
+import com.ve.kinia.repository.FacturaRepository;
+import com.ve.kinia.util.ScoringKernel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Simulación de ofertas de factoring mientras el proveedor elige facturas.
+ *
+ * Por factura se guarda en memoria lo que define su precio: saldo en
+ * céntimos, score y nivel del deudor, tasa (nivel del proveedor menos el
+ * descuento por deudor interno) y anticipo, ambos en puntos básicos.
+ * Con todo en caché, cotizar otro subconjunto es solo aritmética entera.
+ *
+ * Las entradas vencen a los {@code ttl-minutos} y se descartan al cambiar
+ * el score vigente del proveedor o del deudor, o la configuración activa
+ * (evento CambioScoring). Cada descarte avanza {@code generacion}; una
+ * carga que empezó antes no deja sus precios en caché, porque pueden venir
+ * del kernel o los scores anteriores. El saldo puede quedar desfasado hasta
+ * el TTL; FactoringService.generarOferta cotiza siempre con datos frescos.
+ */
+@Slf4j
+@Service
+public class CotizacionFactoringService {
+
+    private final FacturaRepository facturaRepository;
+    private final ScoringService scoringService;
+    private final long ttlNanos;
+    private final int maxFacturas;
+
+    private final Map<UUID, PrecioFactura> precios = new ConcurrentHashMap<>();
+    private final AtomicLong generacion = new AtomicLong();
+
+    /** Insumos de precio de una factura ya resueltos contra la configuración activa. */
+    private record PrecioFactura(UUID empresaId, UUID deudorId, String moneda, long saldoCentavos,
+                                 Integer puntajeProveedor, NivelRiesgo nivelProveedor,
+                                 Integer puntajeDeudor, NivelRiesgo nivelDeudor,
+                                 int tasaBp, int anticipoBp, long expira) {
+    }
+
+    public CotizacionFactoringService(FacturaRepository facturaRepository,
+                                      ScoringService scoringService,
+                                      @Value("${kinia.factoring.cotizacion.ttl-minutos:10}") long ttlMinutos,
+                                      @Value("${kinia.factoring.cotizacion.max-facturas:200000}") int maxFacturas) {
+        this.facturaRepository = facturaRepository;
+        this.scoringService = scoringService;
+        this.ttlNanos = Duration.ofMinutes(ttlMinutos).toNanos();
+        this.maxFacturas = maxFacturas;
+    }
+
+    /**
+     * Cotización de una solicitud nueva (comisionFija en cero, como la
+     * inicia SolicitudFactoring).
+     */
+    public CotizacionFactoring cotizar(UUID empresaId, Collection<UUID> facturaIds) {
+        return cotizar(empresaId, facturaIds, BigDecimal.ZERO);
+    }
+
+    /**
+     * Mismas fórmulas que SolicitudFactoring.calcularMontos(): la comisión
+     * es saldo × tasa más {@code comisionFija}.
+     *
+     * @throws IllegalArgumentException si alguna factura no existe, no es de
+     *         la empresa o las facturas están en monedas distintas
+     * @throws IllegalStateException si la empresa no tiene score vigente
+     */
+    public CotizacionFactoring cotizar(UUID empresaId, Collection<UUID> facturaIds, BigDecimal comisionFija) {
+        if (facturaIds.isEmpty()) {
+            throw new IllegalArgumentException("Debe seleccionar al menos una factura");
+        }
+        // Una factura repetida en la selección se cotiza una sola vez
+        Set<UUID> ids = new LinkedHashSet<>(facturaIds);
+        long ahora = System.nanoTime();
+        List<PrecioFactura> seleccion = new ArrayList<>(ids.size());
+        List<UUID> faltantes = new ArrayList<>();
+        for (UUID id : ids) {
+            PrecioFactura precio = precios.get(id);
+            if (precio == null || precio.expira() - ahora < 0) {
+                faltantes.add(id);
+            } else {
+                seleccion.add(precio);
+            }
+        }
+        if (!faltantes.isEmpty()) {
+            seleccion.addAll(cargar(faltantes, ahora));
+        }
+
+        PrecioFactura primera = seleccion.get(0);
+        long total = 0;
+        long tasaPonderada = 0;
+        for (PrecioFactura p : seleccion) {
+            if (!p.empresaId().equals(empresaId)) {
+                throw new IllegalArgumentException("Factura no encontrada");
+            }
+            if (!p.moneda().equals(primera.moneda())) {
+                throw new IllegalArgumentException("Las facturas deben estar en la misma moneda");
+            }
+            total += p.saldoCentavos();
+            tasaPonderada += Math.multiplyExact(p.saldoCentavos(), (long) p.tasaBp());
+        }
+        int tasaBp = total > 0 ? (int) redondear(tasaPonderada, total) : primera.tasaBp();
+        long anticipo = redondear(Math.multiplyExact(total, (long) primera.anticipoBp()), 10_000);
+        long comision = Math.addExact(redondear(Math.multiplyExact(total, (long) tasaBp), 10_000),
+                centavos(comisionFija));
+
+        return CotizacionFactoring.builder()
+                .moneda(primera.moneda())
+                .cantidadFacturas(seleccion.size())
+                .puntajeProveedor(primera.puntajeProveedor())
+                .nivelProveedor(primera.nivelProveedor())
+                .montoFacturasTotal(BigDecimal.valueOf(total, 2))
+                .porcentajeAnticipo(BigDecimal.valueOf(primera.anticipoBp(), 2))
+                .tasaDescuento(BigDecimal.valueOf(tasaBp, 2))
+                .montoAnticipo(BigDecimal.valueOf(anticipo, 2))
+                .montoComisionTotal(BigDecimal.valueOf(comision, 2))
+                .montoADesembolsar(BigDecimal.valueOf(anticipo - comision, 2))
+                .montoRetenido(BigDecimal.valueOf(total - anticipo, 2))
+                .build();
+    }
+
+    /** Score del deudor de la factura (para FacturaFactoring.scoreDeudorAlMomento). */
+    public Integer puntajeDeudor(UUID facturaId) {
+        PrecioFactura precio = precios.get(facturaId);
+        if (precio == null) {
+            // Descartada (o no guardada) por un cambio de scoring concurrente
+            precio = cargar(List.of(facturaId), System.nanoTime()).get(0);
+        }
+        return precio.puntajeDeudor();
+    }
+
+    /** Descarta las facturas indicadas para que la próxima cotización las relea. */
+    public void invalidarFacturas(Collection<UUID> facturaIds) {
+        generacion.incrementAndGet();
+        facturaIds.forEach(precios::remove);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aplicar(CambioScoring cambio) {
+        generacion.incrementAndGet();
+        if (cambio.isConfiguracion()) {
+            precios.clear();
+            return;
+        }
+        Set<UUID> empresas = new HashSet<>(cambio.getEmpresaIds());
+        precios.values().removeIf(p -> empresas.contains(p.empresaId()) || empresas.contains(p.deudorId()));
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // AUXILIARES
+    // ══════════════════════════════════════════════════════════════
+
+    private List<PrecioFactura> cargar(List<UUID> facturaIds, long ahora) {
+        long generacionCarga = generacion.get();
+        ScoringKernel k = scoringService.obtenerKernelActivo();
+        List<InsumoCotizacion> insumos = facturaRepository.findInsumosCotizacion(facturaIds);
+        if (insumos.size() != facturaIds.size()) {
+            throw new IllegalArgumentException("Factura no encontrada");
+        }
+        if (precios.size() + insumos.size() > maxFacturas) {
+            precios.values().removeIf(p -> p.expira() - ahora < 0);
+            if (precios.size() + insumos.size() > maxFacturas) {
+                log.debug("Caché de cotización llena ({} facturas), se vacía", precios.size());
+                precios.clear();
+            }
+        }
+        List<PrecioFactura> cargados = new ArrayList<>(insumos.size());
+        for (InsumoCotizacion i : insumos) {
+            if (i.getNivelProveedor() == null) {
+                throw new IllegalStateException("La empresa no tiene score vigente");
+            }
+            PrecioFactura precio = new PrecioFactura(i.getEmpresaId(), i.getDeudorId(), i.getMoneda(),
+                    centavos(i.getSaldoPendiente()), i.getPuntajeProveedor(), i.getNivelProveedor(),
+                    i.getPuntajeDeudor(), i.getNivelDeudor(),
+                    k.tasaDescuentoBp(i.getNivelProveedor(), i.getTipoDeudor() == TipoDeudor.INTERNO),
+                    k.porcentajeAnticipoBp(i.getNivelProveedor()), ahora + ttlNanos);
+            cargados.add(precio);
+        }
+        if (generacion.get() == generacionCarga) {
+            for (int n = 0; n < insumos.size(); n++) {
+                precios.put(insumos.get(n).getFacturaId(), cargados.get(n));
+            }
+            // Un descarte entre la verificación y los put: retirar lo que se acaba de poner
+            if (generacion.get() != generacionCarga) {
+                for (int n = 0; n < insumos.size(); n++) {
+                    precios.remove(insumos.get(n).getFacturaId(), cargados.get(n));
+                }
+            }
+        }
+        return cargados;
+    }
+
+    /** a / b con redondeo HALF_UP, para a ≥ 0 y b > 0. */
+    private static long redondear(long a, long b) {
+        return (a + b / 2) / b;
+    }
+
+    private static long centavos(BigDecimal monto) {
+        return monto != null ? monto.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact() : 0;
+    }
+}
@@ -0,0 +1,168 @@
+package com.ve.kinia.service;
+
+import com.ve.kinia.model.AuditoriaAccion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Archivo local de respaldo de la auditoría: recibe los eventos que no
+ * entraron en la cola o no se pudieron insertar, para que ninguno se pierda
+ * si la base está lenta o caída.
+ *
+ * Formato: una AuditoriaAccion JSON por línea, con fsync en cada escritura.
+ * Para reprocesar, el archivo activo se renombra a *.procesando y se borra
+ * solo cuando todas sus líneas se insertaron; como el insert ignora ids
+ * repetidos, reprocesar dos veces el mismo archivo es inocuo.
+ *
+ * escribir() y el renombrado comparten el monitor; los inserts del
+ * reproceso corren fuera de él, así un escribir() desde un hilo de negocio
+ * (buffer lleno) no espera a la base.
+ */
+@Slf4j
+@Component
+public class DerrameAuditoria {
+
+    private static final String ACTIVO = "auditoria-derrame.jsonl";
+    private static final String SUFIJO_PROCESANDO = ".procesando";
+
+    private final Path directorio;
+    private final JsonMapper jsonMapper;
+    /** Un solo reproceso a la vez: los *.procesando se leen y borran fuera del monitor. */
+    private final Object reproceso = new Object();
+
+    public DerrameAuditoria(@Value("${kinia.auditoria.derrame-dir:data/auditoria}") String directorio,
+                            JsonMapper jsonMapper) {
+        this.directorio = Path.of(directorio);
+        this.jsonMapper = jsonMapper;
+    }
+
+    public synchronized void escribir(List<AuditoriaAccion> acciones) {
+        StringBuilder lineas = new StringBuilder();
+        for (AuditoriaAccion accion : acciones) {
+            lineas.append(jsonMapper.writeValueAsString(accion)).append('\n');
+        }
+        try {
+            Files.createDirectories(directorio);
+            try (FileChannel canal = FileChannel.open(directorio.resolve(ACTIVO),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(lineas.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    canal.write(buffer);
+                }
+                canal.force(true);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir el respaldo de auditoría en " + directorio, e);
+        }
+    }
+
+    public synchronized boolean hayPendientes() {
+        if (Files.exists(directorio.resolve(ACTIVO))) {
+            return true;
+        }
+        try (Stream<Path> archivos = listarPendientes()) {
+            return archivos.findAny().isPresent();
+        }
+    }
+
+    /**
+     * Envía el contenido respaldado a {@code insertar} en lotes. Si
+     * {@code insertar} falla, los archivos quedan para el próximo intento.
+     *
+     * @return cantidad de acciones reprocesadas
+     */
+    public int reprocesar(Consumer<List<AuditoriaAccion>> insertar, int tamanoLote) {
+        synchronized (reproceso) {
+            return reprocesarPendientes(insertar, tamanoLote);
+        }
+    }
+
+    private int reprocesarPendientes(Consumer<List<AuditoriaAccion>> insertar, int tamanoLote) {
+        try {
+            List<Path> pendientes = rotar();
+            int total = 0;
+            for (Path archivo : pendientes) {
+                total += reprocesarArchivo(archivo, insertar, tamanoLote);
+                Files.delete(archivo);
+            }
+            if (total > 0) {
+                log.info("Auditoría: {} acciones recuperadas del respaldo local", total);
+            }
+            return total;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo reprocesar el respaldo de auditoría", e);
+        }
+    }
+
+    /**
+     * Renombra el archivo activo a *.procesando (escribir() empieza uno
+     * nuevo) y devuelve todos los *.procesando en orden.
+     */
+    private synchronized List<Path> rotar() throws IOException {
+        Path activo = directorio.resolve(ACTIVO);
+        if (Files.exists(activo)) {
+            Files.move(activo, directorio.resolve(ACTIVO + "." + System.currentTimeMillis() + SUFIJO_PROCESANDO),
+                    StandardCopyOption.ATOMIC_MOVE);
+        }
+        try (Stream<Path> archivos = listarPendientes()) {
+            return archivos.sorted().toList();
+        }
+    }
+
+    private int reprocesarArchivo(Path archivo, Consumer<List<AuditoriaAccion>> insertar, int tamanoLote)
+            throws IOException {
+        int total = 0;
+        List<AuditoriaAccion> lote = new ArrayList<>(tamanoLote);
+        try (BufferedReader reader = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            String linea;
+            while ((linea = reader.readLine()) != null) {
+                if (linea.isBlank()) {
+                    continue;
+                }
+                try {
+                    lote.add(jsonMapper.readValue(linea, AuditoriaAccion.class));
+                } catch (JacksonException e) {
+                    // Solo puede ser la última línea de una escritura cortada por una caída
+                    log.error("Auditoría: línea ilegible en {}, se descarta: {}", archivo, linea);
+                    continue;
+                }
+                if (lote.size() >= tamanoLote) {
+                    insertar.accept(lote);
+                    total += lote.size();
+                    lote = new ArrayList<>(tamanoLote);
+                }
+            }
+        }
+        if (!lote.isEmpty()) {
+            insertar.accept(lote);
+            total += lote.size();
+        }
+        return total;
+    }
+
+    private Stream<Path> listarPendientes() {
+        if (!Files.isDirectory(directorio)) {
+            return Stream.empty();
+        }
+        try {
+            return Files.list(directorio).filter(p -> p.getFileName().toString().endsWith(SUFIJO_PROCESANDO));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.ve.kinia.service;
+
+import com.ve.kinia.dto.ArchivoDocumento;
+import com.ve.kinia.repository.DocumentoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Lectura de documentos para descarga. Los archivos nunca se cargan
+ * completos en memoria: la descarga individual la envía el controlador
+ * (sendfile / FileChannel.transferTo) y el ZIP de una empresa se escribe
+ * archivo por archivo directamente en la respuesta.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DescargaDocumentosService {
+
+    private final DocumentoRepository documentoRepository;
+
+    public ArchivoDocumento buscar(UUID documentoId, UUID empresaId) {
+        return documentoRepository.findArchivo(documentoId, empresaId)
+                .orElseThrow(() -> new IllegalArgumentException("Documento no encontrado: " + documentoId));
+    }
+
+    /**
+     * Escribe en {@code salida} un ZIP con todos los documentos de la
+     * empresa, en carpetas por tipo. Los archivos que faltan en disco se
+     * omiten. No cierra {@code salida}.
+     */
+    public void escribirZip(UUID empresaId, OutputStream salida) throws IOException {
+        List<ArchivoDocumento> archivos = documentoRepository.findArchivosPorEmpresa(empresaId);
+        Set<String> nombres = new HashSet<>();
+        ZipOutputStream zip = new ZipOutputStream(salida);
+        // PDF e imágenes ya vienen comprimidos: se prioriza la velocidad
+        zip.setLevel(Deflater.BEST_SPEED);
+        for (ArchivoDocumento archivo : archivos) {
+            Path ruta = archivo.getRuta();
+            if (!Files.isReadable(ruta)) {
+                log.warn("Documento {} sin archivo en {}, se omite del ZIP", archivo.getId(), ruta);
+                continue;
+            }
+            zip.putNextEntry(new ZipEntry(nombreEntrada(archivo, nombres)));
+            Files.copy(ruta, zip);
+            zip.closeEntry();
+        }
+        zip.finish();
+        zip.flush();
+    }
+
+    private static String nombreEntrada(ArchivoDocumento archivo, Set<String> usados) {
+        String original = archivo.getNombreOriginal() != null ? archivo.getNombreOriginal() : archivo.getNombreAlmacenado();
+        String limpio = original.replaceAll("[/\\\\:]", "_").replace("..", "_");
+        String nombre = archivo.getTipo().name() + "/" + limpio;
+        if (!usados.add(nombre)) {
+            nombre = archivo.getTipo().name() + "/" + archivo.getId() + "_" + limpio;
+            usados.add(nombre);
+        }
+        return nombre;
+    }
+}
@@ -0,0 +1,214 @@
+package com.ve.kinia.service;
+
+import com.ve.kinia.dto.LineaExposicion;
+import com.ve.kinia.model.enums.EstadoFactoring;
+import com.ve.kinia.model.enums.SectorEconomico;
+import com.ve.kinia.repository.ExposicionCarteraJdbcRepository;
+import com.ve.kinia.repository.ExposicionCarteraJdbcRepository.Saldo;
+import com.ve.kinia.repository.FacturaFactoringRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Exposición de la cartera de factoring: monto aprobado en solicitudes
+ * activas (APROBADA, DESEMBOLSADA, EN_COBRANZA) por deudor, por sector del
+ * deudor y por proveedor, en céntimos y por moneda.
+ *
+ * La fuente es la tabla exposicion_cartera, que FactoringService.cambiarEstado
+ * mueve dentro de su transacción:
+ *   - al entrar en un estado activo (aprobación) se suma el monto y se
+ *     verifican los límites de concentración;
+ *   - al salir (liquidación, cancelación) se resta.
+ * Cada fila queda bloqueada hasta el commit, así que dos aprobaciones contra
+ * el mismo deudor, sector o proveedor se verifican una después de la otra,
+ * aunque corran en instancias distintas; un rollback deshace el movimiento.
+ * El desembolso no cambia la exposición (la solicitud ya estaba activa).
+ *
+ * Para consultas se mantiene una copia en memoria con el saldo y la versión
+ * de cada fila: se actualiza después de cada commit de esta instancia y se
+ * recarga de la tabla cada {@code recarga-ms}. Los saldos son absolutos y
+ * gana la versión mayor, así que un commit que llega durante la recarga no
+ * se pierde ni se cuenta dos veces.
+ *
+ * Límites por moneda, en unidades de la moneda (sin límite si falta):
+ *   kinia.factoring.exposicion.limite-deudor.ves=...
+ *   kinia.factoring.exposicion.limite-sector.usd=...
+ *   kinia.factoring.exposicion.limite-proveedor.ves=...
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExposicionCarteraService {
+
+    public static final Set<EstadoFactoring> ESTADOS_ACTIVOS = EnumSet.of(
+            EstadoFactoring.APROBADA, EstadoFactoring.DESEMBOLSADA, EstadoFactoring.EN_COBRANZA);
+
+    public enum Dimension {
+        DEUDOR("deudor"), SECTOR("sector"), PROVEEDOR("proveedor");
+
+        private final String propiedad;
+
+        Dimension(String propiedad) {
+            this.propiedad = propiedad;
+        }
+    }
+
+    private final FacturaFactoringRepository facturaFactoringRepository;
+    private final ExposicionCarteraJdbcRepository exposicionRepository;
+    private final Environment environment;
+
+    private volatile Map<Clave, Saldo> exposicion = new ConcurrentHashMap<>();
+    private final Map<String, long[]> limites = new ConcurrentHashMap<>();
+
+    /** id es el UUID del deudor o proveedor, o el nombre del SectorEconomico. */
+    private record Clave(Dimension dimension, String id, String moneda) implements Comparable<Clave> {
+
+        @Override
+        public int compareTo(Clave otra) {
+            int c = dimension.compareTo(otra.dimension);
+            if (c == 0) {
+                c = id.compareTo(otra.id);
+            }
+            return c != 0 ? c : moneda.compareTo(otra.moneda);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${kinia.factoring.exposicion.recarga-ms:3600000}",
+               initialDelayString = "${kinia.factoring.exposicion.recarga-ms:3600000}")
+    public void reconstruir() {
+        long inicio = System.nanoTime();
+        Map<Clave, Saldo> nuevo = new ConcurrentHashMap<>();
+        for (Saldo saldo : exposicionRepository.findTodos()) {
+            nuevo.put(new Clave(Dimension.valueOf(saldo.dimension()), saldo.clave(), saldo.moneda()), saldo);
+        }
+        Map<Clave, Saldo> anterior = exposicion;
+        exposicion = nuevo;
+        // Commits confirmados durante la lectura pueden haber ido al índice anterior
+        anterior.forEach((clave, saldo) -> nuevo.merge(clave, saldo, ExposicionCarteraService::masReciente));
+        log.info("Índice de exposición cargado: {} contadores en {} ms",
+                nuevo.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Exposición en céntimos según la última recarga y los commits de esta
+     * instancia.
+     *
+     * @param id UUID del deudor o proveedor, o SectorEconomico
+     */
+    public long exposicion(Dimension dimension, Object id, String moneda) {
+        Saldo saldo = exposicion.get(new Clave(dimension, id.toString(), moneda));
+        return saldo != null ? saldo.monto() : 0;
+    }
+
+    /**
+     * Debe llamarse dentro de la transacción que cambia el estado de la
+     * solicitud, antes de guardarla.
+     *
+     * @throws IllegalStateException si al aprobar se excede algún límite
+     */
+    public void alCambiarEstado(UUID solicitudId, EstadoFactoring anterior, EstadoFactoring destino) {
+        boolean estabaActiva = ESTADOS_ACTIVOS.contains(anterior);
+        boolean quedaActiva = ESTADOS_ACTIVOS.contains(destino);
+        if (estabaActiva == quedaActiva) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("El cambio de exposición requiere una transacción activa");
+        }
+
+        // Orden estable de filas: evita deadlocks entre aprobaciones que comparten deudor, sector o proveedor
+        int signo = quedaActiva ? 1 : -1;
+        Map<Clave, Long> deltas = new TreeMap<>();
+        for (LineaExposicion linea : facturaFactoringRepository.findExposicionDeSolicitud(solicitudId)) {
+            long monto = signo * centavos(linea.getMonto());
+            for (Clave clave : claves(linea)) {
+                deltas.merge(clave, monto, Long::sum);
+            }
+        }
+
+        List<Saldo> saldos = new ArrayList<>(deltas.size());
+        for (Map.Entry<Clave, Long> delta : deltas.entrySet()) {
+            Clave clave = delta.getKey();
+            Saldo saldo = exposicionRepository.sumar(clave.dimension().name(), clave.id(), clave.moneda(),
+                    delta.getValue());
+            long limite = limites(clave.moneda())[clave.dimension().ordinal()];
+            if (quedaActiva && saldo.monto() > limite) {
+                throw new IllegalStateException("Límite de concentración por " + clave.dimension().propiedad
+                        + " excedido (" + clave.id() + "): " + BigDecimal.valueOf(saldo.monto(), 2) + " "
+                        + clave.moneda() + " > " + BigDecimal.valueOf(limite, 2));
+            }
+            saldos.add(saldo);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    saldos.forEach(ExposicionCarteraService.this::publicar);
+                }
+            });
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // AUXILIARES
+    // ══════════════════════════════════════════════════════════════
+
+    /**
+     * Guarda el saldo confirmado en el índice vigente. Si una recarga cambió
+     * el índice mientras tanto se escribe también en el nuevo; repetirlo no
+     * altera nada porque el saldo es absoluto.
+     */
+    private void publicar(Saldo saldo) {
+        Clave clave = new Clave(Dimension.valueOf(saldo.dimension()), saldo.clave(), saldo.moneda());
+        Map<Clave, Saldo> indice;
+        do {
+            indice = exposicion;
+            indice.merge(clave, saldo, ExposicionCarteraService::masReciente);
+        } while (indice != exposicion);
+    }
+
+    private static Saldo masReciente(Saldo actual, Saldo nuevo) {
+        return nuevo.version() > actual.version() ? nuevo : actual;
+    }
+
+    private static Clave[] claves(LineaExposicion linea) {
+        SectorEconomico sector = linea.getSector() != null ? linea.getSector() : SectorEconomico.OTRO;
+        return new Clave[] {
+                new Clave(Dimension.DEUDOR, linea.getDeudorId().toString(), linea.getMoneda()),
+                new Clave(Dimension.SECTOR, sector.name(), linea.getMoneda()),
+                new Clave(Dimension.PROVEEDOR, linea.getProveedorId().toString(), linea.getMoneda())
+        };
+    }
+
+    /** Límites en céntimos indexados por Dimension.ordinal(); Long.MAX_VALUE si no hay. */
+    private long[] limites(String moneda) {
+        return limites.computeIfAbsent(moneda, m -> {
+            long[] valores = new long[Dimension.values().length];
+            for (Dimension d : Dimension.values()) {
+                BigDecimal limite = environment.getProperty(
+                        "kinia.factoring.exposicion.limite-" + d.propiedad + "." + m.toLowerCase(Locale.ROOT),
+                        BigDecimal.class);
+                valores[d.ordinal()] = limite != null ? centavos(limite) : Long.MAX_VALUE;
+            }
+            return valores;
+        });
+    }
+
+    private static long centavos(BigDecimal monto) {
+        return monto != null ? monto.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact() : 0;
+    }
+}
@@ -0,0 +1,257 @@
+package com.ve.kinia.service;
+
+import com.ve.kinia.dto.DocumentoFacturaExtraccion;
+import com.ve.kinia.dto.FilaImportacionFactura;
+import com.ve.kinia.repository.FacturaRepository;
+import com.ve.kinia.util.ExtractorDatosFactura;
+import com.ve.kinia.util.LectorFacturasXml;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Extracción automática de datos de los documentos adjuntos a facturas
+ * (Factura.datosExtraidos), sin servicios externos de OCR:
+ *   - XML: primera {@code <factura>} con LectorFacturasXml
+ *   - PDF con texto: PDFBox + ExtractorDatosFactura (los escaneados quedan con error)
+ *
+ * Quien adjunta el documento solo encola el id (después del commit); la
+ * extracción corre en un pool fijo de {@code hilos} con una cola acotada.
+ * Si la cola está llena (picos de fin de mes) el id no se pierde: la
+ * factura queda con datosExtraidos null y el barrido periódico la vuelve
+ * a encolar cuando hay espacio, igual que tras un reinicio.
+ *
+ * Cada factura está a lo sumo una vez en la cola o en proceso (enCurso).
+ * Si se encola mientras se procesa (documento reemplazado), queda marcada
+ * para repetir y el mismo hilo la vuelve a extraer al terminar, así el
+ * resultado final corresponde al último documento.
+ *
+ * El resultado se guarda con un UPDATE directo (no incrementa version).
+ * Etapas medidas en kinia.facturas.extraccion.duracion.
+ */
+@Slf4j
+@Service
+public class ExtraccionFacturasService {
+
+    public static final String RESULTADO_OK = "ok";
+    public static final String RESULTADO_PARCIAL = "parcial";
+    public static final String RESULTADO_ERROR = "error";
+    public static final String RESULTADO_RECHAZADA = "rechazada";
+
+    private enum Estado { ENCOLADA, PROCESANDO, REPETIR }
+
+    private static final List<String> CAMPOS = List.of("numeroFactura", "numeroControl", "fechaEmision",
+            "fechaVencimiento", "subtotal", "iva", "total", "rifDeudor");
+    private static final int MAX_PAGINAS = 5;
+
+    private final FacturaRepository facturaRepository;
+    private final JsonMapper jsonMapper;
+    private final MetricasKinia metricas;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor workers;
+    private final ConcurrentMap<UUID, Estado> enCurso = new ConcurrentHashMap<>();
+
+    @Value("${kinia.facturas.extraccion.tamano-barrido:1000}")
+    private int tamanoBarrido;
+
+    public ExtraccionFacturasService(FacturaRepository facturaRepository, JsonMapper jsonMapper,
+                                     MetricasKinia metricas, TransactionTemplate transactionTemplate,
+                                     @Value("${kinia.facturas.extraccion.hilos:4}") int hilos,
+                                     @Value("${kinia.facturas.extraccion.capacidad:20000}") int capacidad) {
+        this.facturaRepository = facturaRepository;
+        this.jsonMapper = jsonMapper;
+        this.metricas = metricas;
+        this.transactionTemplate = transactionTemplate;
+        this.workers = new ThreadPoolExecutor(hilos, hilos, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidad),
+                Thread.ofPlatform().name("extraccion-", 1).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        metricas.registrarColaExtraccion(workers.getQueue());
+    }
+
+    /**
+     * Encola la factura al confirmar la transacción actual (o de inmediato
+     * si no hay transacción).
+     */
+    public void encolarDespuesDelCommit(UUID facturaId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    encolar(facturaId);
+                }
+            });
+        } else {
+            encolar(facturaId);
+        }
+    }
+
+    /**
+     * @return false si la cola está llena (la recogerá el barrido)
+     */
+    public boolean encolar(UUID facturaId) {
+        while (true) {
+            Estado previo = enCurso.putIfAbsent(facturaId, Estado.ENCOLADA);
+            if (previo == null) {
+                break;
+            }
+            // Encolada o ya marcada: la extracción pendiente lee el documento actual
+            if (previo != Estado.PROCESANDO || enCurso.replace(facturaId, Estado.PROCESANDO, Estado.REPETIR)) {
+                return true;
+            }
+            // Terminó entre las dos lecturas: se vuelve a intentar
+        }
+        long encolada = System.nanoTime();
+        try {
+            workers.execute(() -> procesar(facturaId, encolada));
+            return true;
+        } catch (RejectedExecutionException e) {
+            enCurso.remove(facturaId);
+            metricas.registrarExtraccion(RESULTADO_RECHAZADA);
+            log.debug("Extracción: cola llena, factura {} queda para el barrido", facturaId);
+            return false;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${kinia.facturas.extraccion.barrido-ms:60000}")
+    public void encolarPendientes() {
+        int espacio = Math.min(workers.getQueue().remainingCapacity(), tamanoBarrido);
+        if (espacio == 0) {
+            return;
+        }
+        for (UUID facturaId : facturaRepository.findIdsPendientesExtraccion(PageRequest.of(0, espacio))) {
+            if (!encolar(facturaId)) {
+                break;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void detener() throws InterruptedException {
+        // Lo que quede en la cola sigue pendiente en la base y se retoma al iniciar
+        workers.shutdownNow();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // PROCESAMIENTO
+    // ══════════════════════════════════════════════════════════════
+
+    private void procesar(UUID facturaId, long encolada) {
+        metricas.registrarEtapaExtraccion(MetricasKinia.ETAPA_COLA, System.nanoTime() - encolada);
+        enCurso.put(facturaId, Estado.PROCESANDO);
+        do {
+            extraer(facturaId);
+        } while (!enCurso.remove(facturaId, Estado.PROCESANDO)
+                && enCurso.replace(facturaId, Estado.REPETIR, Estado.PROCESANDO));
+    }
+
+    private void extraer(UUID facturaId) {
+        long t0 = System.nanoTime();
+        try {
+            Optional<DocumentoFacturaExtraccion> documento = facturaRepository.findDocumentoParaExtraccion(facturaId);
+            if (documento.isEmpty()) {
+                return;
+            }
+            DocumentoFacturaExtraccion d = documento.get();
+            boolean xml = esXml(d);
+            FilaImportacionFactura fila = null;
+            String texto = null;
+            if (xml) {
+                fila = leerXml(d.getRuta());
+            } else {
+                texto = leerPdf(d);
+            }
+            long t1 = System.nanoTime();
+            metricas.registrarEtapaExtraccion(MetricasKinia.ETAPA_LECTURA, t1 - t0);
+
+            Map<String, Object> datos = xml
+                    ? ExtractorDatosFactura.desdeFila(fila)
+                    : ExtractorDatosFactura.desdeTexto(texto, d.getRifEmisor());
+            List<String> faltantes = CAMPOS.stream().filter(c -> !datos.containsKey(c)).toList();
+            datos.put("origen", xml ? "xml" : "pdf");
+            datos.put("camposFaltantes", faltantes);
+            datos.put("extraidoEn", LocalDateTime.now().toString());
+            long t2 = System.nanoTime();
+            metricas.registrarEtapaExtraccion(MetricasKinia.ETAPA_ANALISIS, t2 - t1);
+
+            guardar(facturaId, datos, true);
+            metricas.registrarEtapaExtraccion(MetricasKinia.ETAPA_GUARDADO, System.nanoTime() - t2);
+            metricas.registrarExtraccion(faltantes.isEmpty() ? RESULTADO_OK : RESULTADO_PARCIAL);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Extracción: factura {} falló: {}", facturaId, e.getMessage());
+            metricas.registrarExtraccion(RESULTADO_ERROR);
+            guardarError(facturaId, e);
+        }
+    }
+
+    private String leerPdf(DocumentoFacturaExtraccion d) throws IOException {
+        if (!"pdf".equalsIgnoreCase(d.getExtension()) && !"application/pdf".equals(d.getMimeType())) {
+            throw new IllegalArgumentException("Formato no soportado para extracción: " + d.getExtension());
+        }
+        // Caché de streams en archivo temporal: un pico de PDFs no llena el heap
+        try (PDDocument pdf = Loader.loadPDF(d.getRuta().toFile(), IOUtils.createTempFileOnlyStreamCache())) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setSortByPosition(true);
+            stripper.setEndPage(Math.min(pdf.getNumberOfPages(), MAX_PAGINAS));
+            String texto = stripper.getText(pdf);
+            if (texto.isBlank()) {
+                throw new IllegalArgumentException("El PDF no tiene texto (documento escaneado)");
+            }
+            return texto;
+        }
+    }
+
+    private static FilaImportacionFactura leerXml(Path ruta) throws IOException {
+        AtomicReference<FilaImportacionFactura> primera = new AtomicReference<>();
+        try (InputStream entrada = Files.newInputStream(ruta)) {
+            LectorFacturasXml.leer(entrada, fila -> primera.compareAndSet(null, fila));
+        }
+        if (primera.get() == null) {
+            throw new IllegalArgumentException("El XML no contiene ninguna <factura>");
+        }
+        return primera.get();
+    }
+
+    private static boolean esXml(DocumentoFacturaExtraccion d) {
+        return "xml".equalsIgnoreCase(d.getExtension())
+                || (d.getMimeType() != null && d.getMimeType().contains("xml"));
+    }
+
+    private void guardar(UUID facturaId, Map<String, Object> datos, boolean automatica) {
+        String json = jsonMapper.writeValueAsString(datos);
+        transactionTemplate.executeWithoutResult(status -> facturaRepository.guardarExtraccion(facturaId, json, automatica));
+    }
+
+    private void guardarError(UUID facturaId, Exception e) {
+        Map<String, Object> datos = new LinkedHashMap<>();
+        datos.put("error", e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        datos.put("extraidoEn", LocalDateTime.now().toString());
+        try {
+            guardar(facturaId, datos, false);
+        } catch (RuntimeException guardado) {
+            // Sigue con datosExtraidos null: el barrido la reintenta
+            log.warn("Extracción: no se pudo guardar el error de la factura {}: {}", facturaId, guardado.getMessage());
+        }
+    }
+}
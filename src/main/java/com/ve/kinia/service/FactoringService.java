@@ -0,0 +1,125 @@
+package com.ve.kinia.service;
+
+import com.ve.kinia.dto.CambioCartera;
+import com.ve.kinia.dto.CotizacionFactoring;
+import com.ve.kinia.model.FacturaFactoring;
+import com.ve.kinia.model.Score;
+import com.ve.kinia.model.SolicitudFactoring;
+import com.ve.kinia.model.enums.EstadoFactoring;
+import com.ve.kinia.repository.SolicitudFactoringRepository;
+import com.ve.kinia.util.DiffAuditoria;
+import com.ve.kinia.util.ScoringKernel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Oferta y ciclo de vida de las solicitudes de factoring.
+ *
+ * Cada cambio de estado fija su fecha (aprobación, desembolso, liquidación)
+ * y registra el tiempo transcurrido desde la etapa anterior en
+ * kinia.factoring.transicion, una vez confirmada la transacción. Ofertas y
+ * cambios de estado publican CambioCartera para el tablero de la empresa.
+ */
+@Service
+@RequiredArgsConstructor
+public class FactoringService {
+
+    private final SolicitudFactoringRepository solicitudRepository;
+    private final ScoringService scoringService;
+    private final MetricasKinia metricas;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditoriaService auditoriaService;
+    private final CotizacionFactoringService cotizacionService;
+    private final ExposicionCarteraService exposicionService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Calcula la oferta con la tasa y el anticipo del nivel de riesgo del
+     * score vigente de la empresa. Si la solicitud ya tiene facturas, la
+     * tasa es la de CotizacionFactoringService (descuento por deudor
+     * interno, ponderado por saldo), releída sin caché, y el monto de las
+     * facturas es la suma de sus saldos pendientes.
+     */
+    public SolicitudFactoring generarOferta(UUID solicitudId) {
+        ScoringKernel kernel = scoringService.obtenerKernelActivo();
+        SolicitudFactoring solicitud = transactionTemplate.execute(status -> {
+            SolicitudFactoring s = buscar(solicitudId);
+            Score score = s.getEmpresa().getScoreVigente();
+            if (score == null) {
+                throw new IllegalStateException("La empresa no tiene score vigente");
+            }
+            s.setScore(score);
+            s.setScoreAlSolicitar(score.getPuntaje());
+            s.setTasaDescuento(kernel.tasaDescuento(score.getNivelRiesgo()));
+            s.setPorcentajeAnticipo(kernel.porcentajeAnticipo(score.getNivelRiesgo()));
+            List<UUID> facturaIds = s.getFacturasFactoring().stream().map(ff -> ff.getFactura().getId()).toList();
+            if (!facturaIds.isEmpty()) {
+                cotizacionService.invalidarFacturas(facturaIds);
+                CotizacionFactoring cotizacion = cotizacionService.cotizar(s.getEmpresa().getId(), facturaIds,
+                        s.getComisionFija());
+                s.setTasaDescuento(cotizacion.getTasaDescuento());
+                s.setMontoFacturasTotal(cotizacion.getMontoFacturasTotal());
+                for (FacturaFactoring ff : s.getFacturasFactoring()) {
+                    ff.setScoreDeudorAlMomento(cotizacionService.puntajeDeudor(ff.getFactura().getId()));
+                }
+            }
+            if (s.getMontoFacturasTotal() == null) {
+                throw new IllegalStateException("La solicitud no tiene facturas");
+            }
+            s.calcularMontos();
+            eventPublisher.publishEvent(CambioCartera.empresa(s.getEmpresa().getId()));
+            return solicitudRepository.save(s);
+        });
+        metricas.registrarOferta();
+        return solicitud;
+    }
+
+    public SolicitudFactoring cambiarEstado(UUID solicitudId, EstadoFactoring destino) {
+        SolicitudFactoring solicitud = transactionTemplate.execute(status -> {
+            SolicitudFactoring s = buscar(solicitudId);
+            if (!s.getEstado().puedeCambiarA(destino)) {
+                throw new IllegalStateException("Transición inválida: " + s.getEstado() + " → " + destino);
+            }
+            exposicionService.alCambiarEstado(s.getId(), s.getEstado(), destino);
+            Map<String, Object> antes = DiffAuditoria.instantanea(s);
+            LocalDateTime ahora = LocalDateTime.now();
+            switch (destino) {
+                case APROBADA -> s.setFechaAprobacion(ahora);
+                case DESEMBOLSADA -> s.setFechaDesembolso(ahora);
+                case LIQUIDADA -> s.setFechaLiquidacion(ahora);
+                default -> { }
+            }
+            s.setEstado(destino);
+            auditoriaService.registrarCambio("FACTORING_CAMBIO_ESTADO", s.getEmpresa().getId(), s, antes);
+            eventPublisher.publishEvent(CambioCartera.empresa(s.getEmpresa().getId()));
+            return solicitudRepository.save(s);
+        });
+
+        switch (destino) {
+            case APROBADA -> metricas.registrarTransicion("solicitud_aprobacion",
+                    solicitud.getFechaSolicitud(), solicitud.getFechaAprobacion());
+            case DESEMBOLSADA -> metricas.registrarTransicion("aprobacion_desembolso",
+                    solicitud.getFechaAprobacion(), solicitud.getFechaDesembolso());
+            case LIQUIDADA -> {
+                metricas.registrarTransicion("desembolso_liquidacion",
+                        solicitud.getFechaDesembolso(), solicitud.getFechaLiquidacion());
+                metricas.registrarTransicion("solicitud_liquidacion",
+                        solicitud.getFechaSolicitud(), solicitud.getFechaLiquidacion());
+            }
+            default -> { }
+        }
+        return solicitud;
+    }
+
+    private SolicitudFactoring buscar(UUID solicitudId) {
+        return solicitudRepository.findById(solicitudId)
+                .orElseThrow(() -> new IllegalArgumentException("Solicitud no encontrada: " + solicitudId));
+    }
+}
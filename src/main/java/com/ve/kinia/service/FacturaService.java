@@ -0,0 +1,81 @@
+package com.ve.kinia.service;
+
+import com.ve.kinia.dto.CambioCartera;
+import com.ve.kinia.dto.MovimientoRelacionComercial;
+import com.ve.kinia.model.Documento;
+import com.ve.kinia.model.Factura;
+import com.ve.kinia.repository.DocumentoRepository;
+import com.ve.kinia.repository.FacturaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Alta de facturas. Las facturas a un deudor interno publican un
+ * MovimientoRelacionComercial que AgregadorRelacionesService aplica
+ * después del commit; todas publican CambioCartera para el tablero de la
+ * empresa (TableroEmpresaService).
+ *
+ * Si la factura no trae tasaCambioEmision y no es en bolívares, se toma
+ * la tasa BCV de la fecha de emisión (TasasCambioService).
+ *
+ * La antigüedad de saldo de la factura nueva (lista de trabajo de
+ * cobranza) se calcula antes de confirmar la transacción.
+ *
+ * Al adjuntar el documento de una factura se encola la extracción
+ * automática de sus datos (ExtraccionFacturasService); el documento que
+ * reemplaza se borra y libera su referencia al blob (AlmacenDocumentosService).
+ */
+@Service
+@RequiredArgsConstructor
+public class FacturaService {
+
+    private final FacturaRepository facturaRepository;
+    private final DocumentoRepository documentoRepository;
+    private final AlmacenDocumentosService almacenService;
+    private final ExtraccionFacturasService extraccionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MetricasKinia metricas;
+    private final TasasCambioService tasasCambioService;
+    private final AntiguedadSaldosService antiguedadService;
+
+    @Transactional
+    public Factura registrarFactura(Factura factura) {
+        if (factura.getTasaCambioEmision() == null) {
+            factura.setTasaCambioEmision(tasasCambioService.tasaParaRegistro(factura.getMoneda(),
+                    factura.getFechaEmision()));
+        }
+        Factura guardada = facturaRepository.save(factura);
+        antiguedadService.actualizarAntesDelCommit(guardada.getId());
+        if (guardada.isDeudorInterno()) {
+            eventPublisher.publishEvent(MovimientoRelacionComercial.factura(guardada.getId(),
+                    guardada.getEmpresa().getId(), guardada.getDeudorEmpresa().getId(),
+                    guardada.getTotal(), guardada.getMoneda(), guardada.getFechaEmision().atStartOfDay()));
+        }
+        eventPublisher.publishEvent(CambioCartera.empresa(guardada.getEmpresa().getId()));
+        metricas.registrarFactura();
+        return guardada;
+    }
+
+    /**
+     * Asocia el documento a la factura, borra el que tenía antes y descarta
+     * la extracción anterior.
+     */
+    @Transactional
+    public void adjuntarDocumento(UUID facturaId, UUID documentoId) {
+        Factura factura = facturaRepository.findById(facturaId)
+                .orElseThrow(() -> new IllegalArgumentException("Factura no encontrada: " + facturaId));
+        Documento anterior = factura.getDocumento();
+        factura.setDocumento(documentoRepository.getReferenceById(documentoId));
+        if (anterior != null && !anterior.getId().equals(documentoId)) {
+            // Subido solo para esta factura: nadie más lo referencia
+            almacenService.eliminar(anterior.getId());
+        }
+        factura.setDatosExtraidos(null);
+        factura.setExtraccionAutomatica(false);
+        extraccionService.encolarDespuesDelCommit(facturaId);
+    }
+}
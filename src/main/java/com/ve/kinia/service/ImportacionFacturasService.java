@@ -0,0 +1,293 @@
+package com.ve.kinia.service;
+
+import com.ve.kinia.dto.FilaImportacionFactura;
+import com.ve.kinia.dto.ResultadoImportacion;
+import com.ve.kinia.model.DeudorExterno;
+import com.ve.kinia.model.Empresa;
+import com.ve.kinia.model.Factura;
+import com.ve.kinia.model.enums.TipoDeudor;
+import com.ve.kinia.repository.FacturaRepository;
+import com.ve.kinia.util.LectorFacturasCsv;
+import com.ve.kinia.util.LectorFacturasXml;
+import com.ve.kinia.util.RifValidator;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Importación masiva de facturas desde CSV o XML.
+ *
+ * El archivo se lee en streaming y se procesa por lotes:
+ *   1. Validación de cada fila (campos, fechas, montos, RIF)
+ *   2. Duplicados: dentro del archivo y contra las facturas ya cargadas
+ *   3. Deudores resueltos por RIF con IndiceRifService (sin consultas si
+ *      ya están en el índice); un RIF desconocido se registra como DeudorExterno
+ *   4. Factura.validarDeudor() y alta en una transacción por lote
+ *      (inserts en batch JDBC, ver hibernate.jdbc.batch_size)
+ *
+ * Si el lote falla al guardarse, se reintenta fila por fila para que una
+ * sola factura inválida no rechace las demás. Cada fila rechazada queda en
+ * el ResultadoImportacion con su número de línea.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportacionFacturasService {
+
+    public enum Formato { CSV, XML }
+
+    private static final DateTimeFormatter FECHA_DMY = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final FacturaRepository facturaRepository;
+    private final IndiceRifService indiceRif;
+    private final FacturaService facturaService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final MetricasKinia metricas;
+
+    @Value("${kinia.facturas.importacion.tamano-lote:1000}")
+    private int tamanoLote;
+
+    public ResultadoImportacion importar(UUID empresaId, InputStream archivo, Formato formato) throws IOException {
+        ResultadoImportacion resultado = new ResultadoImportacion();
+        Set<String> numerosDelArchivo = new HashSet<>();
+        List<FilaImportacionFactura> lote = new ArrayList<>(tamanoLote);
+        long inicio = System.nanoTime();
+
+        Consumer<FilaImportacionFactura> consumidor = fila -> {
+            lote.add(fila);
+            if (lote.size() >= tamanoLote) {
+                procesarLote(empresaId, lote, numerosDelArchivo, resultado);
+                lote.clear();
+            }
+        };
+        boolean exitosa = false;
+        try {
+            if (formato == Formato.XML) {
+                LectorFacturasXml.leer(archivo, consumidor);
+            } else {
+                LectorFacturasCsv.leer(archivo, consumidor);
+            }
+            if (!lote.isEmpty()) {
+                procesarLote(empresaId, lote, numerosDelArchivo, resultado);
+            }
+            exitosa = true;
+        } finally {
+            metricas.registrarImportacion(System.nanoTime() - inicio, resultado.getFilasLeidas(), exitosa);
+        }
+
+        log.info("Importación de facturas de empresa {}: {} filas, {} importadas, {} con error en {} ms",
+                empresaId, resultado.getFilasLeidas(), resultado.getImportadas(), resultado.getErrores().size(),
+                (System.nanoTime() - inicio) / 1_000_000);
+        return resultado;
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // LOTE
+    // ══════════════════════════════════════════════════════════════
+
+    private void procesarLote(UUID empresaId, List<FilaImportacionFactura> filas, Set<String> numerosDelArchivo,
+                              ResultadoImportacion resultado) {
+        resultado.sumarLeidas(filas.size());
+
+        List<FacturaValidada> validas = new ArrayList<>(filas.size());
+        for (FilaImportacionFactura fila : filas) {
+            try {
+                FacturaValidada v = validar(fila);
+                if (!numerosDelArchivo.add(v.numeroFactura())) {
+                    resultado.agregarError(fila, "Número de factura repetido en el archivo");
+                    continue;
+                }
+                validas.add(v);
+            } catch (IllegalArgumentException e) {
+                resultado.agregarError(fila, e.getMessage());
+            }
+        }
+        if (validas.isEmpty()) {
+            return;
+        }
+
+        Set<String> existentes = new HashSet<>(facturaRepository.findNumerosExistentes(empresaId,
+                validas.stream().map(FacturaValidada::numeroFactura).toList()));
+        Map<String, IndiceRifService.DeudorResuelto> deudores = new HashMap<>(
+                indiceRif.resolver(validas.stream().map(FacturaValidada::rif).toList()));
+
+        List<FacturaValidada> aGuardar = new ArrayList<>(validas.size());
+        for (FacturaValidada v : validas) {
+            String rif = v.rif().completo();
+            if (existentes.contains(v.numeroFactura())) {
+                resultado.agregarError(v.fila(), "La factura ya existe");
+            } else if (!deudores.containsKey(rif) && v.razonSocialDeudor() == null) {
+                resultado.agregarError(v.fila(), "Deudor " + rif + " no registrado: indique razonSocialDeudor");
+            } else {
+                aGuardar.add(v);
+            }
+        }
+        if (aGuardar.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.execute(status -> guardar(empresaId, aGuardar, deudores));
+            resultado.sumarImportadas(aGuardar.size());
+        } catch (RuntimeException e) {
+            log.debug("Lote de importación rechazado ({}), reintentando fila por fila", e.getMessage());
+            for (FacturaValidada v : aGuardar) {
+                try {
+                    // Los deudores externos creados por filas anteriores ya existen
+                    deudores.putAll(transactionTemplate.execute(status -> guardar(empresaId, List.of(v), deudores)));
+                    resultado.sumarImportadas(1);
+                } catch (RuntimeException errorFila) {
+                    resultado.agregarError(v.fila(), mensaje(errorFila));
+                }
+            }
+        }
+    }
+
+    /**
+     * Crea los deudores externos nuevos y las facturas del lote. Las
+     * entidades se arman dentro de la transacción para poder reintentar.
+     *
+     * @return deudores externos creados, por RIF
+     */
+    private Map<String, IndiceRifService.DeudorResuelto> guardar(UUID empresaId, List<FacturaValidada> facturas,
+                                                                Map<String, IndiceRifService.DeudorResuelto> deudores) {
+        Empresa empresa = entityManager.getReference(Empresa.class, empresaId);
+        Map<String, DeudorExterno> nuevosExternos = new HashMap<>();
+
+        for (FacturaValidada v : facturas) {
+            String rif = v.rif().completo();
+            Factura.FacturaBuilder builder = Factura.builder()
+                    .empresa(empresa)
+                    .numeroFactura(v.numeroFactura())
+                    .numeroControl(v.fila().getNumeroControl())
+                    .fechaEmision(v.fechaEmision())
+                    .fechaVencimiento(v.fechaVencimiento())
+                    .subtotal(v.subtotal())
+                    .iva(v.iva())
+                    .total(v.total())
+                    .deudorRif(rif)
+                    .concepto(v.fila().getConcepto());
+            if (v.fila().getMoneda() != null) {
+                builder.moneda(v.fila().getMoneda().toUpperCase(Locale.ROOT));
+            }
+
+            IndiceRifService.DeudorResuelto resuelto = deudores.get(rif);
+            if (resuelto != null && resuelto.tipo() == TipoDeudor.INTERNO) {
+                builder.tipoDeudor(TipoDeudor.INTERNO)
+                        .deudorEmpresa(entityManager.getReference(Empresa.class, resuelto.id()));
+            } else {
+                DeudorExterno deudor = resuelto != null
+                        ? entityManager.getReference(DeudorExterno.class, resuelto.id())
+                        : nuevosExternos.computeIfAbsent(rif, r -> crearDeudorExterno(empresa, v));
+                builder.tipoDeudor(TipoDeudor.EXTERNO)
+                        .deudorExterno(deudor)
+                        .deudorRazonSocial(v.razonSocialDeudor());
+            }
+
+            Factura factura = builder.build();
+            factura.validarDeudor();
+            facturaService.registrarFactura(factura);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return nuevosExternos.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey,
+                        e -> new IndiceRifService.DeudorResuelto(TipoDeudor.EXTERNO, e.getValue().getId())));
+    }
+
+    private DeudorExterno crearDeudorExterno(Empresa registradoPor, FacturaValidada v) {
+        DeudorExterno deudor = DeudorExterno.builder()
+                .registradoPor(registradoPor)
+                .tipoRif(v.rif().tipo())
+                .numeroRif(v.rif().numero())
+                .digitoVerificador(v.rif().digitoVerificador())
+                .razonSocial(v.razonSocialDeudor())
+                .build();
+        entityManager.persist(deudor);
+        return deudor;
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // VALIDACIÓN DE FILAS
+    // ══════════════════════════════════════════════════════════════
+
+    private record FacturaValidada(FilaImportacionFactura fila, String numeroFactura, RifValidator.Rif rif,
+                                   String razonSocialDeudor, LocalDate fechaEmision, LocalDate fechaVencimiento,
+                                   BigDecimal subtotal, BigDecimal iva, BigDecimal total) {
+    }
+
+    private static FacturaValidada validar(FilaImportacionFactura fila) {
+        String numero = obligatorio(fila.getNumeroFactura(), "numeroFactura");
+        if (numero.length() > 50) {
+            throw new IllegalArgumentException("numeroFactura supera 50 caracteres");
+        }
+        RifValidator.Rif rif = RifValidator.parsear(obligatorio(fila.getRifDeudor(), "rifDeudor"));
+        LocalDate emision = fecha(obligatorio(fila.getFechaEmision(), "fechaEmision"), "fechaEmision");
+        LocalDate vencimiento = fecha(obligatorio(fila.getFechaVencimiento(), "fechaVencimiento"), "fechaVencimiento");
+        if (vencimiento.isBefore(emision)) {
+            throw new IllegalArgumentException("fechaVencimiento anterior a fechaEmision");
+        }
+        BigDecimal subtotal = monto(obligatorio(fila.getSubtotal(), "subtotal"), "subtotal");
+        BigDecimal iva = fila.getIva() != null ? monto(fila.getIva(), "iva") : BigDecimal.ZERO;
+        BigDecimal total = fila.getTotal() != null ? monto(fila.getTotal(), "total") : subtotal.add(iva);
+        if (subtotal.signum() <= 0 || total.signum() <= 0) {
+            throw new IllegalArgumentException("Los montos deben ser mayores a cero");
+        }
+        String razonSocial = fila.getRazonSocialDeudor();
+        if (razonSocial != null && razonSocial.length() > 200) {
+            razonSocial = razonSocial.substring(0, 200);
+        }
+        return new FacturaValidada(fila, numero, rif, razonSocial, emision, vencimiento, subtotal, iva, total);
+    }
+
+    private static String obligatorio(String valor, String campo) {
+        if (valor == null || valor.isBlank()) {
+            throw new IllegalArgumentException("Falta " + campo);
+        }
+        return valor.trim();
+    }
+
+    /** Acepta yyyy-MM-dd y dd/MM/yyyy. */
+    private static LocalDate fecha(String valor, String campo) {
+        try {
+            return valor.indexOf('/') >= 0 ? LocalDate.parse(valor, FECHA_DMY) : LocalDate.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(campo + " inválida: " + valor);
+        }
+    }
+
+    /** Acepta punto o coma decimal, sin separador de miles. */
+    private static BigDecimal monto(String valor, String campo) {
+        try {
+            BigDecimal monto = new BigDecimal(valor.replace(',', '.'));
+            if (monto.scale() > 2) {
+                throw new IllegalArgumentException(campo + " admite máximo 2 decimales: " + valor);
+            }
+            return monto;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(campo + " inválido: " + valor);
+        }
+    }
+
+    private static String mensaje(RuntimeException e) {
+        Throwable causa = e;
+        while (causa.getCause() != null && causa.getCause() != causa) {
+            causa = causa.getCause();
+        }
+        return causa.getMessage() != null ? causa.getMessage() : e.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,180 @@
+package com.ve.kinia.service;
+
+import com.ve.kinia.dto.CambioRif;
+import com.ve.kinia.dto.RifRegistrado;
+import com.ve.kinia.model.enums.TipoDeudor;
+import com.ve.kinia.model.enums.TipoRif;
+import com.ve.kinia.repository.DeudorExternoRepository;
+import com.ve.kinia.repository.EmpresaRepository;
+import com.ve.kinia.util.RifValidator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice en memoria RIF → deudor (Empresa = INTERNO, DeudorExterno = EXTERNO)
+ * para clasificar deudores al subir facturas sin consultar la base.
+ *
+ * La clave es un long armado con tipoRif + numeroRif (ver clave()), no el
+ * texto de rifCompleto. Si el RIF está como Empresa y como DeudorExterno
+ * (deudor que se registró en Kinia), gana la Empresa.
+ *
+ * Se carga al iniciar, se actualiza con cada CambioRif confirmado y se
+ * recarga completo periódicamente (cambios hechos por otras instancias).
+ * Los CambioRif que llegan durante una recarga se repiten sobre el índice
+ * nuevo antes de reemplazar el actual, bajo el mismo candado que aplicar().
+ * Un cambio de RIF quita también la clave del RIF anterior.
+ * Un RIF que no está en el índice se busca en la base antes de darlo por
+ * desconocido.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IndiceRifService {
+
+    private static final long NUMEROS_POR_LONGITUD = 1_000_000_000L;
+
+    private final EmpresaRepository empresaRepository;
+    private final DeudorExternoRepository deudorExternoRepository;
+
+    private volatile Map<Long, DeudorResuelto> indice = new ConcurrentHashMap<>();
+
+    /** Protege el reemplazo del índice y duranteRecarga. */
+    private final Object cambios = new Object();
+    /** Cambios recibidos mientras se recarga, para aplicarlos al índice nuevo. */
+    private List<CambioRif> duranteRecarga;
+
+    /** Deudor al que corresponde un RIF. */
+    public record DeudorResuelto(TipoDeudor tipo, UUID id) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${kinia.rif.indice.recarga-ms:900000}",
+               initialDelayString = "${kinia.rif.indice.recarga-ms:900000}")
+    public void recargar() {
+        synchronized (cambios) {
+            duranteRecarga = new ArrayList<>();
+        }
+        try {
+            Map<Long, DeudorResuelto> nuevo = new ConcurrentHashMap<>();
+            cargar(nuevo, TipoDeudor.EXTERNO, deudorExternoRepository.findRifsRegistrados());
+            cargar(nuevo, TipoDeudor.INTERNO, empresaRepository.findRifsRegistrados());
+            synchronized (cambios) {
+                duranteRecarga.forEach(cambio -> aplicarEn(nuevo, cambio));
+                indice = nuevo;
+            }
+            log.info("Índice de RIF cargado: {} deudores", nuevo.size());
+        } finally {
+            synchronized (cambios) {
+                duranteRecarga = null;
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aplicar(CambioRif cambio) {
+        synchronized (cambios) {
+            if (duranteRecarga != null) {
+                duranteRecarga.add(cambio);
+            }
+            aplicarEn(indice, cambio);
+        }
+    }
+
+    /**
+     * Resuelve un lote de RIF. Solo los que no están en el índice se buscan
+     * en la base (dos consultas IN como máximo).
+     *
+     * @return rifCompleto → deudor; los RIF desconocidos no aparecen
+     */
+    public Map<String, DeudorResuelto> resolver(Collection<RifValidator.Rif> rifs) {
+        Map<String, DeudorResuelto> resueltos = new HashMap<>();
+        Map<String, RifValidator.Rif> faltantes = new HashMap<>();
+        for (RifValidator.Rif rif : rifs) {
+            DeudorResuelto deudor = indice.get(clave(rif.tipo(), rif.numero()));
+            if (deudor != null) {
+                resueltos.put(rif.completo(), deudor);
+            } else {
+                faltantes.put(rif.completo(), rif);
+            }
+        }
+        if (!faltantes.isEmpty()) {
+            Map<Long, DeudorResuelto> encontrados = new HashMap<>();
+            cargar(encontrados, TipoDeudor.EXTERNO, deudorExternoRepository.findRifsRegistradosIn(faltantes.keySet()));
+            cargar(encontrados, TipoDeudor.INTERNO, empresaRepository.findRifsRegistradosIn(faltantes.keySet()));
+            faltantes.forEach((completo, rif) -> {
+                DeudorResuelto deudor = encontrados.get(clave(rif.tipo(), rif.numero()));
+                if (deudor != null) {
+                    resueltos.put(completo, deudor);
+                    poner(indice, clave(rif.tipo(), rif.numero()), deudor);
+                }
+            });
+        }
+        return resueltos;
+    }
+
+    public Optional<DeudorResuelto> resolver(RifValidator.Rif rif) {
+        return Optional.ofNullable(resolver(List.of(rif)).get(rif.completo()));
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // AUXILIARES
+    // ══════════════════════════════════════════════════════════════
+
+    /**
+     * tipoRif y numeroRif empaquetados en un long:
+     * (ordinal del tipo × 2 + [número de 9 dígitos]) × 10^9 + número.
+     * La longitud entra en la clave porque "01234567" y "001234567" son
+     * RIF distintos para la restricción única (tipo_rif, numero_rif).
+     */
+    static long clave(TipoRif tipo, String numero) {
+        long prefijo = tipo.ordinal() * 2L + (numero.length() == 9 ? 1 : 0);
+        return prefijo * NUMEROS_POR_LONGITUD + Long.parseLong(numero);
+    }
+
+    private static void aplicarEn(Map<Long, DeudorResuelto> destino, CambioRif cambio) {
+        if (valido(cambio.getTipoRifAnterior(), cambio.getNumeroRifAnterior())) {
+            quitar(destino, clave(cambio.getTipoRifAnterior(), cambio.getNumeroRifAnterior()), cambio.getId());
+        }
+        if (!valido(cambio.getTipoRif(), cambio.getNumeroRif())) {
+            return;
+        }
+        long clave = clave(cambio.getTipoRif(), cambio.getNumeroRif());
+        if (cambio.isEliminado()) {
+            quitar(destino, clave, cambio.getId());
+        } else {
+            poner(destino, clave, new DeudorResuelto(cambio.getTipoDeudor(), cambio.getId()));
+        }
+    }
+
+    /** Solo si la clave sigue apuntando a ese deudor. */
+    private static void quitar(Map<Long, DeudorResuelto> destino, long clave, UUID id) {
+        destino.computeIfPresent(clave, (k, actual) -> actual.id().equals(id) ? null : actual);
+    }
+
+    private static boolean valido(TipoRif tipo, String numero) {
+        return tipo != null && numero != null && numero.matches("\\d{1,9}");
+    }
+
+    private static void cargar(Map<Long, DeudorResuelto> destino, TipoDeudor tipo, List<RifRegistrado> rifs) {
+        for (RifRegistrado r : rifs) {
+            if (valido(r.getTipoRif(), r.getNumeroRif())) {
+                poner(destino, clave(r.getTipoRif(), r.getNumeroRif()), new DeudorResuelto(tipo, r.getId()));
+            }
+        }
+    }
+
+    /** Una Empresa nunca se reemplaza por un DeudorExterno con el mismo RIF. */
+    private static void poner(Map<Long, DeudorResuelto> destino, long clave, DeudorResuelto deudor) {
+        destino.merge(clave, deudor, (actual, nuevo) ->
+                actual.tipo() == TipoDeudor.INTERNO && nuevo.tipo() == TipoDeudor.EXTERNO ? actual : nuevo);
+    }
+}
@@ -0,0 +1,267 @@
+package com.ve.kinia.service;
+
+import com.ve.kinia.dto.FilaDatosFinancieros;
+import com.ve.kinia.dto.PeriodoFinanciero;
+import com.ve.kinia.dto.ResultadoIngestaFinanciera;
+import com.ve.kinia.model.DatosFinancieros;
+import com.ve.kinia.model.Empresa;
+import com.ve.kinia.model.enums.MetricaFinanciera;
+import com.ve.kinia.repository.DatosFinancierosRepository;
+import com.ve.kinia.util.LectorDatosFinancierosCsv;
+import com.ve.kinia.util.RatiosCalculator;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Ingreso de estados financieros, uno a uno o por carga masiva (CSV).
+ *
+ * Cada período pasa por RatiosCalculator antes de guardarse: ratios
+ * derivados, ingresos en USD con la tasa del período e identidades del
+ * balance. Si el período no trae tasaCambioUsada se toma la tasa BCV del
+ * dólar al cierre del período (TasasCambioService). Si el período (empresa, año, mes) ya existe se reemplaza.
+ *
+ * La carga masiva se lee en streaming y se guarda por lotes de
+ * {@code tamano-lote}, una transacción por lote; si un lote falla se
+ * reintenta fila por fila. Cada fila rechazada queda en el resultado con
+ * su número de línea.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IngestaFinancieraService {
+
+    private static final Map<String, MetricaFinanciera> METRICAS_POR_COLUMNA = Arrays.stream(MetricaFinanciera.values())
+            .collect(Collectors.toMap(m -> LectorDatosFinancierosCsv.normalizar(m.getColumna()), m -> m));
+
+    private static final String MONEDA_USD = "USD";
+
+    private final DatosFinancierosRepository datosFinancierosRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final TasasCambioService tasasCambioService;
+
+    @Value("${kinia.financieros.ingesta.tamano-lote:500}")
+    private int tamanoLote;
+
+    /**
+     * @throws IllegalArgumentException si el período no es consistente
+     */
+    public DatosFinancieros registrar(UUID empresaId, DatosFinancieros datos) {
+        completarTasa(datos);
+        RatiosCalculator.completar(datos);
+        RatiosCalculator.validar(datos);
+        return transactionTemplate.execute(status -> {
+            Map<Integer, UUID> existentes = existentes(empresaId, List.of(datos));
+            datos.setId(existentes.get(clave(datos)));
+            datos.setEmpresa(entityManager.getReference(Empresa.class, empresaId));
+            return datosFinancierosRepository.save(datos);
+        });
+    }
+
+    public ResultadoIngestaFinanciera importar(UUID empresaId, InputStream archivo) throws IOException {
+        ResultadoIngestaFinanciera resultado = new ResultadoIngestaFinanciera();
+        Set<Integer> periodosDelArchivo = new HashSet<>();
+        List<FilaDatosFinancieros> lote = new ArrayList<>(tamanoLote);
+        long inicio = System.nanoTime();
+
+        Consumer<FilaDatosFinancieros> consumidor = fila -> {
+            lote.add(fila);
+            if (lote.size() >= tamanoLote) {
+                procesarLote(empresaId, lote, periodosDelArchivo, resultado);
+                lote.clear();
+            }
+        };
+        LectorDatosFinancierosCsv.leer(archivo, consumidor);
+        if (!lote.isEmpty()) {
+            procesarLote(empresaId, lote, periodosDelArchivo, resultado);
+        }
+
+        log.info("Carga de estados financieros de empresa {}: {} filas, {} registrados, {} con error en {} ms",
+                empresaId, resultado.getFilasLeidas(), resultado.getRegistrados(), resultado.getErrores().size(),
+                (System.nanoTime() - inicio) / 1_000_000);
+        return resultado;
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // LOTE
+    // ══════════════════════════════════════════════════════════════
+
+    private record PeriodoValidado(FilaDatosFinancieros fila, DatosFinancieros datos) {
+    }
+
+    private void procesarLote(UUID empresaId, List<FilaDatosFinancieros> filas, Set<Integer> periodosDelArchivo,
+                              ResultadoIngestaFinanciera resultado) {
+        resultado.sumarLeidas(filas.size());
+
+        List<PeriodoValidado> validos = new ArrayList<>(filas.size());
+        for (FilaDatosFinancieros fila : filas) {
+            try {
+                DatosFinancieros datos = convertir(fila);
+                completarTasa(datos);
+                RatiosCalculator.completar(datos);
+                RatiosCalculator.validar(datos);
+                if (!periodosDelArchivo.add(clave(datos))) {
+                    resultado.agregarError(fila, "Período repetido en el archivo");
+                    continue;
+                }
+                validos.add(new PeriodoValidado(fila, datos));
+            } catch (IllegalArgumentException | ArithmeticException e) {
+                resultado.agregarError(fila, e.getMessage());
+            }
+        }
+        if (validos.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.execute(status -> guardar(empresaId, validos));
+            resultado.sumarRegistrados(validos.size());
+        } catch (RuntimeException e) {
+            log.debug("Lote de estados financieros rechazado ({}), reintentando fila por fila", e.getMessage());
+            for (PeriodoValidado v : validos) {
+                try {
+                    transactionTemplate.execute(status -> guardar(empresaId, List.of(v)));
+                    resultado.sumarRegistrados(1);
+                } catch (RuntimeException errorFila) {
+                    resultado.agregarError(v.fila(), mensaje(errorFila));
+                }
+            }
+        }
+    }
+
+    /**
+     * Las entidades reciben el id del período existente dentro de la
+     * transacción, para que un reintento vuelva a consultarlo.
+     */
+    private Void guardar(UUID empresaId, List<PeriodoValidado> validos) {
+        List<DatosFinancieros> datos = validos.stream().map(PeriodoValidado::datos).toList();
+        Map<Integer, UUID> existentes = existentes(empresaId, datos);
+        Empresa empresa = entityManager.getReference(Empresa.class, empresaId);
+        for (DatosFinancieros d : datos) {
+            d.setId(existentes.get(clave(d)));
+            d.setEmpresa(empresa);
+        }
+        datosFinancierosRepository.saveAll(datos);
+        entityManager.flush();
+        entityManager.clear();
+        return null;
+    }
+
+    private Map<Integer, UUID> existentes(UUID empresaId, List<DatosFinancieros> datos) {
+        Set<Integer> anos = datos.stream().map(DatosFinancieros::getPeriodoAno).collect(Collectors.toSet());
+        return datosFinancierosRepository.findPeriodos(empresaId, anos).stream()
+                .collect(Collectors.toMap(p -> clave(p.getPeriodoAno(), p.getPeriodoMes()), PeriodoFinanciero::getId));
+    }
+
+    private void completarTasa(DatosFinancieros d) {
+        if (d.getTasaCambioUsada() != null || d.getPeriodoAno() == null) {
+            return;
+        }
+        int ano = d.getPeriodoAno();
+        Integer mes = d.getPeriodoMes();
+        if (ano < 1900 || ano > 9999 || (mes != null && (mes < 1 || mes > 12))) {
+            return; // lo rechaza RatiosCalculator.validar
+        }
+        LocalDate cierre = mes == null
+                ? LocalDate.of(ano, 12, 31)
+                : YearMonth.of(ano, mes).atEndOfMonth();
+        d.setTasaCambioUsada(tasasCambioService.tasaParaRegistro(MONEDA_USD, cierre));
+    }
+
+    private static int clave(DatosFinancieros d) {
+        return clave(d.getPeriodoAno(), d.getPeriodoMes());
+    }
+
+    /** Año × 13 + mes (0 para el período anual). */
+    private static int clave(int ano, Integer mes) {
+        return ano * 13 + (mes != null ? mes : 0);
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // CONVERSIÓN DE FILAS
+    // ══════════════════════════════════════════════════════════════
+
+    private static DatosFinancieros convertir(FilaDatosFinancieros fila) {
+        DatosFinancieros d = DatosFinancieros.builder()
+                .periodoAno(entero(fila.valor("periodoano"), "periodoAno"))
+                .periodoMes(fila.valor("periodomes") != null ? entero(fila.valor("periodomes"), "periodoMes") : null)
+                .esProyeccion(Boolean.TRUE.equals(logico(fila.valor("esproyeccion"), "esProyeccion")))
+                .fuenteDatos(fila.valor("fuentedatos"))
+                .alDiaSeniat(logico(fila.valor("aldiaseniat"), "alDiaSeniat"))
+                .alDiaIvss(logico(fila.valor("aldiaivss"), "alDiaIvss"))
+                .alDiaFaov(logico(fila.valor("aldiafaov"), "alDiaFaov"))
+                .alDiaInces(logico(fila.valor("aldiainces"), "alDiaInces"))
+                .build();
+        if (d.getPeriodoAno() == null) {
+            throw new IllegalArgumentException("Falta periodoAno");
+        }
+        if (d.getFuenteDatos() != null && d.getFuenteDatos().length() > 100) {
+            d.setFuenteDatos(d.getFuenteDatos().substring(0, 100));
+        }
+        for (Map.Entry<String, String> valor : fila.getValores().entrySet()) {
+            MetricaFinanciera metrica = METRICAS_POR_COLUMNA.get(valor.getKey());
+            if (metrica != null) {
+                metrica.asignar(d, numero(valor.getValue(), metrica));
+            }
+        }
+        return d;
+    }
+
+    private static Integer entero(String valor, String campo) {
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(campo + " inválido: " + valor);
+        }
+    }
+
+    /** Acepta true/false, si/no y 1/0. */
+    private static Boolean logico(String valor, String campo) {
+        if (valor == null) {
+            return null;
+        }
+        return switch (valor.toLowerCase(Locale.ROOT)) {
+            case "true", "si", "sí", "1" -> true;
+            case "false", "no", "0" -> false;
+            default -> throw new IllegalArgumentException(campo + " inválido: " + valor);
+        };
+    }
+
+    /** Acepta punto o coma decimal, sin separador de miles. */
+    private static BigDecimal numero(String valor, MetricaFinanciera metrica) {
+        try {
+            BigDecimal numero = new BigDecimal(valor.replace(',', '.'));
+            if (numero.scale() > metrica.getEscala()) {
+                throw new IllegalArgumentException(metrica.getColumna() + " admite máximo "
+                        + metrica.getEscala() + " decimales: " + valor);
+            }
+            return numero;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(metrica.getColumna() + " inválido: " + valor);
+        }
+    }
+
+    private static String mensaje(RuntimeException e) {
+        Throwable causa = e;
+        while (causa.getCause() != null && causa.getCause() != causa) {
+            causa = causa.getCause();
+        }
+        return causa.getMessage() != null ? causa.getMessage() : e.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,170 @@
+package com.ve.kinia.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Métricas de negocio (Micrometer, expuestas en /actuator/prometheus).
+ *
+ *   kinia.scoring.duracion{origen, etapa}     carga / calculo / guardado por chunk
+ *   kinia.scoring.empresas{origen}            empresas calificadas
+ *   kinia.factoring.ofertas                   ofertas generadas
+ *   kinia.factoring.transicion{tramo}         solicitud→aprobación→desembolso→liquidación
+ *   kinia.facturas.registradas                facturas dadas de alta
+ *   kinia.facturas.importacion{resultado}     duración de cada importación masiva
+ *   kinia.facturas.importacion.filas          filas por archivo importado
+ *   kinia.facturas.extraccion.duracion{etapa} cola / lectura / analisis / guardado
+ *   kinia.facturas.extraccion{resultado}      documentos procesados (ok, parcial, error, rechazada)
+ *   kinia.facturas.extraccion.cola            documentos esperando extracción
+ *   kinia.pagos.registrados / .conflictos     pagos y reintentos por versión
+ *   kinia.relaciones.cola                     movimientos pendientes de agregar
+ *   kinia.auditoria.buffer                    acciones de auditoría sin escribir
+ *
+ * Los histogramas de percentiles se activan en application.properties
+ * (management.metrics.distribution.*).
+ */
+@Component
+@RequiredArgsConstructor
+public class MetricasKinia {
+
+    public static final String ORIGEN_BATCH = "batch";
+    public static final String ORIGEN_INCREMENTAL = "incremental";
+    public static final String ORIGEN_INDIVIDUAL = "individual";
+
+    public static final String ETAPA_CARGA = "carga";
+    public static final String ETAPA_CALCULO = "calculo";
+    public static final String ETAPA_GUARDADO = "guardado";
+    public static final String ETAPA_COLA = "cola";
+    public static final String ETAPA_LECTURA = "lectura";
+    public static final String ETAPA_ANALISIS = "analisis";
+
+    private final MeterRegistry registry;
+
+    // ══════════════════════════════════════════════════════════════
+    // SCORING
+    // ══════════════════════════════════════════════════════════════
+
+    public void registrarEtapaScoring(String origen, String etapa, long nanos) {
+        Timer.builder("kinia.scoring.duracion")
+                .description("Duración de cada etapa del cálculo de scores")
+                .tag("origen", origen)
+                .tag("etapa", etapa)
+                .register(registry)
+                .record(Duration.ofNanos(nanos));
+    }
+
+    public void registrarEmpresasCalificadas(String origen, int empresas) {
+        Counter.builder("kinia.scoring.empresas")
+                .description("Empresas a las que se calculó score")
+                .tag("origen", origen)
+                .register(registry)
+                .increment(empresas);
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // FACTORING
+    // ══════════════════════════════════════════════════════════════
+
+    public void registrarOferta() {
+        Counter.builder("kinia.factoring.ofertas")
+                .description("Ofertas de factoring generadas")
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * @param tramo p. ej. "solicitud_aprobacion"; si alguna fecha falta no se registra
+     */
+    public void registrarTransicion(String tramo, LocalDateTime desde, LocalDateTime hasta) {
+        if (desde == null || hasta == null || hasta.isBefore(desde)) {
+            return;
+        }
+        Timer.builder("kinia.factoring.transicion")
+                .description("Tiempo entre etapas de una solicitud de factoring")
+                .tag("tramo", tramo)
+                .maximumExpectedValue(Duration.ofDays(180))
+                .register(registry)
+                .record(Duration.between(desde, hasta));
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // FACTURAS Y PAGOS
+    // ══════════════════════════════════════════════════════════════
+
+    public void registrarFactura() {
+        Counter.builder("kinia.facturas.registradas")
+                .description("Facturas dadas de alta")
+                .register(registry)
+                .increment();
+    }
+
+    public void registrarImportacion(long nanos, long filas, boolean exitosa) {
+        Timer.builder("kinia.facturas.importacion")
+                .description("Duración de las importaciones masivas de facturas")
+                .tag("resultado", exitosa ? "ok" : "error")
+                .register(registry)
+                .record(Duration.ofNanos(nanos));
+        DistributionSummary.builder("kinia.facturas.importacion.filas")
+                .description("Filas por archivo importado")
+                .baseUnit("filas")
+                .register(registry)
+                .record(filas);
+    }
+
+    public void registrarEtapaExtraccion(String etapa, long nanos) {
+        Timer.builder("kinia.facturas.extraccion.duracion")
+                .description("Duración de cada etapa de la extracción de datos de facturas")
+                .tag("etapa", etapa)
+                .register(registry)
+                .record(Duration.ofNanos(nanos));
+    }
+
+    public void registrarExtraccion(String resultado) {
+        Counter.builder("kinia.facturas.extraccion")
+                .description("Documentos de factura procesados por la extracción")
+                .tag("resultado", resultado)
+                .register(registry)
+                .increment();
+    }
+
+    public void registrarColaExtraccion(Collection<?> cola) {
+        Gauge.builder("kinia.facturas.extraccion.cola", cola, Collection::size)
+                .description("Documentos de factura esperando extracción")
+                .register(registry);
+    }
+
+    public void registrarPago() {
+        Counter.builder("kinia.pagos.registrados")
+                .description("Pagos registrados contra facturas")
+                .register(registry)
+                .increment();
+    }
+
+    public void registrarConflictoPago() {
+        Counter.builder("kinia.pagos.conflictos")
+                .description("Reintentos por conflicto de versión al registrar pagos")
+                .register(registry)
+                .increment();
+    }
+
+    public void registrarColaRelaciones(Collection<?> cola) {
+        Gauge.builder("kinia.relaciones.cola", cola, Collection::size)
+                .description("Movimientos de relaciones comerciales pendientes de aplicar")
+                .register(registry);
+    }
+
+    public void registrarColaAuditoria(Collection<?> buffer) {
+        Gauge.builder("kinia.auditoria.buffer", buffer, Collection::size)
+                .description("Acciones de auditoría pendientes de escribir")
+                .register(registry);
+    }
+}
@@ -0,0 +1,146 @@
+package com.ve.kinia.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Avisos entre instancias con LISTEN/NOTIFY de PostgreSQL (invalidación de
+ * cachés locales, p. ej. la configuración de scoring activa).
+ *
+ * notificar() dentro de una transacción se entrega recién al confirmarla
+ * (y nunca si se revierte), a todas las instancias, incluida la que avisa.
+ *
+ * Un hilo propio mantiene una conexión del pool escuchando los canales
+ * suscritos. Si la conexión se cae, se reconecta y entrega un aviso con
+ * mensaje null a cada suscriptor: lo que llegó mientras tanto se perdió y
+ * hay que tratarlo como "puede haber cambiado cualquier cosa".
+ */
+@Slf4j
+@Component
+public class NotificacionesPostgres {
+
+    private static final Pattern NOMBRE_CANAL = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, List<Consumer<String>>> suscriptores = new ConcurrentHashMap<>();
+
+    @Value("${kinia.notificaciones.espera-ms:5000}")
+    private int esperaMs;
+
+    @Value("${kinia.notificaciones.reintento-ms:10000}")
+    private long reintentoMs;
+
+    private volatile boolean activo;
+    private Thread hilo;
+
+    public NotificacionesPostgres(DataSource dataSource, JdbcTemplate jdbcTemplate) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Registra un suscriptor; los canales se escuchan desde el arranque
+     * completo de la aplicación (suscribir en @PostConstruct).
+     */
+    public void suscribir(String canal, Consumer<String> suscriptor) {
+        if (!NOMBRE_CANAL.matcher(canal).matches()) {
+            throw new IllegalArgumentException("Nombre de canal inválido: " + canal);
+        }
+        suscriptores.computeIfAbsent(canal, c -> new CopyOnWriteArrayList<>()).add(suscriptor);
+    }
+
+    /**
+     * Avisa a todas las instancias. Usa la conexión de la transacción en
+     * curso, si la hay.
+     */
+    public void notificar(String canal, String mensaje) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, canal, mensaje);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void iniciar() {
+        if (suscriptores.isEmpty() || hilo != null) {
+            return;
+        }
+        activo = true;
+        hilo = Thread.ofPlatform().name("kinia-notificaciones").daemon().start(this::escuchar);
+    }
+
+    @PreDestroy
+    public synchronized void detener() {
+        activo = false;
+        if (hilo != null) {
+            hilo.interrupt();
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // ESCUCHA
+    // ══════════════════════════════════════════════════════════════
+
+    private void escuchar() {
+        while (activo) {
+            try (Connection conexion = dataSource.getConnection()) {
+                conexion.setAutoCommit(true);
+                try (Statement st = conexion.createStatement()) {
+                    for (String canal : suscriptores.keySet()) {
+                        st.execute("LISTEN " + canal);
+                    }
+                }
+                log.info("Escuchando notificaciones en {}", suscriptores.keySet());
+                suscriptores.keySet().forEach(canal -> entregar(canal, null));
+
+                PGConnection pg = conexion.unwrap(PGConnection.class);
+                while (activo) {
+                    PGNotification[] avisos = pg.getNotifications(esperaMs);
+                    if (avisos != null) {
+                        for (PGNotification aviso : avisos) {
+                            entregar(aviso.getName(), aviso.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                // RuntimeException: p. ej. el pool no entrega conexión; el hilo no debe morir
+                if (!activo) {
+                    return;
+                }
+                log.warn("Conexión de notificaciones perdida, se reintenta en {} ms: {}", reintentoMs, e.getMessage());
+                try {
+                    Thread.sleep(reintentoMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void entregar(String canal, String mensaje) {
+        for (Consumer<String> suscriptor : suscriptores.getOrDefault(canal, List.of())) {
+            try {
+                suscriptor.accept(mensaje);
+            } catch (RuntimeException e) {
+                log.error("Suscriptor de {} falló con el aviso {}", canal, mensaje, e);
+            }
+        }
+    }
+}
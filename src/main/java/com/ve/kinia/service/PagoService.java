@@ -0,0 +1,96 @@
+package com.ve.kinia.service;
+
+import com.ve.kinia.dto.CambioCartera;
+import com.ve.kinia.dto.MovimientoRelacionComercial;
+import com.ve.kinia.model.Factura;
+import com.ve.kinia.model.PagoRecibido;
+import com.ve.kinia.repository.FacturaRepository;
+import com.ve.kinia.repository.PagoRecibidoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Registro de pagos contra facturas.
+ *
+ * Cada pago incrementa Factura.totalPagado / saldoPendiente en la misma
+ * transacción en que se inserta. Si otro pago de la misma factura confirmó
+ * antes (conflicto de versión), se reintenta con la factura recargada.
+ *
+ * Los pagos entre empresas de Kinia publican un MovimientoRelacionComercial
+ * que AgregadorRelacionesService aplica después del commit. Todos publican
+ * CambioCartera para el tablero del proveedor (TableroEmpresaService).
+ *
+ * Si el pago no trae tasaCambio y no es en bolívares, se toma la tasa
+ * BCV de la fecha de pago (TasasCambioService).
+ *
+ * La antigüedad de saldo de la factura (lista de trabajo de cobranza) se
+ * actualiza en la misma transacción.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PagoService {
+
+    private static final int MAX_INTENTOS = 3;
+
+    private final FacturaRepository facturaRepository;
+    private final PagoRecibidoRepository pagoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MetricasKinia metricas;
+    private final AntiguedadSaldosService antiguedadService;
+    private final TasasCambioService tasasCambioService;
+
+    public PagoRecibido registrarPago(UUID facturaId, PagoRecibido pago) {
+        for (int intento = 1; ; intento++) {
+            try {
+                PagoRecibido registrado = transactionTemplate.execute(status -> {
+                    Factura factura = facturaRepository.findById(facturaId)
+                            .orElseThrow(() -> new IllegalArgumentException("Factura no encontrada: " + facturaId));
+                    pago.setId(null);
+                    if (pago.getTasaCambio() == null) {
+                        pago.setTasaCambio(tasasCambioService.tasaParaRegistro(pago.getMoneda(),
+                                pago.getFechaPago().toLocalDate()));
+                    }
+                    BigDecimal saldoAnterior = factura.getSaldoPendiente();
+                    factura.registrarPago(pago);
+                    PagoRecibido guardado = pagoRepository.save(pago);
+                    facturaRepository.saveAndFlush(factura);
+                    antiguedadService.actualizar(List.of(facturaId));
+                    if (factura.isDeudorInterno()) {
+                        eventPublisher.publishEvent(movimiento(factura, guardado, saldoAnterior));
+                    }
+                    eventPublisher.publishEvent(CambioCartera.empresa(factura.getEmpresa().getId()));
+                    return guardado;
+                });
+                metricas.registrarPago();
+                return registrado;
+            } catch (OptimisticLockingFailureException e) {
+                metricas.registrarConflictoPago();
+                if (intento >= MAX_INTENTOS) {
+                    throw e;
+                }
+                log.debug("Conflicto de versión al registrar pago en factura {}, reintento {}", facturaId, intento);
+            }
+        }
+    }
+
+    static MovimientoRelacionComercial movimiento(Factura factura, PagoRecibido pago, BigDecimal saldoAnterior) {
+        int diasPago = (int) ChronoUnit.DAYS.between(factura.getFechaEmision(), pago.getFechaPago().toLocalDate());
+        int diasMora = (int) Math.max(0,
+                ChronoUnit.DAYS.between(factura.getFechaVencimiento(), pago.getFechaPago().toLocalDate()));
+        boolean saldada = (saldoAnterior == null || saldoAnterior.signum() > 0)
+                && factura.getSaldoPendiente().signum() <= 0;
+        return MovimientoRelacionComercial.pago(pago.getId(), factura.getEmpresa().getId(),
+                factura.getDeudorEmpresa().getId(), pago.getMonto(), pago.getMoneda(), pago.getFechaPago(), diasPago, diasMora, saldada);
+    }
+}
@@ -0,0 +1,126 @@
+package com.ve.kinia.service;
+
+import com.ve.kinia.dto.DiscrepanciaSaldoFactura;
+import com.ve.kinia.model.Factura;
+import com.ve.kinia.repository.FacturaRepository;
+import com.ve.kinia.repository.PagoRecibidoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Verifica Factura.totalPagado / saldoPendiente contra la suma de
+ * pagos_recibidos y corrige las diferencias.
+ *
+ * Recorre las facturas en chunks keyset. Cada corrección recalcula la suma
+ * dentro de su propia transacción y pasa por la versión de la factura: si
+ * un pago concurrente la modificó, se vuelve a leer y recalcular. Las que
+ * siguen en conflicto después de MAX_INTENTOS se reportan al final.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReconciliacionSaldosService {
+
+    private static final UUID UUID_INICIAL = new UUID(0L, 0L);
+    private static final int MAX_INTENTOS = 3;
+
+    private final FacturaRepository facturaRepository;
+    private final PagoRecibidoRepository pagoRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${kinia.facturas.reconciliacion.tamano-chunk:1000}")
+    private int tamanoChunk;
+
+    @Scheduled(cron = "${kinia.facturas.reconciliacion.cron:0 30 3 * * *}")
+    public void ejecucionProgramada() {
+        reconciliar();
+    }
+
+    /**
+     * @return cantidad de facturas corregidas
+     */
+    public int reconciliar() {
+        UUID cursor = UUID_INICIAL;
+        int revisadas = 0;
+        int corregidas = 0;
+        List<UUID> enConflicto = new ArrayList<>();
+
+        while (true) {
+            List<UUID> ids = facturaRepository.findIdsDespuesDe(cursor, PageRequest.of(0, tamanoChunk));
+            if (ids.isEmpty()) {
+                break;
+            }
+            cursor = ids.get(ids.size() - 1);
+            revisadas += ids.size();
+
+            for (DiscrepanciaSaldoFactura d : facturaRepository.findDiscrepanciasSaldo(ids)) {
+                log.warn("Saldo descuadrado en factura {}: totalPagado={}, saldoPendiente={}, suma de pagos={}",
+                        d.getFacturaId(), d.getTotalPagado(), d.getSaldoPendiente(), d.getSumaPagos());
+                try {
+                    if (corregir(d.getFacturaId())) {
+                        corregidas++;
+                    }
+                } catch (OptimisticLockingFailureException e) {
+                    enConflicto.add(d.getFacturaId());
+                }
+            }
+        }
+
+        if (!enConflicto.isEmpty()) {
+            log.warn("Reconciliación de saldos: {} facturas sin corregir por pagos concurrentes tras {} intentos: {}",
+                    enConflicto.size(), MAX_INTENTOS, enConflicto);
+        }
+        log.info("Reconciliación de saldos: {} facturas revisadas, {} corregidas", revisadas, corregidas);
+        return corregidas;
+    }
+
+    /**
+     * @throws OptimisticLockingFailureException si la factura cambió en cada uno de los intentos
+     */
+    private boolean corregir(UUID facturaId) {
+        for (int intento = 1; ; intento++) {
+            try {
+                return corregirUnaVez(facturaId);
+            } catch (OptimisticLockingFailureException e) {
+                if (intento >= MAX_INTENTOS) {
+                    throw e;
+                }
+                log.debug("Factura {} modificada durante la reconciliación, reintento {}", facturaId, intento);
+            }
+        }
+    }
+
+    private boolean corregirUnaVez(UUID facturaId) {
+        Boolean corregida = transactionTemplate.execute(status -> {
+            Factura factura = facturaRepository.findById(facturaId).orElse(null);
+            if (factura == null) {
+                return false;
+            }
+            BigDecimal suma = pagoRepository.sumarMontosPorFactura(facturaId);
+            if (suma.compareTo(valor(factura.getTotalPagado())) == 0
+                    && factura.getSaldoPendiente() != null
+                    && factura.getSaldoPendiente().compareTo(factura.getTotal().subtract(suma)) == 0) {
+                return false;
+            }
+            factura.recalcularSaldos(suma);
+            facturaRepository.saveAndFlush(factura);
+            return true;
+        });
+        return Boolean.TRUE.equals(corregida);
+    }
+
+    private static BigDecimal valor(BigDecimal monto) {
+        return monto != null ? monto : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,255 @@
+package com.ve.kinia.service;
+
+import com.ve.kinia.dto.EntradaScoring;
+import com.ve.kinia.model.EjecucionScoring;
+import com.ve.kinia.model.Score;
+import com.ve.kinia.model.enums.EstadoEjecucion;
+import com.ve.kinia.repository.EjecucionScoringRepository;
+import com.ve.kinia.repository.EmpresaRepository;
+import com.ve.kinia.util.ScoringKernel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Re-scoring masivo (nocturno) de todas las empresas.
+ *
+ * Funcionamiento:
+ *   1. Recorre empresas en chunks con paginación keyset (id > último id).
+ *   2. Mientras un chunk se calcula y escribe, el siguiente se precarga
+ *      en un hilo virtual (consultas agregadas, sin colecciones lazy).
+ *   3. El cálculo del chunk corre en un ForkJoinPool con el ScoringKernel
+ *      de la configuración activa (sin BigDecimal por empresa).
+ *   4. Cada chunk se escribe en UNA transacción: invalida los scores
+ *      vigentes, inserta los nuevos (batch JDBC de Hibernate) y avanza
+ *      el checkpoint de EjecucionScoring.
+ *
+ * Toda la corrida usa el kernel tomado al inicio (inmutable): si se activa
+ * otra configuración a mitad de camino, los chunks restantes se siguen
+ * calculando con la original y la nueva aplica desde la próxima corrida.
+ *
+ * Si el proceso se cae, la siguiente corrida retoma después del último
+ * chunk confirmado, siempre que la configuración activa sea la misma y no
+ * se haya editado (mismo id y updatedAt).
+ *
+ * Varias instancias: el cron corre en todas, pero la corrida se reclama
+ * con un advisory lock de transacción y queda a nombre de la instancia
+ * (EjecucionScoring.instancia). Las demás no hacen nada mientras el latido
+ * de la dueña (cada chunk) no tenga más de {@code latido-vencido-minutos};
+ * pasado ese plazo otra la retoma. Cada chunk bloquea la fila de la
+ * corrida y verifica ser la dueña antes de escribir.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScoringBatchService {
+
+    private static final UUID UUID_INICIAL = new UUID(0L, 0L);
+
+    private final EmpresaRepository empresaRepository;
+    private final EjecucionScoringRepository ejecucionRepository;
+    private final CargadorEntradasScoring cargadorEntradas;
+    private final ScoringService scoringService;
+    private final TransactionTemplate transactionTemplate;
+    private final MetricasKinia metricas;
+    private final String instancia = UUID.randomUUID().toString();
+
+    @Value("${kinia.scoring.batch.latido-vencido-minutos:15}")
+    private long latidoVencidoMinutos;
+
+    @Value("${kinia.scoring.batch.tamano-chunk:1000}")
+    private int tamanoChunk;
+
+    @Value("${kinia.scoring.batch.paralelismo:0}")
+    private int paralelismo;
+
+    @Scheduled(cron = "${kinia.scoring.batch.cron:0 0 2 * * *}")
+    public void ejecucionProgramada() {
+        ejecutar();
+    }
+
+    /**
+     * @return la corrida terminada; vacío si la ejecuta otra instancia
+     */
+    public Optional<EjecucionScoring> ejecutar() {
+        ScoringKernel kernel = scoringService.obtenerKernelActivo();
+        Optional<EjecucionScoring> reclamada = reclamar(kernel);
+        if (reclamada.isEmpty()) {
+            log.info("Re-scoring: otra instancia tiene la corrida en curso");
+            return Optional.empty();
+        }
+        EjecucionScoring ejecucion = reclamada.get();
+        UUID cursor = ejecucion.getUltimoEmpresaId() != null ? ejecucion.getUltimoEmpresaId() : UUID_INICIAL;
+        log.info("Re-scoring {}: inicio desde {} ({} empresas ya procesadas)",
+                ejecucion.getId(), cursor, ejecucion.getEmpresasProcesadas());
+
+        long inicio = System.nanoTime();
+        long procesadas = 0;
+        int hilos = paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors();
+
+        try (ForkJoinPool pool = new ForkJoinPool(hilos);
+             ExecutorService precarga = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            CompletableFuture<Lote> siguiente = cargarLote(cursor, precarga);
+            while (true) {
+                Lote lote = siguiente.join();
+                if (lote.ids().isEmpty()) {
+                    break;
+                }
+                siguiente = cargarLote(lote.ultimoId(), precarga);
+
+                long inicioCalculo = System.nanoTime();
+                List<Score> scores = pool.submit(() -> lote.entradas().parallelStream()
+                        .map(kernel::calcular)
+                        .toList()).join();
+                long inicioGuardado = System.nanoTime();
+                metricas.registrarEtapaScoring(MetricasKinia.ORIGEN_BATCH, MetricasKinia.ETAPA_CALCULO,
+                        inicioGuardado - inicioCalculo);
+
+                ejecucion = escribirChunk(ejecucion.getId(), lote, scores);
+                metricas.registrarEtapaScoring(MetricasKinia.ORIGEN_BATCH, MetricasKinia.ETAPA_GUARDADO,
+                        System.nanoTime() - inicioGuardado);
+                metricas.registrarEmpresasCalificadas(MetricasKinia.ORIGEN_BATCH, scores.size());
+                procesadas += scores.size();
+                log.info("Re-scoring {}: chunk {} listo, {} empresas ({} emp/s)",
+                        ejecucion.getId(), ejecucion.getChunksCompletados(),
+                        ejecucion.getEmpresasProcesadas(), throughput(procesadas, inicio));
+            }
+        } catch (ReclamoPerdido e) {
+            log.warn("Re-scoring {}: {}; se deja a la otra instancia", ejecucion.getId(), e.getMessage());
+            return Optional.empty();
+        } catch (RuntimeException e) {
+            log.error("Re-scoring {} interrumpido; se retomará desde el último chunk", ejecucion.getId(), e);
+            finalizar(ejecucion.getId(), EstadoEjecucion.FALLIDA, throughput(procesadas, inicio), e.getMessage());
+            throw e;
+        }
+
+        EjecucionScoring finalizada = finalizar(ejecucion.getId(), EstadoEjecucion.COMPLETADA,
+                throughput(procesadas, inicio), null);
+        log.info("Re-scoring {} completado: {} empresas, {} emp/s",
+                finalizada.getId(), finalizada.getEmpresasProcesadas(), finalizada.getEmpresasPorSegundo());
+        return Optional.of(finalizada);
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // AUXILIARES
+    // ══════════════════════════════════════════════════════════════
+
+    /**
+     * Inicia o retoma la corrida a nombre de esta instancia; vacío si otra
+     * está decidiendo o tiene una corrida en curso con el latido vigente.
+     */
+    private Optional<EjecucionScoring> reclamar(ScoringKernel kernel) {
+        return transactionTemplate.execute(status -> {
+            if (!ejecucionRepository.bloquearReclamo()) {
+                return Optional.empty();
+            }
+            LocalDateTime ahora = LocalDateTime.now();
+            Optional<EjecucionScoring> ultima = ejecucionRepository.findFirstByOrderByFechaInicioDesc();
+            boolean ocupada = ultima
+                    .filter(e -> e.getEstado() == EstadoEjecucion.EN_CURSO)
+                    .filter(e -> e.getInstancia() != null && !e.getInstancia().equals(instancia))
+                    .filter(e -> e.getLatidoEn() != null
+                            && e.getLatidoEn().isAfter(ahora.minusMinutes(latidoVencidoMinutos)))
+                    .isPresent();
+            if (ocupada) {
+                return Optional.empty();
+            }
+            EjecucionScoring ejecucion = ultima
+                    .filter(e -> e.getEstado() != EstadoEjecucion.COMPLETADA)
+                    .filter(e -> Objects.equals(e.getConfiguracionId(), kernel.getConfiguracionId()))
+                    .filter(e -> Objects.equals(e.getConfiguracionActualizada(), kernel.getConfiguracionActualizada()))
+                    .map(e -> {
+                        e.setEstado(EstadoEjecucion.EN_CURSO);
+                        e.setMensajeError(null);
+                        return e;
+                    })
+                    .orElseGet(() -> EjecucionScoring.builder()
+                            .configuracionId(kernel.getConfiguracionId())
+                            .configuracionActualizada(kernel.getConfiguracionActualizada())
+                            .build());
+            ejecucion.setInstancia(instancia);
+            ejecucion.setLatidoEn(ahora);
+            return Optional.of(ejecucionRepository.save(ejecucion));
+        });
+    }
+
+    private CompletableFuture<Lote> cargarLote(UUID despuesDe, ExecutorService executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            LocalDateTime cargadoEn = LocalDateTime.now();
+            long inicio = System.nanoTime();
+            List<UUID> ids = empresaRepository.findIdsDespuesDe(despuesDe, PageRequest.of(0, tamanoChunk));
+            Lote lote = new Lote(ids, cargadorEntradas.cargar(ids), cargadoEn);
+            metricas.registrarEtapaScoring(MetricasKinia.ORIGEN_BATCH, MetricasKinia.ETAPA_CARGA,
+                    System.nanoTime() - inicio);
+            return lote;
+        }, executor);
+    }
+
+    private EjecucionScoring escribirChunk(UUID ejecucionId, Lote lote, List<Score> scores) {
+        return transactionTemplate.execute(status -> {
+            // La fila queda bloqueada: otra instancia no puede reclamarla hasta el commit
+            EjecucionScoring ejecucion = ejecucionRepository.findParaActualizar(ejecucionId).orElseThrow();
+            if (!instancia.equals(ejecucion.getInstancia())) {
+                throw new ReclamoPerdido("la corrida la retomó la instancia " + ejecucion.getInstancia());
+            }
+            scoringService.guardarScores(lote.entradas(), scores);
+            empresaRepository.limpiarScoringPendiente(lote.ids(), lote.cargadoEn());
+
+            ejecucion.registrarChunk(lote.ultimoId(), scores.size());
+            ejecucion.setLatidoEn(LocalDateTime.now());
+            return ejecucion;
+        });
+    }
+
+    private EjecucionScoring finalizar(UUID ejecucionId, EstadoEjecucion estado,
+                                       BigDecimal empresasPorSegundo, String error) {
+        return transactionTemplate.execute(status -> {
+            EjecucionScoring ejecucion = ejecucionRepository.findParaActualizar(ejecucionId).orElseThrow();
+            if (!instancia.equals(ejecucion.getInstancia())) {
+                // La retomó otra instancia: ella la cierra
+                return ejecucion;
+            }
+            ejecucion.setEstado(estado);
+            ejecucion.setFechaFin(LocalDateTime.now());
+            ejecucion.setEmpresasPorSegundo(empresasPorSegundo);
+            ejecucion.setMensajeError(error);
+            return ejecucion;
+        });
+    }
+
+    private static BigDecimal throughput(long empresas, long inicioNanos) {
+        long nanos = Math.max(1L, System.nanoTime() - inicioNanos);
+        return BigDecimal.valueOf(empresas * 1_000_000_000.0 / nanos).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /** Otra instancia retomó la corrida porque el latido de esta venció. */
+    private static final class ReclamoPerdido extends IllegalStateException {
+        ReclamoPerdido(String mensaje) {
+            super(mensaje);
+        }
+    }
+
+    private record Lote(List<UUID> ids, List<EntradaScoring> entradas, LocalDateTime cargadoEn) {
+
+        UUID ultimoId() {
+            return ids.get(ids.size() - 1);
+        }
+    }
+}
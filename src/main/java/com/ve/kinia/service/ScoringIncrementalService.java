@@ -0,0 +1,142 @@
+package com.ve.kinia.service;
+
+import com.ve.kinia.dto.EntradaScoring;
+import com.ve.kinia.dto.HuellaScoreVigente;
+import com.ve.kinia.model.MarcaProceso;
+import com.ve.kinia.model.Score;
+import com.ve.kinia.repository.EmpresaRepository;
+import com.ve.kinia.repository.MarcaProcesoRepository;
+import com.ve.kinia.repository.ScoreRepository;
+import com.ve.kinia.util.ScoringKernel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Re-scoring incremental: solo recalcula empresas cuyos inputs cambiaron.
+ *
+ * Dos pasos por corrida:
+ *   1. DETECCIÓN: con una marca de agua (MarcaProceso) busca filas de
+ *      empresas, datos_financieros, documentos, facturas, pagos_recibidos
+ *      y relaciones_comerciales creadas/modificadas desde la última corrida
+ *      y marca esas empresas (empresas.scoring_pendiente_desde).
+ *   2. RE-SCORING: recorre las empresas marcadas; si la huella de sus
+ *      datos de entrada coincide con la del score vigente, solo se limpia
+ *      la marca. Si no, se calcula y guarda un score nuevo.
+ *
+ * La ventana de detección se solapa un margen con la anterior para no
+ * perder transacciones que confirmaron tarde; marcar dos veces es inocuo
+ * gracias a la huella.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScoringIncrementalService {
+
+    private static final String MARCA = "scoring.incremental";
+    private static final UUID UUID_INICIAL = new UUID(0L, 0L);
+
+    private final EmpresaRepository empresaRepository;
+    private final ScoreRepository scoreRepository;
+    private final MarcaProcesoRepository marcaRepository;
+    private final CargadorEntradasScoring cargadorEntradas;
+    private final ScoringService scoringService;
+    private final TransactionTemplate transactionTemplate;
+    private final MetricasKinia metricas;
+
+    @Value("${kinia.scoring.incremental.tamano-chunk:500}")
+    private int tamanoChunk;
+
+    @Value("${kinia.scoring.incremental.margen-minutos:5}")
+    private int margenMinutos;
+
+    @Scheduled(cron = "${kinia.scoring.incremental.cron:0 */30 * * * *}")
+    public void ejecucionProgramada() {
+        marcarEmpresasConCambios();
+        rescorearPendientes();
+    }
+
+    /**
+     * @return cantidad de empresas marcadas como pendientes
+     */
+    public int marcarEmpresasConCambios() {
+        LocalDateTime hasta = LocalDateTime.now();
+        Integer marcadas = transactionTemplate.execute(status -> {
+            MarcaProceso marca = marcaRepository.findById(MARCA)
+                    .orElseGet(() -> MarcaProceso.builder().nombre(MARCA).ultimaMarca(hasta).build());
+            LocalDateTime desde = marca.getUltimaMarca().minusMinutes(margenMinutos);
+            int total = empresaRepository.marcarScoringPendiente(desde, hasta);
+            marca.setUltimaMarca(hasta);
+            marcaRepository.save(marca);
+            return total;
+        });
+        log.info("Scoring incremental: {} empresas con cambios", marcadas);
+        return marcadas != null ? marcadas : 0;
+    }
+
+    /**
+     * @return cantidad de scores nuevos generados
+     */
+    public int rescorearPendientes() {
+        ScoringKernel kernel = scoringService.obtenerKernelActivo();
+        UUID cursor = UUID_INICIAL;
+        int revisadas = 0;
+        int recalculadas = 0;
+
+        while (true) {
+            LocalDateTime inicioChunk = LocalDateTime.now();
+            List<UUID> ids = empresaRepository.findIdsPendientesDeScoring(cursor, PageRequest.of(0, tamanoChunk));
+            if (ids.isEmpty()) {
+                break;
+            }
+            cursor = ids.get(ids.size() - 1);
+
+            long inicioCarga = System.nanoTime();
+            List<EntradaScoring> entradas = cargadorEntradas.cargar(ids);
+            Map<UUID, String> huellasVigentes = scoreRepository.findHuellasVigentes(ids).stream()
+                    .filter(h -> h.getHuellaEntrada() != null)
+                    .collect(Collectors.toMap(HuellaScoreVigente::getEmpresaId,
+                            HuellaScoreVigente::getHuellaEntrada, (a, b) -> a));
+
+            long inicioCalculo = System.nanoTime();
+            metricas.registrarEtapaScoring(MetricasKinia.ORIGEN_INCREMENTAL, MetricasKinia.ETAPA_CARGA,
+                    inicioCalculo - inicioCarga);
+
+            List<EntradaScoring> cambiadas = new ArrayList<>();
+            List<Score> scores = new ArrayList<>();
+            for (EntradaScoring entrada : entradas) {
+                String huella = kernel.huellaEntrada(entrada);
+                if (!huella.equals(huellasVigentes.get(entrada.getEmpresaId()))) {
+                    cambiadas.add(entrada);
+                    scores.add(kernel.calcular(entrada));
+                }
+            }
+
+            long inicioGuardado = System.nanoTime();
+            metricas.registrarEtapaScoring(MetricasKinia.ORIGEN_INCREMENTAL, MetricasKinia.ETAPA_CALCULO,
+                    inicioGuardado - inicioCalculo);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                scoringService.guardarScores(cambiadas, scores);
+                empresaRepository.limpiarScoringPendiente(ids, inicioChunk);
+            });
+            metricas.registrarEtapaScoring(MetricasKinia.ORIGEN_INCREMENTAL, MetricasKinia.ETAPA_GUARDADO,
+                    System.nanoTime() - inicioGuardado);
+            metricas.registrarEmpresasCalificadas(MetricasKinia.ORIGEN_INCREMENTAL, scores.size());
+            revisadas += ids.size();
+            recalculadas += scores.size();
+        }
+
+        log.info("Scoring incremental: {} empresas revisadas, {} recalculadas, {} sin cambios en sus datos",
+                revisadas, recalculadas, revisadas - recalculadas);
+        return recalculadas;
+    }
+}
@@ -0,0 +1,196 @@
+package com.ve.kinia.service;
+
+import com.ve.kinia.dto.CambioScoring;
+import com.ve.kinia.dto.EntradaScoring;
+import com.ve.kinia.model.ConfiguracionScoring;
+import com.ve.kinia.model.Empresa;
+import com.ve.kinia.model.Score;
+import com.ve.kinia.repository.ConfiguracionScoringRepository;
+import com.ve.kinia.repository.EmpresaRepository;
+import com.ve.kinia.repository.ScoreRepository;
+import com.ve.kinia.util.ScoringKernel;
+import jakarta.persistence.EntityManager;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Motor de scoring para una empresa individual (ej. al aprobar KYC o al
+ * cargar nuevos estados financieros). El re-scoring masivo está en
+ * ScoringBatchService.
+ *
+ * La configuración activa se guarda compilada (ScoringKernel) y se sirve
+ * desde memoria, sin consultar configuracion_scoring en cada cálculo u
+ * oferta. Se descarta:
+ *   - al confirmarse activarConfiguracion(), en todas las instancias, con
+ *     un NOTIFY en el canal {@value #CANAL_CONFIGURACION};
+ *   - si la revisión periódica encuentra otra configuración activa o una
+ *     edición directa (distinto updatedAt), por si se perdió el aviso.
+ *
+ * El kernel es inmutable: una corrida que lo tomó al inicio (batch,
+ * incremental, oferta) termina con esa configuración aunque se active otra.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScoringService {
+
+    public static final String CANAL_CONFIGURACION = "kinia_configuracion_scoring";
+
+    private final CargadorEntradasScoring cargadorEntradas;
+    private final ConfiguracionScoringRepository configuracionRepository;
+    private final ScoreRepository scoreRepository;
+    private final EmpresaRepository empresaRepository;
+    private final EntityManager entityManager;
+    private final MetricasKinia metricas;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NotificacionesPostgres notificaciones;
+
+    /** Configuración activa ya compilada; null hasta la próxima carga. */
+    private final AtomicReference<ScoringKernel> kernelActivo = new AtomicReference<>();
+
+    /** Aumenta en cada invalidación; una carga empezada antes no se publica. */
+    private long generacion;
+
+    @PostConstruct
+    public void suscribir() {
+        notificaciones.suscribir(CANAL_CONFIGURACION, mensaje -> alCambiarConfiguracion());
+    }
+
+    @Transactional
+    public Score calcularScore(Empresa empresa) {
+        ScoringKernel kernel = obtenerKernelActivo();
+        long inicio = System.nanoTime();
+        List<EntradaScoring> entradas = cargadorEntradas.cargar(List.of(empresa.getId()));
+        if (entradas.isEmpty()) {
+            throw new IllegalArgumentException("Empresa no encontrada: " + empresa.getId());
+        }
+        long inicioCalculo = System.nanoTime();
+        Score score = kernel.calcular(entradas.get(0));
+        long inicioGuardado = System.nanoTime();
+        guardarScores(entradas, List.of(score));
+
+        metricas.registrarEtapaScoring(MetricasKinia.ORIGEN_INDIVIDUAL, MetricasKinia.ETAPA_CARGA, inicioCalculo - inicio);
+        metricas.registrarEtapaScoring(MetricasKinia.ORIGEN_INDIVIDUAL, MetricasKinia.ETAPA_CALCULO, inicioGuardado - inicioCalculo);
+        metricas.registrarEtapaScoring(MetricasKinia.ORIGEN_INDIVIDUAL, MetricasKinia.ETAPA_GUARDADO, System.nanoTime() - inicioGuardado);
+        metricas.registrarEmpresasCalificadas(MetricasKinia.ORIGEN_INDIVIDUAL, 1);
+        return score;
+    }
+
+    /**
+     * Reemplaza el score vigente de cada empresa por el nuevo y actualiza
+     * Empresa.scoreVigente en la misma transacción. Las empresas se
+     * bloquean primero, así una corrida concurrente espera y luego invalida
+     * el score que esta dejó vigente; el índice único parcial
+     * uk_scores_vigente (db/scores_vigente.sql) garantiza uno solo por empresa.
+     * {@code scores} va en el mismo orden que {@code entradas}.
+     */
+    @Transactional
+    public void guardarScores(List<EntradaScoring> entradas, List<Score> scores) {
+        if (scores.isEmpty()) {
+            return;
+        }
+        List<UUID> empresaIds = entradas.stream().map(EntradaScoring::getEmpresaId).toList();
+        empresaRepository.bloquearParaScoring(empresaIds);
+        scoreRepository.invalidarVigentes(empresaIds);
+        for (int i = 0; i < scores.size(); i++) {
+            scores.get(i).setEmpresa(entityManager.getReference(Empresa.class, empresaIds.get(i)));
+        }
+        scoreRepository.saveAll(scores);
+        scoreRepository.flush();
+        empresaRepository.actualizarScoreVigente(empresaIds);
+        eventPublisher.publishEvent(CambioScoring.empresas(empresaIds));
+    }
+
+    @Transactional(readOnly = true)
+    public ConfiguracionScoring obtenerConfiguracionActiva() {
+        return configuracionRepository.findFirstByActivoTrue()
+                .orElseThrow(() -> new IllegalStateException("No hay configuración de scoring activa"));
+    }
+
+    /**
+     * Activa una configuración (desactivando las demás). Falla sin activar
+     * nada si la configuración no es compilable. Esta instancia descarta
+     * su kernel al confirmar; todas (esta incluida) lo descartan y publican
+     * CambioScoring al recibir el NOTIFY, que solo se entrega si confirma.
+     */
+    @Transactional
+    public ConfiguracionScoring activarConfiguracion(UUID configuracionId) {
+        ConfiguracionScoring config = configuracionRepository.findById(configuracionId)
+                .orElseThrow(() -> new IllegalArgumentException("Configuración no encontrada: " + configuracionId));
+        ScoringKernel.compilar(config);
+
+        configuracionRepository.desactivarOtras(configuracionId);
+        config.setActivo(true);
+        configuracionRepository.saveAndFlush(config);
+        notificaciones.notificar(CANAL_CONFIGURACION, configuracionId.toString());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidar();
+            }
+        });
+        return config;
+    }
+
+    /**
+     * Kernel de la configuración activa, desde memoria. Solo consulta la
+     * base la primera vez después de una invalidación.
+     */
+    public ScoringKernel obtenerKernelActivo() {
+        ScoringKernel actual = kernelActivo.get();
+        if (actual != null) {
+            return actual;
+        }
+        long generacionCarga;
+        synchronized (this) {
+            generacionCarga = generacion;
+        }
+        ScoringKernel nuevo = ScoringKernel.compilar(obtenerConfiguracionActiva());
+        synchronized (this) {
+            if (generacion == generacionCarga) {
+                kernelActivo.set(nuevo);
+            }
+        }
+        return nuevo;
+    }
+
+    /**
+     * Respaldo del aviso por NOTIFY: detecta otra configuración activa o
+     * una edición hecha directo en la base.
+     */
+    @Scheduled(fixedDelayString = "${kinia.scoring.configuracion.revision-ms:60000}",
+               initialDelayString = "${kinia.scoring.configuracion.revision-ms:60000}")
+    public void revisarConfiguracion() {
+        ScoringKernel actual = kernelActivo.get();
+        if (actual == null) {
+            return;
+        }
+        boolean vigente = configuracionRepository.findFirstByActivoTrue().map(actual::esDe).orElse(false);
+        if (!vigente) {
+            log.info("La configuración de scoring {} ya no es la activa o fue editada", actual.getConfiguracionId());
+            alCambiarConfiguracion();
+        }
+    }
+
+    /** Otra instancia (o esta) activó una configuración, o se perdieron avisos. */
+    private void alCambiarConfiguracion() {
+        invalidar();
+        eventPublisher.publishEvent(CambioScoring.configuracionActivada());
+    }
+
+    private synchronized void invalidar() {
+        generacion++;
+        kernelActivo.set(null);
+    }
+}
@@ -0,0 +1,238 @@
+package com.ve.kinia.service;
+
+import com.ve.kinia.dto.CambioDatosFinancieros;
+import com.ve.kinia.model.enums.MetricaFinanciera;
+import com.ve.kinia.repository.DatosFinancierosJdbcRepository;
+import com.ve.kinia.util.SerieFinanciera;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.*;
+
+import static com.ve.kinia.model.enums.MetricaFinanciera.SIN_DATO;
+
+/**
+ * Historial financiero de todas las empresas en formato columnar
+ * (SerieFinanciera), para series y tendencias de varios años sin cargar
+ * entidades (GET /api/financieros/serie).
+ *
+ * Al arrancar se mapea el archivo local si está al día con
+ * datos_financieros; si no, se regenera con una lectura secuencial de la
+ * tabla. Cada período guardado después (DatosFinancierosListener) se
+ * escribe en su celda al confirmar la transacción. Si no cabe (empresa
+ * nueva, período fuera del rango) la serie se regenera en la siguiente
+ * revisión. La serie reserva {@code meses-futuros} meses por delante.
+ *
+ * Los cambios que llegan mientras se regenera se guardan y se repiten sobre
+ * la serie nueva; el reemplazo y la repetición se hacen bajo el mismo
+ * candado que aplicar(), así ningún cambio queda solo en la serie vieja.
+ */
+@Slf4j
+@Service
+public class SerieFinancieraService {
+
+    private final DatosFinancierosJdbcRepository datosFinancierosJdbcRepository;
+    private final Path archivo;
+    private final int mesesFuturos;
+
+    private volatile SerieFinanciera serie;
+    private volatile boolean pendiente;
+
+    /** Protege el reemplazo de la serie y duranteReconstruccion. */
+    private final Object cambios = new Object();
+    /** Cambios recibidos mientras se regenera, para aplicarlos a la serie nueva. */
+    private List<CambioDatosFinancieros> duranteReconstruccion;
+
+    public SerieFinancieraService(DatosFinancierosJdbcRepository datosFinancierosJdbcRepository,
+                                  @Value("${kinia.financieros.serie.archivo:data/serie-financiera.bin}") String archivo,
+                                  @Value("${kinia.financieros.serie.meses-futuros:12}") int mesesFuturos) {
+        this.datosFinancierosJdbcRepository = datosFinancierosJdbcRepository;
+        this.archivo = Path.of(archivo).toAbsolutePath();
+        this.mesesFuturos = mesesFuturos;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        try {
+            SerieFinanciera existente = SerieFinanciera.abrir(archivo);
+            LocalDateTime ultima = datosFinancierosJdbcRepository.findUltimaActualizacion();
+            boolean alDia = ultima == null
+                    || ultima.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() <= existente.getGenerado();
+            boolean cubreMesActual = existente.getPeriodoBase() + existente.getPeriodos()
+                    > SerieFinanciera.periodo(YearMonth.now());
+            if (alDia && cubreMesActual) {
+                serie = existente;
+                log.info("Serie financiera mapeada: {} empresas × {} meses", existente.getCantidadEmpresas(),
+                        existente.getPeriodos());
+                return;
+            }
+        } catch (NoSuchFileException e) {
+            log.debug("Serie financiera inexistente: {}", archivo);
+        } catch (IOException e) {
+            log.warn("Serie financiera ilegible, se regenera: {}", e.getMessage());
+        }
+        reconstruir();
+    }
+
+    @Scheduled(fixedDelayString = "${kinia.financieros.serie.revision-ms:60000}",
+               initialDelayString = "${kinia.financieros.serie.revision-ms:60000}")
+    public void revisarPendientes() {
+        if (pendiente) {
+            reconstruir();
+        }
+    }
+
+    /**
+     * Regenera el archivo completo (se escribe aparte y se reemplaza de una vez).
+     */
+    @Scheduled(cron = "${kinia.financieros.serie.cron:0 30 2 * * *}")
+    public synchronized void reconstruir() {
+        long inicio = System.currentTimeMillis();
+        pendiente = false;
+        synchronized (cambios) {
+            duranteReconstruccion = new ArrayList<>();
+        }
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        try {
+            List<UUID> empresas = datosFinancierosJdbcRepository.findEmpresas();
+            int[] rango = datosFinancierosJdbcRepository.findRangoPeriodos();
+            int actual = SerieFinanciera.periodo(YearMonth.now());
+            int desde = rango != null ? Math.min(rango[0], actual) : actual;
+            int hasta = Math.max(rango != null ? rango[1] : actual, actual) + mesesFuturos;
+
+            Files.createDirectories(archivo.getParent());
+            SerieFinanciera nueva = SerieFinanciera.crear(temporal, empresas, desde, hasta - desde + 1, inicio);
+            long[] valores = new long[MetricaFinanciera.values().length];
+            long[] filas = {0};
+            datosFinancierosJdbcRepository.recorrer((empresaId, periodo, anual, crudos) -> {
+                MetricaFinanciera.escalar(crudos, valores);
+                nueva.poner(empresaId, periodo, valores, !anual);
+                filas[0]++;
+            });
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            int repetidos;
+            synchronized (cambios) {
+                repetidos = duranteReconstruccion.size();
+                for (CambioDatosFinancieros cambio : duranteReconstruccion) {
+                    if (!aplicarEn(nueva, cambio)) {
+                        pendiente = true;
+                    }
+                }
+                serie = nueva;
+                duranteReconstruccion = null;
+            }
+            log.debug("Serie financiera: {} cambios recibidos durante la generación", repetidos);
+            log.info("Serie financiera generada: {} filas, {} empresas × {} meses en {} ms", filas[0],
+                    empresas.size(), nueva.getPeriodos(), System.currentTimeMillis() - inicio);
+        } catch (IOException e) {
+            pendiente = true;
+            throw new UncheckedIOException("No se pudo generar la serie financiera en " + archivo, e);
+        } catch (RuntimeException e) {
+            pendiente = true;
+            throw e;
+        } finally {
+            synchronized (cambios) {
+                duranteReconstruccion = null;
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aplicar(CambioDatosFinancieros cambio) {
+        if (cambio.isProyeccion()) {
+            return;
+        }
+        synchronized (cambios) {
+            if (duranteReconstruccion != null) {
+                duranteReconstruccion.add(cambio);
+            }
+            SerieFinanciera actual = serie;
+            if (actual == null || !aplicarEn(actual, cambio)) {
+                pendiente = true;
+            }
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // CONSULTAS
+    // ══════════════════════════════════════════════════════════════
+
+    /**
+     * Serie mensual de una empresa entre {@code desde} y {@code hasta}
+     * (inclusive), en enteros escalados; SIN_DATO donde no hay período.
+     */
+    public long[] serie(UUID empresaId, MetricaFinanciera metrica, YearMonth desde, YearMonth hasta) {
+        SerieFinanciera actual = disponible();
+        int inicio = SerieFinanciera.periodo(desde);
+        long[] valores = new long[Math.max(SerieFinanciera.periodo(hasta) - inicio + 1, 0)];
+        int empresa = actual.indice(empresaId);
+        if (empresa < 0) {
+            Arrays.fill(valores, SIN_DATO);
+        } else {
+            actual.leer(empresa, metrica, inicio, valores.length, valores);
+        }
+        return valores;
+    }
+
+    /**
+     * Pendiente (mínimos cuadrados) de una serie mensual, en unidades de la
+     * métrica por mes.
+     *
+     * @param valores enteros escalados de la métrica, SIN_DATO donde falta
+     * @return null con menos de dos períodos con dato
+     */
+    public static Double pendiente(long[] valores, MetricaFinanciera metrica) {
+        double escala = Math.pow(10, metrica.getEscala());
+        int n = 0;
+        double sx = 0, sy = 0, sxx = 0, sxy = 0;
+        for (int x = 0; x < valores.length; x++) {
+            if (valores[x] == SIN_DATO) {
+                continue;
+            }
+            double y = valores[x] / escala;
+            n++;
+            sx += x;
+            sy += y;
+            sxx += (double) x * x;
+            sxy += x * y;
+        }
+        double divisor = n * sxx - sx * sx;
+        return n >= 2 && divisor != 0 ? (n * sxy - sx * sy) / divisor : null;
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // AUXILIARES
+    // ══════════════════════════════════════════════════════════════
+
+    private SerieFinanciera disponible() {
+        SerieFinanciera actual = serie;
+        if (actual == null) {
+            throw new IllegalStateException("Serie financiera no disponible");
+        }
+        return actual;
+    }
+
+    private static boolean aplicarEn(SerieFinanciera destino, CambioDatosFinancieros cambio) {
+        boolean anual = cambio.getPeriodoMes() == null;
+        int periodo = SerieFinanciera.periodo(cambio.getPeriodoAno(), anual ? 12 : cambio.getPeriodoMes());
+        long[] valores = new long[MetricaFinanciera.values().length];
+        MetricaFinanciera.escalar(cambio.getCrudos().clone(), valores);
+        return destino.poner(cambio.getEmpresaId(), periodo, valores, !anual);
+    }
+}
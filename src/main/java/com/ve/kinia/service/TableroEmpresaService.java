@@ -0,0 +1,151 @@
+package com.ve.kinia.service;
+
+import com.ve.kinia.dto.CambioCartera;
+import com.ve.kinia.dto.CambioScoring;
+import com.ve.kinia.model.TableroEmpresa;
+import com.ve.kinia.repository.EmpresaRepository;
+import com.ve.kinia.repository.TableroEmpresaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mantiene la proyección tablero_empresas (TableroEmpresa), de la que se
+ * lee el tablero de cada empresa.
+ *
+ * Los eventos de dominio (CambioCartera: facturas, pagos y solicitudes;
+ * CambioScoring: scores nuevos) solo marcan la empresa como pendiente
+ * después del commit. Un proceso periódico recalcula las pendientes por
+ * lotes con una sola sentencia por lote, así una carga masiva de facturas
+ * de una empresa se traduce en un recálculo y no en uno por factura.
+ *
+ * Lo que se pierda (reinicio con pendientes) y el envejecimiento de los
+ * vencimientos lo corrige la reconstrucción nocturna de todas las
+ * empresas, que también puede correrse al iniciar
+ * ({@code kinia.tablero.reconstruir-al-iniciar}) para recuperar la tabla.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TableroEmpresaService {
+
+    private static final UUID UUID_INICIAL = new UUID(0L, 0L);
+
+    private final TableroEmpresaRepository tableroRepository;
+    private final EmpresaRepository empresaRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Set<UUID> pendientes = ConcurrentHashMap.newKeySet();
+
+    @Value("${kinia.tablero.tamano-lote:500}")
+    private int tamanoLote;
+
+    @Value("${kinia.tablero.max-deudores:10}")
+    private int maxDeudores;
+
+    @Value("${kinia.tablero.reconstruir-al-iniciar:false}")
+    private boolean reconstruirAlIniciar;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (reconstruirAlIniciar) {
+            reconstruir();
+        }
+    }
+
+    /**
+     * Tablero de la empresa; si todavía no tiene fila (empresa nueva) se
+     * calcula en el momento.
+     */
+    public TableroEmpresa obtener(UUID empresaId) {
+        return tableroRepository.findById(empresaId).orElseGet(() -> {
+            transactionTemplate.execute(status -> tableroRepository.recalcular(List.of(empresaId),
+                    ahora(), maxDeudores));
+            return tableroRepository.findById(empresaId)
+                    .orElseThrow(() -> new IllegalArgumentException("Empresa no encontrada: " + empresaId));
+        });
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // EVENTOS
+    // ══════════════════════════════════════════════════════════════
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aplicar(CambioCartera cambio) {
+        pendientes.addAll(cambio.getEmpresaIds());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aplicar(CambioScoring cambio) {
+        pendientes.addAll(cambio.getEmpresaIds());
+    }
+
+    @Scheduled(fixedDelayString = "${kinia.tablero.intervalo-ms:2000}")
+    public synchronized void aplicarPendientes() {
+        if (pendientes.isEmpty()) {
+            return;
+        }
+        List<UUID> lote = new ArrayList<>(tamanoLote);
+        Iterator<UUID> it = pendientes.iterator();
+        while (it.hasNext()) {
+            lote.add(it.next());
+            it.remove();
+            if (lote.size() >= tamanoLote || !it.hasNext()) {
+                List<UUID> ids = List.copyOf(lote);
+                lote.clear();
+                try {
+                    transactionTemplate.execute(status -> tableroRepository.recalcular(ids, ahora(), maxDeudores));
+                } catch (RuntimeException e) {
+                    pendientes.addAll(ids);
+                    log.warn("No se pudo recalcular el tablero de {} empresas, se reintenta: {}",
+                            ids.size(), e.getMessage());
+                    return;
+                }
+            }
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // RECONSTRUCCIÓN
+    // ══════════════════════════════════════════════════════════════
+
+    /**
+     * Recalcula el tablero de todas las empresas en chunks keyset.
+     *
+     * @return filas escritas
+     */
+    @Scheduled(cron = "${kinia.tablero.reconstruccion.cron:0 30 4 * * *}")
+    public synchronized int reconstruir() {
+        long inicio = System.currentTimeMillis();
+        UUID cursor = UUID_INICIAL;
+        int escritas = 0;
+        while (true) {
+            List<UUID> ids = empresaRepository.findIdsDespuesDe(cursor, PageRequest.of(0, tamanoLote));
+            if (ids.isEmpty()) {
+                break;
+            }
+            cursor = ids.get(ids.size() - 1);
+            escritas += transactionTemplate.execute(status -> tableroRepository.recalcular(ids, ahora(), maxDeudores));
+        }
+        log.info("Reconstrucción de tableros: {} empresas en {} ms", escritas, System.currentTimeMillis() - inicio);
+        return escritas;
+    }
+
+    /** Precisión de timestamp de PostgreSQL, para comparar calculado_en sin falsos "más nuevo". */
+    private static LocalDateTime ahora() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+}
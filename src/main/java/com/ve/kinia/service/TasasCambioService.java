@@ -0,0 +1,210 @@
+package com.ve.kinia.service;
+
+import com.ve.kinia.dto.TasaDiaria;
+import com.ve.kinia.model.TasaCambio;
+import com.ve.kinia.repository.TasaCambioRepository;
+import com.ve.kinia.util.LectorTasasCambioCsv;
+import com.ve.kinia.util.TablaTasas;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Tasas de cambio oficiales del BCV y conversión de montos entre monedas.
+ *
+ * Las tasas llegan como archivos CSV (LectorTasasCambioCsv) que se dejan
+ * en {@code kinia.tasas.directorio}; cada revisión los guarda en
+ * tasas_cambio y los mueve a procesados/ (o a rechazados/ si tienen
+ * errores de formato). Si la base falla, el archivo se queda para la
+ * siguiente revisión.
+ *
+ * Las consultas se responden desde una TablaTasas en memoria, que se
+ * vuelve a leer completa en cada revisión (son pocas miles de filas): así
+ * también se ven las tasas cargadas por otras instancias. La tabla es
+ * inmutable y se reemplaza de una vez; los lectores no toman locks.
+ */
+@Slf4j
+@Service
+public class TasasCambioService {
+
+    private static final String FUENTE_ARCHIVO = "BCV";
+
+    private final TasaCambioRepository tasaCambioRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Path directorio;
+
+    private volatile TablaTasas tabla = TablaTasas.vacia();
+
+    public TasasCambioService(TasaCambioRepository tasaCambioRepository,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${kinia.tasas.directorio:data/tasas-bcv}") String directorio) {
+        this.tasaCambioRepository = tasaCambioRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.directorio = Path.of(directorio).toAbsolutePath();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        revisar();
+    }
+
+    @Scheduled(fixedDelayString = "${kinia.tasas.revision-ms:300000}",
+               initialDelayString = "${kinia.tasas.revision-ms:300000}")
+    public synchronized void revisar() {
+        importarArchivos();
+        recargar();
+    }
+
+    /**
+     * Vuelve a leer todas las tasas de la base y publica la tabla nueva.
+     * Sincronizado con {@link #revisar}: una revisión que leyó la tabla
+     * antes de un {@link #registrar} no puede publicar después que él.
+     */
+    public synchronized void recargar() {
+        TablaTasas.Carga carga = TablaTasas.carga();
+        for (TasaCambio t : tasaCambioRepository.findTodasOrdenadas()) {
+            carga.agregar(t.getMoneda(), t.getFecha(), t.getTasa());
+        }
+        TablaTasas nueva = carga.construir();
+        if (nueva.cantidad() != tabla.cantidad()) {
+            log.info("Tasas de cambio: {} tasas de {}", nueva.cantidad(), nueva.monedas());
+        }
+        tabla = nueva;
+    }
+
+    /**
+     * Registra (o corrige) la tasa de un día y la publica de inmediato.
+     */
+    public void registrar(String moneda, LocalDate fecha, BigDecimal tasa, String fuente) {
+        if (moneda == null || moneda.length() != 3) {
+            throw new IllegalArgumentException("Moneda inválida: " + moneda);
+        }
+        if (tasa == null || tasa.signum() <= 0) {
+            throw new IllegalArgumentException("La tasa debe ser mayor a cero");
+        }
+        transactionTemplate.executeWithoutResult(status -> tasaCambioRepository.registrar(
+                moneda.toUpperCase(Locale.ROOT), fecha, tasa, fuente));
+        recargar();
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // CONSULTA Y CONVERSIÓN
+    // ══════════════════════════════════════════════════════════════
+
+    /**
+     * Foto actual de las tasas. Para convertir muchos montos (reportes de
+     * cartera) conviene tomarla una vez y usarla en todo el recorrido.
+     */
+    public TablaTasas tabla() {
+        return tabla;
+    }
+
+    /** Bolívares por unidad en la fecha (última publicación igual o anterior). */
+    public Optional<BigDecimal> tasa(String moneda, LocalDate fecha) {
+        return tabla.tasa(moneda, fecha);
+    }
+
+    /**
+     * @throws IllegalStateException si alguna de las monedas no tiene tasa en la fecha
+     */
+    public BigDecimal convertir(BigDecimal monto, String desde, String hacia, LocalDate fecha) {
+        return tabla.convertir(monto, desde, hacia, fecha);
+    }
+
+    /**
+     * @throws IllegalStateException si la moneda no tiene tasa en la fecha
+     */
+    public BigDecimal aVes(BigDecimal monto, String moneda, LocalDate fecha) {
+        return tabla.convertir(monto, moneda, TablaTasas.MONEDA_BASE, fecha);
+    }
+
+    /** Como {@link #aVes} pero sin tasa devuelve el monto sin convertir. */
+    public BigDecimal equivalenteVes(BigDecimal monto, String moneda, LocalDate fecha) {
+        return tabla.equivalenteVes(monto, moneda, fecha);
+    }
+
+    /**
+     * Tasa BCV para completar las tasas de Factura, PagoRecibido y
+     * DatosFinancieros: null para bolívares o si no hay publicación.
+     */
+    public BigDecimal tasaParaRegistro(String moneda, LocalDate fecha) {
+        if (moneda == null || TablaTasas.MONEDA_BASE.equalsIgnoreCase(moneda)) {
+            return null;
+        }
+        return tabla.tasa(moneda, fecha).orElse(null);
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // ARCHIVOS
+    // ══════════════════════════════════════════════════════════════
+
+    private void importarArchivos() {
+        if (!Files.isDirectory(directorio)) {
+            return;
+        }
+        List<Path> archivos;
+        try (Stream<Path> listado = Files.list(directorio)) {
+            archivos = listado
+                    .filter(p -> Files.isRegularFile(p)
+                            && p.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv"))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            log.warn("No se pudo listar {}: {}", directorio, e.getMessage());
+            return;
+        }
+
+        for (Path archivo : archivos) {
+            List<TasaDiaria> tasas = new ArrayList<>();
+            try (InputStream entrada = Files.newInputStream(archivo)) {
+                LectorTasasCambioCsv.leer(entrada, tasas::add);
+            } catch (IOException | IllegalArgumentException e) {
+                log.error("Archivo de tasas {} rechazado: {}", archivo.getFileName(), e.getMessage());
+                mover(archivo, "rechazados");
+                continue;
+            }
+            try {
+                Integer cambiadas = transactionTemplate.execute(status -> {
+                    int total = 0;
+                    for (TasaDiaria t : tasas) {
+                        total += tasaCambioRepository.registrar(t.getMoneda(), t.getFecha(), t.getTasa(), FUENTE_ARCHIVO);
+                    }
+                    return total;
+                });
+                log.info("Archivo de tasas {}: {} tasas leídas, {} nuevas o corregidas",
+                        archivo.getFileName(), tasas.size(), cambiadas);
+                mover(archivo, "procesados");
+            } catch (RuntimeException e) {
+                log.error("No se pudieron guardar las tasas de {}, se reintenta en la próxima revisión: {}",
+                        archivo.getFileName(), e.getMessage());
+            }
+        }
+    }
+
+    private void mover(Path archivo, String carpeta) {
+        try {
+            Path destino = directorio.resolve(carpeta);
+            Files.createDirectories(destino);
+            Files.move(archivo, destino.resolve(archivo.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("No se pudo mover {} a {}: {}", archivo.getFileName(), carpeta, e.getMessage());
+        }
+    }
+}
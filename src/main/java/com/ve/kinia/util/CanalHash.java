@@ -0,0 +1,58 @@
+package com.ve.kinia.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Canal de escritura que calcula el SHA-256 y cuenta los bytes de lo que
+ * pasa hacia el canal destino, sin guardar el contenido en memoria.
+ *
+ * No cierra el canal destino.
+ */
+public final class CanalHash implements WritableByteChannel {
+
+    private final WritableByteChannel destino;
+    private final MessageDigest digest;
+    private long bytes;
+
+    public CanalHash(WritableByteChannel destino) {
+        this.destino = destino;
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    @Override
+    public int write(ByteBuffer origen) throws IOException {
+        ByteBuffer vista = origen.duplicate();
+        int escritos = destino.write(origen);
+        vista.limit(vista.position() + escritos);
+        digest.update(vista);
+        bytes += escritos;
+        return escritos;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return destino.isOpen();
+    }
+
+    @Override
+    public void close() {
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    /** Hash en hexadecimal (minúsculas). Solo se puede pedir una vez. */
+    public String hashHex() {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,157 @@
+package com.ve.kinia.util;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.Transient;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.time.temporal.Temporal;
+import java.util.*;
+
+/**
+ * Instantáneas y diferencias de entidades para la auditoría.
+ *
+ * Una instantánea es un mapa campo → valor JSON-estable:
+ *   - BigDecimal como texto (sin perder escala), enums por nombre,
+ *     fechas y UUID con toString()
+ *   - Asociaciones @ManyToOne/@OneToOne: solo el id de la entidad
+ *   - Se omiten colecciones, campos @Transient, credenciales y updatedAt
+ *
+ * diferencias() devuelve solo los campos que cambiaron; aplicar() rehace
+ * una instantánea a partir de otra y una cadena de diferencias.
+ */
+public final class DiffAuditoria {
+
+    private static final Set<String> EXCLUIDOS = Set.of(
+            "passwordHash", "tokenVerificacion", "tokenInvitacion", "updatedAt");
+
+    private static final ClassValue<List<Field>> CAMPOS = new ClassValue<>() {
+        @Override
+        protected List<Field> computeValue(Class<?> tipo) {
+            List<Field> campos = new ArrayList<>();
+            for (Class<?> c = tipo; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field f : c.getDeclaredFields()) {
+                    if (auditable(f)) {
+                        f.setAccessible(true);
+                        campos.add(f);
+                    }
+                }
+            }
+            return List.copyOf(campos);
+        }
+    };
+
+    private DiffAuditoria() {
+    }
+
+    public static Map<String, Object> instantanea(Object entidad) {
+        if (entidad == null) {
+            return null;
+        }
+        Map<String, Object> valores = new LinkedHashMap<>();
+        for (Field f : CAMPOS.get(entidad.getClass())) {
+            try {
+                valores.put(f.getName(), normalizar(f.get(entidad)));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("No se pudo leer " + f, e);
+            }
+        }
+        return valores;
+    }
+
+    /**
+     * Par de mapas con los campos que cambiaron: valores anteriores y nuevos.
+     * Un campo que pasa a null aparece con valor null en {@code despues}.
+     */
+    public record Diferencia(Map<String, Object> antes, Map<String, Object> despues) {
+
+        public boolean isVacia() {
+            return despues.isEmpty();
+        }
+    }
+
+    public static Diferencia diferencias(Map<String, Object> antes, Map<String, Object> despues) {
+        Map<String, Object> previos = new LinkedHashMap<>();
+        Map<String, Object> nuevos = new LinkedHashMap<>();
+        Set<String> campos = new LinkedHashSet<>(despues.keySet());
+        campos.addAll(antes.keySet());
+        for (String campo : campos) {
+            Object anterior = antes.get(campo);
+            Object nuevo = despues.get(campo);
+            if (!Objects.equals(anterior, nuevo)) {
+                previos.put(campo, anterior);
+                nuevos.put(campo, nuevo);
+            }
+        }
+        return new Diferencia(previos, nuevos);
+    }
+
+    /**
+     * Aplica sobre {@code estado} (se modifica) los valores nuevos de una diferencia.
+     */
+    public static void aplicar(Map<String, Object> estado, Map<String, Object> cambios) {
+        if (cambios != null) {
+            estado.putAll(cambios);
+        }
+    }
+
+    public static Object id(Object entidad) {
+        try {
+            return entidad.getClass().getMethod("getId").invoke(entidad);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("La entidad " + entidad.getClass().getSimpleName() + " no tiene getId()", e);
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // AUXILIARES
+    // ══════════════════════════════════════════════════════════════
+
+    private static boolean auditable(Field f) {
+        int mod = f.getModifiers();
+        return !Modifier.isStatic(mod)
+                && !Modifier.isTransient(mod)
+                && !f.isAnnotationPresent(Transient.class)
+                && !f.isAnnotationPresent(OneToMany.class)
+                && !f.isAnnotationPresent(ManyToMany.class)
+                && !Collection.class.isAssignableFrom(f.getType())
+                && !EXCLUIDOS.contains(f.getName());
+    }
+
+    private static Object normalizar(Object valor) {
+        if (valor == null || valor instanceof String || valor instanceof Boolean
+                || valor instanceof Integer || valor instanceof Long) {
+            return valor;
+        }
+        if (valor instanceof BigDecimal b) {
+            return b.toPlainString();
+        }
+        if (valor instanceof Enum<?> e) {
+            return e.name();
+        }
+        if (valor instanceof Temporal || valor instanceof UUID) {
+            return valor.toString();
+        }
+        if (valor instanceof Map<?, ?> mapa) {
+            return new LinkedHashMap<>(mapa);
+        }
+        if (esEntidad(valor.getClass())) {
+            Object id = id(valor);
+            return id != null ? id.toString() : null;
+        }
+        return valor.toString();
+    }
+
+    /** Incluye proxies de Hibernate (subclases de la entidad). */
+    private static boolean esEntidad(Class<?> tipo) {
+        for (Class<?> c = tipo; c != null; c = c.getSuperclass()) {
+            if (c.isAnnotationPresent(Entity.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
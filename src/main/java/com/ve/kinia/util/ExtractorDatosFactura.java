@@ -0,0 +1,161 @@
+package com.ve.kinia.util;
+
+import com.ve.kinia.dto.FilaImportacionFactura;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extracción de los datos de una factura venezolana a partir del texto de
+ * un PDF (etiquetas habituales: "Factura N°", "N° de Control", "Base
+ * imponible", "IVA 16%", "Total a pagar", RIF del cliente) o de una
+ * factura XML ya leída con LectorFacturasXml.
+ *
+ * Resultado (claves de Factura.datosExtraidos, solo las encontradas):
+ *   numeroFactura, numeroControl, rifDeudor      texto (RIF normalizado)
+ *   fechaEmision, fechaVencimiento               yyyy-MM-dd
+ *   subtotal, iva, total                         decimal con punto
+ *
+ * Los montos aceptan formato venezolano (1.234.567,89) y con punto decimal.
+ */
+public final class ExtractorDatosFactura {
+
+    private static final String FECHA = "(\\d{1,2}[/.-]\\d{1,2}[/.-]\\d{4}|\\d{4}-\\d{2}-\\d{2})";
+    private static final String MONTO = "(?:bs\\.?\\s*|ves\\s*|usd\\s*|\\$\\s*)?"
+            + "(\\d{1,3}(?:[. ]\\d{3})+(?:,\\d{1,2})?|\\d+(?:[.,]\\d{1,2})?)";
+    private static final int OPCIONES = Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+
+    private static final Pattern NUMERO_FACTURA = Pattern.compile(
+            "factura\\s*(?:n[°º.o]*|nro\\.?|n[uú]mero|#)\\s*:?\\s*([A-Z0-9][A-Z0-9-]{0,29})", OPCIONES);
+    private static final Pattern NUMERO_CONTROL = Pattern.compile(
+            "(?:n[°º.o]*\\s*(?:de\\s*)?control|control\\s*(?:n[°º.o]*|nro\\.?))\\s*:?\\s*([A-Z0-9][A-Z0-9-]{3,19})", OPCIONES);
+    private static final Pattern FECHA_EMISION = Pattern.compile(
+            "fecha\\s*(?:de\\s*)?(?:emisi[oó]n)?\\s*:?\\s*" + FECHA, OPCIONES);
+    private static final Pattern FECHA_VENCIMIENTO = Pattern.compile(
+            "vencimiento\\s*:?\\s*" + FECHA, OPCIONES);
+    private static final Pattern SUBTOTAL = Pattern.compile(
+            "(?:sub\\s*-?\\s*total|base\\s*imponible)\\s*:?\\s*" + MONTO, OPCIONES);
+    private static final Pattern IVA = Pattern.compile(
+            "i\\.?v\\.?a\\.?\\s*(?:\\(?\\s*\\d{1,2}(?:[.,]\\d+)?\\s*%\\s*\\)?)?\\s*:?\\s*" + MONTO, OPCIONES);
+    private static final Pattern TOTAL = Pattern.compile(
+            "(?<!sub)(?<!sub )(?<!sub-)total\\s*(?:a\\s*pagar|general|factura)?\\s*:?\\s*" + MONTO, OPCIONES);
+    private static final Pattern RIF_CLIENTE = Pattern.compile(
+            "(?:cliente|comprador|adquiriente|raz[oó]n\\s*social)[^\\n]{0,80}?r\\.?i\\.?f\\.?\\s*:?\\s*([JGVEPC]-?\\d{8,9}-?\\d)", OPCIONES);
+    private static final Pattern RIF = Pattern.compile("\\b([JGVEPC]-?\\d{8,9}-?\\d)\\b", OPCIONES);
+
+    private static final DateTimeFormatter FECHA_DMY = DateTimeFormatter.ofPattern("d/M/yyyy");
+
+    private ExtractorDatosFactura() {
+    }
+
+    /**
+     * @param rifEmisor RIF de la empresa que emitió la factura; se descarta
+     *                  como RIF del deudor cuando el texto no lo etiqueta
+     */
+    public static Map<String, Object> desdeTexto(String texto, String rifEmisor) {
+        Map<String, Object> datos = new LinkedHashMap<>();
+        poner(datos, "numeroFactura", buscar(NUMERO_FACTURA, texto));
+        poner(datos, "numeroControl", buscar(NUMERO_CONTROL, texto));
+        poner(datos, "fechaEmision", fecha(buscar(FECHA_EMISION, texto)));
+        poner(datos, "fechaVencimiento", fecha(buscar(FECHA_VENCIMIENTO, texto)));
+        poner(datos, "subtotal", monto(buscar(SUBTOTAL, texto)));
+        poner(datos, "iva", monto(buscar(IVA, texto)));
+        poner(datos, "total", monto(buscar(TOTAL, texto)));
+        poner(datos, "rifDeudor", rifDeudor(texto, rifEmisor));
+        return datos;
+    }
+
+    public static Map<String, Object> desdeFila(FilaImportacionFactura fila) {
+        Map<String, Object> datos = new LinkedHashMap<>();
+        poner(datos, "numeroFactura", fila.getNumeroFactura());
+        poner(datos, "numeroControl", fila.getNumeroControl());
+        poner(datos, "fechaEmision", fecha(fila.getFechaEmision()));
+        poner(datos, "fechaVencimiento", fecha(fila.getFechaVencimiento()));
+        poner(datos, "subtotal", monto(fila.getSubtotal()));
+        poner(datos, "iva", monto(fila.getIva()));
+        poner(datos, "total", monto(fila.getTotal()));
+        poner(datos, "rifDeudor", rif(fila.getRifDeudor()));
+        return datos;
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // NORMALIZACIÓN
+    // ══════════════════════════════════════════════════════════════
+
+    /** dd/MM/yyyy, dd-MM-yyyy, dd.MM.yyyy o yyyy-MM-dd; null si no es una fecha válida. */
+    static String fecha(String valor) {
+        if (valor == null) {
+            return null;
+        }
+        try {
+            if (valor.length() == 10 && valor.charAt(4) == '-') {
+                return LocalDate.parse(valor).toString();
+            }
+            return LocalDate.parse(valor.replace('-', '/').replace('.', '/'), FECHA_DMY).toString();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /** "1.234.567,89", "1234567,89", "1 234,50" o "1234567.89"; null si no es un monto. */
+    static String monto(String valor) {
+        if (valor == null) {
+            return null;
+        }
+        String v = valor.trim().replace(" ", "");
+        if (v.indexOf(',') >= 0) {
+            v = v.replace(".", "").replace(',', '.');
+        } else if (v.matches("\\d{1,3}(\\.\\d{3})+")) {
+            v = v.replace(".", "");
+        }
+        try {
+            return new BigDecimal(v).toPlainString();
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String rifDeudor(String texto, String rifEmisor) {
+        String etiquetado = rif(buscar(RIF_CLIENTE, texto));
+        if (etiquetado != null) {
+            return etiquetado;
+        }
+        Matcher m = RIF.matcher(texto);
+        while (m.find()) {
+            String rif = rif(m.group(1));
+            if (rif != null && !rif.equals(rifEmisor)) {
+                return rif;
+            }
+        }
+        return null;
+    }
+
+    private static String rif(String valor) {
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return RifValidator.parsear(valor).completo();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String buscar(Pattern patron, String texto) {
+        Matcher m = patron.matcher(texto);
+        return m.find() ? m.group(1).trim().toUpperCase(Locale.ROOT) : null;
+    }
+
+    private static void poner(Map<String, Object> datos, String campo, String valor) {
+        if (valor != null && !valor.isBlank()) {
+            datos.put(campo, valor);
+        }
+    }
+}
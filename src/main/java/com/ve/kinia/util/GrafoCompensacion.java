@@ -0,0 +1,202 @@
+package com.ve.kinia.util;
+
+import java.util.Arrays;
+
+/**
+ * Compensación multilateral de deudas entre empresas: grafo dirigido
+ * deudor → acreedor con el saldo abierto (céntimos) como peso.
+ *
+ * Todo ciclo de deudas (A debe a B, B debe a A; o A→B→C→A) se puede
+ * cancelar restando su arista mínima a cada arista del ciclo: la posición
+ * neta de cada empresa no cambia. compensar() cancela ciclos hasta que el
+ * grafo queda acíclico y devuelve cuánto se compensó en cada arista.
+ *
+ * Estructuras primitivas (CSR: offsets + arrays de aristas), sin objetos
+ * por nodo ni por arista:
+ *   1. Tarjan iterativo: solo las aristas dentro de una misma componente
+ *      fuertemente conexa pueden estar en un ciclo; las demás se ignoran.
+ *   2. DFS con puntero por nodo: al encontrar una arista hacia un nodo en
+ *      la pila se cancela el ciclo y se retrocede hasta la primera arista
+ *      que quedó en cero. Los punteros solo avanzan sobre aristas que ya no
+ *      sirven (en cero, hacia otra componente o hacia un nodo terminado).
+ *
+ * Cada cancelación deja al menos una arista en cero: costo O(V + E + Σ
+ * largo de ciclos cancelados), casi lineal con los grafos de facturas.
+ */
+public final class GrafoCompensacion {
+
+    private static final byte SIN_VISITAR = 0;
+    private static final byte EN_PILA = 1;
+    private static final byte TERMINADO = 2;
+
+    private final int nodos;
+    private final int[] origen;
+    private final int[] destino;
+    private final long[] peso;
+    /** offsets[u]..offsets[u+1]-1: posiciones en {@code orden} de las aristas que salen de u. */
+    private final int[] offsets;
+    private final int[] orden;
+
+    /**
+     * @param deudores   nodo deudor de cada arista (0..nodos-1)
+     * @param acreedores nodo acreedor de cada arista
+     * @param montos     saldo de cada arista, en céntimos (≥ 0)
+     */
+    public GrafoCompensacion(int nodos, int[] deudores, int[] acreedores, long[] montos) {
+        if (deudores.length != acreedores.length || deudores.length != montos.length) {
+            throw new IllegalArgumentException("Las aristas deben tener deudor, acreedor y monto");
+        }
+        this.nodos = nodos;
+        this.origen = deudores.clone();
+        this.destino = acreedores.clone();
+        this.peso = montos.clone();
+        this.offsets = new int[nodos + 1];
+        this.orden = new int[origen.length];
+        for (int u : origen) {
+            offsets[u + 1]++;
+        }
+        for (int u = 0; u < nodos; u++) {
+            offsets[u + 1] += offsets[u];
+        }
+        int[] siguiente = Arrays.copyOf(offsets, nodos);
+        for (int e = 0; e < origen.length; e++) {
+            orden[siguiente[origen[e]]++] = e;
+        }
+    }
+
+    /**
+     * @return monto compensado de cada arista (mismo índice que en el constructor)
+     */
+    public long[] compensar() {
+        int[] componente = componentes();
+        long[] original = peso.clone();
+
+        byte[] estado = new byte[nodos];
+        int[] puntero = Arrays.copyOf(offsets, nodos);
+        int[] posicion = new int[nodos];
+        int[] pilaNodos = new int[nodos];
+        int[] pilaAristas = new int[nodos];
+
+        for (int inicio = 0; inicio < nodos; inicio++) {
+            if (estado[inicio] != SIN_VISITAR) {
+                continue;
+            }
+            int tope = 0;
+            pilaNodos[0] = inicio;
+            posicion[inicio] = 0;
+            estado[inicio] = EN_PILA;
+            while (tope >= 0) {
+                int u = pilaNodos[tope];
+                if (puntero[u] == offsets[u + 1]) {
+                    estado[u] = TERMINADO;
+                    tope--;
+                    continue;
+                }
+                int e = orden[puntero[u]];
+                int v = destino[e];
+                if (peso[e] == 0 || componente[v] != componente[u] || estado[v] == TERMINADO) {
+                    puntero[u]++;
+                    continue;
+                }
+                if (estado[v] == SIN_VISITAR) {
+                    pilaAristas[tope] = e;
+                    tope++;
+                    pilaNodos[tope] = v;
+                    posicion[v] = tope;
+                    estado[v] = EN_PILA;
+                    continue;
+                }
+                // Ciclo: pilaNodos[posicion[v]..tope] y la arista e de vuelta a v
+                int desde = posicion[v];
+                long minimo = peso[e];
+                for (int i = desde; i < tope; i++) {
+                    minimo = Math.min(minimo, peso[pilaAristas[i]]);
+                }
+                peso[e] -= minimo;
+                int corte = tope;
+                for (int i = desde; i < tope; i++) {
+                    peso[pilaAristas[i]] -= minimo;
+                    if (peso[pilaAristas[i]] == 0 && corte == tope) {
+                        corte = i;
+                    }
+                }
+                // Los nodos por encima del corte pueden estar en otros ciclos: vuelven a sin visitar
+                for (int i = tope; i > corte; i--) {
+                    estado[pilaNodos[i]] = SIN_VISITAR;
+                }
+                tope = corte;
+            }
+        }
+
+        long[] compensado = new long[peso.length];
+        for (int e = 0; e < peso.length; e++) {
+            compensado[e] = original[e] - peso[e];
+        }
+        return compensado;
+    }
+
+    /**
+     * Tarjan iterativo (sin recursión: decenas de miles de nodos).
+     * Considera solo aristas con peso > 0.
+     */
+    private int[] componentes() {
+        int[] indice = new int[nodos];
+        int[] bajo = new int[nodos];
+        int[] componente = new int[nodos];
+        boolean[] enPila = new boolean[nodos];
+        int[] pila = new int[nodos];
+        int[] llamadas = new int[nodos];
+        int[] puntero = new int[nodos];
+        Arrays.fill(indice, -1);
+        int contador = 0;
+        int componentes = 0;
+        int topePila = 0;
+
+        for (int raiz = 0; raiz < nodos; raiz++) {
+            if (indice[raiz] != -1) {
+                continue;
+            }
+            int topeLlamadas = 0;
+            llamadas[0] = raiz;
+            indice[raiz] = bajo[raiz] = contador++;
+            puntero[raiz] = offsets[raiz];
+            pila[topePila++] = raiz;
+            enPila[raiz] = true;
+            while (topeLlamadas >= 0) {
+                int u = llamadas[topeLlamadas];
+                if (puntero[u] < offsets[u + 1]) {
+                    int e = orden[puntero[u]++];
+                    if (peso[e] == 0) {
+                        continue;
+                    }
+                    int v = destino[e];
+                    if (indice[v] == -1) {
+                        indice[v] = bajo[v] = contador++;
+                        puntero[v] = offsets[v];
+                        pila[topePila++] = v;
+                        enPila[v] = true;
+                        llamadas[++topeLlamadas] = v;
+                    } else if (enPila[v]) {
+                        bajo[u] = Math.min(bajo[u], indice[v]);
+                    }
+                    continue;
+                }
+                if (bajo[u] == indice[u]) {
+                    int w;
+                    do {
+                        w = pila[--topePila];
+                        enPila[w] = false;
+                        componente[w] = componentes;
+                    } while (w != u);
+                    componentes++;
+                }
+                topeLlamadas--;
+                if (topeLlamadas >= 0) {
+                    int padre = llamadas[topeLlamadas];
+                    bajo[padre] = Math.min(bajo[padre], bajo[u]);
+                }
+            }
+        }
+        return componente;
+    }
+}
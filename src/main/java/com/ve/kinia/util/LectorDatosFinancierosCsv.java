@@ -0,0 +1,71 @@
+package com.ve.kinia.util;
+
+import com.ve.kinia.dto.FilaDatosFinancieros;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Lectura en streaming de estados financieros en CSV: una fila en memoria
+ * a la vez, mismas reglas de formato que LectorFacturasCsv.
+ *
+ * Columnas por nombre (sin distinguir mayúsculas ni '_'): periodoAno
+ * (obligatoria), periodoMes, esProyeccion, fuenteDatos, alDiaSeniat,
+ * alDiaIvss, alDiaFaov, alDiaInces y cualquier MetricaFinanciera
+ * (ingresosNetos, activosTotales, ...). Las columnas desconocidas se ignoran.
+ */
+public final class LectorDatosFinancierosCsv {
+
+    private LectorDatosFinancierosCsv() {
+    }
+
+    public static void leer(InputStream entrada, Consumer<FilaDatosFinancieros> consumidor) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8), 64 * 1024);
+        String cabecera = reader.readLine();
+        if (cabecera == null) {
+            return;
+        }
+        if (cabecera.startsWith("\uFEFF")) {
+            cabecera = cabecera.substring(1);
+        }
+        char separador = cabecera.indexOf(';') >= 0 && cabecera.indexOf(',') < 0 ? ';' : ',';
+        List<String> nombres = LectorFacturasCsv.dividir(cabecera, separador, 1);
+        String[] columnas = new String[nombres.size()];
+        for (int i = 0; i < columnas.length; i++) {
+            columnas[i] = normalizar(nombres.get(i));
+        }
+        if (!List.of(columnas).contains("periodoano")) {
+            throw new IllegalArgumentException("Cabecera CSV sin columna periodoAno");
+        }
+
+        String linea;
+        long numeroLinea = 1;
+        while ((linea = reader.readLine()) != null) {
+            numeroLinea++;
+            if (linea.isBlank()) {
+                continue;
+            }
+            List<String> campos = LectorFacturasCsv.dividir(linea, separador, numeroLinea);
+            Map<String, String> valores = new HashMap<>();
+            for (int i = 0; i < columnas.length && i < campos.size(); i++) {
+                String valor = campos.get(i).trim();
+                if (!valor.isEmpty()) {
+                    valores.put(columnas[i], valor);
+                }
+            }
+            consumidor.accept(new FilaDatosFinancieros(numeroLinea, valores));
+        }
+    }
+
+    public static String normalizar(String columna) {
+        return columna.trim().replace("_", "").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,117 @@
+package com.ve.kinia.util;
+
+import com.ve.kinia.dto.FilaImportacionFactura;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Lectura en streaming de facturas en CSV: una fila en memoria a la vez.
+ *
+ * La primera línea es la cabecera; las columnas se ubican por nombre
+ * (sin distinguir mayúsculas): numeroFactura, numeroControl, fechaEmision,
+ * fechaVencimiento, rifDeudor, razonSocialDeudor, subtotal, iva, total,
+ * moneda, concepto. Separador ',' o ';' (se detecta en la cabecera).
+ * Campos entre comillas dobles con "" como escape; sin saltos de línea
+ * dentro de un campo.
+ */
+public final class LectorFacturasCsv {
+
+    private LectorFacturasCsv() {
+    }
+
+    public static void leer(InputStream entrada, Consumer<FilaImportacionFactura> consumidor) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8), 64 * 1024);
+        String cabecera = reader.readLine();
+        if (cabecera == null) {
+            return;
+        }
+        if (cabecera.startsWith("\uFEFF")) {
+            cabecera = cabecera.substring(1);
+        }
+        char separador = cabecera.indexOf(';') >= 0 && cabecera.indexOf(',') < 0 ? ';' : ',';
+        Map<String, Integer> columnas = new HashMap<>();
+        List<String> nombres = dividir(cabecera, separador, 1);
+        for (int i = 0; i < nombres.size(); i++) {
+            columnas.put(nombres.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columnas.containsKey("numerofactura") || !columnas.containsKey("rifdeudor")) {
+            throw new IllegalArgumentException("Cabecera CSV sin columnas numeroFactura y rifDeudor");
+        }
+
+        String linea;
+        long numeroLinea = 1;
+        while ((linea = reader.readLine()) != null) {
+            numeroLinea++;
+            if (linea.isBlank()) {
+                continue;
+            }
+            List<String> campos = dividir(linea, separador, numeroLinea);
+            consumidor.accept(FilaImportacionFactura.builder()
+                    .linea(numeroLinea)
+                    .numeroFactura(campo(campos, columnas, "numerofactura"))
+                    .numeroControl(campo(campos, columnas, "numerocontrol"))
+                    .fechaEmision(campo(campos, columnas, "fechaemision"))
+                    .fechaVencimiento(campo(campos, columnas, "fechavencimiento"))
+                    .rifDeudor(campo(campos, columnas, "rifdeudor"))
+                    .razonSocialDeudor(campo(campos, columnas, "razonsocialdeudor"))
+                    .subtotal(campo(campos, columnas, "subtotal"))
+                    .iva(campo(campos, columnas, "iva"))
+                    .total(campo(campos, columnas, "total"))
+                    .moneda(campo(campos, columnas, "moneda"))
+                    .concepto(campo(campos, columnas, "concepto"))
+                    .build());
+        }
+    }
+
+    private static String campo(List<String> campos, Map<String, Integer> columnas, String nombre) {
+        Integer indice = columnas.get(nombre);
+        if (indice == null || indice >= campos.size()) {
+            return null;
+        }
+        String valor = campos.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    static List<String> dividir(String linea, char separador, long numeroLinea) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < linea.length(); i++) {
+            char c = linea.charAt(i);
+            if (entreComillas) {
+                if (c == '"') {
+                    if (i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+                        actual.append('"');
+                        i++;
+                    } else {
+                        entreComillas = false;
+                    }
+                } else {
+                    actual.append(c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == separador) {
+                campos.add(actual.toString());
+                actual.setLength(0);
+            } else {
+                actual.append(c);
+            }
+        }
+        if (entreComillas) {
+            throw new IllegalArgumentException("Comillas sin cerrar en la línea " + numeroLinea);
+        }
+        campos.add(actual.toString());
+        return campos;
+    }
+}
@@ -0,0 +1,108 @@
+package com.ve.kinia.util;
+
+import com.ve.kinia.dto.FilaImportacionFactura;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Lectura en streaming (StAX) de facturas en XML estilo SENIAT: cada
+ * elemento {@code <factura>} es una fila, con los campos como elementos
+ * hijos o como atributos (mismos nombres que en LectorFacturasCsv).
+ * No se arma el árbol del documento.
+ */
+public final class LectorFacturasXml {
+
+    private static final XMLInputFactory FACTORY = crearFactory();
+
+    private LectorFacturasXml() {
+    }
+
+    public static void leer(InputStream entrada, Consumer<FilaImportacionFactura> consumidor) {
+        XMLStreamReader reader = null;
+        try {
+            reader = FACTORY.createXMLStreamReader(entrada);
+            Map<String, String> campos = null;
+            long linea = 0;
+            String elemento = null;
+            StringBuilder texto = new StringBuilder();
+
+            while (reader.hasNext()) {
+                int evento = reader.next();
+                if (evento == XMLStreamConstants.START_ELEMENT) {
+                    String nombre = reader.getLocalName().toLowerCase(Locale.ROOT);
+                    if (nombre.equals("factura")) {
+                        campos = new HashMap<>();
+                        linea = reader.getLocation().getLineNumber();
+                        for (int i = 0; i < reader.getAttributeCount(); i++) {
+                            campos.put(reader.getAttributeLocalName(i).toLowerCase(Locale.ROOT),
+                                    reader.getAttributeValue(i).trim());
+                        }
+                    } else if (campos != null) {
+                        elemento = nombre;
+                        texto.setLength(0);
+                    }
+                } else if (evento == XMLStreamConstants.CHARACTERS || evento == XMLStreamConstants.CDATA) {
+                    if (elemento != null) {
+                        texto.append(reader.getText());
+                    }
+                } else if (evento == XMLStreamConstants.END_ELEMENT) {
+                    String nombre = reader.getLocalName().toLowerCase(Locale.ROOT);
+                    if (nombre.equals("factura") && campos != null) {
+                        consumidor.accept(fila(linea, campos));
+                        campos = null;
+                    } else if (elemento != null && nombre.equals(elemento)) {
+                        String valor = texto.toString().trim();
+                        if (!valor.isEmpty()) {
+                            campos.put(elemento, valor);
+                        }
+                        elemento = null;
+                    }
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new IllegalArgumentException("XML mal formado: " + e.getMessage(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ignorada) {
+                    // El stream lo cierra quien lo abrió
+                }
+            }
+        }
+    }
+
+    private static FilaImportacionFactura fila(long linea, Map<String, String> c) {
+        return FilaImportacionFactura.builder()
+                .linea(linea)
+                .numeroFactura(c.get("numerofactura"))
+                .numeroControl(c.get("numerocontrol"))
+                .fechaEmision(c.get("fechaemision"))
+                .fechaVencimiento(c.get("fechavencimiento"))
+                .rifDeudor(c.get("rifdeudor"))
+                .razonSocialDeudor(c.get("razonsocialdeudor"))
+                .subtotal(c.get("subtotal"))
+                .iva(c.get("iva"))
+                .total(c.get("total"))
+                .moneda(c.get("moneda"))
+                .concepto(c.get("concepto"))
+                .build();
+    }
+
+    private static XMLInputFactory crearFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // Archivos subidos por usuarios: sin DTD ni entidades externas (XXE)
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+}
@@ -0,0 +1,127 @@
+package com.ve.kinia.util;
+
+import com.ve.kinia.dto.TasaDiaria;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Lectura de archivos de tasas BCV en CSV, mismas reglas de formato que
+ * LectorFacturasCsv. Se aceptan dos formas de cabecera:
+ *
+ *   fecha, moneda, tasa          una tasa por línea
+ *   fecha, USD, EUR, ...         una columna por moneda (celdas vacías se saltan)
+ *
+ * Fechas yyyy-MM-dd o dd/MM/yyyy. Las tasas admiten coma decimal y punto
+ * de miles ("36,5412" o "1.234,5678") y se redondean a 4 decimales.
+ */
+public final class LectorTasasCambioCsv {
+
+    private static final DateTimeFormatter FECHA_DMY = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private LectorTasasCambioCsv() {
+    }
+
+    /**
+     * @throws IllegalArgumentException con el número de línea si una fila es inválida
+     */
+    public static void leer(InputStream entrada, Consumer<TasaDiaria> consumidor) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        String cabecera = reader.readLine();
+        if (cabecera == null) {
+            return;
+        }
+        if (cabecera.startsWith("\uFEFF")) {
+            cabecera = cabecera.substring(1);
+        }
+        char separador = cabecera.indexOf(';') >= 0 && cabecera.indexOf(',') < 0 ? ';' : ',';
+        List<String> columnas = LectorFacturasCsv.dividir(cabecera, separador, 1).stream()
+                .map(c -> c.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        int columnaFecha = columnas.indexOf("fecha");
+        if (columnaFecha < 0) {
+            throw new IllegalArgumentException("Cabecera CSV sin columna fecha");
+        }
+        int columnaMoneda = columnas.indexOf("moneda");
+        int columnaTasa = columnas.indexOf("tasa");
+        boolean porLinea = columnaMoneda >= 0 && columnaTasa >= 0;
+
+        String linea;
+        long numeroLinea = 1;
+        while ((linea = reader.readLine()) != null) {
+            numeroLinea++;
+            if (linea.isBlank()) {
+                continue;
+            }
+            List<String> campos = LectorFacturasCsv.dividir(linea, separador, numeroLinea);
+            LocalDate fecha = fecha(campo(campos, columnaFecha), numeroLinea);
+            if (porLinea) {
+                String moneda = campo(campos, columnaMoneda);
+                String tasa = campo(campos, columnaTasa);
+                if (moneda == null || tasa == null) {
+                    throw new IllegalArgumentException("Falta moneda o tasa en la línea " + numeroLinea);
+                }
+                consumidor.accept(new TasaDiaria(moneda(moneda, numeroLinea), fecha, tasa(tasa, numeroLinea)));
+                continue;
+            }
+            for (int i = 0; i < columnas.size(); i++) {
+                String tasa = i == columnaFecha ? null : campo(campos, i);
+                if (tasa != null) {
+                    consumidor.accept(new TasaDiaria(moneda(columnas.get(i), numeroLinea), fecha,
+                            tasa(tasa, numeroLinea)));
+                }
+            }
+        }
+    }
+
+    private static String campo(List<String> campos, int indice) {
+        if (indice >= campos.size()) {
+            return null;
+        }
+        String valor = campos.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private static LocalDate fecha(String valor, long numeroLinea) {
+        if (valor == null) {
+            throw new IllegalArgumentException("Falta fecha en la línea " + numeroLinea);
+        }
+        try {
+            return valor.indexOf('/') >= 0 ? LocalDate.parse(valor, FECHA_DMY) : LocalDate.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Fecha inválida en la línea " + numeroLinea + ": " + valor);
+        }
+    }
+
+    private static String moneda(String valor, long numeroLinea) {
+        String moneda = valor.trim().toUpperCase(Locale.ROOT);
+        if (moneda.length() != 3 || !moneda.chars().allMatch(Character::isLetter)) {
+            throw new IllegalArgumentException("Moneda inválida en la línea " + numeroLinea + ": " + valor);
+        }
+        return moneda;
+    }
+
+    private static BigDecimal tasa(String valor, long numeroLinea) {
+        String normalizado = valor.indexOf(',') >= 0 ? valor.replace(".", "").replace(',', '.') : valor;
+        try {
+            BigDecimal tasa = new BigDecimal(normalizado);
+            if (tasa.signum() <= 0) {
+                throw new IllegalArgumentException("Tasa no positiva en la línea " + numeroLinea + ": " + valor);
+            }
+            return tasa.setScale(TablaTasas.ESCALA, RoundingMode.HALF_UP);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Tasa inválida en la línea " + numeroLinea + ": " + valor);
+        }
+    }
+}
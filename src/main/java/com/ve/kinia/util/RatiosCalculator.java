@@ -0,0 +1,146 @@
+package com.ve.kinia.util;
+
+import com.ve.kinia.model.DatosFinancieros;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Year;
+import java.time.YearMonth;
+
+/**
+ * Ratios derivados e identidades contables de un período de
+ * DatosFinancieros, aplicados una sola vez al ingresarlo
+ * (IngestaFinancieraService) para que el scoring y los reportes lean los
+ * valores guardados.
+ *
+ *   ratioLiquidez         = activosCorrientes / pasivosCorrientes
+ *   ratioEndeudamiento    = pasivosTotales / activosTotales
+ *   ratioCoberturaDeuda   = flujoCajaOperativo / deudaBancariaCortoPlazo
+ *   margenNeto            = utilidadNeta / ingresosNetos
+ *   rotacionCuentasCobrar = cuentasPorCobrar / ingresosNetos × días del período
+ *   ingresosNetosUsd      = ingresosNetos / tasaCambioUsada
+ *
+ * Los valores derivados se reemplazan siempre: uno sin datos suficientes
+ * o que no cabe en numeric(8,4) queda en null, nunca con lo que traía el
+ * período.
+ */
+public final class RatiosCalculator {
+
+    private static final BigDecimal MAXIMO_RATIO = new BigDecimal("10000");
+    private static final BigDecimal TOLERANCIA_RELATIVA = new BigDecimal("0.01");
+
+    private RatiosCalculator() {
+    }
+
+    public static void completar(DatosFinancieros d) {
+        BigDecimal tasa = d.getTasaCambioUsada();
+        d.setIngresosNetosUsd(d.getIngresosNetos() != null && tasa != null && tasa.signum() > 0
+                ? d.getIngresosNetos().divide(tasa, 2, RoundingMode.HALF_UP) : null);
+        d.setRatioLiquidez(calculable(d.getActivosCorrientes(), d.getPasivosCorrientes())
+                ? acotar(d.calcularRatioLiquidez()) : null);
+        d.setRatioEndeudamiento(calculable(d.getPasivosTotales(), d.getActivosTotales())
+                ? acotar(d.calcularRatioEndeudamiento()) : null);
+        d.setRatioCoberturaDeuda(calculable(d.getFlujoCajaOperativo(), d.getDeudaBancariaCortoPlazo())
+                ? acotar(dividir(d.getFlujoCajaOperativo(), d.getDeudaBancariaCortoPlazo())) : null);
+        d.setMargenNeto(calculable(d.getUtilidadNeta(), d.getIngresosNetos())
+                ? acotar(dividir(d.getUtilidadNeta(), d.getIngresosNetos())) : null);
+        d.setRotacionCuentasCobrar(null);
+        if (calculable(d.getCuentasPorCobrar(), d.getIngresosNetos()) && d.getPeriodoAno() != null
+                && (d.getPeriodoMes() == null || (d.getPeriodoMes() >= 1 && d.getPeriodoMes() <= 12))) {
+            int dias = d.getPeriodoMes() != null
+                    ? YearMonth.of(d.getPeriodoAno(), d.getPeriodoMes()).lengthOfMonth()
+                    : Year.of(d.getPeriodoAno()).length();
+            BigDecimal rotacion = d.getCuentasPorCobrar().multiply(BigDecimal.valueOf(dias))
+                    .divide(d.getIngresosNetos(), 0, RoundingMode.HALF_UP);
+            d.setRotacionCuentasCobrar(rotacion.abs().compareTo(BigDecimal.valueOf(Integer.MAX_VALUE)) < 0
+                    ? rotacion.intValueExact() : null);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException con la primera inconsistencia encontrada
+     */
+    public static void validar(DatosFinancieros d) {
+        if (d.getPeriodoAno() == null || d.getPeriodoAno() < 1900 || d.getPeriodoAno() > Year.now().getValue() + 1) {
+            throw new IllegalArgumentException("periodoAno inválido: " + d.getPeriodoAno());
+        }
+        if (d.getPeriodoMes() != null && (d.getPeriodoMes() < 1 || d.getPeriodoMes() > 12)) {
+            throw new IllegalArgumentException("periodoMes inválido: " + d.getPeriodoMes());
+        }
+        noNegativo(d.getIngresosBrutos(), "ingresosBrutos");
+        noNegativo(d.getIngresosNetos(), "ingresosNetos");
+        noNegativo(d.getActivosTotales(), "activosTotales");
+        noNegativo(d.getActivosCorrientes(), "activosCorrientes");
+        noNegativo(d.getPasivosTotales(), "pasivosTotales");
+        noNegativo(d.getPasivosCorrientes(), "pasivosCorrientes");
+        noNegativo(d.getCuentasPorCobrar(), "cuentasPorCobrar");
+        noNegativo(d.getCuentasPorPagar(), "cuentasPorPagar");
+        noNegativo(d.getInventarios(), "inventarios");
+        noNegativo(d.getEfectivoDisponible(), "efectivoDisponible");
+        noNegativo(d.getDeudaBancariaCortoPlazo(), "deudaBancariaCortoPlazo");
+        noNegativo(d.getDeudaBancariaLargoPlazo(), "deudaBancariaLargoPlazo");
+        if (d.getTasaCambioUsada() != null && d.getTasaCambioUsada().signum() <= 0) {
+            throw new IllegalArgumentException("tasaCambioUsada debe ser mayor a cero");
+        }
+
+        if (d.getActivosTotales() != null && d.getPasivosTotales() != null && d.getPatrimonio() != null
+                && !iguales(d.getActivosTotales(), d.getPasivosTotales().add(d.getPatrimonio()))) {
+            throw new IllegalArgumentException("activosTotales (" + d.getActivosTotales()
+                    + ") no cuadra con pasivosTotales + patrimonio ("
+                    + d.getPasivosTotales().add(d.getPatrimonio()) + ")");
+        }
+        noMayor(d.getActivosCorrientes(), d.getActivosTotales(), "activosCorrientes", "activosTotales");
+        noMayor(d.getPasivosCorrientes(), d.getPasivosTotales(), "pasivosCorrientes", "pasivosTotales");
+        noMayor(d.getDeudaBancariaCortoPlazo(), d.getPasivosCorrientes(), "deudaBancariaCortoPlazo", "pasivosCorrientes");
+        noMayor(d.getIngresosNetos(), d.getIngresosBrutos(), "ingresosNetos", "ingresosBrutos");
+        if (d.getActivosCorrientes() != null) {
+            BigDecimal componentes = sumar(d.getEfectivoDisponible(), d.getCuentasPorCobrar(), d.getInventarios());
+            noMayor(componentes, d.getActivosCorrientes(),
+                    "efectivoDisponible + cuentasPorCobrar + inventarios", "activosCorrientes");
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // AUXILIARES
+    // ══════════════════════════════════════════════════════════════
+
+    private static boolean calculable(BigDecimal numerador, BigDecimal denominador) {
+        return numerador != null && denominador != null && denominador.signum() != 0;
+    }
+
+    private static BigDecimal dividir(BigDecimal numerador, BigDecimal denominador) {
+        return numerador.divide(denominador, 4, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal acotar(BigDecimal ratio) {
+        return ratio != null && ratio.abs().compareTo(MAXIMO_RATIO) < 0 ? ratio : null;
+    }
+
+    private static BigDecimal sumar(BigDecimal... valores) {
+        BigDecimal suma = BigDecimal.ZERO;
+        for (BigDecimal v : valores) {
+            if (v != null) {
+                suma = suma.add(v);
+            }
+        }
+        return suma;
+    }
+
+    /** Diferencia dentro de 1% del mayor o 1,00 (redondeos del estado financiero). */
+    private static boolean iguales(BigDecimal a, BigDecimal b) {
+        BigDecimal tolerancia = a.abs().max(b.abs()).multiply(TOLERANCIA_RELATIVA).max(BigDecimal.ONE);
+        return a.subtract(b).abs().compareTo(tolerancia) <= 0;
+    }
+
+    private static void noMayor(BigDecimal parte, BigDecimal total, String campoParte, String campoTotal) {
+        if (parte != null && total != null && parte.compareTo(total) > 0 && !iguales(parte, total)) {
+            throw new IllegalArgumentException(campoParte + " (" + parte + ") supera " + campoTotal + " (" + total + ")");
+        }
+    }
+
+    private static void noNegativo(BigDecimal valor, String campo) {
+        if (valor != null && valor.signum() < 0) {
+            throw new IllegalArgumentException(campo + " no puede ser negativo");
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.ve.kinia.util;
+
+import com.ve.kinia.model.enums.TipoRif;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Validación de RIF venezolano: formato [J|G|V|E|P|C]-[0-9]{8,9}-[0-9]
+ * y dígito verificador (módulo 11, SENIAT).
+ *
+ * Acepta el RIF con o sin guiones ("J123456789", "j-12345678-9") y lo
+ * devuelve normalizado igual que Empresa.rifCompleto / DeudorExterno.rifCompleto.
+ */
+public final class RifValidator {
+
+    private static final Pattern FORMATO = Pattern.compile("^([JGVEPC])-?(\\d{8,9})-?(\\d)$");
+    private static final int[] PESOS = {3, 2, 7, 6, 5, 4, 3, 2};
+
+    private RifValidator() {
+    }
+
+    /**
+     * RIF ya separado en sus partes.
+     */
+    public record Rif(TipoRif tipo, String numero, String digitoVerificador) {
+
+        public String completo() {
+            return tipo.name() + "-" + numero + "-" + digitoVerificador;
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException si el formato o el dígito verificador no son válidos
+     */
+    public static Rif parsear(String rif) {
+        if (rif == null || rif.isBlank()) {
+            throw new IllegalArgumentException("RIF vacío");
+        }
+        Matcher m = FORMATO.matcher(rif.trim().toUpperCase(Locale.ROOT));
+        if (!m.matches()) {
+            throw new IllegalArgumentException("Formato de RIF inválido: " + rif);
+        }
+        TipoRif tipo = TipoRif.valueOf(m.group(1));
+        String numero = m.group(2);
+        String digito = m.group(3);
+        if (numero.length() == 8 && digitoVerificador(tipo, numero) != digito.charAt(0) - '0') {
+            throw new IllegalArgumentException("Dígito verificador de RIF inválido: " + rif);
+        }
+        return new Rif(tipo, numero, digito);
+    }
+
+    public static boolean esValido(String rif) {
+        try {
+            parsear(rif);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Módulo 11 sobre el valor del tipo (× 4) y los 8 dígitos del número.
+     */
+    static int digitoVerificador(TipoRif tipo, String numero) {
+        int suma = valorTipo(tipo) * 4;
+        for (int i = 0; i < PESOS.length; i++) {
+            suma += (numero.charAt(i) - '0') * PESOS[i];
+        }
+        int digito = 11 - (suma % 11);
+        return digito >= 10 ? 0 : digito;
+    }
+
+    private static int valorTipo(TipoRif tipo) {
+        return switch (tipo) {
+            case V -> 1;
+            case E -> 2;
+            case J, C -> 3;
+            case P -> 4;
+            case G -> 5;
+        };
+    }
+}
@@ -0,0 +1,311 @@
+package com.ve.kinia.util;
+
+import com.ve.kinia.dto.EntradaScoring;
+import com.ve.kinia.model.ConfiguracionScoring;
+import com.ve.kinia.model.Score;
+import com.ve.kinia.model.enums.NivelRiesgo;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.ve.kinia.dto.EntradaScoring.SIN_DATO;
+
+/**
+ * Cálculo del score crediticio (sección 7 de la especificación).
+ *
+ * Los puntajes por componente (0-100) son enteros y se calculan solo
+ * a partir de EntradaScoring. La ponderación, los umbrales y las tasas
+ * salen de la ConfiguracionScoring activa:
+ *
+ *   puntaje = Σ (puntaje_componente × peso_componente) / 100
+ *
+ * Clase sin estado: es segura para usarse desde varios hilos.
+ */
+public final class ScoringCalculator {
+
+    public static final int PUNTAJE_NEUTRO = 50;
+    public static final int PUNTAJE_SIN_DATOS_FINANCIEROS = 30;
+    public static final int PUNTAJE_MAXIMO = 100;
+    public static final int TIPOS_DOCUMENTO_REQUERIDOS = 5;
+
+    private static final BigDecimal CIEN = BigDecimal.valueOf(100);
+    private static final BigDecimal DOS = BigDecimal.valueOf(2);
+
+    private ScoringCalculator() {
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // SCORE COMPLETO
+    // ══════════════════════════════════════════════════════════════
+
+    /**
+     * Calcula el score de una empresa. El Score devuelto no tiene empresa
+     * asignada: el llamador la asocia antes de persistir.
+     */
+    public static Score calcular(EntradaScoring entrada, ConfiguracionScoring config) {
+        int financiero = puntajeFinanciero(entrada);
+        int historial = puntajeHistorialPagos(entrada);
+        int antiguedad = puntajeAntiguedad(entrada);
+        int sector = puntajeSector(entrada);
+        int cumplimiento = puntajeCumplimiento(entrada);
+        int documentacion = puntajeDocumentacion(entrada);
+
+        BigDecimal sumaProveedor = ponderar(financiero, config.getPesoFinanciero())
+                .add(ponderar(historial, config.getPesoHistorialPagos()))
+                .add(ponderar(antiguedad, config.getPesoAntiguedad()))
+                .add(ponderar(sector, config.getPesoSector()))
+                .add(ponderar(cumplimiento, config.getPesoCumplimiento()))
+                .add(ponderar(documentacion, config.getPesoDocumentacion()));
+        int puntaje = acotar(sumaProveedor.divide(CIEN, 0, RoundingMode.HALF_UP).intValue());
+
+        int historialPlataforma = puntajeHistorialPlataforma(entrada);
+        BigDecimal sumaDeudor = ponderar(historialPlataforma, config.getPesoDeudorHistorialPlataforma())
+                .add(ponderar(financiero, config.getPesoDeudorFinanciero()))
+                .add(ponderar(antiguedad, config.getPesoDeudorAntiguedad()))
+                .add(ponderar(puntajeReferenciasExternas(entrada), config.getPesoDeudorExterno()));
+        int puntajeDeudor = sumaDeudor.divide(CIEN, 0, RoundingMode.HALF_UP).intValue();
+        if (entrada.isKycAprobado()) {
+            puntajeDeudor += config.getBonusDeudorInterno();
+        }
+        puntajeDeudor = acotar(puntajeDeudor);
+
+        NivelRiesgo nivel = nivelRiesgo(puntaje, config);
+
+        return Score.builder()
+                .puntaje(puntaje)
+                .nivelRiesgo(nivel)
+                .puntajeFinanciero(financiero)
+                .pesoFinanciero(config.getPesoFinanciero())
+                .puntajeHistorialPagos(historial)
+                .pesoHistorialPagos(config.getPesoHistorialPagos())
+                .puntajeAntiguedad(antiguedad)
+                .pesoAntiguedad(config.getPesoAntiguedad())
+                .puntajeSector(sector)
+                .pesoSector(config.getPesoSector())
+                .puntajeCumplimiento(cumplimiento)
+                .pesoCumplimiento(config.getPesoCumplimiento())
+                .puntajeDocumentacion(documentacion)
+                .pesoDocumentacion(config.getPesoDocumentacion())
+                .puntajeComoDeudor(puntajeDeudor)
+                .nivelRiesgoComoDeudor(nivelRiesgo(puntajeDeudor, config))
+                .historialPagosEnPlataforma(entrada.getFacturasComoDeudor())
+                .tasaDescuentoSugerida(tasaBase(nivel, config))
+                .limiteFactoringSugerido(limiteFactoring(entrada, porcentajeAnticipo(nivel, config)))
+                .explicacionCorta(nivel.getDescripcion() + " (" + puntaje + "/100)")
+                .parametrosUsados(parametrosUsados(config))
+                .datosEntrada(entrada.toMapa())
+                .huellaEntrada(huellaEntrada(entrada, config))
+                .esVigente(true)
+                .build();
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // COMPONENTES SCORE PROVEEDOR
+    // ══════════════════════════════════════════════════════════════
+
+    /**
+     * Liquidez (máx. 30) + endeudamiento (máx. 30) + margen neto (máx. 25)
+     * + flujo de caja positivo (15).
+     */
+    public static int puntajeFinanciero(EntradaScoring e) {
+        if (!e.isTieneDatosFinancieros()) {
+            return PUNTAJE_SIN_DATOS_FINANCIEROS;
+        }
+        int puntaje = 0;
+
+        long liquidez = e.getRatioLiquidez();
+        if (liquidez == SIN_DATO) puntaje += 10;
+        else if (liquidez >= 20_000) puntaje += 30;
+        else if (liquidez >= 15_000) puntaje += 25;
+        else if (liquidez >= 10_000) puntaje += 15;
+        else puntaje += 5;
+
+        long endeudamiento = e.getRatioEndeudamiento();
+        if (endeudamiento == SIN_DATO) puntaje += 10;
+        else if (endeudamiento <= 4_000) puntaje += 30;
+        else if (endeudamiento <= 6_000) puntaje += 20;
+        else if (endeudamiento <= 8_000) puntaje += 10;
+
+        long margen = e.getMargenNeto();
+        if (margen == SIN_DATO) puntaje += 5;
+        else if (margen >= 1_000) puntaje += 25;
+        else if (margen >= 500) puntaje += 18;
+        else if (margen > 0) puntaje += 10;
+
+        if (e.isFlujoCajaPositivo()) puntaje += 15;
+
+        return acotar(puntaje);
+    }
+
+    /**
+     * Porcentaje de facturas cobradas a tiempo, penalizado por mora
+     * promedio y por deudas vencidas actuales.
+     */
+    public static int puntajeHistorialPagos(EntradaScoring e) {
+        int puntaje = e.getFacturasCobradas() == 0
+                ? PUNTAJE_NEUTRO
+                : e.getFacturasPagadasATiempo() * 100 / e.getFacturasCobradas();
+
+        int mora = e.getPromedioDiasMora();
+        if (mora > 30) puntaje -= 20;
+        else if (mora > 15) puntaje -= 10;
+        else if (mora > 0) puntaje -= 5;
+
+        puntaje -= Math.min(30, e.getFacturasVencidas() * 10);
+        return acotar(puntaje);
+    }
+
+    /**
+     * Escala: {@literal <} 1 año: 40, 1-3: 60, 3-5: 80, {@literal >} 5: 100.
+     */
+    public static int puntajeAntiguedad(EntradaScoring e) {
+        int anios = e.getAntiguedadAnios();
+        if (anios < 1) return 40;
+        if (anios < 3) return 60;
+        if (anios <= 5) return 80;
+        return 100;
+    }
+
+    public static int puntajeSector(EntradaScoring e) {
+        return e.getSector() != null ? e.getSector().getPuntajeScoring() : PUNTAJE_NEUTRO;
+    }
+
+    /**
+     * 25 puntos por cada organismo al día: SENIAT, IVSS, FAOV, INCES.
+     */
+    public static int puntajeCumplimiento(EntradaScoring e) {
+        return acotar(e.getCumplimientos() * 25);
+    }
+
+    /**
+     * Documentos completos (máx. 60) + verificados (máx. 30) + vigentes (10).
+     */
+    public static int puntajeDocumentacion(EntradaScoring e) {
+        if (e.getDocumentosTotales() == 0) {
+            return 0;
+        }
+        int completos = Math.min(e.getTiposRequeridosPresentes(), TIPOS_DOCUMENTO_REQUERIDOS) * 12;
+        int verificados = e.getDocumentosVerificados() * 30 / e.getDocumentosTotales();
+        int vigentes = e.getDocumentosVencidos() == 0 ? 10 : 0;
+        return acotar(completos + verificados + vigentes);
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // COMPONENTES SCORE DEUDOR
+    // ══════════════════════════════════════════════════════════════
+
+    /**
+     * Facturas pagadas a tiempo sobre el total recibido como deudor.
+     * Sin historial en la plataforma el puntaje es neutro.
+     */
+    public static int puntajeHistorialPlataforma(EntradaScoring e) {
+        if (e.getFacturasComoDeudor() == 0) {
+            return PUNTAJE_NEUTRO;
+        }
+        return e.getFacturasPagadasATiempo() * 100 / e.getFacturasComoDeudor();
+    }
+
+    public static int puntajeReferenciasExternas(EntradaScoring e) {
+        int puntaje = 30;
+        if (e.getReferenciasBancarias() > 0) puntaje += 35;
+        if (e.getReferenciasComerciales() > 0) puntaje += 35;
+        return puntaje;
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // NIVELES, TASAS Y LÍMITES
+    // ══════════════════════════════════════════════════════════════
+
+    public static NivelRiesgo nivelRiesgo(int puntaje, ConfiguracionScoring config) {
+        if (puntaje >= config.getUmbralMuyBajo()) return NivelRiesgo.MUY_BAJO;
+        if (puntaje >= config.getUmbralBajo()) return NivelRiesgo.BAJO;
+        if (puntaje >= config.getUmbralMedio()) return NivelRiesgo.MEDIO;
+        if (puntaje >= config.getUmbralAlto()) return NivelRiesgo.ALTO;
+        return NivelRiesgo.MUY_ALTO;
+    }
+
+    public static BigDecimal tasaBase(NivelRiesgo nivel, ConfiguracionScoring config) {
+        return switch (nivel) {
+            case MUY_BAJO -> config.getTasaMuyBajo();
+            case BAJO -> config.getTasaBajo();
+            case MEDIO -> config.getTasaMedio();
+            case ALTO -> config.getTasaAlto();
+            case MUY_ALTO -> config.getTasaMuyAlto();
+        };
+    }
+
+    public static BigDecimal porcentajeAnticipo(NivelRiesgo nivel, ConfiguracionScoring config) {
+        return switch (nivel) {
+            case MUY_BAJO -> config.getAnticipoMuyBajo();
+            case BAJO -> config.getAnticipoBajo();
+            case MEDIO -> config.getAnticipoMedio();
+            case ALTO -> config.getAnticipoAlto();
+            case MUY_ALTO -> config.getAnticipoMuyAlto();
+        };
+    }
+
+    /**
+     * límite = menor(cuentas_por_cobrar × porcentaje_anticipo, patrimonio × 2)
+     */
+    public static BigDecimal limiteFactoring(EntradaScoring e, BigDecimal porcentajeAnticipo) {
+        if (e.getPatrimonioCentavos() == SIN_DATO || e.getCuentasPorCobrarCentavos() == SIN_DATO) {
+            return null;
+        }
+        BigDecimal porCartera = BigDecimal.valueOf(e.getCuentasPorCobrarCentavos(), 2)
+                .multiply(porcentajeAnticipo)
+                .divide(CIEN, 2, RoundingMode.HALF_UP);
+        BigDecimal porPatrimonio = BigDecimal.valueOf(e.getPatrimonioCentavos(), 2).multiply(DOS);
+        return porCartera.min(porPatrimonio).max(BigDecimal.ZERO).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    public static Map<String, Object> parametrosUsados(ConfiguracionScoring config) {
+        Map<String, Object> parametros = new LinkedHashMap<>();
+        parametros.put("configuracionId", config.getId() != null ? config.getId().toString() : null);
+        parametros.put("configuracion", config.getNombre());
+        parametros.put("version", config.getVersion());
+        return parametros;
+    }
+
+    /**
+     * SHA-256 (hex) de datosEntrada más la identidad de la configuración.
+     * Si coincide con la del score vigente, recalcular daría el mismo resultado.
+     */
+    public static String huellaEntrada(EntradaScoring entrada, ConfiguracionScoring config) {
+        return huellaEntrada(entrada, prefijoHuella(config));
+    }
+
+    static String prefijoHuella(ConfiguracionScoring config) {
+        StringBuilder prefijo = new StringBuilder(128);
+        parametrosUsados(config).forEach((k, v) -> prefijo.append(k).append('=').append(v).append(';'));
+        return prefijo.append("actualizada=").append(config.getUpdatedAt()).append(';').toString();
+    }
+
+    static String huellaEntrada(EntradaScoring entrada, String prefijoConfig) {
+        StringBuilder contenido = new StringBuilder(512).append(prefijoConfig);
+        entrada.toMapa().forEach((k, v) -> contenido.append(k).append('=').append(v).append(';'));
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha.digest(contenido.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // AUXILIARES
+    // ══════════════════════════════════════════════════════════════
+
+    private static BigDecimal ponderar(int puntaje, BigDecimal peso) {
+        return BigDecimal.valueOf(puntaje).multiply(peso);
+    }
+
+    static int acotar(int puntaje) {
+        return Math.max(0, Math.min(PUNTAJE_MAXIMO, puntaje));
+    }
+}
@@ -0,0 +1,281 @@
+package com.ve.kinia.util;
+
+import com.ve.kinia.dto.EntradaScoring;
+import com.ve.kinia.model.ConfiguracionScoring;
+import com.ve.kinia.model.Score;
+import com.ve.kinia.model.enums.NivelRiesgo;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Versión "compilada" de una ConfiguracionScoring para el cálculo masivo.
+ *
+ * Al activar una configuración se convierte UNA vez a enteros:
+ *   - Pesos, tasas y anticipos: puntos básicos (× 100, escala 2 de la BD)
+ *   - Umbrales y bonus: int
+ *
+ * puntaje(), puntajeComoDeudor() y nivel() no crean BigDecimal ni Integer
+ * por empresa. Producen exactamente los mismos valores que ScoringCalculator
+ * (redondeo HALF_UP de Σ puntaje × peso / 100); ver ScoringKernelTest.
+ *
+ * Inmutable: se comparte entre hilos sin sincronización.
+ */
+public final class ScoringKernel {
+
+    private static final int NIVELES = NivelRiesgo.values().length;
+
+    private final UUID configuracionId;
+    private final LocalDateTime configuracionActualizada;
+    private final String prefijoHuella;
+    private final Map<String, Object> parametrosUsados;
+
+    // Pesos proveedor (bp): financiero, historial, antigüedad, sector, cumplimiento, documentación
+    private final int pesoFinanciero;
+    private final int pesoHistorialPagos;
+    private final int pesoAntiguedad;
+    private final int pesoSector;
+    private final int pesoCumplimiento;
+    private final int pesoDocumentacion;
+
+    // Pesos deudor (bp)
+    private final int pesoDeudorHistorialPlataforma;
+    private final int pesoDeudorFinanciero;
+    private final int pesoDeudorAntiguedad;
+    private final int pesoDeudorExterno;
+
+    private final int umbralMuyBajo;
+    private final int umbralBajo;
+    private final int umbralMedio;
+    private final int umbralAlto;
+    private final int bonusDeudorInterno;
+    private final int descuentoDeudorInternoBp;
+
+    // Indexados por NivelRiesgo.ordinal()
+    private final int[] tasasBp = new int[NIVELES];
+    private final int[] anticiposBp = new int[NIVELES];
+
+    // Valores originales, para armar el Score sin crear BigDecimal nuevos
+    private final BigDecimal[] pesosOriginales;
+    private final BigDecimal[] tasas = new BigDecimal[NIVELES];
+    private final BigDecimal[] anticipos = new BigDecimal[NIVELES];
+
+    private ScoringKernel(ConfiguracionScoring c) {
+        this.configuracionId = c.getId();
+        this.configuracionActualizada = c.getUpdatedAt();
+        this.prefijoHuella = ScoringCalculator.prefijoHuella(c);
+        this.parametrosUsados = Collections.unmodifiableMap(new LinkedHashMap<>(ScoringCalculator.parametrosUsados(c)));
+
+        this.pesoFinanciero = puntosBasicos("pesoFinanciero", c.getPesoFinanciero());
+        this.pesoHistorialPagos = puntosBasicos("pesoHistorialPagos", c.getPesoHistorialPagos());
+        this.pesoAntiguedad = puntosBasicos("pesoAntiguedad", c.getPesoAntiguedad());
+        this.pesoSector = puntosBasicos("pesoSector", c.getPesoSector());
+        this.pesoCumplimiento = puntosBasicos("pesoCumplimiento", c.getPesoCumplimiento());
+        this.pesoDocumentacion = puntosBasicos("pesoDocumentacion", c.getPesoDocumentacion());
+
+        this.pesoDeudorHistorialPlataforma = puntosBasicos("pesoDeudorHistorialPlataforma", c.getPesoDeudorHistorialPlataforma());
+        this.pesoDeudorFinanciero = puntosBasicos("pesoDeudorFinanciero", c.getPesoDeudorFinanciero());
+        this.pesoDeudorAntiguedad = puntosBasicos("pesoDeudorAntiguedad", c.getPesoDeudorAntiguedad());
+        this.pesoDeudorExterno = puntosBasicos("pesoDeudorExterno", c.getPesoDeudorExterno());
+
+        this.umbralMuyBajo = c.getUmbralMuyBajo();
+        this.umbralBajo = c.getUmbralBajo();
+        this.umbralMedio = c.getUmbralMedio();
+        this.umbralAlto = c.getUmbralAlto();
+        this.bonusDeudorInterno = c.getBonusDeudorInterno();
+        this.descuentoDeudorInternoBp = c.getDescuentoTasaDeudorInterno() != null
+                ? puntosBasicos("descuentoTasaDeudorInterno", c.getDescuentoTasaDeudorInterno()) : 0;
+
+        this.pesosOriginales = new BigDecimal[] {
+                c.getPesoFinanciero(), c.getPesoHistorialPagos(), c.getPesoAntiguedad(),
+                c.getPesoSector(), c.getPesoCumplimiento(), c.getPesoDocumentacion()
+        };
+        for (NivelRiesgo nivel : NivelRiesgo.values()) {
+            BigDecimal tasa = ScoringCalculator.tasaBase(nivel, c);
+            BigDecimal anticipo = ScoringCalculator.porcentajeAnticipo(nivel, c);
+            tasas[nivel.ordinal()] = tasa;
+            anticipos[nivel.ordinal()] = anticipo;
+            tasasBp[nivel.ordinal()] = puntosBasicos("tasa " + nivel, tasa);
+            anticiposBp[nivel.ordinal()] = puntosBasicos("anticipo " + nivel, anticipo);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException si algún peso, tasa o anticipo falta
+     *         o tiene más de 2 decimales (no representable en puntos básicos)
+     */
+    public static ScoringKernel compilar(ConfiguracionScoring config) {
+        return new ScoringKernel(config);
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // CÁLCULO
+    // ══════════════════════════════════════════════════════════════
+
+    public int puntaje(EntradaScoring e) {
+        return puntajeProveedor(
+                ScoringCalculator.puntajeFinanciero(e),
+                ScoringCalculator.puntajeHistorialPagos(e),
+                ScoringCalculator.puntajeAntiguedad(e),
+                ScoringCalculator.puntajeSector(e),
+                ScoringCalculator.puntajeCumplimiento(e),
+                ScoringCalculator.puntajeDocumentacion(e));
+    }
+
+    public int puntajeComoDeudor(EntradaScoring e) {
+        return puntajeDeudor(e,
+                ScoringCalculator.puntajeFinanciero(e),
+                ScoringCalculator.puntajeAntiguedad(e));
+    }
+
+    public NivelRiesgo nivel(int puntaje) {
+        if (puntaje >= umbralMuyBajo) return NivelRiesgo.MUY_BAJO;
+        if (puntaje >= umbralBajo) return NivelRiesgo.BAJO;
+        if (puntaje >= umbralMedio) return NivelRiesgo.MEDIO;
+        if (puntaje >= umbralAlto) return NivelRiesgo.ALTO;
+        return NivelRiesgo.MUY_ALTO;
+    }
+
+    /** Tasa base del nivel en puntos básicos (350 = 3.50%). */
+    public int tasaDescuentoBp(NivelRiesgo nivel) {
+        return tasasBp[nivel.ordinal()];
+    }
+
+    /** Porcentaje de anticipo del nivel en puntos básicos (9000 = 90.00%). */
+    public int porcentajeAnticipoBp(NivelRiesgo nivel) {
+        return anticiposBp[nivel.ordinal()];
+    }
+
+    /**
+     * Tasa en puntos básicos para una factura: la del nivel menos el
+     * descuento por deudor interno, sin bajar de 1 bp.
+     */
+    public int tasaDescuentoBp(NivelRiesgo nivel, boolean deudorInterno) {
+        int tasa = tasasBp[nivel.ordinal()];
+        return deudorInterno ? Math.max(tasa - descuentoDeudorInternoBp, 1) : tasa;
+    }
+
+    public BigDecimal tasaDescuento(NivelRiesgo nivel) {
+        return tasas[nivel.ordinal()];
+    }
+
+    public BigDecimal porcentajeAnticipo(NivelRiesgo nivel) {
+        return anticipos[nivel.ordinal()];
+    }
+
+    public UUID getConfiguracionId() {
+        return configuracionId;
+    }
+
+    /** updatedAt de la configuración compilada: distingue ediciones con el mismo id. */
+    public LocalDateTime getConfiguracionActualizada() {
+        return configuracionActualizada;
+    }
+
+    public boolean esDe(ConfiguracionScoring config) {
+        return configuracionId.equals(config.getId())
+                && Objects.equals(configuracionActualizada, config.getUpdatedAt());
+    }
+
+    public String huellaEntrada(EntradaScoring entrada) {
+        return ScoringCalculator.huellaEntrada(entrada, prefijoHuella);
+    }
+
+    /**
+     * Mismo resultado que {@link ScoringCalculator#calcular}, usando los
+     * valores precompilados. Solo el límite de factoring (monto de la
+     * empresa) se calcula con BigDecimal.
+     */
+    public Score calcular(EntradaScoring entrada) {
+        int financiero = ScoringCalculator.puntajeFinanciero(entrada);
+        int historial = ScoringCalculator.puntajeHistorialPagos(entrada);
+        int antiguedad = ScoringCalculator.puntajeAntiguedad(entrada);
+        int sector = ScoringCalculator.puntajeSector(entrada);
+        int cumplimiento = ScoringCalculator.puntajeCumplimiento(entrada);
+        int documentacion = ScoringCalculator.puntajeDocumentacion(entrada);
+        int puntaje = puntajeProveedor(financiero, historial, antiguedad, sector, cumplimiento, documentacion);
+        int puntajeDeudor = puntajeDeudor(entrada, financiero, antiguedad);
+        NivelRiesgo nivel = nivel(puntaje);
+
+        return Score.builder()
+                .puntaje(puntaje)
+                .nivelRiesgo(nivel)
+                .puntajeFinanciero(financiero)
+                .pesoFinanciero(pesosOriginales[0])
+                .puntajeHistorialPagos(historial)
+                .pesoHistorialPagos(pesosOriginales[1])
+                .puntajeAntiguedad(antiguedad)
+                .pesoAntiguedad(pesosOriginales[2])
+                .puntajeSector(sector)
+                .pesoSector(pesosOriginales[3])
+                .puntajeCumplimiento(cumplimiento)
+                .pesoCumplimiento(pesosOriginales[4])
+                .puntajeDocumentacion(documentacion)
+                .pesoDocumentacion(pesosOriginales[5])
+                .puntajeComoDeudor(puntajeDeudor)
+                .nivelRiesgoComoDeudor(nivel(puntajeDeudor))
+                .historialPagosEnPlataforma(entrada.getFacturasComoDeudor())
+                .tasaDescuentoSugerida(tasaDescuento(nivel))
+                .limiteFactoringSugerido(ScoringCalculator.limiteFactoring(entrada, porcentajeAnticipo(nivel)))
+                .explicacionCorta(nivel.getDescripcion() + " (" + puntaje + "/100)")
+                .parametrosUsados(new LinkedHashMap<>(parametrosUsados))
+                .datosEntrada(entrada.toMapa())
+                .huellaEntrada(huellaEntrada(entrada))
+                .esVigente(true)
+                .build();
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // AUXILIARES
+    // ══════════════════════════════════════════════════════════════
+
+    private int puntajeProveedor(int financiero, int historial, int antiguedad,
+                                 int sector, int cumplimiento, int documentacion) {
+        long suma = (long) financiero * pesoFinanciero
+                + (long) historial * pesoHistorialPagos
+                + (long) antiguedad * pesoAntiguedad
+                + (long) sector * pesoSector
+                + (long) cumplimiento * pesoCumplimiento
+                + (long) documentacion * pesoDocumentacion;
+        return ScoringCalculator.acotar(redondearPuntaje(suma));
+    }
+
+    private int puntajeDeudor(EntradaScoring e, int financiero, int antiguedad) {
+        long suma = (long) ScoringCalculator.puntajeHistorialPlataforma(e) * pesoDeudorHistorialPlataforma
+                + (long) financiero * pesoDeudorFinanciero
+                + (long) antiguedad * pesoDeudorAntiguedad
+                + (long) ScoringCalculator.puntajeReferenciasExternas(e) * pesoDeudorExterno;
+        int puntaje = redondearPuntaje(suma);
+        if (e.isKycAprobado()) {
+            puntaje += bonusDeudorInterno;
+        }
+        return ScoringCalculator.acotar(puntaje);
+    }
+
+    /**
+     * Σ puntaje × peso_bp / 10.000 con redondeo HALF_UP (igual que
+     * BigDecimal.divide(100, 0, HALF_UP) sobre pesos con 2 decimales).
+     */
+    static int redondearPuntaje(long sumaPonderada) {
+        long absoluto = Math.abs(sumaPonderada);
+        long redondeado = (absoluto + 5_000) / 10_000;
+        return (int) (sumaPonderada < 0 ? -redondeado : redondeado);
+    }
+
+    private static int puntosBasicos(String campo, BigDecimal valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("Configuración de scoring incompleta: " + campo);
+        }
+        try {
+            return valor.movePointRight(2).intValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(
+                    "Configuración de scoring: " + campo + " admite máximo 2 decimales (" + valor + ")", e);
+        }
+    }
+}
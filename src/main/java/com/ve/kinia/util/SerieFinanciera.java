@@ -0,0 +1,230 @@
+package com.ve.kinia.util;
+
+import com.ve.kinia.model.enums.MetricaFinanciera;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.*;
+
+import static com.ve.kinia.model.enums.MetricaFinanciera.SIN_DATO;
+
+/**
+ * Historial de datos_financieros en formato columnar, mapeado en memoria
+ * desde un archivo local.
+ *
+ * Formato (big-endian):
+ *   cabecera (32 bytes): mágico, versión, métricas, empresas, período base,
+ *                        períodos, generado (epoch ms)
+ *   empresas:            UUID (16 bytes) ordenados
+ *   una columna por MetricaFinanciera: long[empresas × períodos], la serie
+ *                        de cada empresa contigua y en orden cronológico
+ *
+ * Un período es un mes absoluto (año × 12 + mes − 1). Los valores son
+ * enteros escalados (ver MetricaFinanciera) y SIN_DATO si falta.
+ * Recorrer una métrica para todas las empresas es una lectura secuencial.
+ *
+ * Las lecturas no bloquean; las escrituras (poner) se serializan.
+ */
+public final class SerieFinanciera {
+
+    private static final int MAGICO = 0x4B534631;
+    private static final int VERSION = 1;
+    private static final int CABECERA = 32;
+    private static final int METRICAS = MetricaFinanciera.values().length;
+
+    private final UUID[] empresas;
+    private final Map<UUID, Integer> indices;
+    private final int periodoBase;
+    private final int periodos;
+    private final long generado;
+    private final LongBuffer[] columnas = new LongBuffer[METRICAS];
+
+    private SerieFinanciera(FileChannel canal, UUID[] empresas, int periodoBase, int periodos,
+                            long generado, FileChannel.MapMode modo) throws IOException {
+        this.empresas = empresas;
+        this.periodoBase = periodoBase;
+        this.periodos = periodos;
+        this.generado = generado;
+        this.indices = new HashMap<>(empresas.length * 2);
+        for (int i = 0; i < empresas.length; i++) {
+            indices.put(empresas[i], i);
+        }
+        long bytesColumna = (long) empresas.length * periodos * Long.BYTES;
+        long inicio = CABECERA + 16L * empresas.length;
+        for (int m = 0; m < METRICAS; m++) {
+            columnas[m] = canal.map(modo, inicio + m * bytesColumna, bytesColumna).asLongBuffer();
+        }
+    }
+
+    /**
+     * Crea el archivo (reemplazándolo) con todas las celdas en SIN_DATO.
+     *
+     * @param empresas ids de las empresas; se ordenan
+     */
+    public static SerieFinanciera crear(Path archivo, Collection<UUID> empresas, int periodoBase, int periodos,
+                                        long generado) throws IOException {
+        UUID[] ordenadas = empresas.toArray(UUID[]::new);
+        Arrays.sort(ordenadas);
+        if ((long) ordenadas.length * periodos > Integer.MAX_VALUE / Long.BYTES) {
+            throw new IllegalArgumentException("Serie financiera demasiado grande: "
+                    + ordenadas.length + " empresas × " + periodos + " períodos");
+        }
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer cabecera = ByteBuffer.allocate(CABECERA + 16 * ordenadas.length);
+            cabecera.putInt(MAGICO).putInt(VERSION).putInt(METRICAS).putInt(ordenadas.length)
+                    .putInt(periodoBase).putInt(periodos).putLong(generado);
+            for (UUID id : ordenadas) {
+                cabecera.putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits());
+            }
+            cabecera.flip();
+            while (cabecera.hasRemaining()) {
+                canal.write(cabecera, cabecera.position());
+            }
+            SerieFinanciera serie = new SerieFinanciera(canal, ordenadas, periodoBase, periodos,
+                    generado, FileChannel.MapMode.READ_WRITE);
+            long[] vacio = new long[Math.max(periodos, 1)];
+            Arrays.fill(vacio, SIN_DATO);
+            for (LongBuffer columna : serie.columnas) {
+                for (int i = 0; i < ordenadas.length; i++) {
+                    columna.put(i * periodos, vacio, 0, periodos);
+                }
+            }
+            return serie;
+        }
+    }
+
+    /**
+     * Mapea un archivo creado con {@link #crear}.
+     *
+     * @throws IOException si no existe, está truncado o es de otra versión
+     */
+    public static SerieFinanciera abrir(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer cabecera = ByteBuffer.allocate(CABECERA);
+            leerCompleto(canal, cabecera, 0);
+            if (cabecera.getInt() != MAGICO || cabecera.getInt() != VERSION || cabecera.getInt() != METRICAS) {
+                throw new IOException("Serie financiera incompatible: " + archivo);
+            }
+            int cantidad = cabecera.getInt();
+            int periodoBase = cabecera.getInt();
+            int periodos = cabecera.getInt();
+            long generado = cabecera.getLong();
+            long esperado = CABECERA + 16L * cantidad + (long) METRICAS * cantidad * periodos * Long.BYTES;
+            if (canal.size() != esperado) {
+                throw new IOException("Serie financiera truncada: " + archivo);
+            }
+            ByteBuffer ids = ByteBuffer.allocate(16 * cantidad);
+            leerCompleto(canal, ids, CABECERA);
+            UUID[] empresas = new UUID[cantidad];
+            for (int i = 0; i < cantidad; i++) {
+                empresas[i] = new UUID(ids.getLong(), ids.getLong());
+            }
+            return new SerieFinanciera(canal, empresas, periodoBase, periodos, generado, FileChannel.MapMode.READ_WRITE);
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // PERÍODOS
+    // ══════════════════════════════════════════════════════════════
+
+    public static int periodo(int anio, int mes) {
+        return anio * 12 + mes - 1;
+    }
+
+    public static int periodo(YearMonth mes) {
+        return periodo(mes.getYear(), mes.getMonthValue());
+    }
+
+    public int getPeriodoBase() {
+        return periodoBase;
+    }
+
+    public int getPeriodos() {
+        return periodos;
+    }
+
+    /** Momento (epoch ms) de los datos con que se generó el archivo. */
+    public long getGenerado() {
+        return generado;
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // ACCESO
+    // ══════════════════════════════════════════════════════════════
+
+    public int getCantidadEmpresas() {
+        return empresas.length;
+    }
+
+    public UUID empresa(int indice) {
+        return empresas[indice];
+    }
+
+    /** Índice de la empresa, -1 si no está en la serie. */
+    public int indice(UUID empresaId) {
+        Integer indice = indices.get(empresaId);
+        return indice != null ? indice : -1;
+    }
+
+    public long valor(int empresa, MetricaFinanciera metrica, int periodo) {
+        int p = periodo - periodoBase;
+        if (p < 0 || p >= periodos) {
+            return SIN_DATO;
+        }
+        return columnas[metrica.ordinal()].get(empresa * periodos + p);
+    }
+
+    /**
+     * Copia {@code cantidad} períodos desde {@code desde} en {@code destino};
+     * los que caen fuera de la serie quedan en SIN_DATO.
+     */
+    public void leer(int empresa, MetricaFinanciera metrica, int desde, int cantidad, long[] destino) {
+        int inicio = Math.max(desde, periodoBase);
+        int fin = Math.min(desde + cantidad, periodoBase + periodos);
+        if (fin <= inicio) {
+            Arrays.fill(destino, 0, cantidad, SIN_DATO);
+            return;
+        }
+        Arrays.fill(destino, 0, inicio - desde, SIN_DATO);
+        columnas[metrica.ordinal()].get(empresa * periodos + (inicio - periodoBase),
+                destino, inicio - desde, fin - inicio);
+        Arrays.fill(destino, fin - desde, cantidad, SIN_DATO);
+    }
+
+    /**
+     * Escribe los valores de un período (indexados por MetricaFinanciera.ordinal()).
+     * Con {@code sobrescribir = false} solo completa celdas vacías (datos
+     * anuales que no deben pisar los mensuales).
+     *
+     * @return false si la empresa o el período no tienen lugar en la serie
+     */
+    public synchronized boolean poner(UUID empresaId, int periodo, long[] valores, boolean sobrescribir) {
+        int empresa = indice(empresaId);
+        int p = periodo - periodoBase;
+        if (empresa < 0 || p < 0 || p >= periodos) {
+            return false;
+        }
+        int posicion = empresa * periodos + p;
+        for (int m = 0; m < METRICAS; m++) {
+            if (sobrescribir || columnas[m].get(posicion) == SIN_DATO) {
+                columnas[m].put(posicion, valores[m]);
+            }
+        }
+        return true;
+    }
+
+    private static void leerCompleto(FileChannel canal, ByteBuffer destino, long posicion) throws IOException {
+        while (destino.hasRemaining()) {
+            if (canal.read(destino, posicion + destino.position()) < 0) {
+                throw new IOException("Serie financiera truncada");
+            }
+        }
+        destino.flip();
+    }
+}
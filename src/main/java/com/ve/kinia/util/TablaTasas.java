@@ -0,0 +1,216 @@
+package com.ve.kinia.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Foto inmutable de las tasas BCV, para convertir montos sin tocar la base
+ * ni tomar locks: TasasCambioService publica una tabla nueva en cada
+ * recarga y los lectores siguen usando la que tenían.
+ *
+ * Por moneda guarda dos arreglos paralelos ordenados: día (epoch day) y
+ * tasa en bolívares × 10^4 (la escala de tasas_cambio). La tasa de una
+ * fecha es la del último día publicado igual o anterior (búsqueda
+ * binaria); antes de la primera publicación no hay tasa. VES vale siempre
+ * 1 y una moneda null se toma como VES, igual que en Factura.
+ */
+public final class TablaTasas {
+
+    public static final String MONEDA_BASE = "VES";
+
+    /** Decimales de las tasas (bolívares por unidad). */
+    public static final int ESCALA = 4;
+
+    /** Valor de {@link #tasa(String, long)} cuando no hay tasa publicada. */
+    public static final long SIN_TASA = 0;
+
+    private static final long UNIDAD = 10_000;
+    private static final TablaTasas VACIA = new TablaTasas(Map.of(), 0);
+
+    private record Serie(int[] dias, long[] tasas) {
+
+        long en(long dia) {
+            if (dia > Integer.MAX_VALUE) {
+                return tasas[tasas.length - 1];
+            }
+            int i = Arrays.binarySearch(dias, (int) Math.max(dia, Integer.MIN_VALUE));
+            if (i < 0) {
+                i = -i - 2;
+            }
+            return i < 0 ? SIN_TASA : tasas[i];
+        }
+    }
+
+    private final Map<String, Serie> series;
+    private final int cantidad;
+
+    private TablaTasas(Map<String, Serie> series, int cantidad) {
+        this.series = series;
+        this.cantidad = cantidad;
+    }
+
+    public static TablaTasas vacia() {
+        return VACIA;
+    }
+
+    public static Carga carga() {
+        return new Carga();
+    }
+
+    /** Tasas cargadas, sumando todas las monedas. */
+    public int cantidad() {
+        return cantidad;
+    }
+
+    public Set<String> monedas() {
+        return series.keySet();
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // CONSULTA
+    // ══════════════════════════════════════════════════════════════
+
+    /**
+     * @return bolívares por unidad × 10^4, o {@link #SIN_TASA}
+     */
+    public long tasa(String moneda, long epochDay) {
+        String m = normalizar(moneda);
+        if (MONEDA_BASE.equals(m)) {
+            return UNIDAD;
+        }
+        Serie serie = series.get(m);
+        return serie == null ? SIN_TASA : serie.en(epochDay);
+    }
+
+    public Optional<BigDecimal> tasa(String moneda, LocalDate fecha) {
+        long tasa = tasa(moneda, fecha.toEpochDay());
+        return tasa == SIN_TASA ? Optional.empty() : Optional.of(BigDecimal.valueOf(tasa, ESCALA));
+    }
+
+    public boolean convertible(String desde, String hacia, long epochDay) {
+        return tasa(desde, epochDay) != SIN_TASA && tasa(hacia, epochDay) != SIN_TASA;
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // CONVERSIÓN
+    // ══════════════════════════════════════════════════════════════
+
+    /**
+     * Convierte céntimos de una moneda a otra pasando por bolívares, con
+     * redondeo HALF_UP. Sin objetos por llamada salvo en el caso de
+     * desborde, para reportes que convierten millones de montos.
+     *
+     * @throws IllegalStateException si alguna de las monedas no tiene tasa en la fecha
+     */
+    public long convertirCentavos(long centavos, String desde, String hacia, long epochDay) {
+        String origen = normalizar(desde);
+        String destino = normalizar(hacia);
+        if (origen.equals(destino)) {
+            return centavos;
+        }
+        return multiplicarDividir(centavos, requerida(origen, epochDay), requerida(destino, epochDay));
+    }
+
+    /**
+     * @return monto en la moneda destino con 2 decimales
+     * @throws IllegalStateException si alguna de las monedas no tiene tasa en la fecha
+     */
+    public BigDecimal convertir(BigDecimal monto, String desde, String hacia, LocalDate fecha) {
+        String origen = normalizar(desde);
+        String destino = normalizar(hacia);
+        if (origen.equals(destino)) {
+            return monto;
+        }
+        long dia = fecha.toEpochDay();
+        return monto.multiply(BigDecimal.valueOf(requerida(origen, dia)))
+                .divide(BigDecimal.valueOf(requerida(destino, dia)), 2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Equivalente en bolívares; sin tasa publicada devuelve el monto tal
+     * cual (mismo criterio que la reconstrucción de relaciones comerciales).
+     */
+    public BigDecimal equivalenteVes(BigDecimal monto, String moneda, LocalDate fecha) {
+        long tasa = tasa(moneda, fecha.toEpochDay());
+        if (tasa == SIN_TASA || tasa == UNIDAD) {
+            return monto;
+        }
+        return monto.multiply(BigDecimal.valueOf(tasa, ESCALA)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private long requerida(String moneda, long epochDay) {
+        long tasa = tasa(moneda, epochDay);
+        if (tasa == SIN_TASA) {
+            throw new IllegalStateException("Sin tasa BCV para " + moneda + " al " + LocalDate.ofEpochDay(epochDay));
+        }
+        return tasa;
+    }
+
+    /** a × b / c con redondeo HALF_UP; c > 0. */
+    static long multiplicarDividir(long a, long b, long c) {
+        try {
+            long producto = Math.multiplyExact(a, b);
+            long cociente = producto / c;
+            long resto = Math.abs(producto % c);
+            if (resto >= c - resto) {
+                cociente += Long.signum(producto);
+            }
+            return cociente;
+        } catch (ArithmeticException e) {
+            return BigDecimal.valueOf(a).multiply(BigDecimal.valueOf(b))
+                    .divide(BigDecimal.valueOf(c), 0, RoundingMode.HALF_UP)
+                    .longValueExact();
+        }
+    }
+
+    private static String normalizar(String moneda) {
+        return moneda == null ? MONEDA_BASE : moneda.toUpperCase(Locale.ROOT);
+    }
+
+    // ══════════════════════════════════════════════════════════════
+    // CONSTRUCCIÓN
+    // ══════════════════════════════════════════════════════════════
+
+    /**
+     * Acumula tasas en cualquier orden; una fecha repetida se queda con la
+     * última agregada. Las de VES se ignoran.
+     */
+    public static final class Carga {
+
+        private final Map<String, TreeMap<Integer, Long>> porMoneda = new HashMap<>();
+
+        private Carga() {
+        }
+
+        public Carga agregar(String moneda, LocalDate fecha, BigDecimal tasa) {
+            String m = normalizar(moneda);
+            if (!MONEDA_BASE.equals(m)) {
+                long escalada = tasa.setScale(ESCALA, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+                if (escalada <= 0) {
+                    throw new IllegalArgumentException("Tasa no positiva para " + m + " al " + fecha + ": " + tasa);
+                }
+                porMoneda.computeIfAbsent(m, k -> new TreeMap<>()).put(Math.toIntExact(fecha.toEpochDay()), escalada);
+            }
+            return this;
+        }
+
+        public TablaTasas construir() {
+            Map<String, Serie> series = new HashMap<>();
+            int cantidad = 0;
+            for (Map.Entry<String, TreeMap<Integer, Long>> e : porMoneda.entrySet()) {
+                int[] dias = new int[e.getValue().size()];
+                long[] tasas = new long[dias.length];
+                int i = 0;
+                for (Map.Entry<Integer, Long> t : e.getValue().entrySet()) {
+                    dias[i] = t.getKey();
+                    tasas[i++] = t.getValue();
+                }
+                series.put(e.getKey(), new Serie(dias, tasas));
+                cantidad += dias.length;
+            }
+            return new TablaTasas(Map.copyOf(series), cantidad);
+        }
+    }
+}
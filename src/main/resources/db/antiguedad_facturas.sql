@@ -0,0 +1,29 @@
+-- Antigüedad de saldos precalculada para la lista de trabajo de cobranza
+-- (AntiguedadSaldosService). Se llena con la primera corrida diaria.
+
+BEGIN;
+
+CREATE TABLE antiguedad_facturas (
+    factura_id          UUID          PRIMARY KEY REFERENCES facturas (id) ON DELETE CASCADE,
+    empresa_id          UUID          NOT NULL,
+    tipo_deudor         VARCHAR(255)  NOT NULL,
+    deudor_empresa_id   UUID,
+    deudor_externo_id   UUID,
+    deudor_rif          VARCHAR(12),
+    deudor_razon_social VARCHAR(200),
+    numero_factura      VARCHAR(50)   NOT NULL,
+    fecha_vencimiento   DATE          NOT NULL,
+    dias_vencida        INTEGER       NOT NULL,
+    tramo               VARCHAR(20)   NOT NULL,
+    total               NUMERIC(18,2) NOT NULL,
+    saldo_pendiente     NUMERIC(18,2) NOT NULL,
+    ultima_cobranza     TIMESTAMP,
+    proximo_compromiso  TIMESTAMP,
+    calculado_en        TIMESTAMP     NOT NULL
+);
+
+CREATE INDEX idx_antiguedad_empresa_lista ON antiguedad_facturas (empresa_id, fecha_vencimiento, saldo_pendiente DESC);
+CREATE INDEX idx_antiguedad_tramo_lista ON antiguedad_facturas (tramo, fecha_vencimiento, saldo_pendiente DESC);
+CREATE INDEX idx_antiguedad_deudor ON antiguedad_facturas (deudor_empresa_id);
+
+COMMIT;
@@ -0,0 +1,55 @@
+-- auditoria_acciones particionada por mes de created_at (PostgreSQL 12+).
+-- Migración única; AuditoriaService crea luego las particiones de cada mes.
+-- La PK incluye created_at porque toda restricción única de una tabla
+-- particionada debe contener la clave de partición.
+
+BEGIN;
+
+ALTER TABLE auditoria_acciones RENAME TO auditoria_acciones_anterior;
+
+CREATE TABLE auditoria_acciones (
+    id            UUID         NOT NULL,
+    empresa_id    UUID,
+    usuario_id    UUID,
+    accion        VARCHAR(100) NOT NULL,
+    entidad       VARCHAR(50),
+    entidad_id    UUID,
+    datos_antes   JSONB,
+    datos_despues JSONB,
+    ip_address    VARCHAR(45),
+    user_agent    VARCHAR(500),
+    notas         TEXT,
+    created_at    TIMESTAMP    NOT NULL,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX idx_auditoria_empresa ON auditoria_acciones (empresa_id);
+CREATE INDEX idx_auditoria_fecha ON auditoria_acciones (created_at);
+CREATE INDEX idx_auditoria_accion ON auditoria_acciones (accion);
+
+-- Particiones para los meses con datos históricos
+DO $$
+DECLARE
+    mes DATE;
+BEGIN
+    FOR mes IN
+        SELECT generate_series(
+            date_trunc('month', COALESCE(MIN(created_at), now())),
+            date_trunc('month', now()) + INTERVAL '2 months',
+            INTERVAL '1 month')::date
+        FROM auditoria_acciones_anterior
+    LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS auditoria_acciones_%s PARTITION OF auditoria_acciones FOR VALUES FROM (%L) TO (%L)',
+            to_char(mes, 'YYYY_MM'), mes, (mes + INTERVAL '1 month')::date);
+    END LOOP;
+END $$;
+
+INSERT INTO auditoria_acciones
+SELECT id, empresa_id, usuario_id, accion, entidad, entidad_id, datos_antes, datos_despues,
+       ip_address, user_agent, notas, created_at
+FROM auditoria_acciones_anterior;
+
+DROP TABLE auditoria_acciones_anterior;
+
+COMMIT;
@@ -0,0 +1,11 @@
+-- Auditoría por diferencias: marca de checkpoint e índice para reconstruir
+-- el historial de una entidad. Aplicar después de auditoria_acciones_particionada.sql.
+-- Las filas existentes guardan instantáneas completas y no son checkpoints.
+
+BEGIN;
+
+ALTER TABLE auditoria_acciones ADD COLUMN es_checkpoint BOOLEAN NOT NULL DEFAULT false;
+
+CREATE INDEX idx_auditoria_entidad ON auditoria_acciones (entidad, entidad_id, created_at);
+
+COMMIT;
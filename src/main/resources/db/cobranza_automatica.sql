@@ -0,0 +1,30 @@
+-- Cobranza automática de deudores internos (CobranzaAutomaticaService):
+-- programación por deudor y bandeja de salida de notificaciones.
+
+BEGIN;
+
+CREATE TABLE cobranza_deudores (
+    deudor_empresa_id UUID      PRIMARY KEY REFERENCES empresas (id) ON DELETE CASCADE,
+    proxima_gestion   TIMESTAMP NOT NULL,
+    ultima_gestion    TIMESTAMP,
+    gestiones         INTEGER   NOT NULL DEFAULT 0
+);
+
+CREATE INDEX idx_cobranza_deudores_proxima ON cobranza_deudores (proxima_gestion);
+
+CREATE TABLE notificaciones (
+    id          UUID         PRIMARY KEY,
+    empresa_id  UUID         NOT NULL,
+    tipo        VARCHAR(50)  NOT NULL,
+    asunto      VARCHAR(200) NOT NULL,
+    mensaje     TEXT,
+    datos       JSONB,
+    enviada     BOOLEAN      NOT NULL DEFAULT false,
+    fecha_envio TIMESTAMP,
+    created_at  TIMESTAMP    NOT NULL
+);
+
+CREATE INDEX idx_notificaciones_empresa ON notificaciones (empresa_id);
+CREATE INDEX idx_notificaciones_pendientes ON notificaciones (enviada, created_at);
+
+COMMIT;
@@ -0,0 +1,14 @@
+-- Archivos de documentos anteriores al almacenamiento por contenido
+-- (ruta propia, fuera de blobs/) cuyo Documento se borró. El recolector de
+-- AlmacenDocumentosService los borra pasada la gracia, como a los blobs.
+
+BEGIN;
+
+CREATE TABLE documento_archivos_liberados (
+    ruta        TEXT      PRIMARY KEY,
+    liberado_en TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_documento_archivos_liberados_fecha ON documento_archivos_liberados (liberado_en);
+
+COMMIT;
@@ -0,0 +1,29 @@
+-- Almacenamiento de documentos por contenido (AlmacenDocumentosService).
+-- Un blob por hash SHA-256 con su contador de referencias. Los documentos
+-- existentes conservan su ruta; sus hashes se registran con el número de
+-- documentos que los usan.
+
+BEGIN;
+
+CREATE TABLE documento_blobs (
+    hash_sha256  VARCHAR(64) PRIMARY KEY,
+    tamano_bytes BIGINT      NOT NULL,
+    referencias  INTEGER     NOT NULL DEFAULT 0 CHECK (referencias >= 0),
+    liberado_en  TIMESTAMP,
+    created_at   TIMESTAMP   NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_documento_blobs_liberado ON documento_blobs (liberado_en);
+
+INSERT INTO documento_blobs (hash_sha256, tamano_bytes, referencias, created_at)
+SELECT hash_sha256, MAX(COALESCE(tamano_bytes, 0)), COUNT(*), MIN(created_at)
+FROM documentos
+WHERE hash_sha256 IS NOT NULL
+GROUP BY hash_sha256;
+
+CREATE INDEX idx_documentos_hash ON documentos (hash_sha256);
+
+ALTER TABLE documentos
+    ADD CONSTRAINT fk_documentos_blob FOREIGN KEY (hash_sha256) REFERENCES documento_blobs (hash_sha256);
+
+COMMIT;
@@ -0,0 +1,25 @@
+-- Corridas del re-scoring masivo (ScoringBatchService). Cada chunk
+-- terminado avanza ultimo_empresa_id en la misma transacción que escribe
+-- sus scores; una corrida interrumpida se retoma desde ahí.
+-- configuracion_actualizada la agrega ejecuciones_scoring_configuracion.sql.
+
+BEGIN;
+
+CREATE TABLE ejecuciones_scoring (
+    id                   UUID          PRIMARY KEY,
+    estado               VARCHAR(255)  NOT NULL DEFAULT 'EN_CURSO',
+    configuracion_id     UUID,
+    ultimo_empresa_id    UUID,
+    chunks_completados   INTEGER       DEFAULT 0,
+    empresas_procesadas  BIGINT        DEFAULT 0,
+    fecha_inicio         TIMESTAMP     NOT NULL,
+    fecha_fin            TIMESTAMP,
+    empresas_por_segundo NUMERIC(12,2),
+    mensaje_error        TEXT,
+    created_at           TIMESTAMP     NOT NULL,
+    updated_at           TIMESTAMP     NOT NULL
+);
+
+CREATE INDEX idx_ejecuciones_scoring_estado ON ejecuciones_scoring (estado);
+
+COMMIT;
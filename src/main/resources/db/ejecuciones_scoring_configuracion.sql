@@ -0,0 +1,9 @@
+-- Versión de la configuración usada por cada corrida del re-scoring
+-- masivo: una corrida interrumpida solo se retoma si la configuración
+-- activa no se editó entretanto (ScoringBatchService).
+
+BEGIN;
+
+ALTER TABLE ejecuciones_scoring ADD COLUMN configuracion_actualizada TIMESTAMP;
+
+COMMIT;
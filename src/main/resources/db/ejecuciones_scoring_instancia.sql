@@ -0,0 +1,10 @@
+-- Instancia dueña de cada corrida del re-scoring masivo y su último
+-- latido (ScoringBatchService). Con varias instancias solo la dueña
+-- escribe chunks; otra la retoma si el latido venció.
+
+BEGIN;
+
+ALTER TABLE ejecuciones_scoring ADD COLUMN instancia VARCHAR(100);
+ALTER TABLE ejecuciones_scoring ADD COLUMN latido_en TIMESTAMP;
+
+COMMIT;
@@ -0,0 +1,38 @@
+-- Exposición de la cartera de factoring por deudor, sector del deudor y
+-- proveedor (ExposicionCarteraService). monto en céntimos de la moneda;
+-- version aumenta con cada cambio. clave es el UUID del deudor o proveedor,
+-- o el nombre del sector. Se llena con las solicitudes activas actuales.
+
+BEGIN;
+
+CREATE TABLE exposicion_cartera (
+    dimension  VARCHAR(20) NOT NULL,
+    clave      VARCHAR(50) NOT NULL,
+    moneda     VARCHAR(3)  NOT NULL,
+    monto      BIGINT      NOT NULL DEFAULT 0,
+    version    BIGINT      NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP   NOT NULL DEFAULT now(),
+    PRIMARY KEY (dimension, clave, moneda)
+);
+
+WITH lineas AS (
+    SELECT s.empresa_id::text AS proveedor,
+           COALESCE(f.deudor_empresa_id, f.deudor_externo_id)::text AS deudor,
+           COALESCE(de.sector, dx.sector, 'OTRO') AS sector,
+           COALESCE(f.moneda, 'VES') AS moneda,
+           ROUND(ff.monto_aprobado * 100)::bigint AS monto
+    FROM facturas_factoring ff
+    JOIN solicitudes_factoring s ON s.id = ff.solicitud_id
+    JOIN facturas f ON f.id = ff.factura_id
+    LEFT JOIN empresas de ON de.id = f.deudor_empresa_id
+    LEFT JOIN deudores_externos dx ON dx.id = f.deudor_externo_id
+    WHERE s.estado IN ('APROBADA', 'DESEMBOLSADA', 'EN_COBRANZA')
+)
+INSERT INTO exposicion_cartera (dimension, clave, moneda, monto, version)
+SELECT 'DEUDOR', deudor, moneda, SUM(monto), 1 FROM lineas GROUP BY deudor, moneda
+UNION ALL
+SELECT 'SECTOR', sector, moneda, SUM(monto), 1 FROM lineas GROUP BY sector, moneda
+UNION ALL
+SELECT 'PROVEEDOR', proveedor, moneda, SUM(monto), 1 FROM lineas GROUP BY proveedor, moneda;
+
+COMMIT;
@@ -0,0 +1,24 @@
+-- Acumulados de pagos y versión optimista en facturas (Factura.registrarPago,
+-- PagoService, ReconciliacionSaldosService). Los acumulados de las filas
+-- existentes se calculan desde pagos_recibidos; ReconciliacionSaldosService
+-- corrige después cualquier diferencia.
+
+BEGIN;
+
+ALTER TABLE facturas
+    ADD COLUMN total_pagado    NUMERIC(18,2) NOT NULL DEFAULT 0,
+    ADD COLUMN saldo_pendiente NUMERIC(18,2) NOT NULL DEFAULT 0,
+    ADD COLUMN version         BIGINT        NOT NULL DEFAULT 0;
+
+UPDATE facturas f
+SET total_pagado    = COALESCE(p.suma, 0),
+    saldo_pendiente = f.total - COALESCE(p.suma, 0)
+FROM facturas f2
+LEFT JOIN (
+    SELECT factura_id, SUM(monto) AS suma
+    FROM pagos_recibidos
+    GROUP BY factura_id
+) p ON p.factura_id = f2.id
+WHERE f2.id = f.id;
+
+COMMIT;
@@ -0,0 +1,12 @@
+-- Marca de agua de los procesos incrementales (MarcaProceso): hasta qué
+-- momento ya se revisaron los cambios, p. ej. el scoring incremental.
+
+BEGIN;
+
+CREATE TABLE marcas_procesos (
+    nombre       VARCHAR(100) PRIMARY KEY,
+    ultima_marca TIMESTAMP    NOT NULL,
+    updated_at   TIMESTAMP    NOT NULL
+);
+
+COMMIT;
@@ -0,0 +1,28 @@
+-- Marca de "ya sumado en relaciones_comerciales" por factura y pago
+-- (AgregadorRelacionesService). El agregador solo suma los movimientos
+-- que logra marcar y la reconstrucción recalcula desde los marcados, así
+-- ninguno se cuenta dos veces. Las columnas no se mapean en las entidades
+-- para que Hibernate no las reescriba con valores viejos.
+--
+-- Las filas existentes quedan sin marcar: la primera reconstrucción las
+-- marca y deja cada relación igual a la suma de sus documentos.
+--
+-- Se quitan los triggers que sumaban cada factura y pago en la relación:
+-- con el agregador cada movimiento se contaría dos veces.
+
+BEGIN;
+
+DROP TRIGGER IF EXISTS trigger_actualizar_relacion ON facturas;
+DROP TRIGGER IF EXISTS trigger_actualizar_relacion_pago ON pagos_recibidos;
+DROP FUNCTION IF EXISTS actualizar_relacion_comercial();
+DROP FUNCTION IF EXISTS actualizar_relacion_pago();
+
+ALTER TABLE facturas ADD COLUMN en_relacion BOOLEAN NOT NULL DEFAULT false;
+ALTER TABLE pagos_recibidos ADD COLUMN en_relacion BOOLEAN NOT NULL DEFAULT false;
+
+CREATE INDEX idx_facturas_relacion_pendiente ON facturas (id)
+    WHERE deudor_empresa_id IS NOT NULL AND NOT en_relacion;
+CREATE INDEX idx_pagos_recibidos_relacion_pendiente ON pagos_recibidos (factura_id)
+    WHERE NOT en_relacion;
+
+COMMIT;
@@ -0,0 +1,29 @@
+-- Score vigente por empresa (ScoringService.guardarScores):
+--   - empresas.score_vigente_id apunta al score vigente, para leerlo sin
+--     recorrer el historial.
+--   - scores.huella_entrada es el SHA-256 de las entradas y la configuración; el
+--     scoring incremental omite las empresas cuya huella no cambió.
+--   - uk_scores_vigente impide dos scores vigentes para la misma empresa.
+-- Si ya hay empresas con más de un score vigente se conserva el más reciente.
+
+BEGIN;
+
+ALTER TABLE scores ADD COLUMN huella_entrada VARCHAR(64);
+ALTER TABLE empresas ADD COLUMN score_vigente_id UUID REFERENCES scores (id);
+
+UPDATE scores s SET es_vigente = false
+WHERE s.es_vigente = true
+  AND EXISTS (
+      SELECT 1 FROM scores r
+      WHERE r.empresa_id = s.empresa_id AND r.es_vigente = true
+        AND (r.created_at, r.id) > (s.created_at, s.id));
+
+CREATE UNIQUE INDEX uk_scores_vigente ON scores (empresa_id) WHERE es_vigente = true;
+
+UPDATE empresas e SET score_vigente_id = s.id
+FROM scores s
+WHERE s.empresa_id = e.id AND s.es_vigente = true;
+
+CREATE INDEX idx_empresas_score_vigente ON empresas (score_vigente_id);
+
+COMMIT;
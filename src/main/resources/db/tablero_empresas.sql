@@ -0,0 +1,26 @@
+-- Proyección del tablero de cada empresa (TableroEmpresaService): score
+-- vigente, facturas abiertas, solicitudes de factoring activas, monto
+-- retenido y principales deudores, para leer el tablero por clave primaria.
+-- Se llena con la primera reconstrucción (nocturna o al iniciar con
+-- kinia.tablero.reconstruir-al-iniciar=true).
+
+BEGIN;
+
+CREATE TABLE tablero_empresas (
+    empresa_id                UUID          PRIMARY KEY REFERENCES empresas (id) ON DELETE CASCADE,
+    puntaje                   INTEGER,
+    nivel_riesgo              VARCHAR(255),
+    score_calculado_en        TIMESTAMP,
+    limite_factoring_sugerido NUMERIC(18,2),
+    facturas_abiertas         INTEGER       NOT NULL,
+    saldo_por_cobrar          NUMERIC(18,2) NOT NULL,
+    facturas_vencidas         INTEGER       NOT NULL,
+    saldo_vencido             NUMERIC(18,2) NOT NULL,
+    solicitudes_activas       INTEGER       NOT NULL,
+    monto_en_solicitudes      NUMERIC(18,2) NOT NULL,
+    monto_retenido            NUMERIC(18,2) NOT NULL,
+    principales_deudores      JSONB         NOT NULL DEFAULT '[]',
+    calculado_en              TIMESTAMP     NOT NULL
+);
+
+COMMIT;
@@ -0,0 +1,18 @@
+-- Tasas de cambio oficiales (BCV) por día, para TasasCambioService.
+-- tasa = bolívares por una unidad de la moneda. Los días sin publicación
+-- (fines de semana, feriados) no tienen fila: se usa la última tasa
+-- anterior a la fecha consultada.
+
+BEGIN;
+
+CREATE TABLE tasas_cambio (
+    id         UUID          PRIMARY KEY DEFAULT gen_random_uuid(),
+    moneda     VARCHAR(3)    NOT NULL,
+    fecha      DATE          NOT NULL,
+    tasa       NUMERIC(18,4) NOT NULL CHECK (tasa > 0),
+    fuente     VARCHAR(100),
+    created_at TIMESTAMP     NOT NULL DEFAULT now(),
+    CONSTRAINT uk_tasas_cambio_moneda_fecha UNIQUE (moneda, fecha)
+);
+
+COMMIT;
@@ -0,0 +1,111 @@
+package com.ve.kinia.service;
+
+import com.ve.kinia.dto.CambioDatosFinancieros;
+import com.ve.kinia.model.enums.MetricaFinanciera;
+import com.ve.kinia.repository.DatosFinancierosJdbcRepository;
+import com.ve.kinia.repository.DatosFinancierosJdbcRepository.ConsumidorFila;
+import com.ve.kinia.util.SerieFinanciera;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static com.ve.kinia.model.enums.MetricaFinanciera.SIN_DATO;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Serie financiera generada desde la tabla (simulada) y mantenida con los
+ * cambios confirmados, incluidos los que llegan durante la generación.
+ */
+class SerieFinancieraServiceTest {
+
+	private static final UUID EMPRESA = UUID.fromString("00000000-0000-0000-0000-000000000001");
+	private static final MetricaFinanciera METRICA = MetricaFinanciera.INGRESOS_NETOS;
+
+	@TempDir
+	Path directorio;
+
+	private DatosFinancierosJdbcRepository repositorio;
+	private SerieFinancieraService servicio;
+
+	@BeforeEach
+	void preparar() {
+		repositorio = mock(DatosFinancierosJdbcRepository.class);
+		when(repositorio.findEmpresas()).thenReturn(List.of(EMPRESA));
+		when(repositorio.findRangoPeriodos()).thenReturn(new int[] {
+				SerieFinanciera.periodo(2024, 1), SerieFinanciera.periodo(2024, 6)});
+		servicio = new SerieFinancieraService(repositorio, directorio.resolve("serie.bin").toString(), 12);
+	}
+
+	@Test
+	void serieYTendenciaDesdeLaTabla() {
+		// Enero a junio de 2024 crecen 10 por mes; marzo no tiene período
+		doAnswer(invocacion -> {
+			ConsumidorFila consumidor = invocacion.getArgument(0);
+			for (int mes = 1; mes <= 6; mes++) {
+				if (mes != 3) {
+					consumidor.aceptar(EMPRESA, SerieFinanciera.periodo(2024, mes), false,
+							crudos(BigDecimal.valueOf(90 + 10L * mes)));
+				}
+			}
+			return null;
+		}).when(repositorio).recorrer(any());
+
+		servicio.reconstruir();
+		long[] serie = servicio.serie(EMPRESA, METRICA, YearMonth.of(2024, 1), YearMonth.of(2024, 6));
+
+		assertArrayEquals(new long[] {10_000, 11_000, SIN_DATO, 13_000, 14_000, 15_000}, serie);
+		assertEquals(10.0, SerieFinancieraService.pendiente(serie, METRICA), 1e-9);
+	}
+
+	@Test
+	void empresaSinDatosDevuelveSinDato() {
+		doNothing().when(repositorio).recorrer(any());
+
+		servicio.reconstruir();
+		long[] serie = servicio.serie(UUID.randomUUID(), METRICA, YearMonth.of(2024, 1), YearMonth.of(2024, 3));
+
+		assertArrayEquals(new long[] {SIN_DATO, SIN_DATO, SIN_DATO}, serie);
+		assertNull(SerieFinancieraService.pendiente(serie, METRICA));
+	}
+
+	@Test
+	void cambioConfirmadoDuranteLaGeneracionLlegaALaSerieNueva() {
+		// El cambio de junio se confirma mientras se recorre la tabla y no está en la lectura
+		doAnswer(invocacion -> {
+			ConsumidorFila consumidor = invocacion.getArgument(0);
+			consumidor.aceptar(EMPRESA, SerieFinanciera.periodo(2024, 5), false, crudos(new BigDecimal("500")));
+			servicio.aplicar(new CambioDatosFinancieros(EMPRESA, 2024, 6, false, crudos(new BigDecimal("600"))));
+			return null;
+		}).when(repositorio).recorrer(any());
+
+		servicio.reconstruir();
+		long[] serie = servicio.serie(EMPRESA, METRICA, YearMonth.of(2024, 5), YearMonth.of(2024, 6));
+
+		assertArrayEquals(new long[] {50_000, 60_000}, serie);
+	}
+
+	@Test
+	void cambioDespuesDeLaGeneracionSeAplica() {
+		doNothing().when(repositorio).recorrer(any());
+		servicio.reconstruir();
+
+		servicio.aplicar(new CambioDatosFinancieros(EMPRESA, 2024, 2, false, crudos(new BigDecimal("123.45"))));
+
+		assertArrayEquals(new long[] {12_345},
+				servicio.serie(EMPRESA, METRICA, YearMonth.of(2024, 2), YearMonth.of(2024, 2)));
+	}
+
+	private static BigDecimal[] crudos(BigDecimal valor) {
+		BigDecimal[] crudos = new BigDecimal[MetricaFinanciera.values().length];
+		crudos[METRICA.ordinal()] = valor;
+		return crudos;
+	}
+}
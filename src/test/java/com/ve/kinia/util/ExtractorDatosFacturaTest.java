@@ -0,0 +1,112 @@
+package com.ve.kinia.util;
+
+import com.ve.kinia.dto.FilaImportacionFactura;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExtractorDatosFacturaTest {
+
+	private static final String RIF_EMISOR = "J-87654321-3";
+	private static final String RIF_CLIENTE = "J-12345678-4";
+
+	@Test
+	void desdeTextoLeeLasEtiquetasHabituales() {
+		String texto = """
+				FACTURA N° A-000123
+				N° de Control: 00-004567
+				Fecha de emisión: 05/03/2025
+				Fecha de vencimiento: 04/04/2025
+				Cliente: Comercial Los Andes C.A. RIF: J-12345678-4
+				Base imponible: Bs. 1.000.000,00
+				IVA 16%: Bs. 160.000,00
+				Total a pagar: Bs. 1.160.000,00
+				""";
+
+		Map<String, Object> datos = ExtractorDatosFactura.desdeTexto(texto, RIF_EMISOR);
+
+		assertEquals("A-000123", datos.get("numeroFactura"));
+		assertEquals("00-004567", datos.get("numeroControl"));
+		assertEquals("2025-03-05", datos.get("fechaEmision"));
+		assertEquals("2025-04-04", datos.get("fechaVencimiento"));
+		assertEquals("1000000.00", datos.get("subtotal"));
+		assertEquals("160000.00", datos.get("iva"));
+		assertEquals("1160000.00", datos.get("total"));
+		assertEquals(RIF_CLIENTE, datos.get("rifDeudor"));
+	}
+
+	@Test
+	void sinEtiquetaElRifDelEmisorNoEsElDeudor() {
+		String texto = "Servicios del Centro C.A. J87654321-3\nEnviar a: J-12345678-4";
+
+		assertEquals(RIF_CLIENTE, ExtractorDatosFactura.desdeTexto(texto, RIF_EMISOR).get("rifDeudor"));
+		assertNull(ExtractorDatosFactura.desdeTexto("Servicios del Centro C.A. J-87654321-3", RIF_EMISOR)
+				.get("rifDeudor"));
+	}
+
+	@Test
+	void elSaltoDeLineaNoSeparaMiles() {
+		assertEquals("123", ExtractorDatosFactura.desdeTexto("Total: 123\n456 unidades", null).get("total"));
+		assertEquals("1234567.89",
+				ExtractorDatosFactura.desdeTexto("Total: Bs. 1 234 567,89", null).get("total"));
+	}
+
+	@Test
+	void soloIncluyeLosCamposEncontrados() {
+		assertTrue(ExtractorDatosFactura.desdeTexto("Documento sin datos de factura", null).isEmpty());
+	}
+
+	@Test
+	void desdeFilaNormalizaLosValores() {
+		FilaImportacionFactura fila = FilaImportacionFactura.builder()
+				.numeroFactura("000123")
+				.fechaEmision("5-3-2025")
+				.fechaVencimiento("2025-04-04")
+				.subtotal("1.000,00")
+				.iva("160,00")
+				.total("1160.00")
+				.rifDeudor("j123456784")
+				.build();
+
+		Map<String, Object> datos = ExtractorDatosFactura.desdeFila(fila);
+
+		assertEquals("000123", datos.get("numeroFactura"));
+		assertFalse(datos.containsKey("numeroControl"));
+		assertEquals("2025-03-05", datos.get("fechaEmision"));
+		assertEquals("2025-04-04", datos.get("fechaVencimiento"));
+		assertEquals("1000.00", datos.get("subtotal"));
+		assertEquals("160.00", datos.get("iva"));
+		assertEquals("1160.00", datos.get("total"));
+		assertEquals(RIF_CLIENTE, datos.get("rifDeudor"));
+	}
+
+	@Test
+	void rifConDigitoVerificadorInvalidoSeDescarta() {
+		FilaImportacionFactura fila = FilaImportacionFactura.builder().rifDeudor("J-12345678-5").build();
+
+		assertFalse(ExtractorDatosFactura.desdeFila(fila).containsKey("rifDeudor"));
+	}
+
+	@Test
+	void fechasEnLosFormatosAceptados() {
+		assertEquals("2025-03-05", ExtractorDatosFactura.fecha("05/03/2025"));
+		assertEquals("2025-03-05", ExtractorDatosFactura.fecha("5-3-2025"));
+		assertEquals("2025-03-05", ExtractorDatosFactura.fecha("05.03.2025"));
+		assertEquals("2025-03-05", ExtractorDatosFactura.fecha("2025-03-05"));
+		assertNull(ExtractorDatosFactura.fecha("05/13/2025"));
+		assertNull(ExtractorDatosFactura.fecha(null));
+	}
+
+	@Test
+	void montosVenezolanosYConPuntoDecimal() {
+		assertEquals("1234567.89", ExtractorDatosFactura.monto("1.234.567,89"));
+		assertEquals("1234567.89", ExtractorDatosFactura.monto("1234567,89"));
+		assertEquals("1234.50", ExtractorDatosFactura.monto("1 234,50"));
+		assertEquals("1234567.89", ExtractorDatosFactura.monto("1234567.89"));
+		assertEquals("1234", ExtractorDatosFactura.monto("1.234"));
+		assertNull(ExtractorDatosFactura.monto("n/a"));
+		assertNull(ExtractorDatosFactura.monto(null));
+	}
+}
@@ -0,0 +1,128 @@
+package com.ve.kinia.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Nodos: A = 0, B = 1, C = 2, D = 3. Aristas deudor → acreedor.
+ */
+class GrafoCompensacionTest {
+
+	private static final int A = 0;
+	private static final int B = 1;
+	private static final int C = 2;
+	private static final int D = 3;
+
+	@Test
+	void cicloSimpleCancelaSuAristaMinima() {
+		long[] compensado = new GrafoCompensacion(3,
+				new int[] {A, B, C},
+				new int[] {B, C, A},
+				new long[] {100_00, 60_00, 80_00}).compensar();
+
+		assertArrayEquals(new long[] {60_00, 60_00, 60_00}, compensado);
+	}
+
+	@Test
+	void ciclosSuperpuestosCompartenLaArista() {
+		// A→B está en A→B→A y en A→B→C→A
+		int[] deudores = {A, B, B, C};
+		int[] acreedores = {B, A, C, A};
+		long[] montos = {100_00, 40_00, 50_00, 30_00};
+
+		long[] compensado = new GrafoCompensacion(3, deudores, acreedores, montos).compensar();
+
+		assertArrayEquals(new long[] {70_00, 40_00, 30_00, 30_00}, compensado);
+		verificarInvariantes(3, deudores, acreedores, montos, compensado);
+	}
+
+	@Test
+	void montosParcialesYAristasFueraDeCiclos() {
+		// A↔B se compensa en parte; B→C y C→D no están en ningún ciclo
+		int[] deudores = {A, B, B, C};
+		int[] acreedores = {B, A, C, D};
+		long[] montos = {100_00, 40_50, 70_00, 25_00};
+
+		long[] compensado = new GrafoCompensacion(4, deudores, acreedores, montos).compensar();
+
+		assertArrayEquals(new long[] {40_50, 40_50, 0, 0}, compensado);
+	}
+
+	@Test
+	void aristasEnCeroNoCierranCiclos() {
+		long[] compensado = new GrafoCompensacion(3,
+				new int[] {A, B, C},
+				new int[] {B, C, A},
+				new long[] {100_00, 0, 80_00}).compensar();
+
+		assertArrayEquals(new long[] {0, 0, 0}, compensado);
+	}
+
+	@Test
+	void grafosAleatoriosQuedanAciclicosSinCambiarPosiciones() {
+		Random random = new Random(20250301L);
+		for (int caso = 0; caso < 500; caso++) {
+			int nodos = 2 + random.nextInt(30);
+			int aristas = random.nextInt(nodos * 4);
+			int[] deudores = new int[aristas];
+			int[] acreedores = new int[aristas];
+			long[] montos = new long[aristas];
+			for (int e = 0; e < aristas; e++) {
+				deudores[e] = random.nextInt(nodos);
+				do {
+					acreedores[e] = random.nextInt(nodos);
+				} while (acreedores[e] == deudores[e]);
+				montos[e] = random.nextInt(10) == 0 ? 0 : 1 + random.nextInt(1_000_000);
+			}
+
+			long[] compensado = new GrafoCompensacion(nodos, deudores, acreedores, montos).compensar();
+
+			verificarInvariantes(nodos, deudores, acreedores, montos, compensado);
+		}
+	}
+
+	@Test
+	void aristasIncompletasSeRechazan() {
+		assertThrows(IllegalArgumentException.class,
+				() -> new GrafoCompensacion(2, new int[] {A}, new int[] {B}, new long[0]));
+	}
+
+	/** 0 ≤ compensado ≤ monto, misma posición neta por nodo y saldos restantes sin ciclos. */
+	private static void verificarInvariantes(int nodos, int[] deudores, int[] acreedores, long[] montos,
+											 long[] compensado) {
+		assertEquals(montos.length, compensado.length);
+		long[] neto = new long[nodos];
+		for (int e = 0; e < montos.length; e++) {
+			assertTrue(compensado[e] >= 0 && compensado[e] <= montos[e]);
+			neto[deudores[e]] += compensado[e];
+			neto[acreedores[e]] -= compensado[e];
+		}
+		assertArrayEquals(new long[nodos], neto);
+
+		// Kahn sobre las aristas con saldo restante: acíclico si se ordenan todos los nodos
+		int[] entrantes = new int[nodos];
+		for (int e = 0; e < montos.length; e++) {
+			if (montos[e] > compensado[e]) {
+				entrantes[acreedores[e]]++;
+			}
+		}
+		int[] cola = new int[nodos];
+		int fin = 0;
+		for (int u = 0; u < nodos; u++) {
+			if (entrantes[u] == 0) {
+				cola[fin++] = u;
+			}
+		}
+		for (int i = 0; i < fin; i++) {
+			for (int e = 0; e < montos.length; e++) {
+				if (deudores[e] == cola[i] && montos[e] > compensado[e] && --entrantes[acreedores[e]] == 0) {
+					cola[fin++] = acreedores[e];
+				}
+			}
+		}
+		assertEquals(nodos, fin, "quedó un ciclo de deudas sin compensar");
+	}
+}
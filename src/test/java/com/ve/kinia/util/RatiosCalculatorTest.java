@@ -0,0 +1,201 @@
+package com.ve.kinia.util;
+
+import com.ve.kinia.model.DatosFinancieros;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RatiosCalculatorTest {
+
+	private static BigDecimal bd(String valor) {
+		return new BigDecimal(valor);
+	}
+
+	private static DatosFinancieros.DatosFinancierosBuilder balance() {
+		return DatosFinancieros.builder()
+				.periodoAno(2024)
+				.activosTotales(bd("100000"))
+				.activosCorrientes(bd("30000"))
+				.pasivosTotales(bd("60000"))
+				.pasivosCorrientes(bd("20000"))
+				.patrimonio(bd("40000"));
+	}
+
+	// ══════════════════════════════════════════════════════════════
+	// COMPLETAR
+	// ══════════════════════════════════════════════════════════════
+
+	@Test
+	void calculaLosRatiosDelPeriodo() {
+		DatosFinancieros d = balance()
+				.ingresosNetos(bd("120000"))
+				.utilidadNeta(bd("-6000"))
+				.flujoCajaOperativo(bd("9000"))
+				.deudaBancariaCortoPlazo(bd("4000"))
+				.tasaCambioUsada(bd("36.5"))
+				.build();
+
+		RatiosCalculator.completar(d);
+
+		assertEquals(bd("1.5000"), d.getRatioLiquidez());
+		assertEquals(bd("0.6000"), d.getRatioEndeudamiento());
+		assertEquals(bd("2.2500"), d.getRatioCoberturaDeuda());
+		assertEquals(bd("-0.0500"), d.getMargenNeto());
+		assertEquals(bd("3287.67"), d.getIngresosNetosUsd());
+	}
+
+	@Test
+	void denominadoresNulosOCeroDejanElRatioEnNull() {
+		DatosFinancieros d = DatosFinancieros.builder()
+				.periodoAno(2024)
+				.activosCorrientes(bd("30000"))
+				.pasivosCorrientes(BigDecimal.ZERO)
+				.pasivosTotales(bd("60000"))
+				.flujoCajaOperativo(bd("9000"))
+				.deudaBancariaCortoPlazo(bd("0.00"))
+				.utilidadNeta(bd("500"))
+				.ingresosNetos(BigDecimal.ZERO)
+				.cuentasPorCobrar(bd("1000"))
+				.tasaCambioUsada(BigDecimal.ZERO)
+				.build();
+
+		RatiosCalculator.completar(d);
+
+		assertNull(d.getRatioLiquidez());
+		assertNull(d.getRatioEndeudamiento());
+		assertNull(d.getRatioCoberturaDeuda());
+		assertNull(d.getMargenNeto());
+		assertNull(d.getRotacionCuentasCobrar());
+		assertNull(d.getIngresosNetosUsd());
+	}
+
+	@Test
+	void sinDatosSuficientesNoConservaLoQueTraiaElPeriodo() {
+		DatosFinancieros d = DatosFinancieros.builder()
+				.periodoAno(2024)
+				.ratioLiquidez(bd("2.0000"))
+				.margenNeto(bd("0.1000"))
+				.rotacionCuentasCobrar(45)
+				.ingresosNetosUsd(bd("1000.00"))
+				.build();
+
+		RatiosCalculator.completar(d);
+
+		assertNull(d.getRatioLiquidez());
+		assertNull(d.getMargenNeto());
+		assertNull(d.getRotacionCuentasCobrar());
+		assertNull(d.getIngresosNetosUsd());
+	}
+
+	@Test
+	void ratiosQueNoCabenEnNumeric8_4QuedanEnNull() {
+		DatosFinancieros limite = balance()
+				.activosCorrientes(bd("99999999"))
+				.pasivosCorrientes(bd("10000"))
+				.build();
+		DatosFinancieros excedido = balance()
+				.activosCorrientes(bd("100000000"))
+				.pasivosCorrientes(bd("10000"))
+				.utilidadNeta(bd("-100000000"))
+				.ingresosNetos(bd("10000"))
+				.build();
+
+		RatiosCalculator.completar(limite);
+		RatiosCalculator.completar(excedido);
+
+		assertEquals(bd("9999.9999"), limite.getRatioLiquidez());
+		assertNull(excedido.getRatioLiquidez());
+		assertNull(excedido.getMargenNeto());
+	}
+
+	@Test
+	void rotacionAnualUsaLosDiasDelAno() {
+		DatosFinancieros bisiesto = DatosFinancieros.builder()
+				.periodoAno(2024)
+				.cuentasPorCobrar(bd("100"))
+				.ingresosNetos(bd("1200"))
+				.build();
+		DatosFinancieros comun = DatosFinancieros.builder()
+				.periodoAno(2025)
+				.cuentasPorCobrar(bd("100"))
+				.ingresosNetos(bd("1200"))
+				.build();
+
+		RatiosCalculator.completar(bisiesto);
+		RatiosCalculator.completar(comun);
+
+		// 100 × 366 / 1200 = 30,5 y 100 × 365 / 1200 = 30,42
+		assertEquals(31, bisiesto.getRotacionCuentasCobrar());
+		assertEquals(30, comun.getRotacionCuentasCobrar());
+	}
+
+	@Test
+	void rotacionMensualUsaLosDiasDelMes() {
+		DatosFinancieros febrero = DatosFinancieros.builder()
+				.periodoAno(2024)
+				.periodoMes(2)
+				.cuentasPorCobrar(bd("150"))
+				.ingresosNetos(bd("100"))
+				.build();
+		DatosFinancieros mesInvalido = DatosFinancieros.builder()
+				.periodoAno(2024)
+				.periodoMes(13)
+				.cuentasPorCobrar(bd("150"))
+				.ingresosNetos(bd("100"))
+				.build();
+
+		RatiosCalculator.completar(febrero);
+		RatiosCalculator.completar(mesInvalido);
+
+		// 150 × 29 / 100 = 43,5
+		assertEquals(44, febrero.getRotacionCuentasCobrar());
+		assertNull(mesInvalido.getRotacionCuentasCobrar());
+	}
+
+	// ══════════════════════════════════════════════════════════════
+	// VALIDAR
+	// ══════════════════════════════════════════════════════════════
+
+	@Test
+	void identidadDelBalanceAceptaHastaUnoPorCiento() {
+		RatiosCalculator.validar(balance().patrimonio(bd("39000")).build());
+		RatiosCalculator.validar(balance().patrimonio(bd("41000")).build());
+
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+				() -> RatiosCalculator.validar(balance().patrimonio(bd("38999.99")).build()));
+		assertTrue(e.getMessage().startsWith("activosTotales"));
+	}
+
+	@Test
+	void enMontosPequenosLaToleranciaMinimaEsUnBolivar() {
+		DatosFinancieros.DatosFinancierosBuilder pequeno = DatosFinancieros.builder()
+				.periodoAno(2024)
+				.activosTotales(bd("50"))
+				.pasivosTotales(bd("20"));
+
+		RatiosCalculator.validar(pequeno.patrimonio(bd("29")).build());
+		assertThrows(IllegalArgumentException.class,
+				() -> RatiosCalculator.validar(pequeno.patrimonio(bd("28.99")).build()));
+	}
+
+	@Test
+	void rechazaPeriodosYMontosInvalidos() {
+		assertThrows(IllegalArgumentException.class,
+				() -> RatiosCalculator.validar(balance().periodoAno(null).build()));
+		assertThrows(IllegalArgumentException.class,
+				() -> RatiosCalculator.validar(balance().periodoMes(0).build()));
+		assertThrows(IllegalArgumentException.class,
+				() -> RatiosCalculator.validar(balance().cuentasPorCobrar(bd("-1")).build()));
+		assertThrows(IllegalArgumentException.class,
+				() -> RatiosCalculator.validar(balance().tasaCambioUsada(BigDecimal.ZERO).build()));
+		assertThrows(IllegalArgumentException.class,
+				() -> RatiosCalculator.validar(balance().pasivosCorrientes(bd("70000")).build()));
+		assertThrows(IllegalArgumentException.class,
+				() -> RatiosCalculator.validar(balance()
+						.efectivoDisponible(bd("20000"))
+						.cuentasPorCobrar(bd("15000"))
+						.build()));
+	}
+}
@@ -0,0 +1,160 @@
+package com.ve.kinia.util;
+
+import com.ve.kinia.dto.EntradaScoring;
+import com.ve.kinia.model.ConfiguracionScoring;
+import com.ve.kinia.model.Score;
+import com.ve.kinia.model.enums.NivelRiesgo;
+import com.ve.kinia.model.enums.SectorEconomico;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * El kernel compilado debe dar exactamente los mismos resultados que
+ * el cálculo con BigDecimal de ScoringCalculator.
+ */
+class ScoringKernelTest {
+
+	private static final int CONFIGURACIONES = 200;
+	private static final int ENTRADAS_POR_CONFIGURACION = 500;
+
+	@Test
+	void kernelEquivaleAlCalculoBigDecimal() {
+		Random random = new Random(20250214L);
+		for (int c = 0; c < CONFIGURACIONES; c++) {
+			ConfiguracionScoring config = c == 0 ? configuracionPorDefecto() : configuracionAleatoria(random);
+			ScoringKernel kernel = ScoringKernel.compilar(config);
+
+			for (int i = 0; i < ENTRADAS_POR_CONFIGURACION; i++) {
+				EntradaScoring entrada = entradaAleatoria(random);
+				Score esperado = ScoringCalculator.calcular(entrada, config);
+
+				int puntaje = kernel.puntaje(entrada);
+				int puntajeDeudor = kernel.puntajeComoDeudor(entrada);
+				NivelRiesgo nivel = kernel.nivel(puntaje);
+
+				assertEquals(esperado.getPuntaje(), puntaje);
+				assertEquals(esperado.getPuntajeComoDeudor(), puntajeDeudor);
+				assertEquals(esperado.getNivelRiesgo(), nivel);
+				assertEquals(esperado.getNivelRiesgoComoDeudor(), kernel.nivel(puntajeDeudor));
+				assertEquals(0, esperado.getTasaDescuentoSugerida()
+						.compareTo(BigDecimal.valueOf(kernel.tasaDescuentoBp(nivel), 2)));
+
+				Score obtenido = kernel.calcular(entrada);
+				assertEquals(esperado.getPuntaje(), obtenido.getPuntaje());
+				assertEquals(esperado.getPuntajeComoDeudor(), obtenido.getPuntajeComoDeudor());
+				assertEquals(esperado.getTasaDescuentoSugerida(), obtenido.getTasaDescuentoSugerida());
+				assertEquals(esperado.getLimiteFactoringSugerido(), obtenido.getLimiteFactoringSugerido());
+				assertEquals(esperado.getHuellaEntrada(), obtenido.getHuellaEntrada());
+			}
+		}
+	}
+
+	@Test
+	void redondeoHalfUpIgualQueBigDecimal() {
+		for (long suma = -20_000; suma <= 1_000_000; suma += 250) {
+			int esperado = BigDecimal.valueOf(suma, 2)
+					.divide(BigDecimal.valueOf(100), 0, RoundingMode.HALF_UP).intValue();
+			assertEquals(esperado, ScoringKernel.redondearPuntaje(suma), "suma=" + suma);
+		}
+	}
+
+	@Test
+	void rechazaPesosConMasDeDosDecimales() {
+		ConfiguracionScoring config = configuracionPorDefecto();
+		config.setPesoSector(new BigDecimal("10.005"));
+		assertThrows(IllegalArgumentException.class, () -> ScoringKernel.compilar(config));
+	}
+
+	// ══════════════════════════════════════════════════════════════
+	// DATOS ALEATORIOS
+	// ══════════════════════════════════════════════════════════════
+
+	private static ConfiguracionScoring configuracionPorDefecto() {
+		return ConfiguracionScoring.builder()
+				.id(UUID.randomUUID())
+				.nombre("Por defecto")
+				.build();
+	}
+
+	private static ConfiguracionScoring configuracionAleatoria(Random r) {
+		int muyBajo = 60 + r.nextInt(40);
+		int bajo = muyBajo - 1 - r.nextInt(20);
+		int medio = bajo - 1 - r.nextInt(15);
+		int alto = medio - 1 - r.nextInt(15);
+		return ConfiguracionScoring.builder()
+				.id(UUID.randomUUID())
+				.nombre("Aleatoria")
+				.pesoFinanciero(decimal(r, 5_000))
+				.pesoHistorialPagos(decimal(r, 5_000))
+				.pesoAntiguedad(decimal(r, 3_000))
+				.pesoSector(decimal(r, 2_000))
+				.pesoCumplimiento(decimal(r, 2_000))
+				.pesoDocumentacion(decimal(r, 2_000))
+				.pesoDeudorHistorialPlataforma(decimal(r, 6_000))
+				.pesoDeudorFinanciero(decimal(r, 4_000))
+				.pesoDeudorAntiguedad(decimal(r, 3_000))
+				.pesoDeudorExterno(decimal(r, 3_000))
+				.umbralMuyBajo(muyBajo)
+				.umbralBajo(bajo)
+				.umbralMedio(medio)
+				.umbralAlto(alto)
+				.tasaMuyBajo(decimal(r, 2_000))
+				.tasaBajo(decimal(r, 2_000))
+				.tasaMedio(decimal(r, 2_000))
+				.tasaAlto(decimal(r, 3_000))
+				.tasaMuyAlto(decimal(r, 4_000))
+				.anticipoMuyBajo(decimal(r, 10_000))
+				.anticipoBajo(decimal(r, 10_000))
+				.anticipoMedio(decimal(r, 10_000))
+				.anticipoAlto(decimal(r, 10_000))
+				.anticipoMuyAlto(decimal(r, 10_000))
+				.bonusDeudorInterno(r.nextInt(21))
+				.build();
+	}
+
+	private static EntradaScoring entradaAleatoria(Random r) {
+		SectorEconomico[] sectores = SectorEconomico.values();
+		int comoDeudor = r.nextInt(4) == 0 ? 0 : r.nextInt(200);
+		int cobradas = comoDeudor == 0 ? 0 : r.nextInt(comoDeudor + 1);
+		int documentos = r.nextInt(12);
+		return EntradaScoring.builder()
+				.empresaId(UUID.randomUUID())
+				.sector(r.nextInt(10) == 0 ? null : sectores[r.nextInt(sectores.length)])
+				.antiguedadAnios(r.nextInt(15) - 1)
+				.kycAprobado(r.nextBoolean())
+				.tieneDatosFinancieros(r.nextInt(5) != 0)
+				.ratioLiquidez(opcional(r, 40_000))
+				.ratioEndeudamiento(opcional(r, 15_000))
+				.margenNeto(r.nextInt(6) == 0 ? EntradaScoring.SIN_DATO : r.nextInt(3_000) - 1_000)
+				.flujoCajaPositivo(r.nextBoolean())
+				.cumplimientos(r.nextInt(5))
+				.patrimonioCentavos(opcional(r, 5_000_000_000L))
+				.cuentasPorCobrarCentavos(opcional(r, 5_000_000_000L))
+				.tiposRequeridosPresentes(r.nextInt(6))
+				.documentosTotales(documentos)
+				.documentosVerificados(documentos == 0 ? 0 : r.nextInt(documentos + 1))
+				.documentosVencidos(documentos == 0 ? 0 : r.nextInt(3))
+				.referenciasBancarias(r.nextInt(3))
+				.referenciasComerciales(r.nextInt(3))
+				.facturasComoDeudor(comoDeudor)
+				.facturasCobradas(cobradas)
+				.facturasPagadasATiempo(cobradas == 0 ? 0 : r.nextInt(cobradas + 1))
+				.facturasVencidas(r.nextInt(5))
+				.promedioDiasMora(r.nextInt(60))
+				.build();
+	}
+
+	private static BigDecimal decimal(Random r, int maximoCentesimas) {
+		return BigDecimal.valueOf(r.nextInt(maximoCentesimas + 1), 2);
+	}
+
+	private static long opcional(Random r, long maximo) {
+		return r.nextInt(6) == 0 ? EntradaScoring.SIN_DATO : (long) (r.nextDouble() * maximo);
+	}
+}
@@ -0,0 +1,117 @@
+package com.ve.kinia.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TablaTasasTest {
+
+	private static final LocalDate LUNES = LocalDate.of(2025, 3, 3);
+	private static final LocalDate MIERCOLES = LocalDate.of(2025, 3, 5);
+	private static final LocalDate VIERNES = LocalDate.of(2025, 3, 7);
+
+	private static TablaTasas tabla() {
+		return TablaTasas.carga()
+				.agregar("USD", MIERCOLES, new BigDecimal("65.1200"))
+				.agregar("usd", LUNES, new BigDecimal("64.5"))
+				.agregar("EUR", LUNES, new BigDecimal("70.25"))
+				.agregar("VES", LUNES, new BigDecimal("2"))
+				.construir();
+	}
+
+	@Test
+	void laTasaEsLaUltimaPublicadaIgualOAnterior() {
+		TablaTasas tabla = tabla();
+
+		assertEquals(Optional.empty(), tabla.tasa("USD", LUNES.minusDays(1)));
+		assertEquals(Optional.of(new BigDecimal("64.5000")), tabla.tasa("USD", LUNES));
+		assertEquals(Optional.of(new BigDecimal("64.5000")), tabla.tasa("USD", LUNES.plusDays(1)));
+		assertEquals(Optional.of(new BigDecimal("65.1200")), tabla.tasa("USD", MIERCOLES));
+		assertEquals(Optional.of(new BigDecimal("65.1200")), tabla.tasa("USD", VIERNES.plusYears(10)));
+		assertEquals(651_200, tabla.tasa("USD", Long.MAX_VALUE));
+		assertEquals(TablaTasas.SIN_TASA, tabla.tasa("USD", Long.MIN_VALUE));
+		assertEquals(TablaTasas.SIN_TASA, tabla.tasa("COP", VIERNES.toEpochDay()));
+	}
+
+	@Test
+	void vesValeUnoYNullEsVes() {
+		TablaTasas tabla = tabla();
+
+		assertEquals(10_000, tabla.tasa("VES", LUNES.minusYears(50).toEpochDay()));
+		assertEquals(10_000, tabla.tasa(null, VIERNES.toEpochDay()));
+		assertEquals(3, tabla.cantidad());
+		assertEquals(2, tabla.monedas().size());
+	}
+
+	@Test
+	void unaFechaRepetidaSeQuedaConLaUltimaAgregada() {
+		TablaTasas tabla = TablaTasas.carga()
+				.agregar("USD", LUNES, new BigDecimal("64.50"))
+				.agregar("USD", LUNES, new BigDecimal("64.60"))
+				.construir();
+
+		assertEquals(Optional.of(new BigDecimal("64.6000")), tabla.tasa("USD", LUNES));
+		assertEquals(1, tabla.cantidad());
+	}
+
+	@Test
+	void tasasNoPositivasSeRechazan() {
+		TablaTasas.Carga carga = TablaTasas.carga();
+
+		assertThrows(IllegalArgumentException.class, () -> carga.agregar("USD", LUNES, BigDecimal.ZERO));
+		assertThrows(IllegalArgumentException.class, () -> carga.agregar("USD", LUNES, new BigDecimal("0.00004")));
+	}
+
+	@Test
+	void convierteCentavosPasandoPorBolivares() {
+		TablaTasas tabla = tabla();
+		long dia = MIERCOLES.toEpochDay();
+
+		assertEquals(6_512_00, tabla.convertirCentavos(100_00, "USD", "VES", dia));
+		assertEquals(100_00, tabla.convertirCentavos(6_512_00, "VES", "usd", dia));
+		// 100 EUR × 70,25 / 65,12 = 107,8777... USD
+		assertEquals(107_88, tabla.convertirCentavos(100_00, "EUR", "USD", dia));
+		assertEquals(123, tabla.convertirCentavos(123, "usd", "USD", LUNES.minusDays(1).toEpochDay()));
+		assertThrows(IllegalStateException.class,
+				() -> tabla.convertirCentavos(100_00, "USD", "VES", LUNES.minusDays(1).toEpochDay()));
+	}
+
+	@Test
+	void convertirYEquivalenteVes() {
+		TablaTasas tabla = tabla();
+
+		assertEquals(new BigDecimal("107.88"), tabla.convertir(new BigDecimal("100.00"), "EUR", "USD", MIERCOLES));
+		assertThrows(IllegalStateException.class,
+				() -> tabla.convertir(BigDecimal.ONE, "COP", "VES", MIERCOLES));
+		assertEquals(new BigDecimal("6512.00"), tabla.equivalenteVes(new BigDecimal("100"), "USD", MIERCOLES));
+		assertEquals(new BigDecimal("100"), tabla.equivalenteVes(new BigDecimal("100"), "COP", MIERCOLES));
+	}
+
+	@Test
+	void multiplicarDividirRedondeaHalfUp() {
+		assertEquals(3, TablaTasas.multiplicarDividir(5, 1, 2));
+		assertEquals(-3, TablaTasas.multiplicarDividir(-5, 1, 2));
+		assertEquals(2, TablaTasas.multiplicarDividir(7, 1, 3));
+		assertEquals(3, TablaTasas.multiplicarDividir(8, 1, 3));
+		assertEquals(-2, TablaTasas.multiplicarDividir(-7, 1, 3));
+		assertEquals(0, TablaTasas.multiplicarDividir(0, 651_200, 10_000));
+	}
+
+	@Test
+	void multiplicarDividirConDesbordeUsaBigDecimal() {
+		long a = Long.MAX_VALUE / 3;
+		long b = 651_200;
+		long c = 702_500;
+		long esperado = BigDecimal.valueOf(a).multiply(BigDecimal.valueOf(b))
+				.divide(BigDecimal.valueOf(c), 0, RoundingMode.HALF_UP).longValueExact();
+
+		assertEquals(esperado, TablaTasas.multiplicarDividir(a, b, c));
+		assertEquals(-esperado, TablaTasas.multiplicarDividir(-a, b, c));
+		assertThrows(ArithmeticException.class, () -> TablaTasas.multiplicarDividir(Long.MAX_VALUE, 3, 2));
+	}
+}